@@ -16,12 +16,9 @@ db.createUser({
   ]
 });
 
-// Crear colecciones iniciales con índices básicos
-db.createCollection('searches');
-
-// Crear índices para mejorar rendimiento
-db.searches.createIndex({ "searchId": 1 }, { unique: true });
+// Crear la colección que mapea SearchDocument. Los índices los crea la aplicación al arrancar
+// (SearchIndexBootstrapper), que además comprueba con explain() que las consultas los usan
+db.createCollection('search');
 
 print('Base de datos avoris-demo-db inicializada correctamente con usuario avoris-user');
 print('Coleccion creada:  search');
-print('Índices creados search.searchId');
@@ -0,0 +1,20 @@
+package demo.avoris.benchmark;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Los adaptadores registran una línea INFO por mensaje; en un benchmark eso mide la consola, no el código.
+ */
+final class BenchmarkLogging {
+
+    // referencia fuerte: JUL sólo guarda referencias débiles a sus loggers
+    private static final Logger APPLICATION = Logger.getLogger("demo.avoris");
+
+    private BenchmarkLogging() {
+    }
+
+    static void quiet() {
+        APPLICATION.setLevel(Level.WARNING);
+    }
+}
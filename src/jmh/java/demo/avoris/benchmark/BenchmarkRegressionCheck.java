@@ -0,0 +1,135 @@
+package demo.avoris.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compara el resultado JSON de JMH ({@code -rf json}) con la línea base versionada y termina con código 1 si algún
+ * benchmark empeora más de la tolerancia: en tiempo o throughput (la métrica principal, según su modo) o en bytes
+ * asignados por operación ({@code gc.alloc.rate.norm}, del profiler gc).
+ *
+ * <p>Sólo con {@code update=true} copia el resultado como nueva línea base para versionarla; sin línea base y sin
+ * {@code update} falla, para que un fichero perdido no apague el control. Se ejecuta con el perfil
+ * {@code jmh-regression}:</p>
+ * <pre>mvn -Pjmh,jmh-regression verify [-Djmh.baseline.update=true]</pre>
+ */
+public final class BenchmarkRegressionCheck {
+
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+
+    // Holgura absoluta para benchmarks que casi no asignan: de 0 a 8 bytes no es una regresión del 100%
+    private static final double ALLOC_SLACK_BYTES = 16;
+
+    private BenchmarkRegressionCheck() {
+    }
+
+    /**
+     * @param args resultado, línea base, tolerancia de la métrica principal, tolerancia de asignación
+     *             (fracciones, p. ej. 0.10) y {@code true} para reescribir la línea base
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 5) {
+            throw new IllegalArgumentException(
+                    "usage: BenchmarkRegressionCheck <result.json> <baseline.json> <score-tolerance> <alloc-tolerance> <update>");
+        }
+        Path result = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double scoreTolerance = Double.parseDouble(args[2]);
+        double allocTolerance = Double.parseDouble(args[3]);
+        boolean update = Boolean.parseBoolean(args[4]);
+
+        if (update) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline " + baseline + " written from " + result + "; commit it");
+            return;
+        }
+        if (Files.notExists(baseline)) {
+            System.out.println("No benchmark baseline at " + baseline + ": nothing to compare " + result
+                    + " against. Measure one with -Djmh.baseline.update=true and commit it.");
+            System.exit(1);
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> expected = byKey(objectMapper.readTree(baseline.toFile()));
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> current : byKey(objectMapper.readTree(result.toFile())).entrySet()) {
+            JsonNode base = expected.get(current.getKey());
+            if (base == null) {
+                System.out.println("NEW   " + current.getKey() + " (not in baseline)");
+                continue;
+            }
+            compareScore(current.getKey(), base, current.getValue(), scoreTolerance, regressions);
+            compareAllocation(current.getKey(), base, current.getValue(), allocTolerance, regressions);
+        }
+
+        if (!regressions.isEmpty()) {
+            System.out.println(regressions.size() + " benchmark regression(s) against " + baseline + ":");
+            regressions.forEach(regression -> System.out.println("  " + regression));
+            System.exit(1);
+        }
+        System.out.println("No benchmark regressions against " + baseline);
+    }
+
+    private static void compareScore(String key, JsonNode base, JsonNode current, double tolerance,
+                                     List<String> regressions) {
+        double before = base.path("primaryMetric").path("score").asDouble();
+        double after = current.path("primaryMetric").path("score").asDouble();
+        String unit = current.path("primaryMetric").path("scoreUnit").asText();
+        // thrpt: más es mejor; avgt, sample y ss: menos es mejor
+        boolean higherIsBetter = "thrpt".equals(current.path("mode").asText());
+        boolean regressed = higherIsBetter ? after < before * (1 - tolerance) : after > before * (1 + tolerance);
+        report(key, "score", before, after, unit, regressed, regressions);
+    }
+
+    private static void compareAllocation(String key, JsonNode base, JsonNode current, double tolerance,
+                                          List<String> regressions) {
+        JsonNode before = allocation(base);
+        JsonNode after = allocation(current);
+        if (before == null || after == null) {
+            return;
+        }
+        double beforeBytes = before.path("score").asDouble();
+        double afterBytes = after.path("score").asDouble();
+        boolean regressed = afterBytes > beforeBytes * (1 + tolerance) + ALLOC_SLACK_BYTES;
+        report(key, "alloc", beforeBytes, afterBytes, after.path("scoreUnit").asText(), regressed, regressions);
+    }
+
+    private static void report(String key, String metric, double before, double after, String unit,
+                               boolean regressed, List<String> regressions) {
+        String line = String.format(Locale.ROOT, "%s %s: %.3f -> %.3f %s", key, metric, before, after, unit);
+        System.out.println((regressed ? "WORSE " : "OK    ") + line);
+        if (regressed) {
+            regressions.add(line);
+        }
+    }
+
+    // JMH 1.37 nombra las métricas secundarias sin prefijo; versiones anteriores con "·"
+    private static JsonNode allocation(JsonNode benchmark) {
+        JsonNode secondary = benchmark.path("secondaryMetrics");
+        JsonNode metric = secondary.get(ALLOC_METRIC);
+        return metric != null ? metric : secondary.get("·" + ALLOC_METRIC);
+    }
+
+    private static Map<String, JsonNode> byKey(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode benchmark : results) {
+            Map<String, String> params = new TreeMap<>();
+            benchmark.path("params").properties().forEach(param -> params.put(param.getKey(), param.getValue().asText()));
+            String name = benchmark.path("benchmark").asText() + " [" + benchmark.path("mode").asText() + "]";
+            byKey.put(params.isEmpty() ? name : name + " " + params, benchmark);
+        }
+        return byKey;
+    }
+}
@@ -0,0 +1,123 @@
+package demo.avoris.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import demo.avoris.application.dto.SearchDTO;
+import demo.avoris.application.dto.SearchDetailResponseDTO;
+import demo.avoris.application.dto.SearchRequestDTO;
+import demo.avoris.domain.model.Ages;
+import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.config.AgesJsonSerializer;
+import demo.avoris.infrastructure.config.JacksonConfig;
+import demo.avoris.infrastructure.config.SearchJsonMixin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON de los dos caminos calientes con la configuración anterior ({@code baseline}: {@code JavaTimeModule} y
+ * {@code @JsonFormat} resuelto con {@code DateTimeFormatter}) frente a la de {@link JacksonConfig}
+ * ({@code tuned}: Blackbird y fechas dd/MM/yyyy escritas a mano).
+ *
+ * <ul>
+ *     <li>HTTP: leer el cuerpo de {@code POST /search} y escribir la respuesta de {@code GET /search/{id}}.</li>
+ *     <li>Kafka: escribir y leer el evento {@link Search}.</li>
+ * </ul>
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Djmh.includes=JacksonBenchmark</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonBenchmark {
+
+    @Param({"baseline", "tuned"})
+    public String config;
+
+    private ObjectReader requestReader;
+
+    private ObjectWriter detailWriter;
+
+    private ObjectReader searchReader;
+
+    private ObjectWriter searchWriter;
+
+    private byte[] requestJson;
+
+    private SearchDetailResponseDTO detail;
+
+    private Search search;
+
+    private byte[] searchJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        JacksonConfig jackson = new JacksonConfig();
+        ObjectMapper objectMapper = "tuned".equals(config) ? jackson.objectMapper() : baselineObjectMapper();
+        // Spring MVC resuelve el tipo con el ObjectMapper en cada petición; aquí se fija una vez para medir sólo el JSON
+        requestReader = objectMapper.readerFor(SearchRequestDTO.class);
+        detailWriter = objectMapper.writerFor(SearchDetailResponseDTO.class);
+        searchReader = jackson.searchReader(objectMapper);
+        searchWriter = jackson.searchWriter(objectMapper);
+
+        requestJson = "{\"hotelId\":\"1234aBc\",\"checkIn\":\"29/12/2023\",\"checkOut\":\"31/12/2023\",\"ages\":[30,29,1,3]}"
+                .getBytes(StandardCharsets.UTF_8);
+        detail = new SearchDetailResponseDTO(UUID.randomUUID().toString(),
+                new SearchDTO("1234aBc", LocalDate.of(2023, 12, 29), LocalDate.of(2023, 12, 31), List.of(30, 29, 1, 3)), 100);
+        search = new Search(UUID.randomUUID().toString(), "1234aBc",
+                LocalDate.of(2023, 12, 29), LocalDate.of(2023, 12, 31), List.of(30, 29, 1, 3), 1);
+        searchJson = searchWriter.writeValueAsBytes(search);
+    }
+
+    @Benchmark
+    public SearchRequestDTO httpReadRequest() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+
+    @Benchmark
+    public byte[] httpWriteDetail() throws IOException {
+        return detailWriter.writeValueAsBytes(detail);
+    }
+
+    @Benchmark
+    public byte[] kafkaWriteSearch() throws IOException {
+        return searchWriter.writeValueAsBytes(search);
+    }
+
+    @Benchmark
+    public Search kafkaReadSearch() throws IOException {
+        return searchReader.readValue(searchJson);
+    }
+
+    private static ObjectMapper baselineObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.registerModule(new SimpleModule("ages").addSerializer(Ages.class, new AgesJsonSerializer()));
+        mapper.registerModule(new SimpleModule("search").setMixInAnnotation(Search.class, SearchJsonMixin.class));
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper;
+    }
+}
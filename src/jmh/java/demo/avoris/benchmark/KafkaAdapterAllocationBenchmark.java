@@ -0,0 +1,159 @@
+package demo.avoris.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import demo.avoris.application.port.out.SearchRepositoryPort;
+import demo.avoris.application.service.SearchUseCaseImpl;
+import demo.avoris.domain.model.Search;
+import demo.avoris.domain.model.SearchFingerprint;
+import demo.avoris.infrastructure.adapter.in.kafka.consumer.KafkaAppliedOffsetTracker;
+import demo.avoris.infrastructure.adapter.in.kafka.consumer.KafkaIngestLagMeter;
+import demo.avoris.infrastructure.adapter.in.kafka.consumer.KafkaSearchConsumer;
+import demo.avoris.infrastructure.adapter.out.kafka.codec.SearchKafkaSerializer;
+import demo.avoris.infrastructure.adapter.out.kafka.header.SearchKafkaHeaders;
+import demo.avoris.infrastructure.adapter.out.kafka.producer.KafkaSearchProducer;
+import demo.avoris.infrastructure.adapter.out.memory.InMemorySearchCounterAdapter;
+import demo.avoris.infrastructure.config.JacksonConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Bytes asignados por mensaje en los dos adaptadores de Kafka: {@link KafkaSearchProducer#publishSearch} y
+ * {@link KafkaSearchConsumer#listen}, con JSON y con el formato binario.
+ *
+ * <p>La cifra es {@code gc.alloc.rate.norm} del profiler gc (activo por defecto en el perfil jmh). El broker y
+ * Mongo son stubs que no asignan, así que lo medido es el adaptador: serialización, cabeceras, registro, token
+ * y, en el consumidor, el caso de uso con el contador en memoria.</p>
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Djmh.includes=KafkaAdapterAllocationBenchmark</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KafkaAdapterAllocationBenchmark {
+
+    private static final String TOPIC = "hotel_availability_searches";
+
+    @Param({SearchKafkaHeaders.JSON_CONTENT_TYPE, SearchKafkaHeaders.BINARY_CONTENT_TYPE})
+    public String contentType;
+
+    private KafkaSearchProducer producer;
+
+    private KafkaSearchConsumer consumer;
+
+    private Search search;
+
+    private ConsumerRecord<String, byte[]> record;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        JacksonConfig jackson = new JacksonConfig();
+        ObjectMapper objectMapper = jackson.objectMapper();
+
+        search = new Search(UUID.randomUUID().toString(), "hotel-1234",
+                LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 8), List.of(30, 29, 5, 3), 1);
+
+        producer = new KafkaSearchProducer(new AcknowledgingKafkaTemplate(), jackson.searchWriter(objectMapper),
+                new SimpleMeterRegistry(), 1, contentType);
+        ReflectionTestUtils.setField(producer, "topicName", TOPIC);
+
+        SearchUseCaseImpl useCase = new SearchUseCaseImpl(new InstantRepository(), null,
+                new InMemorySearchCounterAdapter(), new NoDuplicates(), null, null);
+        consumer = new KafkaSearchConsumer(useCase, jackson.searchReader(objectMapper),
+                new KafkaAppliedOffsetTracker(Runnable::run, TOPIC, Duration.ofSeconds(1)),
+                new KafkaIngestLagMeter(new SimpleMeterRegistry(), Duration.ofSeconds(2)));
+
+        Headers headers = new RecordHeaders();
+        headers.add(SearchKafkaHeaders.FINGERPRINT, SearchFingerprint.of(search).toBytes());
+        headers.add(SearchKafkaHeaders.CREATED_AT, SearchKafkaHeaders.createdAt(System.currentTimeMillis()));
+        byte[] payload = new SearchKafkaSerializer(jackson.searchWriter(objectMapper), contentType)
+                .serialize(TOPIC, headers, search);
+        record = new ConsumerRecord<>(TOPIC, 0, 0L, search.searchId(), payload);
+        headers.forEach(header -> record.headers().add(header));
+    }
+
+    @Benchmark
+    public Object producerPublish() {
+        return producer.publishSearch(search);
+    }
+
+    @Benchmark
+    public void consumerListen() {
+        consumer.listen(record);
+    }
+
+    /**
+     * Confirma cada envío con el mismo futuro ya completado, sin tocar la red ni asignar.
+     */
+    private static final class AcknowledgingKafkaTemplate extends KafkaTemplate<String, byte[]> {
+
+        private final CompletableFuture<SendResult<String, byte[]>> acknowledged = CompletableFuture.completedFuture(
+                new SendResult<>(null, new RecordMetadata(new TopicPartition(TOPIC, 0), 0L, 0, 0L, 0, 0)));
+
+        private AcknowledgingKafkaTemplate() {
+            super(new DefaultKafkaProducerFactory<>(Map.of()));
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, byte[]>> send(ProducerRecord<String, byte[]> record) {
+            return acknowledged;
+        }
+    }
+
+    private static final class InstantRepository implements SearchRepositoryPort {
+
+        @Override
+        public Search save(Search search) {
+            return search;
+        }
+
+        @Override
+        public List<Search> saveAll(List<Search> searches) {
+            return searches;
+        }
+
+        @Override
+        public Search findBySearchId(String searchId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Stream<Search> findAllBySearchIds(Collection<String> searchIds) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package demo.avoris.benchmark;
+
+import demo.avoris.application.dto.SearchDetailResponseDTO;
+import demo.avoris.application.dto.SearchRequestDTO;
+import demo.avoris.application.mapper.SearchDetailResponseDTOMapper;
+import demo.avoris.application.mapper.SearchRequestMapper;
+import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchDocument;
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchDocumentV2;
+import demo.avoris.infrastructure.mapper.SearchDocumentMapper;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mappers de los caminos calientes: petición → dominio en {@code POST /search}, dominio ↔ documento v1 (fechas
+ * dd/MM/yyyy formateadas y parseadas) y v2 (días epoch), lectura cruda BSON y dominio → respuesta de
+ * {@code GET /search/{id}}.
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Djmh.includes=MapperBenchmark</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private SearchRequestDTO request;
+
+    private Search search;
+
+    private SearchDocument documentV1;
+
+    private SearchDocumentV2 documentV2;
+
+    private Document bsonV1;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        request = new SearchRequestDTO("hotel-1234", LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 8),
+                List.of(30, 29, 5, 3));
+        search = new Search(UUID.randomUUID().toString(), "hotel-1234",
+                LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 8), List.of(30, 29, 5, 3), 1);
+        documentV1 = SearchDocumentMapper.toDocument(search);
+        documentV2 = SearchDocumentMapper.toDocumentV2(search);
+        bsonV1 = new Document("_id", documentV1.id())
+                .append("searchId", documentV1.searchId())
+                .append("search", new Document("hotelId", documentV1.search().hotelId())
+                        .append("checkIn", documentV1.search().checkIn())
+                        .append("checkOut", documentV1.search().checkOut())
+                        .append("ages", List.copyOf(documentV1.search().ages())))
+                .append("count", documentV1.count());
+    }
+
+    @Benchmark
+    public Search requestToDomain() {
+        return SearchRequestMapper.toDomain(request);
+    }
+
+    @Benchmark
+    public SearchDocument domainToDocumentV1() {
+        return SearchDocumentMapper.toDocument(search);
+    }
+
+    @Benchmark
+    public Search documentV1ToDomain() {
+        return SearchDocumentMapper.toDomain(documentV1);
+    }
+
+    @Benchmark
+    public SearchDocumentV2 domainToDocumentV2() {
+        return SearchDocumentMapper.toDocumentV2(search);
+    }
+
+    @Benchmark
+    public Search documentV2ToDomain() {
+        return SearchDocumentMapper.toDomain(documentV2);
+    }
+
+    @Benchmark
+    public Search bsonV1ToDomain() {
+        return SearchDocumentMapper.fromBson(bsonV1);
+    }
+
+    @Benchmark
+    public SearchDetailResponseDTO domainToDetailResponse() {
+        return SearchDetailResponseDTOMapper.toSearchDetailResponseDTO(search);
+    }
+}
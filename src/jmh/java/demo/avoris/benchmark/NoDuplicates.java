@@ -0,0 +1,23 @@
+package demo.avoris.benchmark;
+
+import demo.avoris.application.port.out.SearchDuplicateFilterPort;
+
+/**
+ * Los benchmarks reenvían el mismo poll en cada invocación; con el filtro real todo sería duplicado a partir de la
+ * segunda y no se mediría el guardado.
+ */
+final class NoDuplicates implements SearchDuplicateFilterPort {
+
+    @Override
+    public boolean isDuplicate(String searchId) {
+        return false;
+    }
+
+    @Override
+    public void markSaved(String searchId) {
+    }
+
+    @Override
+    public void markDuplicate(String searchId) {
+    }
+}
@@ -0,0 +1,152 @@
+package demo.avoris.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import demo.avoris.application.port.out.SearchRepositoryPort;
+import demo.avoris.application.service.SearchUseCaseImpl;
+import demo.avoris.domain.model.Search;
+import demo.avoris.domain.model.SearchFingerprint;
+import demo.avoris.infrastructure.adapter.in.kafka.consumer.KafkaAppliedOffsetTracker;
+import demo.avoris.infrastructure.adapter.in.kafka.consumer.KafkaSearchParallelConsumer;
+import demo.avoris.infrastructure.adapter.out.kafka.header.SearchKafkaHeaders;
+import demo.avoris.infrastructure.adapter.out.memory.InMemorySearchCounterAdapter;
+import demo.avoris.infrastructure.config.JacksonConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Registros/segundo de {@link KafkaSearchParallelConsumer} sobre una sola partición según el número de workers.
+ * Con {@code workers=1} equivale al listener por registro; al ser claves distintas (un searchId por registro) el
+ * rendimiento debería crecer casi lineal con los workers mientras el límite sea la latencia de Mongo.
+ *
+ * <p>Como en {@link SearchConsumerBenchmark}, Mongo es un repositorio que aparca el hilo {@code mongoRttMicros} por
+ * guardado. Cada invocación reparte un poll y espera a que se confirmen todos sus registros.</p>
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Djmh.includes=ParallelConsumerBenchmark</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelConsumerBenchmark {
+
+    private static final int RECORDS_PER_POLL = 500;
+
+    private static final String TOPIC = "hotel_availability_searches";
+
+    @Param({"1", "2", "4", "8"})
+    public int workers;
+
+    @Param({"500"})
+    public long mongoRttMicros;
+
+    private KafkaSearchParallelConsumer consumer;
+
+    private List<ConsumerRecord<String, byte[]>> poll;
+
+    private volatile CountDownLatch pending;
+
+    private final Acknowledgment acknowledgment = () -> pending.countDown();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkLogging.quiet();
+        JacksonConfig jackson = new JacksonConfig();
+        ObjectMapper objectMapper = jackson.objectMapper();
+        SearchUseCaseImpl useCase = new SearchUseCaseImpl(new LatencyRepository(mongoRttMicros), null,
+                new InMemorySearchCounterAdapter(), new NoDuplicates(), null, null);
+        KafkaAppliedOffsetTracker tracker = new KafkaAppliedOffsetTracker(Runnable::run, TOPIC, Duration.ofSeconds(1));
+
+        // Sin contenedor registrado las pausas no hacen nada y ningún registro acaba en el dead-letter topic
+        consumer = new KafkaSearchParallelConsumer(useCase, jackson.searchReader(objectMapper), tracker,
+                null, new KafkaListenerEndpointRegistry(), new SimpleMeterRegistry(), TOPIC + ".DLT", workers,
+                RECORDS_PER_POLL, Duration.ofSeconds(30));
+
+        poll = new ArrayList<>(RECORDS_PER_POLL);
+        for (int i = 0; i < RECORDS_PER_POLL; i++) {
+            Search search = new Search(UUID.randomUUID().toString(), "hotel-" + (i % 50),
+                    LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 8), List.of(30, 29, 1 + i % 10), 1);
+            ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(TOPIC, 0, i, search.searchId(),
+                    objectMapper.writeValueAsBytes(search));
+            record.headers().add(SearchKafkaHeaders.FINGERPRINT, SearchFingerprint.of(search).toBytes());
+            poll.add(record);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        consumer.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS_PER_POLL)
+    public void parallelListener() throws InterruptedException {
+        pending = new CountDownLatch(RECORDS_PER_POLL);
+        for (ConsumerRecord<String, byte[]> record : poll) {
+            consumer.listen(record, acknowledgment);
+        }
+        pending.await();
+    }
+
+    /**
+     * Repositorio sin estado que sólo simula el round trip a Mongo.
+     */
+    private static final class LatencyRepository implements SearchRepositoryPort {
+
+        private final long rttNanos;
+
+        private LatencyRepository(long rttMicros) {
+            this.rttNanos = TimeUnit.MICROSECONDS.toNanos(rttMicros);
+        }
+
+        @Override
+        public Search save(Search search) {
+            LockSupport.parkNanos(rttNanos);
+            return search;
+        }
+
+        @Override
+        public List<Search> saveAll(List<Search> searches) {
+            LockSupport.parkNanos(rttNanos);
+            return searches;
+        }
+
+        @Override
+        public Search findBySearchId(String searchId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Stream<Search> findAllBySearchIds(Collection<String> searchIds) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
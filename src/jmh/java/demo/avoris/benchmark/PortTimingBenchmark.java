@@ -0,0 +1,106 @@
+package demo.avoris.benchmark;
+
+import demo.avoris.application.port.out.SearchRepositoryPort;
+import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.config.TimedPortProxy;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Coste por llamada de {@link TimedPortProxy} sobre un repositorio que no hace nada, con el registro de
+ * Prometheus real: {@code off} es la llamada directa, {@code timer} el timer sin buckets y {@code histogram} con
+ * buckets de percentiles. La diferencia entre {@code off} y los otros dos es lo que se añade a cada llamada a un
+ * puerto en el camino caliente.
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Djmh.includes=PortTimingBenchmark</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PortTimingBenchmark {
+
+    @Param({"off", "timer", "histogram"})
+    public String instrumentation;
+
+    private SearchRepositoryPort repository;
+
+    private Search search;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        search = new Search("search-id", "hotel-1", LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 8),
+                List.of(30, 29, 1), 1);
+        SearchRepositoryPort direct = new ConstantRepository(search);
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        repository = switch (instrumentation) {
+            case "off" -> direct;
+            case "timer" -> TimedPortProxy.wrap(direct, SearchRepositoryPort.class, registry, false);
+            case "histogram" -> TimedPortProxy.wrap(direct, SearchRepositoryPort.class, registry, true);
+            default -> throw new IllegalArgumentException(instrumentation);
+        };
+    }
+
+    @Benchmark
+    public Search findBySearchId() {
+        return repository.findBySearchId(search.searchId());
+    }
+
+    @Benchmark
+    public Search save() {
+        return repository.save(search);
+    }
+
+    /**
+     * Repositorio sin estado: todo el tiempo medido es el del proxy y el registro.
+     */
+    private static final class ConstantRepository implements SearchRepositoryPort {
+
+        private final Search search;
+
+        private ConstantRepository(Search search) {
+            this.search = search;
+        }
+
+        @Override
+        public Search save(Search search) {
+            return search;
+        }
+
+        @Override
+        public List<Search> saveAll(List<Search> searches) {
+            return searches;
+        }
+
+        @Override
+        public Search findBySearchId(String searchId) {
+            return search;
+        }
+
+        @Override
+        public Stream<Search> findAllBySearchIds(Collection<String> searchIds) {
+            return Stream.of(search);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package demo.avoris.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.adapter.out.kafka.codec.SearchKafkaDeserializer;
+import demo.avoris.infrastructure.adapter.out.kafka.codec.SearchKafkaSerializer;
+import demo.avoris.infrastructure.adapter.out.kafka.header.SearchKafkaHeaders;
+import demo.avoris.infrastructure.config.JacksonConfig;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de serializar y leer un evento de búsqueda en JSON frente al formato binario, a través de los mismos
+ * {@link SearchKafkaSerializer}/{@link SearchKafkaDeserializer} que usan el productor y los listeners.
+ *
+ * <p>El tamaño de cada payload se imprime en el setup, para comparar también bytes por mensaje.</p>
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Djmh.includes=SearchCodecBenchmark</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchCodecBenchmark {
+
+    private static final String TOPIC = "hotel_availability_searches";
+
+    @Param({SearchKafkaHeaders.JSON_CONTENT_TYPE, SearchKafkaHeaders.BINARY_CONTENT_TYPE})
+    public String contentType;
+
+    private SearchKafkaSerializer serializer;
+
+    private SearchKafkaDeserializer deserializer;
+
+    private Search search;
+
+    private Headers headers;
+
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JacksonConfig jackson = new JacksonConfig();
+        ObjectMapper objectMapper = jackson.objectMapper();
+        serializer = new SearchKafkaSerializer(jackson.searchWriter(objectMapper), contentType);
+        deserializer = new SearchKafkaDeserializer(jackson.searchReader(objectMapper));
+
+        search = new Search(UUID.randomUUID().toString(), "hotel-1234",
+                LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 8), List.of(30, 29, 5, 3), 1);
+        headers = new RecordHeaders();
+        payload = serializer.serialize(TOPIC, headers, search);
+        System.out.println(contentType + ": " + payload.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, headers, search);
+    }
+
+    @Benchmark
+    public Search deserialize() {
+        return deserializer.deserialize(TOPIC, headers, payload);
+    }
+}
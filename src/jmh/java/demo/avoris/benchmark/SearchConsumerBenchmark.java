@@ -0,0 +1,143 @@
+package demo.avoris.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import demo.avoris.application.port.out.SearchRepositoryPort;
+import demo.avoris.application.service.SearchUseCaseImpl;
+import demo.avoris.domain.model.Search;
+import demo.avoris.domain.model.SearchFingerprint;
+import demo.avoris.infrastructure.adapter.in.kafka.consumer.KafkaAppliedOffsetTracker;
+import demo.avoris.infrastructure.adapter.in.kafka.consumer.KafkaIngestLagMeter;
+import demo.avoris.infrastructure.adapter.in.kafka.consumer.KafkaSearchBatchConsumer;
+import demo.avoris.infrastructure.adapter.in.kafka.consumer.KafkaSearchConsumer;
+import demo.avoris.infrastructure.adapter.out.kafka.header.SearchKafkaHeaders;
+import demo.avoris.infrastructure.adapter.out.memory.InMemorySearchCounterAdapter;
+import demo.avoris.infrastructure.config.JacksonConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Registros/segundo del listener por registro frente al listener por lotes.
+ *
+ * <p>Mongo se sustituye por un repositorio que aparca el hilo {@code mongoRttMicros} por llamada, que es lo que
+ * limita al listener actual: uno por registro con {@code save}, uno por poll con {@code saveAll}. La
+ * deserialización, la huella y el índice de recuentos son los reales.</p>
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Djmh.includes=SearchConsumerBenchmark</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchConsumerBenchmark {
+
+    private static final int RECORDS_PER_POLL = 500;
+
+    private static final String TOPIC = "hotel_availability_searches";
+
+    @Param({"500", "1000"})
+    public long mongoRttMicros;
+
+    private KafkaSearchConsumer recordConsumer;
+
+    private KafkaSearchBatchConsumer batchConsumer;
+
+    private List<ConsumerRecord<String, byte[]>> poll;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkLogging.quiet();
+        JacksonConfig jackson = new JacksonConfig();
+        ObjectMapper objectMapper = jackson.objectMapper();
+        SearchUseCaseImpl useCase = new SearchUseCaseImpl(new LatencyRepository(mongoRttMicros), null,
+                new InMemorySearchCounterAdapter(), new NoDuplicates(), null, null);
+        KafkaAppliedOffsetTracker tracker = new KafkaAppliedOffsetTracker(Runnable::run, TOPIC, Duration.ofSeconds(1));
+
+        recordConsumer = new KafkaSearchConsumer(useCase, jackson.searchReader(objectMapper), tracker,
+                new KafkaIngestLagMeter(new SimpleMeterRegistry(), Duration.ofSeconds(2)));
+        batchConsumer = new KafkaSearchBatchConsumer(useCase, jackson.searchReader(objectMapper), tracker);
+
+        poll = new ArrayList<>(RECORDS_PER_POLL);
+        for (int i = 0; i < RECORDS_PER_POLL; i++) {
+            Search search = new Search(UUID.randomUUID().toString(), "hotel-" + (i % 50),
+                    LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 8), List.of(30, 29, 1 + i % 10), 1);
+            ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(TOPIC, 0, i, search.searchId(),
+                    objectMapper.writeValueAsBytes(search));
+            record.headers().add(SearchKafkaHeaders.FINGERPRINT, SearchFingerprint.of(search).toBytes());
+            record.headers().add(SearchKafkaHeaders.CREATED_AT, SearchKafkaHeaders.createdAt(System.currentTimeMillis()));
+            poll.add(record);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS_PER_POLL)
+    public void recordListener() {
+        for (ConsumerRecord<String, byte[]> record : poll) {
+            recordConsumer.listen(record);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS_PER_POLL)
+    public void batchListener() {
+        batchConsumer.listen(poll, () -> { });
+    }
+
+    /**
+     * Repositorio sin estado que sólo simula el round trip a Mongo.
+     */
+    private static final class LatencyRepository implements SearchRepositoryPort {
+
+        private final long rttNanos;
+
+        private LatencyRepository(long rttMicros) {
+            this.rttNanos = TimeUnit.MICROSECONDS.toNanos(rttMicros);
+        }
+
+        @Override
+        public Search save(Search search) {
+            LockSupport.parkNanos(rttNanos);
+            return search;
+        }
+
+        @Override
+        public List<Search> saveAll(List<Search> searches) {
+            LockSupport.parkNanos(rttNanos);
+            return searches;
+        }
+
+        @Override
+        public Search findBySearchId(String searchId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Stream<Search> findAllBySearchIds(Collection<String> searchIds) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package demo.avoris.benchmark;
+
+import demo.avoris.application.dto.SearchRequestDTO;
+import demo.avoris.application.dto.SearchResponseDTO;
+import demo.avoris.application.port.out.SearchEventPublisherPort;
+import demo.avoris.application.service.SearchUseCaseImpl;
+import demo.avoris.domain.model.ConsistencyToken;
+import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.adapter.out.memory.InMemorySearchCounterAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code SearchUseCaseImpl.createSearch} con un publicador que contesta al instante: validación de fechas, mapeo
+ * a dominio (searchId aleatorio incluido) y respuesta con el token, sin Kafka.
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Djmh.includes=SearchUseCaseBenchmark</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchUseCaseBenchmark {
+
+    private SearchUseCaseImpl useCase;
+
+    private SearchRequestDTO request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        useCase = new SearchUseCaseImpl(null, new AckedPublisher(), new InMemorySearchCounterAdapter(),
+                new NoDuplicates(), null, null);
+        request = new SearchRequestDTO("hotel-1234", LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 8),
+                List.of(30, 29, 5, 3));
+    }
+
+    @Benchmark
+    public SearchResponseDTO createSearch() {
+        return useCase.createSearch(request);
+    }
+
+    /**
+     * Publicador que devuelve siempre el mismo token, como si el ack del broker fuese inmediato.
+     */
+    private static final class AckedPublisher implements SearchEventPublisherPort {
+
+        private static final ConsistencyToken TOKEN = new ConsistencyToken("hotel_availability_searches", 0, 42L);
+
+        @Override
+        public ConsistencyToken publishSearch(Search search) {
+            return TOKEN;
+        }
+
+        @Override
+        public List<CompletableFuture<ConsistencyToken>> publishSearches(List<Search> searches) {
+            return searches.stream().map(search -> CompletableFuture.completedFuture(TOKEN)).toList();
+        }
+    }
+}
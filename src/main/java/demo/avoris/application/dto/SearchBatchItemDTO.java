@@ -0,0 +1,22 @@
+package demo.avoris.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Result of one search of a batch, in request order")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SearchBatchItemDTO(
+
+        @Schema(example = "0")
+        int index,
+
+        @Schema(example = "xxxxx")
+        String searchId,
+
+        @Schema(example = "hotel_availability_searches:0:42")
+        String consistencyToken,
+
+        @Schema(example = "checkOut - must not be null")
+        String error
+) {
+}
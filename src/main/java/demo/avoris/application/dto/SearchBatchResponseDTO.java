@@ -0,0 +1,18 @@
+package demo.avoris.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Batch search creation response")
+public record SearchBatchResponseDTO(
+
+        @Schema(example = "2")
+        int accepted,
+
+        @Schema(example = "1")
+        int rejected,
+
+        List<SearchBatchItemDTO> items
+) {
+}
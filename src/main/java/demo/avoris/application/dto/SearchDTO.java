@@ -1,5 +1,6 @@
 package demo.avoris.application.dto;
 
+import demo.avoris.domain.model.Ages;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.LocalDate;
@@ -21,7 +22,7 @@ public record SearchDTO(
         List<Integer> ages
 ) {
     public SearchDTO {
-        ages = List.copyOf(ages);
+        ages = ages == null ? null : Ages.copyOf(ages);
     }
 }
 
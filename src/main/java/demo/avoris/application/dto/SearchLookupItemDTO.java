@@ -0,0 +1,21 @@
+package demo.avoris.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "One line of the search lookup stream")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SearchLookupItemDTO(
+
+        @Schema(example = "xxxxx")
+        String searchId,
+
+        @Schema(example = "true")
+        boolean found,
+
+        SearchDTO search,
+
+        @Schema(example = "100")
+        Integer count
+) {
+}
@@ -1,7 +1,10 @@
 package demo.avoris.application.dto;
 
+import demo.avoris.domain.model.Ages;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDate;
@@ -26,10 +29,7 @@ public record SearchRequestDTO(
 
         @NotNull
         @Schema(example = "[30, 29, 1, 3]")
-        List<Integer> ages
+        List<@NotNull @Min(0) @Max(Ages.MAX_AGE) Integer> ages
 ) {
-    public SearchRequestDTO {
-        ages = List.copyOf(ages);
-    }
 }
 
@@ -1,11 +1,20 @@
 package demo.avoris.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Schema(description = "Search creation response")
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record SearchResponseDTO(
 
         @Schema(example = "xxxxx")
-        String searchId
+        String searchId,
+
+        @Schema(example = "hotel_availability_searches:0:42",
+                description = "Pass it as consistencyToken on GET /search/{searchId} to wait until the search is visible")
+        String consistencyToken
 ) {
+    public SearchResponseDTO(String searchId) {
+        this(searchId, null);
+    }
 }
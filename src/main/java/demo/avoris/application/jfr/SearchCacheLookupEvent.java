@@ -0,0 +1,19 @@
+package demo.avoris.application.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("demo.avoris.SearchCacheLookup")
+@Label("Search Cache Lookup")
+@Description("findBySearchId through the search cache")
+public class SearchCacheLookupEvent extends SearchJfrEvent {
+
+    @Label("Hit")
+    boolean hit;
+
+    public SearchCacheLookupEvent hit(boolean hit) {
+        this.hit = hit;
+        return this;
+    }
+}
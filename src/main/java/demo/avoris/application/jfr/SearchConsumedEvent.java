@@ -0,0 +1,11 @@
+package demo.avoris.application.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("demo.avoris.SearchConsumed")
+@Label("Search Consumed")
+@Description("Kafka record deserialized and saved")
+public class SearchConsumedEvent extends SearchJfrEvent {
+}
@@ -0,0 +1,11 @@
+package demo.avoris.application.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("demo.avoris.SearchCreated")
+@Label("Search Created")
+@Description("createSearch: validation, mapping and publication")
+public class SearchCreatedEvent extends SearchJfrEvent {
+}
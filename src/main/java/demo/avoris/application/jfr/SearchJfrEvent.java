@@ -0,0 +1,46 @@
+package demo.avoris.application.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base de los eventos JFR del ciclo de vida de una búsqueda. La duración es la del propio evento
+ * ({@link #begin()} → {@link #emit(String, String, long)}).
+ *
+ * <p>Sin una grabación que los pida, {@code begin}/{@code shouldCommit} no hacen nada y el JIT elimina la
+ * reserva del evento, así que pueden quedarse en el camino caliente. Los campos sólo se rellenan si el evento se
+ * va a escribir.</p>
+ */
+@Category({"Avoris", "Search"})
+@StackTrace(false)
+public abstract class SearchJfrEvent extends Event {
+
+    /** Para eventos sin payload propio. */
+    public static final long NO_PAYLOAD = 0L;
+
+    @Label("Search Id")
+    String searchId;
+
+    @Label("Hotel Id")
+    String hotelId;
+
+    @Label("Payload Size")
+    @DataAmount
+    long payloadSize;
+
+    /**
+     * Cierra el evento y lo escribe si alguna grabación lo tiene activo y supera su umbral.
+     */
+    public void emit(String searchId, String hotelId, long payloadSize) {
+        end();
+        if (shouldCommit()) {
+            this.searchId = searchId;
+            this.hotelId = hotelId;
+            this.payloadSize = payloadSize;
+            commit();
+        }
+    }
+}
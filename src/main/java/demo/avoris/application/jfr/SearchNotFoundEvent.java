@@ -0,0 +1,20 @@
+package demo.avoris.application.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("demo.avoris.SearchNotFound")
+@Label("Search Not Found")
+@Description("Lookup of a searchId that is not stored")
+public class SearchNotFoundEvent extends SearchJfrEvent {
+
+    @Label("Bloom Miss")
+    @Description("The Bloom filter had not seen the searchId; MongoDB was queried anyway")
+    boolean bloomMiss;
+
+    public SearchNotFoundEvent bloomMiss(boolean bloomMiss) {
+        this.bloomMiss = bloomMiss;
+        return this;
+    }
+}
@@ -0,0 +1,11 @@
+package demo.avoris.application.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("demo.avoris.SearchPersisted")
+@Label("Search Persisted")
+@Description("Search written to MongoDB")
+public class SearchPersistedEvent extends SearchJfrEvent {
+}
@@ -0,0 +1,11 @@
+package demo.avoris.application.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("demo.avoris.SearchPublished")
+@Label("Search Published")
+@Description("Kafka send until the broker ack")
+public class SearchPublishedEvent extends SearchJfrEvent {
+}
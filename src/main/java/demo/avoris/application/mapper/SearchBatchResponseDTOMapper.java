@@ -0,0 +1,26 @@
+package demo.avoris.application.mapper;
+
+import demo.avoris.application.dto.SearchBatchItemDTO;
+import demo.avoris.application.dto.SearchBatchResponseDTO;
+import demo.avoris.domain.model.ConsistencyToken;
+
+import java.util.List;
+
+public class SearchBatchResponseDTOMapper {
+
+    private SearchBatchResponseDTOMapper() {
+    }
+
+    public static SearchBatchItemDTO toAcceptedItem(int index, String searchId, ConsistencyToken token) {
+        return new SearchBatchItemDTO(index, searchId, token.encode(), null);
+    }
+
+    public static SearchBatchItemDTO toRejectedItem(int index, String error) {
+        return new SearchBatchItemDTO(index, null, null, error);
+    }
+
+    public static SearchBatchResponseDTO toSearchBatchResponseDTO(List<SearchBatchItemDTO> items) {
+        int accepted = (int) items.stream().filter(item -> item.error() == null).count();
+        return new SearchBatchResponseDTO(accepted, items.size() - accepted, items);
+    }
+}
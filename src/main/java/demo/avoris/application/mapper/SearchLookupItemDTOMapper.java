@@ -0,0 +1,29 @@
+package demo.avoris.application.mapper;
+
+import demo.avoris.application.dto.SearchDTO;
+import demo.avoris.application.dto.SearchLookupItemDTO;
+import demo.avoris.domain.model.Search;
+
+public class SearchLookupItemDTOMapper {
+
+    private SearchLookupItemDTOMapper() {
+    }
+
+    public static SearchLookupItemDTO toFoundItem(Search search) {
+        return new SearchLookupItemDTO(
+                search.searchId(),
+                true,
+                new SearchDTO(
+                        search.hotelId(),
+                        search.checkIn(),
+                        search.checkOut(),
+                        search.ages()
+                ),
+                search.count()
+        );
+    }
+
+    public static SearchLookupItemDTO toMissingItem(String searchId) {
+        return new SearchLookupItemDTO(searchId, false, null, null);
+    }
+}
@@ -2,6 +2,7 @@ package demo.avoris.application.mapper;
 
 import demo.avoris.application.dto.SearchRequestDTO;
 import demo.avoris.domain.model.Search;
+import demo.avoris.domain.model.SearchFingerprint;
 
 import java.time.format.DateTimeFormatter;
 import java.util.UUID;
@@ -12,7 +13,7 @@ public class SearchRequestMapper {
     static DateTimeFormatter pattern = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
     public static Search toDomain(SearchRequestDTO searchRequestDTO) {
-        return new Search(
+        Search search = new Search(
                 UUID.randomUUID().toString(),
                 searchRequestDTO.hotelId(),
                 searchRequestDTO.checkIn(),
@@ -20,6 +21,7 @@ public class SearchRequestMapper {
                 searchRequestDTO.ages(),
                 1
         );
+        return search.withFingerprint(SearchFingerprint.of(search));
     }
 
 }
@@ -1,6 +1,7 @@
 package demo.avoris.application.mapper;
 
 import demo.avoris.application.dto.SearchResponseDTO;
+import demo.avoris.domain.model.ConsistencyToken;
 
 public class SearchResponseDTOMapper {
 
@@ -10,4 +11,8 @@ public class SearchResponseDTOMapper {
     public static SearchResponseDTO toSearchResponseDTO(String searchId) {
         return new SearchResponseDTO(searchId);
     }
+
+    public static SearchResponseDTO toSearchResponseDTO(String searchId, ConsistencyToken token) {
+        return new SearchResponseDTO(searchId, token != null ? token.encode() : null);
+    }
 }
@@ -0,0 +1,31 @@
+package demo.avoris.application.port.in;
+
+import demo.avoris.application.dto.SearchDetailResponseDTO;
+import demo.avoris.application.dto.SearchLookupItemDTO;
+import demo.avoris.application.dto.SearchRequestDTO;
+import demo.avoris.application.dto.SearchResponseDTO;
+import demo.avoris.domain.model.Search;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Variante no bloqueante de {@link SearchUseCase} para la pila reactiva. Nada se ejecuta hasta la suscripción
+ * y la demanda del suscriptor llega hasta Mongo y Kafka.
+ */
+public interface ReactiveSearchUseCase {
+
+    Mono<SearchResponseDTO> createSearch(SearchRequestDTO request);
+
+    Mono<SearchDetailResponseDTO> getHotelCount(String searchId);
+
+    /**
+     * Como {@link SearchUseCase#lookupHotelCounts(List)}: primero los encontrados según llegan de Mongo y al
+     * final los inexistentes con {@code found=false}.
+     */
+    Flux<SearchLookupItemDTO> lookupHotelCounts(List<String> searchIds);
+
+    Mono<Search> saveSearch(Search search);
+}
@@ -1,16 +1,46 @@
 package demo.avoris.application.port.in;
 
+import demo.avoris.application.dto.SearchBatchResponseDTO;
 import demo.avoris.application.dto.SearchDetailResponseDTO;
+import demo.avoris.application.dto.SearchLookupItemDTO;
 import demo.avoris.application.dto.SearchRequestDTO;
 import demo.avoris.application.dto.SearchResponseDTO;
 import demo.avoris.domain.model.Search;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
 public interface SearchUseCase {
 
     SearchResponseDTO createSearch(SearchRequestDTO request);
 
+    /**
+     * Valida y publica un lote de búsquedas. Las inválidas o no publicadas se devuelven con su error sin
+     * afectar al resto; el resultado conserva el orden de la petición.
+     */
+    SearchBatchResponseDTO createSearches(List<SearchRequestDTO> requests);
+
     SearchDetailResponseDTO getHotelCount(String searchId);
 
+    /**
+     * Como {@link #getHotelCount(String)}, pero espera (acotado) a que el consumidor haya aplicado la posición
+     * del token devuelto por {@link #createSearch(SearchRequestDTO)}.
+     */
+    CompletableFuture<SearchDetailResponseDTO> getHotelCountAfter(String searchId, String consistencyToken);
+
+    /**
+     * Recuenta varias búsquedas con una sola consulta. Emite un elemento por id distinto: primero los encontrados,
+     * según llegan, y al final los inexistentes marcados con {@code found=false}. El llamante debe cerrar el
+     * {@link Stream}.
+     */
+    Stream<SearchLookupItemDTO> lookupHotelCounts(List<String> searchIds);
+
     Search saveSearch(Search search);
+
+    /**
+     * Como {@link #saveSearch(Search)} para un lote, con una sola escritura en el repositorio.
+     */
+    List<Search> saveSearches(List<Search> searches);
 }
 
@@ -0,0 +1,14 @@
+package demo.avoris.application.port.out;
+
+import demo.avoris.domain.model.ConsistencyToken;
+import demo.avoris.domain.model.Search;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveSearchEventPublisherPort {
+
+    /**
+     * Publica la búsqueda y emite el token de consistencia cuando llega el ack del broker.
+     */
+    Mono<ConsistencyToken> publishSearch(Search search);
+}
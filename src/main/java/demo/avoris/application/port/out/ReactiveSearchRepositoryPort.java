@@ -0,0 +1,27 @@
+package demo.avoris.application.port.out;
+
+import demo.avoris.domain.model.Search;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface ReactiveSearchRepositoryPort {
+
+    /**
+     * Termina con {@link demo.avoris.domain.exception.DuplicateSearch} si el searchId ya estaba persistido.
+     */
+    Mono<Search> save(Search search);
+
+    /**
+     * Termina con error si la búsqueda no existe, igual que {@link SearchRepositoryPort#findBySearchId(String)}.
+     */
+    Mono<Search> findBySearchId(String searchId);
+
+    /**
+     * Una sola consulta; los ids inexistentes no aparecen y el orden no está garantizado. El cursor avanza
+     * según la demanda del suscriptor.
+     */
+    Flux<Search> findAllBySearchIds(Collection<String> searchIds);
+}
@@ -0,0 +1,12 @@
+package demo.avoris.application.port.out;
+
+import demo.avoris.domain.model.SearchFingerprint;
+
+public interface SearchCounterPort {
+
+    long increment(SearchFingerprint fingerprint);
+
+    void add(SearchFingerprint fingerprint, long delta);
+
+    long count(SearchFingerprint fingerprint);
+}
@@ -0,0 +1,19 @@
+package demo.avoris.application.port.out;
+
+/**
+ * Recuerda los searchId persistidos recientemente para descartar reenvíos sin ir a la base de datos.
+ */
+public interface SearchDuplicateFilterPort {
+
+    /**
+     * @return {@code true} si el searchId se guardó hace poco y el guardado debe omitirse
+     */
+    boolean isDuplicate(String searchId);
+
+    void markSaved(String searchId);
+
+    /**
+     * El filtro no lo conocía pero la base de datos lo ha rechazado por duplicado.
+     */
+    void markDuplicate(String searchId);
+}
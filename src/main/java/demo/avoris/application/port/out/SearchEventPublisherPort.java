@@ -1,7 +1,22 @@
 package demo.avoris.application.port.out;
 
+import demo.avoris.domain.model.ConsistencyToken;
 import demo.avoris.domain.model.Search;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 public interface SearchEventPublisherPort {
-    void publishSearch(Search search);
+
+    /**
+     * Publica la búsqueda. Devuelve el token de consistencia, o {@code null} si el adaptador no espera el ack
+     * del broker y la posición del registro todavía no se conoce.
+     */
+    ConsistencyToken publishSearch(Search search);
+
+    /**
+     * Publica todas las búsquedas con un único flush y espera sus acks a la vez. Devuelve un futuro por búsqueda,
+     * en el mismo orden y ya completado: con el token o con el error de ese envío.
+     */
+    List<CompletableFuture<ConsistencyToken>> publishSearches(List<Search> searches);
 }
@@ -0,0 +1,16 @@
+package demo.avoris.application.port.out;
+
+import demo.avoris.domain.model.ConsistencyToken;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface SearchProgressPort {
+
+    /**
+     * Se completa cuando el consumidor ha aplicado el evento del token o cuando vence la espera máxima,
+     * lo que ocurra antes. Nunca se completa con error por timeout.
+     *
+     * @throws demo.avoris.domain.exception.InvalidConsistencyToken si el token no es de un tópico de búsquedas
+     */
+    CompletableFuture<Void> awaitApplied(ConsistencyToken token);
+}
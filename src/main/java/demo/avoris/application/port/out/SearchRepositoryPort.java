@@ -2,9 +2,28 @@ package demo.avoris.application.port.out;
 
 import demo.avoris.domain.model.Search;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 public interface SearchRepositoryPort {
 
+    /**
+     * @throws demo.avoris.domain.exception.DuplicateSearch si el searchId ya estaba persistido
+     */
     Search save(Search search);
 
+    /**
+     * Persiste el lote en una sola escritura masiva (no ordenada). Devuelve las búsquedas guardadas en el mismo
+     * orden, sin las que ya estaban persistidas.
+     */
+    List<Search> saveAll(List<Search> searches);
+
     Search findBySearchId(String searchId);
+
+    /**
+     * Busca todos los ids con una sola consulta. Los ids inexistentes no aparecen en el resultado y el orden
+     * no está garantizado. El {@link Stream} puede mantener un cursor abierto: el llamante debe cerrarlo.
+     */
+    Stream<Search> findAllBySearchIds(Collection<String> searchIds);
 }
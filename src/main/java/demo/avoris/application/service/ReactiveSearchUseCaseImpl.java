@@ -0,0 +1,130 @@
+package demo.avoris.application.service;
+
+import demo.avoris.application.dto.SearchDetailResponseDTO;
+import demo.avoris.application.dto.SearchLookupItemDTO;
+import demo.avoris.application.dto.SearchRequestDTO;
+import demo.avoris.application.dto.SearchResponseDTO;
+import demo.avoris.application.mapper.SearchDetailResponseDTOMapper;
+import demo.avoris.application.mapper.SearchLookupItemDTOMapper;
+import demo.avoris.application.mapper.SearchRequestMapper;
+import demo.avoris.application.mapper.SearchResponseDTOMapper;
+import demo.avoris.application.port.in.ReactiveSearchUseCase;
+import demo.avoris.application.port.out.ReactiveSearchEventPublisherPort;
+import demo.avoris.application.port.out.ReactiveSearchRepositoryPort;
+import demo.avoris.application.port.out.SearchCounterPort;
+import demo.avoris.application.port.out.SearchDuplicateFilterPort;
+import demo.avoris.domain.exception.DuplicateSearch;
+import demo.avoris.domain.exception.InvalidCheckIn;
+import demo.avoris.domain.exception.InvalidSearchBatch;
+import demo.avoris.domain.model.Search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Mismas reglas que {@link SearchUseCaseImpl} sobre los puertos reactivos. El contador de búsquedas y el filtro
+ * de duplicados son los mismos {@link SearchCounterPort} y {@link SearchDuplicateFilterPort}: viven en memoria y
+ * no bloquean.
+ */
+@Service
+@ConditionalOnProperty(name = "app.stack", havingValue = "reactive")
+public class ReactiveSearchUseCaseImpl implements ReactiveSearchUseCase {
+
+    private static final String INVALID_DATES_MESSAGE = "Check-out date must be after check-in date.";
+
+    private final ReactiveSearchRepositoryPort repository;
+
+    private final ReactiveSearchEventPublisherPort publisher;
+
+    private final SearchCounterPort counter;
+
+    private final SearchDuplicateFilterPort duplicates;
+
+    public ReactiveSearchUseCaseImpl(ReactiveSearchRepositoryPort repository, ReactiveSearchEventPublisherPort publisher,
+                                     SearchCounterPort counter, SearchDuplicateFilterPort duplicates) {
+        this.repository = repository;
+        this.publisher = publisher;
+        this.counter = counter;
+        this.duplicates = duplicates;
+    }
+
+    @Override
+    public Mono<SearchResponseDTO> createSearch(SearchRequestDTO request) {
+        return Mono.fromCallable(() -> toValidSearch(request))
+                .flatMap(search -> publisher.publishSearch(search)
+                        .map(token -> SearchResponseDTOMapper.toSearchResponseDTO(search.searchId(), token)));
+    }
+
+    @Override
+    public Mono<SearchDetailResponseDTO> getHotelCount(String searchId) {
+        return repository.findBySearchId(searchId)
+                .map(this::withCurrentCount)
+                .map(SearchDetailResponseDTOMapper::toSearchDetailResponseDTO);
+    }
+
+    @Override
+    public Flux<SearchLookupItemDTO> lookupHotelCounts(List<String> searchIds) {
+        if (searchIds.size() > SearchUseCaseImpl.MAX_BATCH_SIZE) {
+            return Flux.error(new InvalidSearchBatch(
+                    "A lookup accepts at most " + SearchUseCaseImpl.MAX_BATCH_SIZE + " ids, got " + searchIds.size() + "."));
+        }
+
+        // Estado por suscripción: los pendientes se emiten como inexistentes cuando Mongo termina
+        return Flux.defer(() -> {
+            Set<String> pending = new LinkedHashSet<>(searchIds);
+            pending.remove(null);
+            if (pending.isEmpty()) {
+                return Flux.empty();
+            }
+
+            Flux<SearchLookupItemDTO> found = repository.findAllBySearchIds(List.copyOf(pending))
+                    .filter(search -> pending.remove(search.searchId()))
+                    .map(this::withCurrentCount)
+                    .map(SearchLookupItemDTOMapper::toFoundItem);
+            Flux<SearchLookupItemDTO> missing = Flux.defer(() -> Flux.fromIterable(pending))
+                    .map(SearchLookupItemDTOMapper::toMissingItem);
+
+            return found.concatWith(missing);
+        });
+    }
+
+    @Override
+    public Mono<Search> saveSearch(Search search) {
+        return Mono.defer(() -> {
+            if (duplicates.isDuplicate(search.searchId())) {
+                return Mono.just(withCurrentCount(search));
+            }
+            return repository.save(search)
+                    .map(saved -> {
+                        duplicates.markSaved(saved.searchId());
+                        return saved.withCount(toIntCount(counter.increment(saved.fingerprintOrCompute())));
+                    })
+                    .onErrorResume(DuplicateSearch.class, e -> {
+                        duplicates.markDuplicate(search.searchId());
+                        return Mono.just(withCurrentCount(search));
+                    });
+        });
+    }
+
+    private Search withCurrentCount(Search search) {
+        return search.withCount(toIntCount(counter.count(search.fingerprintOrCompute())));
+    }
+
+    private static Search toValidSearch(SearchRequestDTO request) {
+        if (!request.checkIn().isBefore(request.checkOut())) {
+            throw new InvalidCheckIn(INVALID_DATES_MESSAGE);
+        }
+        return SearchRequestMapper.toDomain(request);
+    }
+
+    private static int toIntCount(long count) {
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+}
@@ -1,63 +1,255 @@
 package demo.avoris.application.service;
 
 import demo.avoris.application.dto.*;
+import demo.avoris.application.jfr.SearchCreatedEvent;
+import demo.avoris.application.jfr.SearchJfrEvent;
+import demo.avoris.application.mapper.SearchBatchResponseDTOMapper;
 import demo.avoris.application.mapper.SearchDetailResponseDTOMapper;
+import demo.avoris.application.mapper.SearchLookupItemDTOMapper;
 import demo.avoris.application.mapper.SearchRequestMapper;
 import demo.avoris.application.mapper.SearchResponseDTOMapper;
 import demo.avoris.application.port.in.SearchUseCase;
+import demo.avoris.application.port.out.SearchCounterPort;
+import demo.avoris.application.port.out.SearchDuplicateFilterPort;
 import demo.avoris.application.port.out.SearchEventPublisherPort;
+import demo.avoris.application.port.out.SearchProgressPort;
 import demo.avoris.application.port.out.SearchRepositoryPort;
+import demo.avoris.domain.exception.DuplicateSearch;
 import demo.avoris.domain.exception.InvalidCheckIn;
+import demo.avoris.domain.exception.InvalidSearchBatch;
 
+import demo.avoris.domain.model.ConsistencyToken;
 import demo.avoris.domain.model.Search;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class SearchUseCaseImpl implements SearchUseCase {
 
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private static final String INVALID_DATES_MESSAGE = "Check-out date must be after check-in date.";
+
     private final SearchRepositoryPort repository;
 
     private final SearchEventPublisherPort publisher;
 
-    public SearchUseCaseImpl(SearchRepositoryPort repository, SearchEventPublisherPort publisher) {
+    private final SearchCounterPort counter;
+
+    private final SearchDuplicateFilterPort duplicates;
+
+    private final SearchProgressPort progress;
+
+    private final Validator validator;
+
+    public SearchUseCaseImpl(SearchRepositoryPort repository, SearchEventPublisherPort publisher,
+                             SearchCounterPort counter, SearchDuplicateFilterPort duplicates,
+                             SearchProgressPort progress, Validator validator) {
         this.repository = repository;
         this.publisher = publisher;
+        this.counter = counter;
+        this.duplicates = duplicates;
+        this.progress = progress;
+        this.validator = validator;
     }
 
     @Override
     public SearchResponseDTO createSearch(SearchRequestDTO request) {
 
+        SearchCreatedEvent event = new SearchCreatedEvent();
+        event.begin();
+
         validatacionDates(request.checkIn(), request.checkOut());
 
         Search search = SearchRequestMapper.toDomain(request);
 
-        publisher.publishSearch(search);
+        ConsistencyToken token = publisher.publishSearch(search);
+
+        event.emit(search.searchId(), search.hotelId(), SearchJfrEvent.NO_PAYLOAD);
 
-        return SearchResponseDTOMapper.toSearchResponseDTO(search.searchId());
+        return SearchResponseDTOMapper.toSearchResponseDTO(search.searchId(), token);
     }
 
 
+    @Override
+    public SearchBatchResponseDTO createSearches(List<SearchRequestDTO> requests) {
+
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new InvalidSearchBatch("A batch accepts at most " + MAX_BATCH_SIZE + " searches, got " + requests.size() + ".");
+        }
+
+        SearchBatchItemDTO[] items = new SearchBatchItemDTO[requests.size()];
+        List<Search> searches = new ArrayList<>(requests.size());
+        List<Integer> indexes = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validationError(requests.get(i));
+            if (error != null) {
+                items[i] = SearchBatchResponseDTOMapper.toRejectedItem(i, error);
+            } else {
+                searches.add(SearchRequestMapper.toDomain(requests.get(i)));
+                indexes.add(i);
+            }
+        }
+
+        List<CompletableFuture<ConsistencyToken>> sent = searches.isEmpty() ? List.of() : publisher.publishSearches(searches);
+
+        for (int j = 0; j < searches.size(); j++) {
+            int index = indexes.get(j);
+            String searchId = searches.get(j).searchId();
+            items[index] = sent.get(j)
+                    .thenApply(token -> SearchBatchResponseDTOMapper.toAcceptedItem(index, searchId, token))
+                    .exceptionally(e -> SearchBatchResponseDTOMapper.toRejectedItem(index, rootMessage(e)))
+                    .join();
+        }
+
+        return SearchBatchResponseDTOMapper.toSearchBatchResponseDTO(Arrays.asList(items));
+    }
 
     @Override
     public SearchDetailResponseDTO getHotelCount(String searchId) {
 
         Search search = repository.findBySearchId(searchId);
 
-        return SearchDetailResponseDTOMapper.toSearchDetailResponseDTO(search);
+        long count = counter.count(search.fingerprintOrCompute());
+
+        return SearchDetailResponseDTOMapper.toSearchDetailResponseDTO(search.withCount(toIntCount(count)));
+    }
+
+    @Override
+    public CompletableFuture<SearchDetailResponseDTO> getHotelCountAfter(String searchId, String consistencyToken) {
+
+        ConsistencyToken token = ConsistencyToken.parse(consistencyToken);
+
+        return progress.awaitApplied(token).thenApply(ignored -> getHotelCount(searchId));
+    }
+
+    @Override
+    public Stream<SearchLookupItemDTO> lookupHotelCounts(List<String> searchIds) {
+
+        if (searchIds.size() > MAX_BATCH_SIZE) {
+            throw new InvalidSearchBatch("A lookup accepts at most " + MAX_BATCH_SIZE + " ids, got " + searchIds.size() + ".");
+        }
+
+        Set<String> pending = new LinkedHashSet<>(searchIds);
+        pending.remove(null);
+
+        // flatMap abre el cursor en la primera lectura y lo cierra al agotarse; los pendientes se leen después
+        Stream<SearchLookupItemDTO> found = Stream.of(List.copyOf(pending))
+                .flatMap(ids -> ids.isEmpty() ? Stream.empty() : repository.findAllBySearchIds(ids))
+                .filter(search -> pending.remove(search.searchId()))
+                .map(search -> search.withCount(toIntCount(counter.count(search.fingerprintOrCompute()))))
+                .map(SearchLookupItemDTOMapper::toFoundItem);
+        Stream<SearchLookupItemDTO> missing = Stream.of(pending)
+                .flatMap(Set::stream)
+                .map(SearchLookupItemDTOMapper::toMissingItem);
+
+        return Stream.concat(found, missing);
     }
 
+    /**
+     * Un reenvío (conocido por el filtro o rechazado por la base de datos) no vuelve a sumar: se devuelve con el
+     * recuento actual.
+     */
     @Override
     public Search saveSearch(Search search) {
-        return repository.save(search);
+        if (duplicates.isDuplicate(search.searchId())) {
+            return withCurrentCount(search);
+        }
+
+        Search saved;
+        try {
+            saved = repository.save(search);
+        } catch (DuplicateSearch e) {
+            duplicates.markDuplicate(search.searchId());
+            return withCurrentCount(search);
+        }
+        duplicates.markSaved(saved.searchId());
+
+        long count = counter.increment(saved.fingerprintOrCompute());
+
+        return saved.withCount(toIntCount(count));
+    }
+
+    /**
+     * Sólo devuelve (y cuenta) las búsquedas que eran nuevas.
+     */
+    @Override
+    public List<Search> saveSearches(List<Search> searches) {
+        List<Search> fresh = searches.stream()
+                .filter(search -> !duplicates.isDuplicate(search.searchId()))
+                .toList();
+        List<Search> saved = fresh.isEmpty() ? List.of() : repository.saveAll(fresh);
+
+        Set<String> savedIds = saved.stream().map(Search::searchId).collect(Collectors.toSet());
+        fresh.forEach(search -> {
+            if (savedIds.contains(search.searchId())) {
+                duplicates.markSaved(search.searchId());
+            } else {
+                duplicates.markDuplicate(search.searchId());
+            }
+        });
+
+        return saved.stream()
+                .map(search -> search.withCount(toIntCount(counter.increment(search.fingerprintOrCompute()))))
+                .toList();
+    }
+
+    private Search withCurrentCount(Search search) {
+        return search.withCount(toIntCount(counter.count(search.fingerprintOrCompute())));
+    }
+
+    private static int toIntCount(long count) {
+        return (int) Math.min(count, Integer.MAX_VALUE);
     }
 
 
     private void validatacionDates(LocalDate checkIn,LocalDate checkOut){
-        if (checkIn.isAfter(checkOut) || checkIn.isEqual(checkOut)) {
-            throw new InvalidCheckIn("Check-out date must be after check-in date.");
+        if (!isValidStay(checkIn, checkOut)) {
+            throw new InvalidCheckIn(INVALID_DATES_MESSAGE);
+        }
+    }
+
+    private static boolean isValidStay(LocalDate checkIn, LocalDate checkOut) {
+        return checkIn.isBefore(checkOut);
+    }
+
+    /**
+     * Mismas reglas que {@code @Valid} + {@link #validatacionDates} pero devolviendo el motivo en lugar de lanzar,
+     * para que un elemento inválido no tumbe el lote.
+     */
+    private String validationError(SearchRequestDTO request) {
+        if (request == null) {
+            return "Search must not be null";
+        }
+        Set<ConstraintViolation<SearchRequestDTO>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " - " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        return isValidStay(request.checkIn(), request.checkOut()) ? null : INVALID_DATES_MESSAGE;
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
         }
+        return cause.getMessage();
     }
 }
@@ -0,0 +1,11 @@
+package demo.avoris.domain.exception;
+
+/**
+ * La búsqueda ya estaba persistida (un reenvío de Kafka tras un reintento o un rebalanceo). Es un caso esperado
+ * y frecuente en una tormenta de rebalanceos, así que no captura la traza.
+ */
+public class DuplicateSearch extends RuntimeException {
+    public DuplicateSearch(String message) {
+        super(message, null, false, false);
+    }
+}
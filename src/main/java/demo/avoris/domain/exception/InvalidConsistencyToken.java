@@ -0,0 +1,7 @@
+package demo.avoris.domain.exception;
+
+public class InvalidConsistencyToken extends RuntimeException {
+    public InvalidConsistencyToken(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package demo.avoris.domain.exception;
+
+public class InvalidSearchBatch extends RuntimeException {
+    public InvalidSearchBatch(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,125 @@
+package demo.avoris.domain.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Edades de los huéspedes de una búsqueda, empaquetadas en un {@code byte[]} inmutable (una edad por byte,
+ * de 0 a {@value #MAX_AGE}).
+ *
+ * <p>Implementa {@code List<Integer>} para que DTOs, documentos y JSON sigan viendo una lista de enteros,
+ * pero sin guardar cajas: {@link #get(int)} encaja al vuelo con {@link Integer#valueOf(int)}, que solo sale de la
+ * caché hasta 127 (de 128 a 255 asigna un {@code Integer} por llamada; {@link #getInt(int)} evita la caja), y
+ * {@link #copyOf(Collection)} devuelve la misma instancia cuando ya recibe un {@code Ages}, así que la
+ * lista se empaqueta una sola vez por petición aunque pase por varios records.</p>
+ *
+ * <p>Las edades llegan ya validadas (la restricción de rango está en {@code SearchRequestDTO}); fuera de rango el
+ * resultado no está definido.</p>
+ */
+public final class Ages extends AbstractList<Integer> implements RandomAccess {
+
+    public static final int MAX_AGE = 255;
+
+    private static final Ages EMPTY = new Ages(new byte[0], true);
+
+    private final byte[] packed;
+    private final boolean sorted;
+
+    private Ages(byte[] packed, boolean sorted) {
+        this.packed = packed;
+        this.sorted = sorted;
+    }
+
+    public static Ages copyOf(Collection<Integer> ages) {
+        if (ages instanceof Ages alreadyPacked) {
+            return alreadyPacked;
+        }
+        if (ages.isEmpty()) {
+            return EMPTY;
+        }
+        byte[] packed = new byte[ages.size()];
+        int i = 0;
+        for (Integer age : ages) {
+            packed[i++] = pack(age);
+        }
+        return new Ages(packed, false);
+    }
+
+    public static Ages of(int... ages) {
+        byte[] packed = new byte[ages.length];
+        for (int i = 0; i < ages.length; i++) {
+            packed[i] = pack(ages[i]);
+        }
+        return new Ages(packed, false);
+    }
+
+    /**
+     * Reconstruye las edades desde su representación binaria (un byte sin signo por edad).
+     */
+    public static Ages fromByteArray(byte[] packed) {
+        return packed.length == 0 ? EMPTY : new Ages(packed.clone(), false);
+    }
+
+    public byte[] toByteArray() {
+        return packed.clone();
+    }
+
+    public int getInt(int index) {
+        return Byte.toUnsignedInt(packed[index]);
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public int size() {
+        return packed.length;
+    }
+
+    /**
+     * Edades ordenadas de menor a mayor (counting sort sobre los 256 valores posibles).
+     */
+    public Ages sorted() {
+        if (sorted) {
+            return this;
+        }
+        int[] histogram = new int[MAX_AGE + 1];
+        for (byte age : packed) {
+            histogram[Byte.toUnsignedInt(age)]++;
+        }
+        byte[] result = new byte[packed.length];
+        int i = 0;
+        for (int age = 0; age <= MAX_AGE; age++) {
+            for (int n = histogram[age]; n > 0; n--) {
+                result[i++] = (byte) age;
+            }
+        }
+        return new Ages(result, true);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof Ages ages) {
+            return Arrays.equals(packed, ages.packed);
+        }
+        return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (byte age : packed) {
+            hash = 31 * hash + Byte.toUnsignedInt(age);
+        }
+        return hash;
+    }
+
+    private static byte pack(int age) {
+        assert age >= 0 && age <= MAX_AGE : "Age out of range [0, " + MAX_AGE + "]: " + age;
+        return (byte) age;
+    }
+}
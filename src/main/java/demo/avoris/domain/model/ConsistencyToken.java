@@ -0,0 +1,28 @@
+package demo.avoris.domain.model;
+
+import demo.avoris.domain.exception.InvalidConsistencyToken;
+
+/**
+ * Posición (topic/partición/offset) en la que quedó escrito el evento de una búsqueda. El cliente la recibe
+ * al crear la búsqueda y la devuelve en el GET para esperar a que el consumidor la haya aplicado.
+ *
+ * <p>Formato textual: {@code topic:partition:offset}. Los nombres de topic de Kafka no admiten ':'.</p>
+ */
+public record ConsistencyToken(String topic, int partition, long offset) {
+
+    public static ConsistencyToken parse(String token) {
+        String[] parts = token == null ? new String[0] : token.split(":");
+        if (parts.length != 3 || parts[0].isEmpty()) {
+            throw new InvalidConsistencyToken("Consistency token must be topic:partition:offset, got: " + token);
+        }
+        try {
+            return new ConsistencyToken(parts[0], Integer.parseInt(parts[1]), Long.parseLong(parts[2]));
+        } catch (NumberFormatException e) {
+            throw new InvalidConsistencyToken("Consistency token must be topic:partition:offset, got: " + token);
+        }
+    }
+
+    public String encode() {
+        return topic + ':' + partition + ':' + offset;
+    }
+}
@@ -1,7 +1,5 @@
 package demo.avoris.domain.model;
 
-import jakarta.validation.constraints.NotNull;
-
 import java.time.LocalDate;
 import java.util.List;
 
@@ -12,15 +10,30 @@ public record Search(
         LocalDate checkIn,
         LocalDate checkOut,
         List<Integer> ages,
-        int count
+        int count,
+        // Viaja como cabecera de Kafka, no en el payload
+        SearchFingerprint fingerprint
 )  {
+    public Search {
+        ages = ages == null ? null : Ages.copyOf(ages);
+    }
+
     public Search(String searchId, String hotelId, LocalDate checkIn, LocalDate checkOut, List<Integer> ages, int count) {
-        this.searchId = searchId;
-        this.hotelId = hotelId;
-        this.checkIn = checkIn;
-        this.checkOut = checkOut;
-        this.ages = ages;
-        this.count = count;
+        this(searchId, hotelId, checkIn, checkOut, ages, count, null);
+    }
+
+    public Search withCount(int count) {
+        return new Search(searchId, hotelId, checkIn, checkOut, ages, count, fingerprint);
+    }
+
+    public Search withFingerprint(SearchFingerprint fingerprint) {
+        return new Search(searchId, hotelId, checkIn, checkOut, ages, count, fingerprint);
     }
 
-}
\ No newline at end of file
+    /**
+     * Huella calculada en la creación o, para búsquedas antiguas que no la traen, calculada ahora.
+     */
+    public SearchFingerprint fingerprintOrCompute() {
+        return fingerprint != null ? fingerprint : SearchFingerprint.of(this);
+    }
+}
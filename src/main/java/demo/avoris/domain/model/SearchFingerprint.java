@@ -0,0 +1,127 @@
+package demo.avoris.domain.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Huella de 128 bits de una búsqueda normalizada (hotel, check-in/check-out en días epoch e
+ * histograma ordenado de edades). Dos búsquedas idénticas producen siempre la misma huella, lo que
+ * permite compararlas, indexarlas o particionarlas sin tocar cadenas ni listas.
+ *
+ * <p>El hash es MurmurHash3 x64 128 con semilla 0 sobre una codificación binaria estable, por lo que
+ * el valor no depende de la JVM y se puede persistir.</p>
+ */
+public record SearchFingerprint(long high, long low) {
+
+    public static final int BYTES = 16;
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    public static SearchFingerprint of(Search search) {
+        return of(search.hotelId(), search.checkIn().toEpochDay(), search.checkOut().toEpochDay(), search.ages());
+    }
+
+    public static SearchFingerprint of(SearchKey key) {
+        return of(key.hotelId(), key.checkIn().toEpochDay(), key.checkOut().toEpochDay(), key.ages());
+    }
+
+    public static SearchFingerprint fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != BYTES) {
+            throw new IllegalArgumentException("Search fingerprint must be " + BYTES + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new SearchFingerprint(buffer.getLong(), buffer.getLong());
+    }
+
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(BYTES).putLong(high).putLong(low).array();
+    }
+
+    public String toHex() {
+        return HexFormat.of().toHexDigits(high) + HexFormat.of().toHexDigits(low);
+    }
+
+    private static SearchFingerprint of(String hotelId, long checkIn, long checkOut, List<Integer> ages) {
+        byte[] hotel = hotelId.getBytes(StandardCharsets.UTF_8);
+        Ages sortedAges = ages == null ? Ages.of() : Ages.copyOf(ages).sorted();
+
+        // hotel (longitud + bytes), fechas y pares (edad, repeticiones) del histograma
+        ByteBuffer buffer = ByteBuffer.allocate(4 + hotel.length + 16 + 8 * sortedAges.size());
+        buffer.putInt(hotel.length).put(hotel).putLong(checkIn).putLong(checkOut);
+        for (int i = 0; i < sortedAges.size(); ) {
+            int age = sortedAges.getInt(i);
+            int repetitions = 0;
+            while (i < sortedAges.size() && sortedAges.getInt(i) == age) {
+                repetitions++;
+                i++;
+            }
+            buffer.putInt(age).putInt(repetitions);
+        }
+        return murmur3(buffer.array(), buffer.position());
+    }
+
+    private static SearchFingerprint murmur3(byte[] data, int length) {
+        ByteBuffer buffer = ByteBuffer.wrap(data, 0, length).order(ByteOrder.LITTLE_ENDIAN);
+        long h1 = 0;
+        long h2 = 0;
+
+        int blocks = length / 16;
+        for (int i = 0; i < blocks; i++) {
+            long k1 = buffer.getLong();
+            long k2 = buffer.getLong();
+
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        long k1 = 0;
+        long k2 = 0;
+        int tail = blocks * 16;
+        for (int i = length - tail - 1; i >= 0; i--) {
+            long b = data[tail + i] & 0xffL;
+            if (i >= 8) {
+                k2 |= b << ((i - 8) * 8);
+            } else {
+                k1 |= b << (i * 8);
+            }
+        }
+        h1 ^= mixK1(k1);
+        h2 ^= mixK2(k2);
+
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+        return new SearchFingerprint(h1, h2);
+    }
+
+    private static long mixK1(long k1) {
+        return Long.rotateLeft(k1 * C1, 31) * C2;
+    }
+
+    private static long mixK2(long k2) {
+        return Long.rotateLeft(k2 * C2, 33) * C1;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,23 @@
+package demo.avoris.domain.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Clave canónica de una búsqueda: dos búsquedas son "iguales" si coinciden hotel,
+ * fechas y el multiconjunto de edades (el orden de las edades no importa).
+ */
+public record SearchKey(
+        String hotelId,
+        LocalDate checkIn,
+        LocalDate checkOut,
+        List<Integer> ages
+) {
+    public SearchKey {
+        ages = ages == null ? null : Ages.copyOf(ages).sorted();
+    }
+
+    public static SearchKey of(Search search) {
+        return new SearchKey(search.hotelId(), search.checkIn(), search.checkOut(), search.ages());
+    }
+}
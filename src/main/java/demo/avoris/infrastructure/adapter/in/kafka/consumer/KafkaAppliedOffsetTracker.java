@@ -0,0 +1,162 @@
+package demo.avoris.infrastructure.adapter.in.kafka.consumer;
+
+import demo.avoris.application.port.out.SearchProgressPort;
+import demo.avoris.domain.exception.InvalidConsistencyToken;
+import demo.avoris.domain.model.ConsistencyToken;
+
+import org.apache.kafka.common.TopicPartition;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Último offset aplicado por {@link KafkaSearchConsumer} en cada partición, y las esperas pendientes sobre él.
+ *
+ * <p>Las esperas no ocupan hilo: son futuros aparcados por offset que se completan cuando el consumidor avanza
+ * o cuando vence {@code maxWait}; al vencer se desaparcan para no dejar entradas vacías. Ambas rutas continúan en
+ * {@code executor}, de modo que ni el hilo del consumidor ni el temporizador de {@link CompletableFuture}
+ * ejecutan la consulta posterior.</p>
+ *
+ * <p>Sólo el consumidor crea el estado de una partición, al serle asignada o al aplicar un registro, y lo suelta
+ * al perderla; el token lo envía el cliente, así que la lectura nunca reserva nada. Un token de otro tópico se
+ * rechaza, y uno de una partición que no es de esta instancia (con varias réplicas, o ya revocada) no espera y
+ * el GET cae en la consulta normal.</p>
+ */
+@Component
+public class KafkaAppliedOffsetTracker implements SearchProgressPort {
+
+    private final ConcurrentMap<TopicPartition, Lane> lanes = new ConcurrentHashMap<>();
+
+    private final Executor executor;
+
+    private final String topicName;
+
+    private final Duration maxWait;
+
+    public KafkaAppliedOffsetTracker(@Qualifier("applicationTaskExecutor") Executor executor,
+                                     @Value("${app.kafka.topic-name}") String topicName,
+                                     @Value("${app.search.consistency.max-wait:2s}") Duration maxWait) {
+        this.executor = executor;
+        this.topicName = topicName;
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    public CompletableFuture<Void> awaitApplied(ConsistencyToken token) {
+        if (!topicName.equals(token.topic())) {
+            throw new InvalidConsistencyToken("Consistency token belongs to topic " + token.topic()
+                    + ", expected " + topicName);
+        }
+        Lane lane = lanes.get(new TopicPartition(token.topic(), token.partition()));
+        if (lane == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        if (!lane.park(token.offset(), waiter)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        waiter.whenComplete((ignored, error) -> lane.unpark(token.offset(), waiter));
+
+        return waiter
+                .completeOnTimeout(null, maxWait.toMillis(), TimeUnit.MILLISECONDS)
+                .thenRunAsync(() -> { }, executor);
+    }
+
+    /**
+     * Registra que el registro {@code offset} de la partición ya está persistido y libera las esperas
+     * con offset menor o igual.
+     */
+    public void markApplied(String topic, int partition, long offset) {
+        lanes.computeIfAbsent(new TopicPartition(topic, partition), tp -> new Lane())
+                .advance(offset)
+                .forEach(waiter -> waiter.complete(null));
+    }
+
+    /**
+     * La partición ya no es de esta instancia: olvida su offset y libera sus esperas, que siguen con la
+     * consulta normal.
+     */
+    public void release(String topic, int partition) {
+        Lane lane = lanes.remove(new TopicPartition(topic, partition));
+        if (lane != null) {
+            lane.close().forEach(waiter -> waiter.complete(null));
+        }
+    }
+
+    long appliedOffset(String topic, int partition) {
+        Lane lane = lanes.get(new TopicPartition(topic, partition));
+        return lane == null ? -1 : lane.applied;
+    }
+
+    int pendingOffsets(String topic, int partition) {
+        Lane lane = lanes.get(new TopicPartition(topic, partition));
+        return lane == null ? 0 : lane.pendingOffsets();
+    }
+
+    /**
+     * Estado de una partición. Aparcar, desaparcar y avanzar van bajo el monitor de la lane: así una espera no
+     * puede colarse entre la comprobación del offset y el drenado, ni quedar en una cola ya retirada del mapa.
+     * Los futuros se completan fuera del monitor.
+     */
+    private static final class Lane {
+
+        private volatile long applied = -1;
+
+        private boolean closed;
+
+        private final NavigableMap<Long, List<CompletableFuture<Void>>> waiters = new TreeMap<>();
+
+        /**
+         * @return {@code false} si no hay que esperar: el offset ya está aplicado o la partición se ha soltado
+         */
+        private synchronized boolean park(long offset, CompletableFuture<Void> waiter) {
+            if (closed || applied >= offset) {
+                return false;
+            }
+            waiters.computeIfAbsent(offset, o -> new ArrayList<>()).add(waiter);
+            return true;
+        }
+
+        private synchronized void unpark(long offset, CompletableFuture<Void> waiter) {
+            List<CompletableFuture<Void>> parked = waiters.get(offset);
+            if (parked != null && parked.remove(waiter) && parked.isEmpty()) {
+                waiters.remove(offset);
+            }
+        }
+
+        private synchronized List<CompletableFuture<Void>> advance(long offset) {
+            applied = Math.max(applied, offset);
+            return drain(waiters.headMap(applied, true));
+        }
+
+        private synchronized List<CompletableFuture<Void>> close() {
+            closed = true;
+            return drain(waiters);
+        }
+
+        private synchronized int pendingOffsets() {
+            return waiters.size();
+        }
+
+        private static List<CompletableFuture<Void>> drain(Map<Long, List<CompletableFuture<Void>>> parked) {
+            List<CompletableFuture<Void>> released = new ArrayList<>();
+            parked.values().forEach(released::addAll);
+            parked.clear();
+            return released;
+        }
+    }
+}
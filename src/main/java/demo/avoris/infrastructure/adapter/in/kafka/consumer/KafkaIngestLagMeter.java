@@ -0,0 +1,123 @@
+package demo.avoris.infrastructure.adapter.in.kafka.consumer;
+
+import demo.avoris.infrastructure.adapter.out.kafka.header.SearchKafkaHeaders;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lag de ingesta: desde que el productor aceptó la búsqueda ({@link SearchKafkaHeaders#CREATED_AT}) hasta que
+ * {@code getHotelCount} puede verla. Por partición:
+ *
+ * <ul>
+ *   <li>{@code search.ingest.latency}: timer de creación a persistencia por registro, con histograma de percentiles
+ *       y un bucket exacto en {@code app.search.ingest.slo}, que es contra lo que se escribe el SLA.</li>
+ *   <li>{@code search.ingest.lag.records}: registros por detrás del final de la partición según la posición del
+ *       consumidor.</li>
+ *   <li>{@code search.ingest.lag}: 0 si no quedan registros pendientes; si quedan, la antigüedad del último
+ *       registro aplicado, que acota por arriba lo que lleva esperando el primero pendiente. Sigue creciendo si
+ *       el consumidor se atasca, que es justo cuando el timer deja de recibir muestras.</li>
+ * </ul>
+ *
+ * <p>Los registros sin la cabecera (productores anteriores) no se miden.</p>
+ */
+@Component
+public class KafkaIngestLagMeter {
+
+    private final ConcurrentMap<TopicPartition, Lane> lanes = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    private final Duration slo;
+
+    public KafkaIngestLagMeter(MeterRegistry meterRegistry,
+                               @Value("${app.search.ingest.slo:2s}") Duration slo) {
+        this.meterRegistry = meterRegistry;
+        this.slo = slo;
+    }
+
+    /**
+     * Registra que {@code record} ya está persistido.
+     */
+    public void recordApplied(ConsumerRecord<?, ?> record) {
+        long createdAt = SearchKafkaHeaders.createdAt(record.headers());
+        if (createdAt == SearchKafkaHeaders.NO_CREATED_AT) {
+            return;
+        }
+        Lane lane = lane(record.topic(), record.partition());
+        lane.latency.record(Math.max(0, wallTime() - createdAt), TimeUnit.MILLISECONDS);
+        lane.lastCreatedAt.accumulateAndGet(createdAt, Math::max);
+    }
+
+    /**
+     * Actualiza cuántos registros quedan por consumir en la partición.
+     */
+    public void recordOffsetLag(String topic, int partition, long recordsBehind) {
+        lane(topic, partition).recordsBehind.set(recordsBehind);
+    }
+
+    private Lane lane(String topic, int partition) {
+        return lanes.computeIfAbsent(new TopicPartition(topic, partition), this::register);
+    }
+
+    private Lane register(TopicPartition partition) {
+        String partitionTag = String.valueOf(partition.partition());
+        Lane lane = new Lane(Timer.builder("search.ingest.latency")
+                .description("Time from search creation to persistence")
+                .tag("topic", partition.topic())
+                .tag("partition", partitionTag)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(slo)
+                .register(meterRegistry));
+        Gauge.builder("search.ingest.lag.records", lane, l -> l.recordsBehind.get())
+                .description("Records behind the end of the partition")
+                .tag("topic", partition.topic())
+                .tag("partition", partitionTag)
+                .register(meterRegistry);
+        TimeGauge.builder("search.ingest.lag", lane, TimeUnit.MILLISECONDS, this::lagMillis)
+                .description("Estimated wait of the oldest pending search")
+                .tag("topic", partition.topic())
+                .tag("partition", partitionTag)
+                .register(meterRegistry);
+        return lane;
+    }
+
+    private double lagMillis(Lane lane) {
+        long lastCreatedAt = lane.lastCreatedAt.get();
+        if (lane.recordsBehind.get() <= 0 || lastCreatedAt == SearchKafkaHeaders.NO_CREATED_AT) {
+            return 0;
+        }
+        return Math.max(0, wallTime() - lastCreatedAt);
+    }
+
+    private long wallTime() {
+        return meterRegistry.config().clock().wallTime();
+    }
+
+    private static final class Lane {
+
+        private final Timer latency;
+
+        private final AtomicLong lastCreatedAt = new AtomicLong(SearchKafkaHeaders.NO_CREATED_AT);
+
+        private final AtomicLong recordsBehind = new AtomicLong();
+
+        private Lane(Timer latency) {
+            this.latency = latency;
+        }
+    }
+}
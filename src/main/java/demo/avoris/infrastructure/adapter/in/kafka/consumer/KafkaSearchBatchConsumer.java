@@ -0,0 +1,95 @@
+package demo.avoris.infrastructure.adapter.in.kafka.consumer;
+
+import demo.avoris.application.port.in.SearchUseCase;
+import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.adapter.in.kafka.exeption.ErrorConsumeTopic;
+import demo.avoris.infrastructure.adapter.out.kafka.codec.SearchKafkaDeserializer;
+import demo.avoris.infrastructure.config.JacksonConfig;
+import demo.avoris.infrastructure.config.KafkaBatchConsumerConfig;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+
+/**
+ * Listener por lotes ({@code app.kafka.consumer.mode=batch}): deserializa el poll completo, lo persiste con una
+ * única escritura masiva y sólo entonces confirma los offsets.
+ *
+ * <p>Si un registro no se puede leer, se persisten los anteriores y se lanza {@link BatchListenerFailedException}
+ * con su índice: el error handler confirma hasta ahí y reintenta (o descarta) a partir del registro fallido.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "app.kafka.consumer.mode", havingValue = "batch")
+public class KafkaSearchBatchConsumer implements ConsumerSeekAware {
+
+    private final SearchUseCase useCase;
+    private final SearchKafkaDeserializer deserializer;
+    private final KafkaAppliedOffsetTracker tracker;
+    private final Logger log = Logger.getLogger(KafkaSearchBatchConsumer.class.getName());
+
+    public KafkaSearchBatchConsumer(SearchUseCase useCase, @Qualifier(JacksonConfig.SEARCH_READER) ObjectReader searchReader,
+                                    KafkaAppliedOffsetTracker tracker) {
+        this.useCase = useCase;
+        this.deserializer = new SearchKafkaDeserializer(searchReader);
+        this.tracker = tracker;
+    }
+
+    @KafkaListener(
+            topics = "${app.kafka.topic-name}",
+            groupId = "${kafka.consumer.group-id}",
+            containerFactory = KafkaBatchConsumerConfig.BATCH_CONTAINER_FACTORY
+    )
+    public void listen(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        List<Search> searches = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                ConsumerRecord<String, byte[]> record = records.get(i);
+                searches.add(deserializer.deserialize(record.topic(), record.headers(), record.value()));
+            } catch (Exception e) {
+                save(records.subList(0, i), searches);
+                throw new BatchListenerFailedException("Error processing message: " + e.getMessage(), e, i);
+            }
+        }
+
+        save(records, searches);
+        acknowledgment.acknowledge();
+        log.info("Search batch saved: " + searches.size() + " records");
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        assignments.forEach((partition, position) ->
+                tracker.markApplied(partition.topic(), partition.partition(), position - 1));
+    }
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> revoked) {
+        revoked.forEach(partition -> tracker.release(partition.topic(), partition.partition()));
+    }
+
+    private void save(List<ConsumerRecord<String, byte[]>> records, List<Search> searches) {
+        if (searches.isEmpty()) {
+            return;
+        }
+        try {
+            useCase.saveSearches(searches);
+        } catch (Exception e) {
+            throw new ErrorConsumeTopic("Error processing batch: " + e.getMessage());
+        }
+        records.forEach(record -> tracker.markApplied(record.topic(), record.partition(), record.offset()));
+    }
+}
@@ -1,21 +1,36 @@
 package demo.avoris.infrastructure.adapter.in.kafka.consumer;
 
+import demo.avoris.application.jfr.SearchConsumedEvent;
 import demo.avoris.application.port.in.SearchUseCase;
 import demo.avoris.domain.model.Search;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import demo.avoris.infrastructure.adapter.out.kafka.codec.SearchKafkaDeserializer;
+import demo.avoris.infrastructure.config.JacksonConfig;
+import com.fasterxml.jackson.databind.ObjectReader;
 
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
 import org.springframework.stereotype.Component;
 import demo.avoris.infrastructure.adapter.in.kafka.exeption.ErrorConsumeTopic;
+
+import java.util.Collection;
+import java.util.Map;
 import java.util.logging.Logger;
 
 
 @Component
-public class KafkaSearchConsumer {
+@ConditionalOnProperty(name = "app.kafka.consumer.mode", havingValue = "record", matchIfMissing = true)
+public class KafkaSearchConsumer implements ConsumerSeekAware {
 
     private final SearchUseCase useCase;
-    private final ObjectMapper objectMapper;
+    private final SearchKafkaDeserializer deserializer;
+    private final KafkaAppliedOffsetTracker tracker;
+    private final KafkaIngestLagMeter ingestLag;
     private final Logger log = Logger.getLogger(KafkaSearchConsumer.class.getName());
 
     @Value("${app.kafka.topic-name}")
@@ -24,23 +39,55 @@ public class KafkaSearchConsumer {
     @Value("${kafka.consumer.group-id}")
     private String groupId;
 
-    public KafkaSearchConsumer(SearchUseCase useCase, ObjectMapper objectMapper) {
+    public KafkaSearchConsumer(SearchUseCase useCase, @Qualifier(JacksonConfig.SEARCH_READER) ObjectReader searchReader,
+                               KafkaAppliedOffsetTracker tracker, KafkaIngestLagMeter ingestLag) {
         this.useCase = useCase;
-        this.objectMapper = objectMapper;
+        this.deserializer = new SearchKafkaDeserializer(searchReader);
+        this.tracker = tracker;
+        this.ingestLag = ingestLag;
     }
 
+    /**
+     * Antes de procesar toma del consumidor cuántos registros quedan en la partición; se lee de su estado local,
+     * sin ir al broker.
+     */
     @KafkaListener(
             topics = "${app.kafka.topic-name}",
             groupId = "${kafka.consumer.group-id}"
     )
-    public void listen(String message) {
+    public void listen(ConsumerRecord<String, byte[]> record, Consumer<?, ?> consumer) {
+        consumer.currentLag(new TopicPartition(record.topic(), record.partition()))
+                .ifPresent(lag -> ingestLag.recordOffsetLag(record.topic(), record.partition(), lag));
+        listen(record);
+    }
+
+    public void listen(ConsumerRecord<String, byte[]> record) {
+        SearchConsumedEvent event = new SearchConsumedEvent();
+        event.begin();
         try {
-            Search search = objectMapper.readValue(message, Search.class);
+            Search search = deserializer.deserialize(record.topic(), record.headers(), record.value());
             Search searchSave = useCase.saveSearch(search);
+            tracker.markApplied(record.topic(), record.partition(), record.offset());
+            ingestLag.recordApplied(record);
+            event.emit(search.searchId(), search.hotelId(), record.value() == null ? 0 : record.value().length);
             log.info("Search saved with id: " + searchSave.searchId());
         } catch (Exception e) {
             throw new ErrorConsumeTopic("Error processing message: " + e.getMessage());
         }
     }
-}
 
+    /**
+     * Todo lo anterior a la posición de arranque ya fue aplicado (por esta u otra instancia), así que los
+     * tokens antiguos no esperan tras un reinicio o un rebalanceo.
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        assignments.forEach((partition, position) ->
+                tracker.markApplied(partition.topic(), partition.partition(), position - 1));
+    }
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> revoked) {
+        revoked.forEach(partition -> tracker.release(partition.topic(), partition.partition()));
+    }
+}
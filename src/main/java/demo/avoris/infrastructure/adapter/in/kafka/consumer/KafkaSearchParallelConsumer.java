@@ -0,0 +1,380 @@
+package demo.avoris.infrastructure.adapter.in.kafka.consumer;
+
+import demo.avoris.application.port.in.SearchUseCase;
+import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.adapter.out.kafka.codec.SearchKafkaDeserializer;
+import demo.avoris.infrastructure.config.JacksonConfig;
+import demo.avoris.infrastructure.config.KafkaParallelConsumerConfig;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+
+/**
+ * Listener con paralelismo dentro de la partición ({@code app.kafka.consumer.mode=parallel}). El hilo del
+ * contenedor sólo reparte: cada registro va a uno de {@code concurrency} workers de su partición según el hash de
+ * su clave, así que los registros de una misma clave (una misma huella de búsqueda) se procesan en orden y el resto
+ * en paralelo.
+ *
+ * <p>Cada worker confirma su registro al terminar, en cualquier orden. El contenedor ({@code asyncAcks}) sólo hace
+ * commit hasta el primer offset pendiente, y {@link KafkaAppliedOffsetTracker} recibe ese mismo límite, de modo
+ * que un token nunca se da por aplicado si queda un offset anterior a medias.</p>
+ *
+ * <p>{@code max-in-flight} acota los registros despachados y no terminados por partición: al alcanzarlo se pausa la
+ * partición en el contenedor, que sigue haciendo poll del resto sin bloquear su hilo, y se reanuda cuando baja a la
+ * mitad. Los registros que ya traía el poll en curso se despachan igualmente, así que el límite puede superarse en
+ * como mucho un poll.</p>
+ *
+ * <p>Un guardado fallido se reintenta {@value #MAX_RETRIES} veces y después, igual que un registro ilegible, se
+ * publica en {@code dead-letter-topic} con las cabeceras {@code kafka_dlt-*} de Spring y sólo entonces se confirma.
+ * Si tampoco se puede publicar ahí, el registro no se confirma y la partición se detiene: queda pausada, su commit
+ * no avanza y el worker vuelve a intentar el registro completo (reintentos y dead-letter topic) cada
+ * {@code stopped-retry-interval} hasta confirmarlo, y entonces la reanuda. {@code search.ingest.stopped.partitions}
+ * cuenta las particiones detenidas. Si antes se pierde la partición, su nuevo dueño la lee desde ese offset.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "app.kafka.consumer.mode", havingValue = "parallel")
+public class KafkaSearchParallelConsumer implements ConsumerSeekAware, DisposableBean {
+
+    static final int MAX_RETRIES = 3;
+
+    static final String LISTENER_ID = "searchParallelListener";
+
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final Duration DEAD_LETTER_TIMEOUT = Duration.ofSeconds(10);
+
+    private final SearchUseCase useCase;
+    private final SearchKafkaDeserializer deserializer;
+    private final KafkaAppliedOffsetTracker tracker;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final KafkaListenerEndpointRegistry registry;
+    private final String deadLetterTopic;
+    private final int concurrency;
+    private final int maxInFlight;
+    private final Duration stoppedRetryInterval;
+    private final ConcurrentMap<TopicPartition, PartitionLanes> partitions = new ConcurrentHashMap<>();
+    private final Logger log = Logger.getLogger(KafkaSearchParallelConsumer.class.getName());
+
+    public KafkaSearchParallelConsumer(SearchUseCase useCase,
+                                       @Qualifier(JacksonConfig.SEARCH_READER) ObjectReader searchReader,
+                                       KafkaAppliedOffsetTracker tracker,
+                                       KafkaTemplate<String, byte[]> kafkaTemplate,
+                                       KafkaListenerEndpointRegistry registry,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${app.kafka.consumer.parallel.dead-letter-topic:${app.kafka.topic-name}.DLT}") String deadLetterTopic,
+                                       @Value("${app.kafka.consumer.parallel.concurrency:8}") int concurrency,
+                                       @Value("${app.kafka.consumer.parallel.max-in-flight:1000}") int maxInFlight,
+                                       @Value("${app.kafka.consumer.parallel.stopped-retry-interval:30s}") Duration stoppedRetryInterval) {
+        if (concurrency < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("concurrency and max-in-flight must be positive");
+        }
+        this.useCase = useCase;
+        this.deserializer = new SearchKafkaDeserializer(searchReader);
+        this.tracker = tracker;
+        this.kafkaTemplate = kafkaTemplate;
+        this.registry = registry;
+        this.deadLetterTopic = deadLetterTopic;
+        this.concurrency = concurrency;
+        this.maxInFlight = maxInFlight;
+        this.stoppedRetryInterval = stoppedRetryInterval;
+        Gauge.builder("search.ingest.stopped.partitions", partitions,
+                        lanes -> lanes.values().stream().filter(PartitionLanes::isStopped).count())
+                .description("Partitions paused on a record that could be neither saved nor dead-lettered")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(
+            id = LISTENER_ID,
+            idIsGroup = false,
+            topics = "${app.kafka.topic-name}",
+            groupId = "${kafka.consumer.group-id}",
+            containerFactory = KafkaParallelConsumerConfig.PARALLEL_CONTAINER_FACTORY
+    )
+    public void listen(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
+        partitions.computeIfAbsent(new TopicPartition(record.topic(), record.partition()), PartitionLanes::new)
+                .dispatch(record, acknowledgment);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        assignments.forEach((partition, position) ->
+                tracker.markApplied(partition.topic(), partition.partition(), position - 1));
+    }
+
+    /**
+     * Deja terminar lo ya despachado de las particiones perdidas (acotado por {@code DRAIN_TIMEOUT}); lo que no
+     * llegue a confirmarse lo volverá a leer su nuevo dueño.
+     */
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> revoked) {
+        revoked.forEach(partition -> {
+            PartitionLanes lanes = partitions.remove(partition);
+            if (lanes != null) {
+                lanes.close();
+            }
+            tracker.release(partition.topic(), partition.partition());
+        });
+    }
+
+    @Override
+    public void destroy() {
+        onPartitionsRevoked(partitions.keySet());
+    }
+
+    /**
+     * @return {@code false} si el registro no debe confirmarse: se interrumpió antes de guardar o no se pudo
+     *         publicar en el dead-letter topic
+     */
+    private boolean process(ConsumerRecord<String, byte[]> record) {
+        Search search;
+        try {
+            search = deserializer.deserialize(record.topic(), record.headers(), record.value());
+        } catch (Exception e) {
+            log.warning("Unreadable message at " + position(record) + ": " + e.getMessage());
+            return deadLetter(record, e);
+        }
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                Search saved = useCase.saveSearch(search);
+                log.info("Search saved with id: " + saved.searchId());
+                return true;
+            } catch (Exception e) {
+                if (attempt == MAX_RETRIES) {
+                    log.severe("Error processing message at " + position(record) + " after " + MAX_RETRIES
+                            + " retries: " + e.getMessage());
+                    return deadLetter(record, e);
+                }
+            }
+            try {
+                Thread.sleep(RETRY_BACKOFF_MILLIS * (attempt + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Publica el registro tal cual en {@code deadLetterTopic} y espera el ack.
+     *
+     * @return {@code true} si quedó publicado y el original ya puede confirmarse
+     */
+    private boolean deadLetter(ConsumerRecord<String, byte[]> record, Exception cause) {
+        ProducerRecord<String, byte[]> deadLetter =
+                new ProducerRecord<>(deadLetterTopic, null, record.key(), record.value(), record.headers());
+        Headers headers = deadLetter.headers();
+        headers.add(KafkaHeaders.DLT_ORIGINAL_TOPIC, record.topic().getBytes(StandardCharsets.UTF_8));
+        headers.add(KafkaHeaders.DLT_ORIGINAL_PARTITION, ByteBuffer.allocate(Integer.BYTES).putInt(record.partition()).array());
+        headers.add(KafkaHeaders.DLT_ORIGINAL_OFFSET, ByteBuffer.allocate(Long.BYTES).putLong(record.offset()).array());
+        headers.add(KafkaHeaders.DLT_EXCEPTION_FQCN, cause.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_MESSAGE,
+                String.valueOf(cause.getMessage()).getBytes(StandardCharsets.UTF_8));
+        try {
+            kafkaTemplate.send(deadLetter).get(DEAD_LETTER_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            log.warning("Sent message at " + position(record) + " to " + deadLetterTopic);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.severe("Could not send message at " + position(record) + " to " + deadLetterTopic
+                    + ", stopping the partition: " + e.getMessage());
+        }
+        return false;
+    }
+
+    private static String position(ConsumerRecord<?, ?> record) {
+        return record.topic() + "-" + record.partition() + "@" + record.offset();
+    }
+
+    /**
+     * Las pausas se piden al contenedor, que las aplica en su siguiente poll; se pueden pedir desde cualquier hilo.
+     */
+    private void onContainer(Consumer<MessageListenerContainer> action) {
+        MessageListenerContainer container = registry.getListenerContainer(LISTENER_ID);
+        if (container != null) {
+            action.accept(container);
+        }
+    }
+
+    private final class PartitionLanes {
+
+        private final TopicPartition partition;
+        private final ExecutorService[] lanes;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final PartitionOffsetWatermark watermark = new PartitionOffsetWatermark();
+
+        private final CountDownLatch closing = new CountDownLatch(1);
+
+        // Escritos bajo el monitor; paused también se lee sin él para no tomarlo en cada registro terminado
+        private volatile boolean paused;
+        private int stoppedRecords;
+        private boolean closed;
+
+        private PartitionLanes(TopicPartition partition) {
+            this.partition = partition;
+            this.lanes = new ExecutorService[concurrency];
+            for (int i = 0; i < concurrency; i++) {
+                lanes[i] = Executors.newSingleThreadExecutor(
+                        Thread.ofVirtual().name("search-" + partition + "-lane-" + i).factory());
+            }
+        }
+
+        private void dispatch(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
+            watermark.dispatched(record.offset());
+            if (inFlight.incrementAndGet() >= maxInFlight) {
+                pause();
+            }
+            lanes[laneOf(record)].execute(() -> {
+                try {
+                    if (process(record) || retryWhileStopped(record)) {
+                        tracker.markApplied(partition.topic(), partition.partition(), watermark.completed(record.offset()));
+                        acknowledgment.acknowledge();
+                    }
+                } finally {
+                    if (inFlight.decrementAndGet() <= maxInFlight / 2 && paused) {
+                        resume();
+                    }
+                }
+            });
+        }
+
+        /**
+         * Un registro que no se confirma bloquea el commit de la partición: no tiene sentido seguir leyéndola. Se
+         * detiene y el worker lo reintenta entero cada {@code stoppedRetryInterval} hasta poder confirmarlo o
+         * hasta que se pierda la partición.
+         *
+         * @return {@code true} si al final se puede confirmar
+         */
+        private boolean retryWhileStopped(ConsumerRecord<String, byte[]> record) {
+            if (!stop()) {
+                return false;
+            }
+            log.severe("Partition " + partition + " stopped at offset " + record.offset() + ", retrying every "
+                    + stoppedRetryInterval);
+            try {
+                while (!closing.await(stoppedRetryInterval.toMillis(), TimeUnit.MILLISECONDS)) {
+                    if (process(record)) {
+                        log.info("Partition " + partition + " recovered at offset " + record.offset());
+                        return true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                restart();
+            }
+            return false;
+        }
+
+        private synchronized void pause() {
+            if (!paused && !closed) {
+                paused = true;
+                onContainer(container -> container.pausePartition(partition));
+            }
+        }
+
+        private synchronized void resume() {
+            if (paused && stoppedRecords == 0 && !closed) {
+                paused = false;
+                onContainer(container -> container.resumePartition(partition));
+            }
+        }
+
+        /**
+         * @return {@code false} si la partición ya se está cerrando: su nuevo dueño volverá a leer el registro
+         */
+        private synchronized boolean stop() {
+            if (closed) {
+                return false;
+            }
+            stoppedRecords++;
+            pause();
+            return true;
+        }
+
+        private synchronized void restart() {
+            stoppedRecords--;
+            if (inFlight.get() <= maxInFlight / 2) {
+                resume();
+            }
+        }
+
+        private synchronized boolean isStopped() {
+            return stoppedRecords > 0;
+        }
+
+        private int laneOf(ConsumerRecord<String, byte[]> record) {
+            // Sin clave no hay orden que respetar: se reparte por offset
+            return record.key() == null
+                    ? (int) Math.floorMod(record.offset(), (long) concurrency)
+                    : Math.floorMod(record.key().hashCode(), concurrency);
+        }
+
+        private void close() {
+            // Desde aquí ningún worker pausa la partición: si lo hiciera tras la reanudación final, seguiría
+            // pausada en el contenedor cuando se le vuelva a asignar
+            synchronized (this) {
+                closed = true;
+            }
+            closing.countDown();
+            for (ExecutorService lane : lanes) {
+                lane.shutdown();
+            }
+            try {
+                long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+                for (ExecutorService lane : lanes) {
+                    lane.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (ExecutorService lane : lanes) {
+                lane.shutdownNow();
+            }
+            // El nuevo dueño, aunque sea esta misma instancia, vuelve a leer desde el último commit
+            synchronized (this) {
+                if (paused) {
+                    paused = false;
+                    onContainer(container -> container.resumePartition(partition));
+                }
+            }
+        }
+    }
+}
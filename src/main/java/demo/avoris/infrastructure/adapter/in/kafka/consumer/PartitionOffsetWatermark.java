@@ -0,0 +1,26 @@
+package demo.avoris.infrastructure.adapter.in.kafka.consumer;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Offsets de una partición repartidos entre workers que terminan en cualquier orden. {@link #completed} devuelve
+ * el mayor offset tal que él y todos los anteriores despachados ya están procesados: lo único que se puede dar
+ * por aplicado (y confirmar) sin perder registros si la instancia cae.
+ */
+final class PartitionOffsetWatermark {
+
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+    private long lastDispatched = -1;
+
+    /** Se llama en orden de offset, desde el hilo del listener. */
+    synchronized void dispatched(long offset) {
+        inFlight.add(offset);
+        lastDispatched = Math.max(lastDispatched, offset);
+    }
+
+    synchronized long completed(long offset) {
+        inFlight.remove(offset);
+        return inFlight.isEmpty() ? lastDispatched : inFlight.first() - 1;
+    }
+}
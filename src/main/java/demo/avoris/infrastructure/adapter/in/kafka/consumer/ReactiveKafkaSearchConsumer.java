@@ -0,0 +1,93 @@
+package demo.avoris.infrastructure.adapter.in.kafka.consumer;
+
+import demo.avoris.application.port.in.ReactiveSearchUseCase;
+import demo.avoris.infrastructure.adapter.out.kafka.codec.SearchKafkaDeserializer;
+import demo.avoris.infrastructure.config.JacksonConfig;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.logging.Logger;
+
+
+/**
+ * Consumidor de la pila reactiva con reactor-kafka. Cada partición se procesa en orden y las particiones en
+ * paralelo; como el receiver sólo hace poll cuando hay demanda, si Mongo se ralentiza las particiones se pausan
+ * en lugar de acumular registros en memoria.
+ *
+ * <p>Un guardado fallido se reintenta {@value #MAX_RETRIES} veces con espera creciente. Después, igual que un
+ * registro ilegible, se registra el error y se confirma el offset para no bloquear la partición.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "app.kafka.consumer.mode", havingValue = "reactive")
+public class ReactiveKafkaSearchConsumer implements SmartLifecycle {
+
+    static final int MAX_RETRIES = 3;
+
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(100);
+
+    private final KafkaReceiver<String, byte[]> receiver;
+    private final ReactiveSearchUseCase useCase;
+    private final SearchKafkaDeserializer deserializer;
+    private final Logger log = Logger.getLogger(ReactiveKafkaSearchConsumer.class.getName());
+
+    private volatile Disposable subscription;
+
+    public ReactiveKafkaSearchConsumer(KafkaReceiver<String, byte[]> receiver, ReactiveSearchUseCase useCase,
+                                       @Qualifier(JacksonConfig.SEARCH_READER) ObjectReader searchReader) {
+        this.receiver = receiver;
+        this.useCase = useCase;
+        this.deserializer = new SearchKafkaDeserializer(searchReader);
+    }
+
+    @Override
+    public void start() {
+        subscription = consume().subscribe(
+                null, e -> log.severe("Search receiver stopped: " + e.getMessage()));
+    }
+
+    @Override
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        Disposable current = subscription;
+        return current != null && !current.isDisposed();
+    }
+
+    Flux<Void> consume() {
+        // Un grupo por partición asignada; el flatMap admite muchas más que las que recibe una instancia
+        return receiver.receive()
+                .groupBy(record -> record.receiverOffset().topicPartition())
+                .flatMap(partition -> partition.concatMap(this::process));
+    }
+
+    Mono<Void> process(ReceiverRecord<String, byte[]> record) {
+        return Mono.fromCallable(() -> deserializer.deserialize(record.topic(), record.headers(), record.value()))
+                .flatMap(search -> useCase.saveSearch(search).retryWhen(Retry.backoff(MAX_RETRIES, RETRY_BACKOFF)))
+                .doOnNext(saved -> log.info("Search saved with id: " + saved.searchId()))
+                .onErrorResume(e -> {
+                    log.warning("Error processing message at " + record.receiverOffset().topicPartition()
+                            + "@" + record.offset() + ": " + e.getMessage());
+                    return Mono.empty();
+                })
+                .doOnTerminate(record.receiverOffset()::acknowledge)
+                .then();
+    }
+}
@@ -1,6 +1,8 @@
 package demo.avoris.infrastructure.adapter.in.web;
 
+import demo.avoris.application.dto.SearchBatchResponseDTO;
 import demo.avoris.application.dto.SearchDetailResponseDTO;
+import demo.avoris.application.dto.SearchLookupItemDTO;
 import demo.avoris.application.port.in.SearchUseCase;
 import demo.avoris.application.dto.SearchRequestDTO;
 import demo.avoris.application.dto.SearchResponseDTO;
@@ -9,20 +11,43 @@ import demo.avoris.application.dto.SearchResponseDTO;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import jakarta.validation.Valid;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/search")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(name = "Search", description = "Search operations")
 public class SearchController {
 
+    private static final int LOOKUP_FLUSH_EVERY = 64;
+
     private final SearchUseCase searchUseCase;
 
-    public SearchController(SearchUseCase searchUseCase) {
+    private final ObjectMapper objectMapper;
+
+    /** Con el productor en modo async la búsqueda sólo está encolada: 202 lo refleja mejor que 200. */
+    @Value("${app.search.create.respond-accepted:false}")
+    private boolean respondAccepted;
+
+    public SearchController(SearchUseCase searchUseCase, ObjectMapper objectMapper) {
         this.searchUseCase = searchUseCase;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Get search count by searchId")
@@ -34,12 +59,61 @@ public class SearchController {
 
     }
 
+    @Operation(summary = "Get search count by searchId once the search of the consistency token is visible")
+    @GetMapping(value = "/{searchId}", params = "consistencyToken")
+    public CompletableFuture<ResponseEntity<SearchDetailResponseDTO>> getSearchDetailAfter(
+            @PathVariable String searchId, @RequestParam String consistencyToken) {
+
+        return searchUseCase.getHotelCountAfter(searchId, consistencyToken).thenApply(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Get search counts for several searchIds",
+            description = "NDJSON stream with one line per distinct id as results arrive; ids that do not exist are reported at the end with found=false")
+    @PostMapping(value = "/lookup", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> lookupSearches(
+            @RequestBody List<String> searchIds) {
+
+        Stream<SearchLookupItemDTO> items = searchUseCase.lookupHotelCounts(searchIds);
+
+        StreamingResponseBody body = out -> {
+            try (items) {
+                int[] written = {0};
+                items.forEach(item -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(item));
+                        out.write('\n');
+                        if (++written[0] % LOOKUP_FLUSH_EVERY == 0) {
+                            out.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @Operation(summary = "Create a new search")
     @PostMapping
     public ResponseEntity<SearchResponseDTO> createSearch(
             @Valid @RequestBody SearchRequestDTO request) {
 
-        return ResponseEntity.ok(searchUseCase.createSearch(request));
+        SearchResponseDTO response = searchUseCase.createSearch(request);
+        return respondAccepted
+                ? ResponseEntity.status(HttpStatus.ACCEPTED).body(response)
+                : ResponseEntity.ok(response);
     }
-}
 
+    @Operation(summary = "Create several searches in one request",
+            description = "Items are validated one by one; invalid or unsent items are reported with their error and do not fail the batch")
+    @PostMapping("/batch")
+    public ResponseEntity<SearchBatchResponseDTO> createSearches(
+            @RequestBody List<SearchRequestDTO> requests) {
+
+        return ResponseEntity.ok(searchUseCase.createSearches(requests));
+    }
+}
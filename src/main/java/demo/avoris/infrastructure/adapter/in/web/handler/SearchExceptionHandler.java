@@ -1,14 +1,23 @@
 package demo.avoris.infrastructure.adapter.in.web.handler;
 
 import demo.avoris.domain.exception.InvalidCheckIn;
+import demo.avoris.domain.exception.InvalidConsistencyToken;
+import demo.avoris.domain.exception.InvalidSearchBatch;
 import demo.avoris.infrastructure.adapter.in.web.dto.ErrorResponseDTO;
+import demo.avoris.infrastructure.adapter.out.kafka.exeption.PublishCapacityExceededException;
 import demo.avoris.infrastructure.adapter.out.mongo.exeption.SearchNotFoundException;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -16,15 +25,23 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.util.logging.Logger;
 
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SearchExceptionHandler {
 
     private static final Logger log = Logger.getLogger(SearchExceptionHandler.class.getName());
 
+    private final MeterRegistry meterRegistry;
+
+    public SearchExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(InvalidCheckIn.class)
     public ResponseEntity<ErrorResponseDTO> handleInvalidCheckIn(
             InvalidCheckIn ex, HttpServletRequest request) {
 
         log.warning("Invalid check-in date validation error: " + ex.getMessage());
+        countError(ex, HttpStatus.BAD_REQUEST);
 
         ErrorResponseDTO errorResponse = new ErrorResponseDTO(
                 HttpStatus.BAD_REQUEST.value(),
@@ -36,11 +53,65 @@ public class SearchExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidConsistencyToken.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidConsistencyToken(
+            InvalidConsistencyToken ex, HttpServletRequest request) {
+
+        log.warning("Invalid consistency token: " + ex.getMessage());
+        countError(ex, HttpStatus.BAD_REQUEST);
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                "The consistency token is invalid. Use the value returned when the search was created. " + ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidSearchBatch.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidSearchBatch(
+            InvalidSearchBatch ex, HttpServletRequest request) {
+
+        log.warning("Invalid search batch: " + ex.getMessage());
+        countError(ex, HttpStatus.BAD_REQUEST);
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                "The search batch is invalid. Split it into smaller requests. " + ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(PublishCapacityExceededException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePublishCapacityExceeded(
+            PublishCapacityExceededException ex, HttpServletRequest request) {
+
+        log.warning("Publish capacity exceeded: " + ex.getMessage());
+        countError(ex, HttpStatus.SERVICE_UNAVAILABLE);
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "Too many searches are being processed right now. Please retry in a moment. " + ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(SearchNotFoundException.class)
     public ResponseEntity<ErrorResponseDTO> handleSearchNotFound(
             SearchNotFoundException ex, HttpServletRequest request) {
 
-        log.warning("Search not found error: " + ex.getMessage());
+        log.fine("Search not found: " + ex.getMessage());
+        countError(ex, HttpStatus.NOT_FOUND);
 
         ErrorResponseDTO errorResponse = new ErrorResponseDTO(
                 HttpStatus.NOT_FOUND.value(),
@@ -57,6 +128,7 @@ public class SearchExceptionHandler {
             MethodArgumentNotValidException ex, HttpServletRequest request) {
 
         log.warning("Validation error: " + ex.getMessage());
+        countError(ex, HttpStatus.BAD_REQUEST);
 
         StringBuilder message = new StringBuilder("Validation failed for the request. Please check the following fields: ");
         ex.getBindingResult().getFieldErrors().forEach(error ->
@@ -78,6 +150,7 @@ public class SearchExceptionHandler {
             ConstraintViolationException ex, HttpServletRequest request) {
 
         log.warning("Constraint violation error: " + ex.getMessage());
+        countError(ex, HttpStatus.BAD_REQUEST);
 
         ErrorResponseDTO errorResponse = new ErrorResponseDTO(
                 HttpStatus.BAD_REQUEST.value(),
@@ -89,11 +162,29 @@ public class SearchExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponseDTO> handleNotReadable(
+            HttpMessageNotReadableException ex, HttpServletRequest request) {
+
+        log.warning("Unreadable request body: " + ex.getMessage());
+        countError(ex, HttpStatus.BAD_REQUEST);
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                "The request body could not be read. Please check the JSON format and the dates (dd/MM/yyyy).",
+                request.getRequestURI()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDTO> handleGenericException(
             Exception ex, HttpServletRequest request) {
 
         log.severe("Unexpected error occurred: " + ex.getMessage());
+        countError(ex, HttpStatus.INTERNAL_SERVER_ERROR);
         ex.printStackTrace();
 
         ErrorResponseDTO errorResponse = new ErrorResponseDTO(
@@ -105,4 +196,16 @@ public class SearchExceptionHandler {
 
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    /**
+     * {@code search.errors} por tipo de excepción y estado devuelto.
+     */
+    private void countError(Exception ex, HttpStatus status) {
+        Counter.builder("search.errors")
+                .description("Errores devueltos por la API de búsquedas")
+                .tag("exception", ex.getClass().getSimpleName())
+                .tag("status", String.valueOf(status.value()))
+                .register(meterRegistry)
+                .increment();
+    }
 }
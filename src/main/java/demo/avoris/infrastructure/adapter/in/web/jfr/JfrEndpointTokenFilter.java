@@ -0,0 +1,43 @@
+package demo.avoris.infrastructure.adapter.in.web.jfr;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.logging.Logger;
+
+/**
+ * Protege {@link JfrRecordingEndpoint}: sólo deja pasar peticiones con la cabecera {@value #HEADER} igual a
+ * {@code app.jfr.endpoint.token}. Sin token configurado rechaza todas. La comparación es en tiempo constante.
+ */
+public class JfrEndpointTokenFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-JFR-Token";
+
+    private static final Logger log = Logger.getLogger(JfrEndpointTokenFilter.class.getName());
+
+    private final byte[] token;
+
+    public JfrEndpointTokenFilter(String token) {
+        this.token = token == null ? new byte[0] : token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String provided = request.getHeader(HEADER);
+        if (token.length == 0 || provided == null
+                || !MessageDigest.isEqual(token, provided.getBytes(StandardCharsets.UTF_8))) {
+            log.warning("Rejected JFR endpoint request from " + request.getRemoteAddr());
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,158 @@
+package demo.avoris.infrastructure.adapter.in.web.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/**
+ * {@code /actuator/jfr}: graba JFR bajo demanda para analizar incidencias en producción.
+ *
+ * <ul>
+ *   <li>{@code POST} arranca una grabación con la configuración {@code app.jfr.settings}, acotada a
+ *       {@code app.jfr.max-duration} y {@code app.jfr.max-size}. Sólo puede haber una.</li>
+ *   <li>{@code GET} devuelve su estado.</li>
+ *   <li>{@code DELETE} la para (si no terminó ya por duración) y devuelve el fichero {@code .jfr}, que se borra al
+ *       terminar de enviarlo.</li>
+ * </ul>
+ *
+ * <p>Fuera de una grabación los eventos {@code demo.avoris.*} no cuestan nada. El acceso es {@code none} por
+ * defecto y, además, {@link JfrEndpointTokenFilter} exige la cabecera con el token.</p>
+ */
+@Component
+@WebEndpoint(id = "jfr", defaultAccess = Access.NONE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class JfrRecordingEndpoint {
+
+    static final String RECORDING_NAME = "search-incident";
+
+    private static final Logger log = Logger.getLogger(JfrRecordingEndpoint.class.getName());
+
+    private final AtomicReference<Recording> current = new AtomicReference<>();
+
+    private final Duration maxDuration;
+
+    private final DataSize maxSize;
+
+    private final String settings;
+
+    public JfrRecordingEndpoint(@Value("${app.jfr.max-duration:5m}") Duration maxDuration,
+                                @Value("${app.jfr.max-size:256MB}") DataSize maxSize,
+                                @Value("${app.jfr.settings:profile}") String settings) {
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.settings = settings;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Recording recording = current.get();
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("startTime", String.valueOf(recording.getStartTime()));
+        status.put("maxDuration", maxDuration.toString());
+        status.put("maxSizeBytes", maxSize.toBytes());
+        status.put("sizeBytes", recording.getSize());
+        return status;
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> start() throws IOException, ParseException {
+        Recording recording = new Recording(Configuration.getConfiguration(settings));
+        if (!current.compareAndSet(null, recording)) {
+            recording.close();
+            return new WebEndpointResponse<>(Map.of("error", "A recording is already in progress"),
+                    HttpStatus.CONFLICT.value());
+        }
+
+        try {
+            recording.setName(RECORDING_NAME);
+            recording.setToDisk(true);
+            recording.setMaxSize(maxSize.toBytes());
+            recording.setDuration(maxDuration);
+            recording.setDestination(Files.createTempFile(RECORDING_NAME + "-", ".jfr"));
+            recording.start();
+        } catch (IOException | RuntimeException e) {
+            current.set(null);
+            recording.close();
+            throw e;
+        }
+
+        log.info("JFR recording started (settings " + settings + ", max " + maxDuration + " / " + maxSize + ")");
+        return new WebEndpointResponse<>(status(), WebEndpointResponse.STATUS_OK);
+    }
+
+    @DeleteOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> stop() throws IOException {
+        Recording recording = current.getAndSet(null);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+
+        Path destination = recording.getDestination();
+        try {
+            // parada por duración: JFR ya escribió el fichero en destination
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+        } finally {
+            recording.close();
+        }
+
+        log.info("JFR recording stopped: " + Files.size(destination) + " bytes");
+        return new WebEndpointResponse<>(new DeleteOnCloseResource(destination), WebEndpointResponse.STATUS_OK);
+    }
+
+    /**
+     * El fichero se borra al cerrar el stream de la respuesta. {@code isFile()} es {@code false} para que el
+     * conversor no lo envíe por zero-copy, que no pasaría por {@link #getInputStream()}.
+     */
+    private static final class DeleteOnCloseResource extends FileSystemResource {
+
+        private final Path path;
+
+        private DeleteOnCloseResource(Path path) {
+            super(path);
+            this.path = path;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(path, StandardOpenOption.DELETE_ON_CLOSE);
+        }
+
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package demo.avoris.infrastructure.adapter.in.webflux;
+
+import demo.avoris.application.dto.SearchDetailResponseDTO;
+import demo.avoris.application.dto.SearchLookupItemDTO;
+import demo.avoris.application.dto.SearchRequestDTO;
+import demo.avoris.application.dto.SearchResponseDTO;
+import demo.avoris.application.port.in.ReactiveSearchUseCase;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.Operation;
+
+import jakarta.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Mismas rutas que {@code SearchController} servidas por WebFlux (perfil {@code reactive}). El lote de
+ * creación y la espera por token de consistencia sólo existen en la pila servlet.
+ */
+@RestController
+@RequestMapping("/search")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Search", description = "Search operations")
+public class ReactiveSearchController {
+
+    private final ReactiveSearchUseCase searchUseCase;
+
+    @Value("${app.search.create.respond-accepted:false}")
+    private boolean respondAccepted;
+
+    public ReactiveSearchController(ReactiveSearchUseCase searchUseCase) {
+        this.searchUseCase = searchUseCase;
+    }
+
+    @Operation(summary = "Get search count by searchId")
+    @GetMapping("/{searchId}")
+    public Mono<ResponseEntity<SearchDetailResponseDTO>> getSearchDetail(
+            @PathVariable String searchId) {
+
+        return searchUseCase.getHotelCount(searchId).map(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Get search counts for several searchIds",
+            description = "NDJSON stream with one line per distinct id as results arrive; ids that do not exist are reported at the end with found=false")
+    @PostMapping(value = "/lookup", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<SearchLookupItemDTO> lookupSearches(
+            @RequestBody List<String> searchIds) {
+
+        return searchUseCase.lookupHotelCounts(searchIds);
+    }
+
+    @Operation(summary = "Create a new search")
+    @PostMapping
+    public Mono<ResponseEntity<SearchResponseDTO>> createSearch(
+            @Valid @RequestBody SearchRequestDTO request) {
+
+        return searchUseCase.createSearch(request)
+                .map(response -> respondAccepted
+                        ? ResponseEntity.status(HttpStatus.ACCEPTED).body(response)
+                        : ResponseEntity.ok(response));
+    }
+}
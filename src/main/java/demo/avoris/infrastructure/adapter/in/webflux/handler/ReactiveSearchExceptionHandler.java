@@ -0,0 +1,148 @@
+package demo.avoris.infrastructure.adapter.in.webflux.handler;
+
+import demo.avoris.domain.exception.InvalidCheckIn;
+import demo.avoris.domain.exception.InvalidSearchBatch;
+import demo.avoris.infrastructure.adapter.in.web.dto.ErrorResponseDTO;
+import demo.avoris.infrastructure.adapter.out.kafka.exeption.PublishCapacityExceededException;
+import demo.avoris.infrastructure.adapter.out.mongo.exeption.SearchNotFoundException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.logging.Logger;
+
+/**
+ * Las respuestas de error de {@code SearchExceptionHandler} para la pila WebFlux.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSearchExceptionHandler {
+
+    private static final Logger log = Logger.getLogger(ReactiveSearchExceptionHandler.class.getName());
+
+    @ExceptionHandler(InvalidCheckIn.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidCheckIn(
+            InvalidCheckIn ex, ServerHttpRequest request) {
+
+        log.warning("Invalid check-in date validation error: " + ex.getMessage());
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                "The check-in date provided is invalid." + ex.getMessage(),
+                request.getPath().value()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidSearchBatch.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidSearchBatch(
+            InvalidSearchBatch ex, ServerHttpRequest request) {
+
+        log.warning("Invalid search batch: " + ex.getMessage());
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                "The search batch is invalid. Split it into smaller requests. " + ex.getMessage(),
+                request.getPath().value()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(PublishCapacityExceededException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePublishCapacityExceeded(
+            PublishCapacityExceededException ex, ServerHttpRequest request) {
+
+        log.warning("Publish capacity exceeded: " + ex.getMessage());
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "Too many searches are being processed right now. Please retry in a moment. " + ex.getMessage(),
+                request.getPath().value()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(SearchNotFoundException.class)
+    public ResponseEntity<ErrorResponseDTO> handleSearchNotFound(
+            SearchNotFoundException ex, ServerHttpRequest request) {
+
+        log.fine("Search not found: " + ex.getMessage());
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.NOT_FOUND.value(),
+                "Not Found",
+                "The requested search could not be found in our system. Please verify the search ID is correct or create a new search. " + ex.getMessage(),
+                request.getPath().value()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponseDTO> handleValidationErrors(
+            WebExchangeBindException ex, ServerHttpRequest request) {
+
+        log.warning("Validation error: " + ex.getMessage());
+
+        StringBuilder message = new StringBuilder("Validation failed for the request. Please check the following fields: ");
+        ex.getBindingResult().getFieldErrors().forEach(error ->
+            message.append(error.getField()).append(" - ").append(error.getDefaultMessage()).append("; ")
+        );
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.BAD_REQUEST.value(),
+                "Validation Failed",
+                message.toString(),
+                request.getPath().value()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponseDTO> handleNotReadable(
+            ServerWebInputException ex, ServerHttpRequest request) {
+
+        log.warning("Unreadable request body: " + ex.getMessage());
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                "The request body could not be read. Please check the JSON format and the dates (dd/MM/yyyy).",
+                request.getPath().value()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponseDTO> handleGenericException(
+            Exception ex, ServerHttpRequest request) {
+
+        log.severe("Unexpected error occurred: " + ex.getMessage());
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "Internal Server Error",
+                "An unexpected error occurred while processing your request. Please try again later or contact support if the problem persists.",
+                request.getPath().value()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
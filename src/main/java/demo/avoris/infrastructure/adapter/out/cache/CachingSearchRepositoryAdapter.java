@@ -0,0 +1,197 @@
+package demo.avoris.infrastructure.adapter.out.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import demo.avoris.application.jfr.SearchCacheLookupEvent;
+import demo.avoris.application.jfr.SearchJfrEvent;
+import demo.avoris.application.port.out.SearchRepositoryPort;
+import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.adapter.out.mongo.SearchMongoRepositoryAdapter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+
+/**
+ * Caché de lectura delante del adaptador Mongo para {@code GET /search/{searchId}}.
+ *
+ * <p>Caffeine (W-TinyLFU) acotada por peso aproximado en bytes. Las búsquedas con check-out pasado
+ * no caducan por tiempo porque ya no van a cambiar; el resto caduca tras {@code ttl}. Al guardar, el
+ * consumidor refresca la entrada si ya estaba en caché.</p>
+ *
+ * <p>La caché guarda futuros y la consulta a Mongo de un fallo se hace fuera del mapa, en el hilo que pide la
+ * búsqueda. Con {@code Cache.get(key, loader)} la consulta correría dentro del {@code compute} del mapa, que
+ * sincroniza sobre el nodo: en Java 21 eso ancla el hilo virtual a su portador durante toda la E/S.</p>
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "app.search.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingSearchRepositoryAdapter implements SearchRepositoryPort {
+
+    static final String CACHE_NAME = "search";
+
+    private final SearchRepositoryPort delegate;
+    private final AsyncCache<String, Search> asyncCache;
+    private final Cache<String, Search> cache;
+    private final Clock clock;
+
+    @Autowired
+    public CachingSearchRepositoryAdapter(@Qualifier(SearchMongoRepositoryAdapter.QUALIFIER) SearchRepositoryPort delegate,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${app.search.cache.max-weight-bytes:67108864}") long maxWeightBytes,
+                                          @Value("${app.search.cache.ttl:10m}") Duration ttl) {
+        this(delegate, meterRegistry, maxWeightBytes, ttl, Clock.systemDefaultZone());
+    }
+
+    CachingSearchRepositoryAdapter(SearchRepositoryPort delegate, MeterRegistry meterRegistry,
+                                   long maxWeightBytes, Duration ttl, Clock clock) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.asyncCache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((String searchId, Search search) -> weightOf(search))
+                .expireAfter(new PinnedPastSearchExpiry(ttl.toNanos()))
+                .recordStats()
+                .buildAsync();
+        this.cache = asyncCache.synchronous();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("search.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Hit ratio of the GET /search/{searchId} cache")
+                .register(meterRegistry);
+        FunctionTimer.builder("search.cache.load", cache,
+                        c -> c.stats().loadCount(), c -> c.stats().totalLoadTime(), TimeUnit.NANOSECONDS)
+                .description("Mongo loads on cache misses")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Search save(Search search) {
+        Search saved = delegate.save(search);
+        cache.asMap().replace(saved.searchId(), saved);
+        return saved;
+    }
+
+    @Override
+    public List<Search> saveAll(List<Search> searches) {
+        List<Search> saved = delegate.saveAll(searches);
+        saved.forEach(search -> cache.asMap().replace(search.searchId(), search));
+        return saved;
+    }
+
+    /**
+     * Sólo el primer fallo de cada id consulta al delegado; las lecturas concurrentes del mismo id esperan a
+     * su futuro. Una carga fallida sale de la caché al completarse, así que los no encontrados no se cachean.
+     */
+    @Override
+    public Search findBySearchId(String searchId) {
+        SearchCacheLookupEvent event = new SearchCacheLookupEvent();
+        event.begin();
+        CompletableFuture<Search> load = new CompletableFuture<>();
+        CompletableFuture<Search> cached = asyncCache.get(searchId, (key, executor) -> load);
+        if (cached == load) {
+            try {
+                load.complete(delegate.findBySearchId(searchId));
+            } catch (Throwable e) {
+                // También un Error: si el futuro quedase pendiente, las lecturas concurrentes esperarían para siempre
+                load.completeExceptionally(e);
+                throw e;
+            }
+        }
+        Search search;
+        try {
+            search = cached.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        event.hit(cached != load).emit(searchId, search.hotelId(), SearchJfrEvent.NO_PAYLOAD);
+        return search;
+    }
+
+    /**
+     * Sirve los aciertos desde la caché y pide sólo los fallos al delegado, en una única consulta,
+     * cacheando lo que devuelve.
+     */
+    @Override
+    public Stream<Search> findAllBySearchIds(Collection<String> searchIds) {
+        Map<String, Search> hits = cache.getAllPresent(searchIds);
+        List<String> misses = searchIds.stream().filter(searchId -> !hits.containsKey(searchId)).toList();
+        if (misses.isEmpty()) {
+            return hits.values().stream();
+        }
+        return Stream.concat(
+                hits.values().stream(),
+                delegate.findAllBySearchIds(misses).peek(search -> cache.put(search.searchId(), search)));
+    }
+
+    void invalidate(String searchId) {
+        cache.invalidate(searchId);
+    }
+
+    Cache<String, Search> cache() {
+        return cache;
+    }
+
+    private boolean isPinned(Search search) {
+        return search.checkOut() != null && search.checkOut().isBefore(LocalDate.now(clock));
+    }
+
+    /**
+     * Peso aproximado en bytes: cabeceras de objetos más los caracteres de los identificadores y un byte por edad.
+     */
+    private static int weightOf(Search search) {
+        int ages = search.ages() == null ? 0 : search.ages().size();
+        return 160 + 2 * (length(search.searchId()) + length(search.hotelId())) + ages;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private final class PinnedPastSearchExpiry implements Expiry<String, Search> {
+
+        private final long ttlNanos;
+
+        private PinnedPastSearchExpiry(long ttlNanos) {
+            this.ttlNanos = ttlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String searchId, Search search, long currentTime) {
+            return isPinned(search) ? Long.MAX_VALUE : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String searchId, Search search, long currentTime, long currentDuration) {
+            return expireAfterCreate(searchId, search, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String searchId, Search search, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
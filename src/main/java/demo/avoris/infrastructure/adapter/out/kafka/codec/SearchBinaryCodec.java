@@ -0,0 +1,187 @@
+package demo.avoris.infrastructure.adapter.out.kafka.codec;
+
+import demo.avoris.domain.model.Ages;
+import demo.avoris.domain.model.Search;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Codificación binaria compacta de {@link Search} para el topic de búsquedas. No necesita registro de esquemas:
+ * el primer byte es la versión del formato y cada versión se decodifica con su propio código.
+ *
+ * <pre>
+ * versión    1 byte ({@value #VERSION})
+ * searchId   varint(longitud + 1) + UTF-8, 0 = null
+ * hotelId    varint(longitud + 1) + UTF-8, 0 = null
+ * checkIn    varint zigzag de días epoch
+ * checkOut   varint zigzag de noches desde checkIn
+ * ages       varint(número + 1) + un byte sin signo por edad, 0 = null
+ * count      varint zigzag
+ * </pre>
+ *
+ * <p>La huella no va en el payload: viaja en su cabecera, igual que con JSON.</p>
+ */
+public final class SearchBinaryCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final int MAX_VARINT_BYTES = 5;
+
+    private SearchBinaryCodec() {
+    }
+
+    public static byte[] encode(Search search) {
+        Objects.requireNonNull(search.checkIn(), "checkIn");
+        Objects.requireNonNull(search.checkOut(), "checkOut");
+
+        byte[] searchId = utf8(search.searchId());
+        byte[] hotelId = utf8(search.hotelId());
+        byte[] ages = search.ages() == null ? null : Ages.copyOf(search.ages()).toByteArray();
+
+        Output out = new Output(1 + 6 * MAX_VARINT_BYTES + length(searchId) + length(hotelId) + length(ages));
+        out.writeByte(VERSION);
+        out.writeNullable(searchId);
+        out.writeNullable(hotelId);
+        int checkIn = Math.toIntExact(search.checkIn().toEpochDay());
+        out.writeVarint(zigzag(checkIn));
+        out.writeVarint(zigzag(Math.toIntExact(search.checkOut().toEpochDay() - checkIn)));
+        out.writeNullable(ages);
+        out.writeVarint(zigzag(search.count()));
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException si la versión no es conocida o el payload está truncado o corrupto
+     */
+    public static Search decode(byte[] payload) {
+        Input in = new Input(payload);
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported search payload version: " + version);
+        }
+
+        byte[] searchId = in.readNullable();
+        byte[] hotelId = in.readNullable();
+        long checkIn = unzigzag(in.readVarint());
+        long nights = unzigzag(in.readVarint());
+        byte[] ages = in.readNullable();
+        int count = unzigzag(in.readVarint());
+        in.expectEnd();
+
+        return new Search(
+                string(searchId),
+                string(hotelId),
+                LocalDate.ofEpochDay(checkIn),
+                LocalDate.ofEpochDay(checkIn + nights),
+                ages == null ? null : Ages.fromByteArray(ages),
+                count);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] utf8) {
+        return utf8 == null ? null : new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Output {
+
+        private final byte[] buffer;
+        private int position;
+
+        private Output(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void writeByte(int value) {
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeVarint(int value) {
+            while ((value & ~0x7F) != 0) {
+                writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            writeByte(value);
+        }
+
+        private void writeNullable(byte[] bytes) {
+            if (bytes == null) {
+                writeVarint(0);
+                return;
+            }
+            writeVarint(bytes.length + 1);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Input {
+
+        private final byte[] buffer;
+        private int position;
+
+        private Input(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private byte readByte() {
+            if (position >= buffer.length) {
+                throw new IllegalArgumentException("Truncated search payload");
+            }
+            return buffer[position++];
+        }
+
+        private int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 7 * MAX_VARINT_BYTES; shift += 7) {
+                byte b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in search payload");
+        }
+
+        private byte[] readNullable() {
+            int encoded = readVarint();
+            if (encoded == 0) {
+                return null;
+            }
+            int length = encoded - 1;
+            if (length < 0 || length > buffer.length - position) {
+                throw new IllegalArgumentException("Truncated search payload");
+            }
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        private void expectEnd() {
+            if (position != buffer.length) {
+                throw new IllegalArgumentException("Unexpected trailing bytes in search payload");
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package demo.avoris.infrastructure.adapter.out.kafka.codec;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import demo.avoris.domain.model.Search;
+import demo.avoris.domain.model.SearchFingerprint;
+import demo.avoris.infrastructure.adapter.out.kafka.header.SearchKafkaHeaders;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lee un evento de búsqueda en el formato que declare su cabecera {@link SearchKafkaHeaders#CONTENT_TYPE}
+ * (sin cabecera, JSON) y le añade la huella de {@link SearchKafkaHeaders#FINGERPRINT} si viene.
+ *
+ * <p>El JSON se lee directamente de los bytes del registro con el {@code ObjectReader} de {@code JacksonConfig}.</p>
+ */
+public class SearchKafkaDeserializer implements Deserializer<Search> {
+
+    private final ObjectReader searchReader;
+
+    public SearchKafkaDeserializer(ObjectReader searchReader) {
+        this.searchReader = searchReader;
+    }
+
+    @Override
+    public Search deserialize(String topic, byte[] data) {
+        return fromJson(requirePayload(data));
+    }
+
+    @Override
+    public Search deserialize(String topic, Headers headers, byte[] data) {
+        requirePayload(data);
+        Header contentType = headers.lastHeader(SearchKafkaHeaders.CONTENT_TYPE);
+        Search search = decode(data, contentType == null
+                ? SearchKafkaHeaders.JSON_CONTENT_TYPE
+                : new String(contentType.value(), StandardCharsets.UTF_8));
+
+        Header fingerprint = headers.lastHeader(SearchKafkaHeaders.FINGERPRINT);
+        if (fingerprint != null) {
+            search = search.withFingerprint(SearchFingerprint.fromBytes(fingerprint.value()));
+        }
+        return search;
+    }
+
+    private Search decode(byte[] data, String contentType) {
+        return switch (contentType) {
+            case SearchKafkaHeaders.JSON_CONTENT_TYPE -> fromJson(data);
+            case SearchKafkaHeaders.BINARY_CONTENT_TYPE -> fromBinary(data);
+            default -> throw new SerializationException("Unsupported search content type: " + contentType);
+        };
+    }
+
+    private Search fromJson(byte[] data) {
+        try {
+            return searchReader.readValue(data);
+        } catch (IOException e) {
+            throw new SerializationException("Error deserializing search: " + e.getMessage(), e);
+        }
+    }
+
+    private static Search fromBinary(byte[] data) {
+        try {
+            return SearchBinaryCodec.decode(data);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Error deserializing search: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] requirePayload(byte[] data) {
+        if (data == null) {
+            throw new SerializationException("Empty search payload");
+        }
+        return data;
+    }
+}
@@ -0,0 +1,62 @@
+package demo.avoris.infrastructure.adapter.out.kafka.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.adapter.out.kafka.header.SearchKafkaHeaders;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serializa {@link Search} en el formato configurado (JSON o {@link SearchBinaryCodec}) y lo declara en la
+ * cabecera {@link SearchKafkaHeaders#CONTENT_TYPE}, para que {@link SearchKafkaDeserializer} pueda leer ambos
+ * formatos mientras conviven en el topic.
+ *
+ * <p>El JSON se escribe directamente a bytes con el {@code ObjectWriter} de {@code JacksonConfig}, sin
+ * {@code String} intermedio.</p>
+ */
+public class SearchKafkaSerializer implements Serializer<Search> {
+
+    private final ObjectWriter searchWriter;
+    private final String contentType;
+    private final byte[] contentTypeHeader;
+
+    public SearchKafkaSerializer(ObjectWriter searchWriter, String contentType) {
+        if (!SearchKafkaHeaders.JSON_CONTENT_TYPE.equals(contentType)
+                && !SearchKafkaHeaders.BINARY_CONTENT_TYPE.equals(contentType)) {
+            throw new IllegalArgumentException("Unsupported search content type: " + contentType);
+        }
+        this.searchWriter = searchWriter;
+        this.contentType = contentType;
+        this.contentTypeHeader = contentType.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Sin cabeceras no se puede declarar el formato, así que se usa JSON, que es lo que se asume al leer.
+     */
+    @Override
+    public byte[] serialize(String topic, Search search) {
+        return toJson(search);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Search search) {
+        headers.remove(SearchKafkaHeaders.CONTENT_TYPE);
+        headers.add(SearchKafkaHeaders.CONTENT_TYPE, contentTypeHeader);
+        return SearchKafkaHeaders.BINARY_CONTENT_TYPE.equals(contentType)
+                ? SearchBinaryCodec.encode(search)
+                : toJson(search);
+    }
+
+    private byte[] toJson(Search search) {
+        try {
+            return searchWriter.writeValueAsBytes(search);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("Error serializing search: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package demo.avoris.infrastructure.adapter.out.kafka.exeption;
+
+public class PublishCapacityExceededException extends RuntimeException {
+    public PublishCapacityExceededException(String message) {
+        super(message);
+    }
+}
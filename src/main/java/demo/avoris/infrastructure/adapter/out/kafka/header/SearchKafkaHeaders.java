@@ -0,0 +1,50 @@
+package demo.avoris.infrastructure.adapter.out.kafka.header;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Cabeceras propias que acompañan a cada evento de búsqueda publicado en Kafka.
+ */
+public final class SearchKafkaHeaders {
+
+    /** Huella binaria de 16 bytes de la búsqueda normalizada. */
+    public static final String FINGERPRINT = "search-fingerprint";
+
+    /** Formato del payload; los registros sin esta cabecera son JSON. */
+    public static final String CONTENT_TYPE = "content-type";
+
+    public static final String JSON_CONTENT_TYPE = "application/json";
+
+    /** Formato de {@code SearchBinaryCodec}; la versión va en el primer byte del payload. */
+    public static final String BINARY_CONTENT_TYPE = "application/vnd.avoris.search+binary";
+
+    /**
+     * Instante en que el productor aceptó la búsqueda, en epoch millis (8 bytes big-endian). El consumidor lo usa
+     * para medir el lag de ingesta; compara relojes de dos máquinas, así que incluye su desfase.
+     */
+    public static final String CREATED_AT = "search-created-at";
+
+    /** Valor que indica que el registro no trae {@link #CREATED_AT} (productores anteriores). */
+    public static final long NO_CREATED_AT = -1L;
+
+    private SearchKafkaHeaders() {
+    }
+
+    public static byte[] createdAt(long epochMillis) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(epochMillis).array();
+    }
+
+    /**
+     * Lee {@link #CREATED_AT}, o {@link #NO_CREATED_AT} si falta o no mide 8 bytes.
+     */
+    public static long createdAt(Headers headers) {
+        Header header = headers.lastHeader(CREATED_AT);
+        if (header == null || header.value() == null || header.value().length != Long.BYTES) {
+            return NO_CREATED_AT;
+        }
+        return ByteBuffer.wrap(header.value()).getLong();
+    }
+}
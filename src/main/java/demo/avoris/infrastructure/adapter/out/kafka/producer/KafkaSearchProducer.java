@@ -1,43 +1,219 @@
 package demo.avoris.infrastructure.adapter.out.kafka.producer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import demo.avoris.application.jfr.SearchPublishedEvent;
 import demo.avoris.application.port.out.SearchEventPublisherPort;
+import demo.avoris.domain.model.ConsistencyToken;
 import demo.avoris.domain.model.Search;
+import demo.avoris.domain.model.SearchFingerprint;
 
+import demo.avoris.infrastructure.adapter.out.kafka.codec.SearchKafkaSerializer;
 import demo.avoris.infrastructure.adapter.out.kafka.exeption.ErrorSendTopic;
+import demo.avoris.infrastructure.adapter.out.kafka.exeption.PublishCapacityExceededException;
+import demo.avoris.infrastructure.adapter.out.kafka.header.SearchKafkaHeaders;
+import demo.avoris.infrastructure.config.JacksonConfig;
 
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Repository;
 
-
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Logger;
 
 @Repository
 public class KafkaSearchProducer implements SearchEventPublisherPort {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    static final String ASYNC_MODE = "async";
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final SearchKafkaSerializer serializer;
+
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final Timer publishSuccess;
+    private final Timer publishError;
+    private final Counter publishRejected;
 
     private final Logger log = Logger.getLogger(KafkaSearchProducer.class.getName());
 
     @Value("${app.kafka.topic-name}")
     private String topicName;
 
+    @Value("${app.kafka.producer.send-timeout:5s}")
+    private Duration sendTimeout = Duration.ofSeconds(5);
+
+    /** {@code sync}: espera el ack y devuelve el token. {@code async}: vuelve en cuanto el registro está encolado. */
+    @Value("${app.kafka.producer.mode:sync}")
+    private String mode = "sync";
+
     public KafkaSearchProducer(
-            KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper) {
+            KafkaTemplate<String, byte[]> kafkaTemplate,
+            @Qualifier(JacksonConfig.SEARCH_WRITER) ObjectWriter searchWriter, MeterRegistry meterRegistry,
+            @Value("${app.kafka.producer.max-in-flight:1000}") int maxInFlight,
+            @Value("${app.kafka.producer.content-type:application/json}") String contentType) {
         this.kafkaTemplate = kafkaTemplate;
-        this.objectMapper = objectMapper;
+        this.serializer = new SearchKafkaSerializer(searchWriter, contentType);
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.publishSuccess = publishTimer(meterRegistry, "success");
+        this.publishError = publishTimer(meterRegistry, "error");
+        this.publishRejected = Counter.builder("search.publish.rejected")
+                .description("Searches rejected because max-in-flight was reached")
+                .register(meterRegistry);
+        Gauge.builder("search.publish.in-flight", inFlight, permits -> maxInFlight - permits.availablePermits())
+                .description("Searches sent to Kafka and not yet acknowledged")
+                .register(meterRegistry);
     }
 
     @Override
-    public void publishSearch(Search search) {
+    public ConsistencyToken publishSearch(Search search) {
+        return ASYNC_MODE.equals(mode) ? publishAsync(search) : publishAndAwait(search);
+    }
+
+    /**
+     * Espera el ack del broker (acotado por {@code sendTimeout}) para poder devolver la posición exacta del
+     * registro; el GET la usa como token de lectura tras escritura.
+     */
+    private ConsistencyToken publishAndAwait(Search search) {
+        SearchPublishedEvent event = new SearchPublishedEvent();
+        event.begin();
+        long start = System.nanoTime();
         try {
-            String payload = objectMapper.writeValueAsString(search);
-            kafkaTemplate.send(topicName, search.searchId(), payload);
+            ProducerRecord<String, byte[]> record = toRecord(search);
+            RecordMetadata metadata = kafkaTemplate.send(record)
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .getRecordMetadata();
+            publishSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.emit(search.searchId(), search.hotelId(), record.value().length);
             log.info("Published search with id: " + search.searchId() + " to topic: " + topicName);
+            return toToken(metadata);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            publishError.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw new ErrorSendTopic("Error processing message: " + e.getMessage());
+        } catch (Exception e) {
+            publishError.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw new ErrorSendTopic("Error processing message: " + e.getMessage());
+        }
+    }
+
+    /**
+     * No espera al broker: reserva un hueco de {@code max-in-flight} sin bloquear y lo libera en el callback de
+     * la send, que además mide la latencia y registra los fallos. Sin hueco libre falla en el acto con
+     * {@link PublishCapacityExceededException} en lugar de dejar el hilo de Tomcat bloqueado en el buffer del
+     * productor. No hay token: el offset todavía no se conoce.
+     */
+    private ConsistencyToken publishAsync(Search search) {
+        if (!inFlight.tryAcquire()) {
+            publishRejected.increment();
+            throw new PublishCapacityExceededException(
+                    "Too many searches waiting for Kafka (max-in-flight " + maxInFlight + ")");
+        }
+
+        SearchPublishedEvent event = new SearchPublishedEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            ProducerRecord<String, byte[]> record = toRecord(search);
+            kafkaTemplate.send(record).whenComplete((result, error) -> {
+                inFlight.release();
+                if (error == null) {
+                    publishSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    event.emit(search.searchId(), search.hotelId(), record.value().length);
+                } else {
+                    publishError.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    log.warning("Error publishing search with id: " + search.searchId() + ": " + error.getMessage());
+                }
+            });
+            return null;
         } catch (Exception e) {
+            inFlight.release();
+            publishError.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             throw new ErrorSendTopic("Error processing message: " + e.getMessage());
         }
     }
+
+    /**
+     * Encola todos los registros, hace un único flush y espera los acks juntos con el mismo
+     * {@code sendTimeout} que un envío suelto. Un fallo de serialización o de envío sólo afecta a su búsqueda.
+     */
+    @Override
+    public List<CompletableFuture<ConsistencyToken>> publishSearches(List<Search> searches) {
+        List<CompletableFuture<ConsistencyToken>> results = new ArrayList<>(searches.size());
+        for (Search search : searches) {
+            try {
+                results.add(kafkaTemplate.send(toRecord(search))
+                        .thenApply(sent -> toToken(sent.getRecordMetadata())));
+            } catch (Exception e) {
+                results.add(CompletableFuture.failedFuture(
+                        new ErrorSendTopic("Error processing message: " + e.getMessage())));
+            }
+        }
+        kafkaTemplate.flush();
+
+        awaitAll(results);
+        log.info("Published batch of " + searches.size() + " searches to topic: " + topicName);
+        return results;
+    }
+
+    private void awaitAll(List<CompletableFuture<ConsistencyToken>> results) {
+        try {
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // los errores se devuelven por búsqueda
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            log.warning("Batch send timed out after " + sendTimeout);
+        }
+        ErrorSendTopic notAcknowledged = new ErrorSendTopic("Error processing message: send not acknowledged within " + sendTimeout);
+        results.forEach(result -> result.completeExceptionally(notAcknowledged));
+    }
+
+    /**
+     * La clave es la huella y no el searchId: cada searchId se publica una sola vez, así que no hay orden que
+     * guardar por él, y con la huella las búsquedas iguales caen en la misma partición y se cuentan en orden.
+     */
+    private ProducerRecord<String, byte[]> toRecord(Search search) {
+        SearchFingerprint fingerprint = search.fingerprintOrCompute();
+        Headers headers = new RecordHeaders();
+        headers.add(SearchKafkaHeaders.FINGERPRINT, fingerprint.toBytes());
+        headers.add(SearchKafkaHeaders.CREATED_AT, SearchKafkaHeaders.createdAt(System.currentTimeMillis()));
+        byte[] payload = serializer.serialize(topicName, headers, search);
+        return new ProducerRecord<>(topicName, null, fingerprint.toHex(), payload, headers);
+    }
+
+    private static Timer publishTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("search.publish")
+                .description("Time from send to broker ack")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    int inFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    private static ConsistencyToken toToken(RecordMetadata metadata) {
+        return new ConsistencyToken(metadata.topic(), metadata.partition(), metadata.offset());
+    }
 }
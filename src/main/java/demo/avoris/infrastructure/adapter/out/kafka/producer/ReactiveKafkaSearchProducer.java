@@ -0,0 +1,84 @@
+package demo.avoris.infrastructure.adapter.out.kafka.producer;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import demo.avoris.application.port.out.ReactiveSearchEventPublisherPort;
+import demo.avoris.domain.model.ConsistencyToken;
+import demo.avoris.domain.model.Search;
+import demo.avoris.domain.model.SearchFingerprint;
+
+import demo.avoris.infrastructure.adapter.out.kafka.codec.SearchKafkaSerializer;
+import demo.avoris.infrastructure.adapter.out.kafka.exeption.ErrorSendTopic;
+import demo.avoris.infrastructure.adapter.out.kafka.header.SearchKafkaHeaders;
+import demo.avoris.infrastructure.config.JacksonConfig;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+
+import java.time.Duration;
+import java.util.logging.Logger;
+
+/**
+ * Publicación con reactor-kafka. No ocupa hilo mientras espera el ack: el token se emite desde el callback del
+ * productor, y el {@code maxInFlight} del sender limita cuántas búsquedas esperan a la vez.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.stack", havingValue = "reactive")
+public class ReactiveKafkaSearchProducer implements ReactiveSearchEventPublisherPort {
+
+    private final KafkaSender<String, byte[]> sender;
+    private final SearchKafkaSerializer serializer;
+
+    private final Logger log = Logger.getLogger(ReactiveKafkaSearchProducer.class.getName());
+
+    @Value("${app.kafka.topic-name}")
+    private String topicName;
+
+    @Value("${app.kafka.producer.send-timeout:5s}")
+    private Duration sendTimeout = Duration.ofSeconds(5);
+
+    public ReactiveKafkaSearchProducer(
+            KafkaSender<String, byte[]> sender,
+            @Qualifier(JacksonConfig.SEARCH_WRITER) ObjectWriter searchWriter,
+            @Value("${app.kafka.producer.content-type:application/json}") String contentType) {
+        this.sender = sender;
+        this.serializer = new SearchKafkaSerializer(searchWriter, contentType);
+    }
+
+    @Override
+    public Mono<ConsistencyToken> publishSearch(Search search) {
+        return sender.send(Mono.fromCallable(() -> SenderRecord.create(toRecord(search), search.searchId())))
+                .next()
+                .map(result -> toToken(result.recordMetadata()))
+                .timeout(sendTimeout)
+                .doOnNext(token -> log.info("Published search with id: " + search.searchId() + " to topic: " + topicName))
+                .onErrorMap(e -> new ErrorSendTopic("Error processing message: " + e.getMessage()));
+    }
+
+    /**
+     * La clave es la huella y no el searchId: cada searchId se publica una sola vez, así que no hay orden que
+     * guardar por él, y con la huella las búsquedas iguales caen en la misma partición y se cuentan en orden.
+     */
+    private ProducerRecord<String, byte[]> toRecord(Search search) {
+        SearchFingerprint fingerprint = search.fingerprintOrCompute();
+        Headers headers = new RecordHeaders();
+        headers.add(SearchKafkaHeaders.FINGERPRINT, fingerprint.toBytes());
+        headers.add(SearchKafkaHeaders.CREATED_AT, SearchKafkaHeaders.createdAt(System.currentTimeMillis()));
+        byte[] payload = serializer.serialize(topicName, headers, search);
+        return new ProducerRecord<>(topicName, null, fingerprint.toHex(), payload, headers);
+    }
+
+    private static ConsistencyToken toToken(RecordMetadata metadata) {
+        return new ConsistencyToken(metadata.topic(), metadata.partition(), metadata.offset());
+    }
+}
@@ -0,0 +1,44 @@
+package demo.avoris.infrastructure.adapter.out.memory;
+
+import demo.avoris.application.port.out.SearchCounterPort;
+import demo.avoris.domain.model.SearchFingerprint;
+
+import org.springframework.stereotype.Repository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Índice en memoria de búsquedas idénticas indexado por {@link SearchFingerprint}. Cada huella tiene su
+ * propio {@link LongAdder}, que reparte las escrituras en celdas por hilo para que un hotel muy buscado
+ * no genere contención.
+ */
+@Repository
+public class InMemorySearchCounterAdapter implements SearchCounterPort {
+
+    private final ConcurrentMap<SearchFingerprint, LongAdder> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public long increment(SearchFingerprint fingerprint) {
+        LongAdder adder = counterFor(fingerprint);
+        adder.increment();
+        return adder.sum();
+    }
+
+    @Override
+    public void add(SearchFingerprint fingerprint, long delta) {
+        counterFor(fingerprint).add(delta);
+    }
+
+    @Override
+    public long count(SearchFingerprint fingerprint) {
+        LongAdder adder = counters.get(fingerprint);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    private LongAdder counterFor(SearchFingerprint fingerprint) {
+        LongAdder adder = counters.get(fingerprint);
+        return adder != null ? adder : counters.computeIfAbsent(fingerprint, k -> new LongAdder());
+    }
+}
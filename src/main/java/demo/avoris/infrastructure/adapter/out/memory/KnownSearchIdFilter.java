@@ -0,0 +1,111 @@
+package demo.avoris.infrastructure.adapter.out.memory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Filtro de Bloom de los searchId que esta instancia conoce: los leídos de Mongo por los loaders de índice al
+ * arrancar y los que guardan sus adaptadores Mongo.
+ *
+ * <p>Un {@code false} sólo significa que esta instancia no ha visto el id, no que no esté persistido: con varias
+ * réplicas en el grupo de consumidores, las búsquedas que otra guarda después de la carga no pasan por aquí. Por
+ * eso los adaptadores confirman en Mongo también los ids que el filtro no conoce, y los que Mongo sí tenía se
+ * cuentan en {@code search.bloom.false.negatives} y se añaden. Antes de la carga inicial ({@link #markLoaded()}),
+ * o con {@code app.search.bloom.enabled=false}, contesta {@code true} sin medir.</p>
+ *
+ * <p>Métricas: {@code search.bloom.checks} por resultado ({@code absent}/{@code present}),
+ * {@code search.bloom.false.positives} (ids que el filtro dejó pasar y Mongo no tenía),
+ * {@code search.bloom.false.negatives} (ids que el filtro no conocía y Mongo sí tenía),
+ * {@code search.bloom.expected.fpp} según el llenado actual y {@code search.bloom.memory} en bytes.</p>
+ */
+@Component
+public class KnownSearchIdFilter {
+
+    private final boolean enabled;
+    private final ScalableBloomFilter filter;
+    private final Counter absent;
+    private final Counter present;
+    private final Counter falsePositives;
+    private final Counter falseNegatives;
+
+    private volatile boolean loaded;
+
+    public KnownSearchIdFilter(MeterRegistry meterRegistry,
+                               @Value("${app.search.bloom.enabled:false}") boolean enabled,
+                               @Value("${app.search.bloom.initial-capacity:1000000}") long initialCapacity,
+                               @Value("${app.search.bloom.fpp:0.01}") double fpp) {
+        this.enabled = enabled;
+        this.filter = new ScalableBloomFilter(initialCapacity, fpp);
+        this.absent = Counter.builder("search.bloom.checks")
+                .description("Search lookups checked against the known-id filter")
+                .tag("result", "absent")
+                .register(meterRegistry);
+        this.present = Counter.builder("search.bloom.checks")
+                .description("Search lookups checked against the known-id filter")
+                .tag("result", "present")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("search.bloom.false.positives")
+                .description("Lookups the filter let through that were not in the store")
+                .register(meterRegistry);
+        this.falseNegatives = Counter.builder("search.bloom.false.negatives")
+                .description("Lookups the filter had not seen that were in the store")
+                .register(meterRegistry);
+        Gauge.builder("search.bloom.expected.fpp", filter, ScalableBloomFilter::expectedFpp)
+                .description("Expected false positive probability at the current fill")
+                .register(meterRegistry);
+        Gauge.builder("search.bloom.memory", filter, ScalableBloomFilter::sizeInBytes)
+                .description("Memory used by the filter bit arrays")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return {@code false} si esta instancia no ha visto el searchId; no basta para responder que no existe
+     */
+    public boolean mightContain(String searchId) {
+        if (!enabled || !loaded) {
+            return true;
+        }
+        if (filter.mightContain(searchId)) {
+            present.increment();
+            return true;
+        }
+        absent.increment();
+        return false;
+    }
+
+    public void add(String searchId) {
+        if (enabled) {
+            filter.add(searchId);
+        }
+    }
+
+    /**
+     * Marca el fin de la carga inicial: a partir de aquí el filtro contesta y mide.
+     */
+    public void markLoaded() {
+        loaded = true;
+    }
+
+    /**
+     * El filtro dejó pasar un searchId que Mongo no tenía.
+     */
+    public void recordFalsePositive() {
+        if (enabled && loaded) {
+            falsePositives.increment();
+        }
+    }
+
+    /**
+     * Mongo tenía un searchId que el filtro no conocía (lo guardó otra réplica): se cuenta y se añade.
+     */
+    public void recordFalseNegative(String searchId) {
+        if (enabled && loaded) {
+            falseNegatives.increment();
+            filter.add(searchId);
+        }
+    }
+}
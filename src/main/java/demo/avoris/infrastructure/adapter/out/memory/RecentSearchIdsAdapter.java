@@ -0,0 +1,67 @@
+package demo.avoris.infrastructure.adapter.out.memory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import demo.avoris.application.port.out.SearchDuplicateFilterPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+/**
+ * Ventana acotada de searchId ya persistidos: como mucho {@code max-entries} ids y durante {@code window}.
+ *
+ * <p>Es exacta, no un filtro de Bloom: un falso positivo aquí sería una búsqueda real que nunca se guarda.
+ * Un reenvío que se escapa de la ventana lo sigue parando el {@code _id} en Mongo.</p>
+ *
+ * <p>{@code search.duplicates.suppressed} cuenta los duplicados descartados, con {@code stage=memory} si los
+ * paró la ventana y {@code stage=store} si llegaron a Mongo.</p>
+ */
+@Repository
+public class RecentSearchIdsAdapter implements SearchDuplicateFilterPort {
+
+    static final String SUPPRESSED_METRIC = "search.duplicates.suppressed";
+
+    private final Cache<String, Boolean> recent;
+    private final Counter suppressedInMemory;
+    private final Counter suppressedByStore;
+
+    public RecentSearchIdsAdapter(MeterRegistry meterRegistry,
+                                  @Value("${app.search.dedup.max-entries:100000}") long maxEntries,
+                                  @Value("${app.search.dedup.window:10m}") Duration window) {
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(window)
+                .build();
+        this.suppressedInMemory = Counter.builder(SUPPRESSED_METRIC)
+                .description("Redelivered searches skipped before persisting")
+                .tag("stage", "memory")
+                .register(meterRegistry);
+        this.suppressedByStore = Counter.builder(SUPPRESSED_METRIC)
+                .description("Redelivered searches skipped before persisting")
+                .tag("stage", "store")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isDuplicate(String searchId) {
+        if (recent.getIfPresent(searchId) == null) {
+            return false;
+        }
+        suppressedInMemory.increment();
+        return true;
+    }
+
+    @Override
+    public void markSaved(String searchId) {
+        recent.put(searchId, Boolean.TRUE);
+    }
+
+    @Override
+    public void markDuplicate(String searchId) {
+        recent.put(searchId, Boolean.TRUE);
+        suppressedByStore.increment();
+    }
+}
@@ -0,0 +1,167 @@
+package demo.avoris.infrastructure.adapter.out.memory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom escalable (Almeida et al., 2007): cuando una etapa llega a su capacidad se añade otra con
+ * {@value #GROWTH} veces más capacidad y la mitad de probabilidad de falso positivo, así que el total queda acotado
+ * por {@code fpp} sin conocer de antemano cuántos ids habrá.
+ *
+ * <p>Seguro entre hilos sin bloqueos en {@link #add} y {@link #mightContain}; sólo el crecimiento se sincroniza.
+ * Cada etapa usa doble hashing (Kirsch-Mitzenmacher) sobre dos hashes de 64 bits del valor.</p>
+ */
+final class ScalableBloomFilter {
+
+    static final int GROWTH = 2;
+
+    private static final double TIGHTENING = 0.5;
+
+    private final List<Stage> stages = new CopyOnWriteArrayList<>();
+
+    ScalableBloomFilter(long initialCapacity, double fpp) {
+        if (initialCapacity < 1 || fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("capacity must be positive and fpp in (0, 1)");
+        }
+        stages.add(new Stage(initialCapacity, fpp * (1 - TIGHTENING)));
+    }
+
+    void add(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 + 0x9e3779b97f4a7c15L);
+        if (mightContain(h1, h2)) {
+            return;
+        }
+        Stage current = stages.get(stages.size() - 1);
+        current.put(h1, h2);
+        if (current.isFull()) {
+            grow(current);
+        }
+    }
+
+    boolean mightContain(String value) {
+        long h1 = hash(value);
+        return mightContain(h1, mix(h1 + 0x9e3779b97f4a7c15L));
+    }
+
+    /**
+     * Probabilidad de falso positivo según el llenado actual de cada etapa: {@code 1 - Π(1 - p)}, calculada con
+     * {@code log1p}/{@code expm1} para no perder las probabilidades pequeñas de las etapas casi vacías.
+     */
+    double expectedFpp() {
+        double logAllNegative = 0;
+        for (Stage stage : stages) {
+            logAllNegative += Math.log1p(-stage.expectedFpp());
+        }
+        // 0.0 - x en lugar de -x: sin llenado expm1 devuelve 0.0 y no debe salir -0.0
+        return 0.0 - Math.expm1(logAllNegative);
+    }
+
+    long sizeInBytes() {
+        long bytes = 0;
+        for (Stage stage : stages) {
+            bytes += stage.sizeInBytes();
+        }
+        return bytes;
+    }
+
+    int stageCount() {
+        return stages.size();
+    }
+
+    private boolean mightContain(long h1, long h2) {
+        for (Stage stage : stages) {
+            if (stage.mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void grow(Stage full) {
+        int size = stages.size();
+        if (stages.get(size - 1) != full) {
+            return;
+        }
+        stages.add(new Stage(full.capacity * GROWTH, full.fpp * TIGHTENING));
+    }
+
+    // FNV-1a sobre los caracteres con el finalizador de SplitMix64 para repartir los bits
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Stage {
+
+        private final long capacity;
+        private final double fpp;
+        private final long numBits;
+        private final int numHashes;
+        private final AtomicLongArray words;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong bitsSet = new AtomicLong();
+
+        private Stage(long capacity, double fpp) {
+            this.capacity = capacity;
+            this.fpp = fpp;
+            long bits = (long) Math.ceil(-capacity * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+            int wordCount = Math.toIntExact((bits + 63) / 64);
+            this.numBits = wordCount * 64L;
+            this.numHashes = Math.max(1, (int) Math.round((double) numBits / capacity * Math.log(2)));
+            this.words = new AtomicLongArray(wordCount);
+        }
+
+        private void put(long h1, long h2) {
+            for (int i = 0; i < numHashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, numBits);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current = words.get(word);
+                while ((current & mask) == 0) {
+                    long witness = words.compareAndExchange(word, current, current | mask);
+                    if (witness == current) {
+                        bitsSet.incrementAndGet();
+                        break;
+                    }
+                    current = witness;
+                }
+            }
+            count.incrementAndGet();
+        }
+
+        private boolean mightContain(long h1, long h2) {
+            for (int i = 0; i < numHashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, numBits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isFull() {
+            return count.get() >= capacity;
+        }
+
+        private double expectedFpp() {
+            return Math.pow((double) bitsSet.get() / numBits, numHashes);
+        }
+
+        private long sizeInBytes() {
+            return numBits / 8;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package demo.avoris.infrastructure.adapter.out.mongo;
+
+import demo.avoris.application.port.out.ReactiveSearchRepositoryPort;
+import demo.avoris.domain.exception.DuplicateSearch;
+import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.adapter.out.memory.KnownSearchIdFilter;
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchDocumentV2;
+import demo.avoris.infrastructure.adapter.out.mongo.exeption.SearchNotFoundException;
+import demo.avoris.infrastructure.mapper.SearchDocumentMapper;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+
+/**
+ * Equivalente reactivo de {@link SearchMongoRepositoryAdapter} en modo document, con el driver Reactive Streams:
+ * mismo esquema de escritura según {@code app.mongo.schema-version}, mismas inserciones con el searchId como
+ * {@code _id}, misma lectura cruda v1/v2 y misma medición del filtro de ids conocidos en las lecturas.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.stack", havingValue = "reactive")
+public class ReactiveSearchMongoRepositoryAdapter implements ReactiveSearchRepositoryPort {
+
+    private final ReactiveSearchRepository repository;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final int schemaVersion;
+
+    private final KnownSearchIdFilter knownIds;
+
+    public ReactiveSearchMongoRepositoryAdapter(ReactiveSearchRepository repository, ReactiveMongoTemplate mongoTemplate,
+                                                @Value("${app.mongo.schema-version:1}") int schemaVersion,
+                                                KnownSearchIdFilter knownIds) {
+        this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
+        this.schemaVersion = schemaVersion;
+        this.knownIds = knownIds;
+    }
+
+    @Override
+    public Mono<Search> save(Search search) {
+        Mono<Search> saved = schemaVersion >= SearchDocumentV2.VERSION
+                ? mongoTemplate.insert(SearchDocumentMapper.toDocumentV2(search)).map(SearchDocumentMapper::toDomain)
+                : repository.insert(SearchDocumentMapper.toDocument(search)).map(SearchDocumentMapper::toDomain);
+
+        return saved
+                .doOnNext(stored -> knownIds.add(search.searchId()))
+                .onErrorMap(DuplicateKeyException.class, e -> {
+                    knownIds.add(search.searchId());
+                    return new DuplicateSearch("Search with id " + search.searchId() + " already stored");
+                });
+    }
+
+    @Override
+    public Mono<Search> findBySearchId(String searchId) {
+        boolean seen = knownIds.mightContain(searchId);
+        return mongoTemplate.findOne(query(where("searchId").is(searchId)), Document.class, SearchDocumentMapper.COLLECTION)
+                .switchIfEmpty(Mono.error(() -> {
+                    if (seen) {
+                        knownIds.recordFalsePositive();
+                    }
+                    return new SearchNotFoundException("Search with id " + searchId + " not found");
+                }))
+                .doOnNext(document -> {
+                    if (!seen) {
+                        knownIds.recordFalseNegative(searchId);
+                    }
+                })
+                .map(SearchDocumentMapper::fromBson);
+    }
+
+    @Override
+    public Flux<Search> findAllBySearchIds(Collection<String> searchIds) {
+        if (searchIds.isEmpty()) {
+            return Flux.empty();
+        }
+        Query query = query(where("searchId").in(searchIds));
+        query.fields().exclude("_id");
+        return mongoTemplate.find(query, Document.class, SearchDocumentMapper.COLLECTION)
+                .map(SearchDocumentMapper::fromBson);
+    }
+}
@@ -0,0 +1,8 @@
+package demo.avoris.infrastructure.adapter.out.mongo;
+
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchDocument;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+
+public interface ReactiveSearchRepository extends ReactiveMongoRepository<SearchDocument, String> {
+}
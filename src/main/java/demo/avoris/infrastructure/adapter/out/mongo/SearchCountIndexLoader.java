@@ -0,0 +1,54 @@
+package demo.avoris.infrastructure.adapter.out.mongo;
+
+import demo.avoris.application.port.out.SearchCounterPort;
+import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.adapter.out.memory.KnownSearchIdFilter;
+import demo.avoris.infrastructure.mapper.SearchDocumentMapper;
+
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Reconstruye el índice de conteo y el filtro de searchId conocidos a partir de la colección {@code search} al
+ * arrancar.
+ * Se ejecuta antes de que arranquen los listeners de Kafka para no contar dos veces
+ * los eventos que se consuman durante la carga.
+ */
+@Component
+@ConditionalOnProperty(name = "app.mongo.persistence-mode", havingValue = "document", matchIfMissing = true)
+public class SearchCountIndexLoader implements SmartInitializingSingleton {
+
+    private final MongoTemplate mongoTemplate;
+    private final SearchCounterPort counter;
+    private final KnownSearchIdFilter knownIds;
+    private final Logger log = Logger.getLogger(SearchCountIndexLoader.class.getName());
+
+    public SearchCountIndexLoader(MongoTemplate mongoTemplate, SearchCounterPort counter, KnownSearchIdFilter knownIds) {
+        this.mongoTemplate = mongoTemplate;
+        this.counter = counter;
+        this.knownIds = knownIds;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        AtomicLong loaded = new AtomicLong();
+        try (Stream<Document> documents = mongoTemplate.stream(new Query(), Document.class, SearchDocumentMapper.COLLECTION)) {
+            documents.forEach(document -> {
+                Search search = SearchDocumentMapper.fromBson(document);
+                counter.add(search.fingerprintOrCompute(), search.count());
+                knownIds.add(search.searchId());
+                loaded.incrementAndGet();
+            });
+        }
+        knownIds.markLoaded();
+        log.info("Search count index rebuilt from " + loaded.get() + " documents");
+    }
+}
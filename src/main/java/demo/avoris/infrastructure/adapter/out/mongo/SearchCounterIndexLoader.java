@@ -0,0 +1,63 @@
+package demo.avoris.infrastructure.adapter.out.mongo;
+
+import demo.avoris.application.port.out.SearchCounterPort;
+import demo.avoris.domain.model.SearchFingerprint;
+import demo.avoris.infrastructure.adapter.out.memory.KnownSearchIdFilter;
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchCounterDocument;
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchKeyDocument;
+import demo.avoris.infrastructure.mapper.SearchCounterDocumentMapper;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Equivalente a {@link SearchCountIndexLoader} para el modo "counter": basta con leer
+ * un documento por clave distinta en lugar de toda la colección de eventos. Los searchId conocidos salen de los
+ * mapeos, leyendo sólo su {@code _id}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.mongo.persistence-mode", havingValue = "counter")
+public class SearchCounterIndexLoader implements SmartInitializingSingleton {
+
+    private final MongoTemplate mongoTemplate;
+    private final SearchCounterPort counter;
+    private final KnownSearchIdFilter knownIds;
+    private final Logger log = Logger.getLogger(SearchCounterIndexLoader.class.getName());
+
+    public SearchCounterIndexLoader(MongoTemplate mongoTemplate, SearchCounterPort counter, KnownSearchIdFilter knownIds) {
+        this.mongoTemplate = mongoTemplate;
+        this.counter = counter;
+        this.knownIds = knownIds;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        AtomicLong loaded = new AtomicLong();
+        try (Stream<SearchCounterDocument> documents = mongoTemplate.stream(new Query(), SearchCounterDocument.class)) {
+            documents.forEach(document -> {
+                counter.add(SearchFingerprint.of(SearchCounterDocumentMapper.toSearchKey(document)), document.count());
+                loaded.incrementAndGet();
+            });
+        }
+        log.info("Search count index rebuilt from " + loaded.get() + " counter documents");
+
+        AtomicLong known = new AtomicLong();
+        Query mappings = new Query();
+        mappings.fields().include("_id");
+        try (Stream<SearchKeyDocument> documents = mongoTemplate.stream(mappings, SearchKeyDocument.class)) {
+            documents.forEach(document -> {
+                knownIds.add(document.searchId());
+                known.incrementAndGet();
+            });
+        }
+        knownIds.markLoaded();
+        log.info("Known search id filter loaded with " + known.get() + " ids");
+    }
+}
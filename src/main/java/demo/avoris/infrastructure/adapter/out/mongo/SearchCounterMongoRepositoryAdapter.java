@@ -0,0 +1,235 @@
+package demo.avoris.infrastructure.adapter.out.mongo;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.result.UpdateResult;
+import demo.avoris.application.port.out.SearchRepositoryPort;
+import demo.avoris.domain.exception.DuplicateSearch;
+import demo.avoris.domain.model.Search;
+import demo.avoris.domain.model.SearchKey;
+import demo.avoris.infrastructure.adapter.out.memory.KnownSearchIdFilter;
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchCounterDocument;
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchKeyDocument;
+import demo.avoris.infrastructure.adapter.out.mongo.exeption.SearchNotFoundException;
+import demo.avoris.infrastructure.mapper.SearchCounterDocumentMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+
+/**
+ * Modo de persistencia "counter": un documento por clave canónica de búsqueda incrementado con
+ * un upsert atómico ({@code $inc}) y un mapeo searchId → clave. El tamaño de la colección depende
+ * del número de búsquedas distintas, no del tráfico.
+ *
+ * <p>El mapeo se crea primero y sólo si no existía ({@code $setOnInsert}), con {@code counted=false}; después va el
+ * {@code $inc} y por último se marca {@code counted=true}. Sin replica set no hay transacción que abarque los dos
+ * documentos, así que un searchId reenviado cuyo mapeo sigue sin contar (el guardado anterior cayó entre el mapeo
+ * y el {@code $inc}) termina el incremento en lugar de darse por duplicado. Si cayó entre el {@code $inc} y la
+ * marca, el reenvío cuenta dos veces: se prefiere eso a perder la búsqueda.</p>
+ *
+ * <p>Las lecturas por id consultan {@link KnownSearchIdFilter} sólo para medirlo: un id que el filtro no conoce
+ * puede haberlo guardado otra réplica, así que se busca igualmente en Mongo.</p>
+ */
+@Repository
+@Qualifier(SearchMongoRepositoryAdapter.QUALIFIER)
+@ConditionalOnProperty(name = "app.mongo.persistence-mode", havingValue = "counter")
+public class SearchCounterMongoRepositoryAdapter implements SearchRepositoryPort {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final KnownSearchIdFilter knownIds;
+
+    public SearchCounterMongoRepositoryAdapter(MongoTemplate mongoTemplate, KnownSearchIdFilter knownIds) {
+        this.mongoTemplate = mongoTemplate;
+        this.knownIds = knownIds;
+    }
+
+    @Override
+    public Search save(Search search) {
+        SearchKey key = SearchKey.of(search);
+        String keyId = SearchCounterDocumentMapper.toKeyId(key);
+
+        boolean created = createMapping(search.searchId(), keyId);
+        knownIds.add(search.searchId());
+        if (!created && !isUncounted(search.searchId(), keyId)) {
+            throw new DuplicateSearch("Search with id " + search.searchId() + " already stored");
+        }
+
+        mongoTemplate.upsert(
+                query(where("_id").is(keyId)),
+                new Update()
+                        .inc("count", 1)
+                        .setOnInsert("search", SearchCounterDocumentMapper.toSearchData(key)),
+                SearchCounterDocument.class);
+        mongoTemplate.updateFirst(query(where("_id").is(search.searchId())),
+                new Update().set(SearchKeyDocument.COUNTED, true), SearchKeyDocument.class);
+
+        return search;
+    }
+
+    private boolean createMapping(String searchId, String keyId) {
+        try {
+            UpdateResult mapping = mongoTemplate.upsert(
+                    query(where("_id").is(searchId)), newMapping(keyId), SearchKeyDocument.class);
+            return mapping.getUpsertedId() != null;
+        } catch (DuplicateKeyException e) {
+            // Otro upsert simultáneo del mismo searchId lo ha creado antes
+            return false;
+        }
+    }
+
+    private boolean isUncounted(String searchId, String keyId) {
+        return mongoTemplate.exists(
+                query(where("_id").is(searchId).and("key").is(keyId).and(SearchKeyDocument.COUNTED).is(false)),
+                SearchKeyDocument.class);
+    }
+
+    private static Update newMapping(String keyId) {
+        return new Update().setOnInsert("key", keyId).setOnInsert(SearchKeyDocument.COUNTED, false);
+    }
+
+    /**
+     * Un upsert por mapeo y después un {@code $inc} por clave distinta con el número de mapeos nuevos, cada grupo
+     * en un bulk no ordenado, y una única actualización que los marca como contados. Devuelve sólo las búsquedas
+     * cuyo mapeo se ha creado o seguía sin contar.
+     */
+    @Override
+    public List<Search> saveAll(List<Search> searches) {
+        if (searches.isEmpty()) {
+            return List.of();
+        }
+
+        BulkOperations keyOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchKeyDocument.class);
+        List<SearchKey> searchKeys = new ArrayList<>(searches.size());
+        for (Search search : searches) {
+            SearchKey key = SearchKey.of(search);
+            searchKeys.add(key);
+            keyOperations.upsert(query(where("_id").is(search.searchId())),
+                    newMapping(SearchCounterDocumentMapper.toKeyId(key)));
+        }
+        BulkWriteResult mappings = keyOperations.execute();
+        searches.forEach(search -> knownIds.add(search.searchId()));
+        Set<Integer> created = mappings.getUpserts().stream().map(BulkWriteUpsert::getIndex).collect(Collectors.toSet());
+        Map<String, String> uncounted = uncounted(searches, created);
+
+        Map<String, SearchKey> keys = new HashMap<>();
+        Map<String, Integer> increments = new LinkedHashMap<>();
+        List<Search> saved = new ArrayList<>(created.size());
+        for (int i = 0; i < searches.size(); i++) {
+            SearchKey key = searchKeys.get(i);
+            String keyId = SearchCounterDocumentMapper.toKeyId(key);
+            // remove: un searchId repetido dentro del lote se completa una sola vez
+            if (!created.contains(i) && !keyId.equals(uncounted.remove(searches.get(i).searchId()))) {
+                continue;
+            }
+            keys.putIfAbsent(keyId, key);
+            increments.merge(keyId, 1, Integer::sum);
+            saved.add(searches.get(i));
+        }
+        if (saved.isEmpty()) {
+            return List.of();
+        }
+
+        BulkOperations counterOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchCounterDocument.class);
+        increments.forEach((keyId, increment) -> counterOperations.upsert(
+                query(where("_id").is(keyId)),
+                new Update()
+                        .inc("count", increment)
+                        .setOnInsert("search", SearchCounterDocumentMapper.toSearchData(keys.get(keyId)))));
+
+        counterOperations.execute();
+        mongoTemplate.updateMulti(query(where("_id").in(saved.stream().map(Search::searchId).toList())),
+                new Update().set(SearchKeyDocument.COUNTED, true), SearchKeyDocument.class);
+
+        return saved;
+    }
+
+    /**
+     * Mapeos ya existentes antes del lote que siguen sin contar, con su clave; sin consulta si todos son nuevos.
+     * Los creados por este mismo lote también están sin contar y se excluyen.
+     */
+    private Map<String, String> uncounted(List<Search> searches, Set<Integer> created) {
+        Set<String> createdIds = new HashSet<>();
+        created.forEach(index -> createdIds.add(searches.get(index).searchId()));
+        Set<String> existing = new HashSet<>();
+        for (Search search : searches) {
+            if (!createdIds.contains(search.searchId())) {
+                existing.add(search.searchId());
+            }
+        }
+        if (existing.isEmpty()) {
+            return new HashMap<>();
+        }
+        return mongoTemplate.find(query(where("_id").in(existing).and(SearchKeyDocument.COUNTED).is(false)),
+                        SearchKeyDocument.class).stream()
+                .collect(Collectors.toMap(SearchKeyDocument::searchId, SearchKeyDocument::key, (a, b) -> a, HashMap::new));
+    }
+
+    @Override
+    public Search findBySearchId(String searchId) {
+        boolean seen = knownIds.mightContain(searchId);
+        SearchKeyDocument keyDocument = mongoTemplate.findById(searchId, SearchKeyDocument.class);
+        if (keyDocument == null) {
+            if (seen) {
+                knownIds.recordFalsePositive();
+            }
+            throw new SearchNotFoundException("Search with id " + searchId + " not found");
+        }
+        if (!seen) {
+            knownIds.recordFalseNegative(searchId);
+        }
+
+        SearchCounterDocument counterDocument = mongoTemplate.findById(keyDocument.key(), SearchCounterDocument.class);
+        if (counterDocument == null) {
+            throw new SearchNotFoundException("Search with id " + searchId + " not found");
+        }
+
+        return SearchCounterDocumentMapper.toDomain(searchId, counterDocument);
+    }
+
+    /**
+     * Dos {@code $in} (mapeos y contadores) en lugar de dos lecturas por id.
+     */
+    @Override
+    public Stream<Search> findAllBySearchIds(Collection<String> searchIds) {
+        if (searchIds.isEmpty()) {
+            return Stream.empty();
+        }
+
+        List<SearchKeyDocument> keyDocuments = mongoTemplate.find(
+                query(where("_id").in(searchIds)), SearchKeyDocument.class);
+        if (keyDocuments.isEmpty()) {
+            return Stream.empty();
+        }
+
+        List<String> keyIds = keyDocuments.stream().map(SearchKeyDocument::key).distinct().toList();
+        Map<String, SearchCounterDocument> counterDocuments = mongoTemplate.find(
+                        query(where("_id").in(keyIds)), SearchCounterDocument.class).stream()
+                .collect(Collectors.toMap(SearchCounterDocument::key, Function.identity()));
+
+        return keyDocuments.stream()
+                .filter(keyDocument -> counterDocuments.containsKey(keyDocument.key()))
+                .map(keyDocument -> SearchCounterDocumentMapper.toDomain(
+                        keyDocument.searchId(), counterDocuments.get(keyDocument.key())));
+    }
+}
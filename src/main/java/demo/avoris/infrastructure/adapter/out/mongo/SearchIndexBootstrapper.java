@@ -0,0 +1,160 @@
+package demo.avoris.infrastructure.adapter.out.mongo;
+
+import demo.avoris.infrastructure.mapper.SearchDocumentMapper;
+
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Declara en código los índices de la colección {@code search} y los crea al arrancar; después pide a Mongo el
+ * plan ({@code explain}) de cada consulta de los adaptadores y comprueba que usa el índice previsto. Sólo se
+ * declaran índices que alguna consulta de {@link #QUERIES} necesita.
+ *
+ * <p>Un índice con las mismas claves ya existente (por ejemplo el {@code searchId} no único de versiones
+ * anteriores) se respeta: no se puede cambiar en caliente y la consulta lo sigue usando. Si un plan acaba en
+ * {@code COLLSCAN} el arranque falla con {@code app.mongo.indexes.fail-on-collscan=true}; si no, sólo avisa.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "app.mongo.persistence-mode", havingValue = "document", matchIfMissing = true)
+public class SearchIndexBootstrapper implements SmartInitializingSingleton {
+
+    static final Index SEARCH_ID = new Index().on("searchId", Sort.Direction.ASC).unique().named("searchId");
+
+    /**
+     * Lotes de {@link SearchSchemaMigrator}: {@code v} ausente se indexa como {@code null}, un intervalo puntual,
+     * así que el índice también da el orden por {@code _id}. No puede ser parcial ni sparse: ninguno de los dos
+     * admite {@code $exists: false}.
+     */
+    static final Index PENDING_MIGRATION = new Index().on("v", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)
+            .named("v_id");
+
+    static final List<Index> INDEXES = List.of(
+            SEARCH_ID,
+            PENDING_MIGRATION);
+
+    /**
+     * Consultas de los adaptadores sobre {@code search}, con valores de ejemplo, y el índice que deben usar.
+     */
+    static final List<QueryProbe> QUERIES = List.of(
+            new QueryProbe("findBySearchId", new Document("searchId", "probe"), SEARCH_ID),
+            new QueryProbe("findAllBySearchIds",
+                    new Document("searchId", new Document("$in", List.of("probe-1", "probe-2"))), SEARCH_ID),
+            new QueryProbe("migrationFirstBatch", new Document("v", new Document("$exists", false)),
+                    new Document("_id", 1), PENDING_MIGRATION),
+            new QueryProbe("migrationNextBatch",
+                    new Document("v", new Document("$exists", false)).append("_id", new Document("$gt", "probe")),
+                    new Document("_id", 1), PENDING_MIGRATION));
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean failOnCollectionScan;
+    private final Logger log = Logger.getLogger(SearchIndexBootstrapper.class.getName());
+
+    public SearchIndexBootstrapper(MongoTemplate mongoTemplate,
+                                   @Value("${app.mongo.indexes.fail-on-collscan:true}") boolean failOnCollectionScan) {
+        this.mongoTemplate = mongoTemplate;
+        this.failOnCollectionScan = failOnCollectionScan;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        createIndexes();
+        verifyQueryPlans();
+    }
+
+    void createIndexes() {
+        IndexOperations indexOperations = mongoTemplate.indexOps(SearchDocumentMapper.COLLECTION);
+        List<List<String>> existing = indexOperations.getIndexInfo().stream()
+                .map(info -> info.getIndexFields().stream().map(IndexField::getKey).toList())
+                .toList();
+        for (Index index : INDEXES) {
+            if (existing.contains(keys(index.getIndexKeys()))) {
+                log.fine("Index on " + index.getIndexKeys().toJson() + " already present");
+                continue;
+            }
+            try {
+                indexOperations.createIndex(index);
+                log.info("Created index " + index.getIndexKeys().toJson() + " on " + SearchDocumentMapper.COLLECTION);
+            } catch (DataAccessException e) {
+                // P. ej. searchId repetidos de antes de que el _id fuese el searchId: el plan dirá si hay problema
+                log.warning("Could not create index " + index.getIndexKeys().toJson() + " on "
+                        + SearchDocumentMapper.COLLECTION + ": " + e.getMessage());
+            }
+        }
+    }
+
+    void verifyQueryPlans() {
+        for (QueryProbe probe : QUERIES) {
+            Document explain = mongoTemplate.getCollection(SearchDocumentMapper.COLLECTION)
+                    .find(probe.filter())
+                    .sort(probe.sort())
+                    .explain();
+            Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+            List<Document> stages = stages(winningPlan);
+
+            if (usesIndex(stages, probe.index())) {
+                log.info("Query " + probe.name() + " uses index " + probe.index().getIndexKeys().toJson());
+                continue;
+            }
+            boolean collectionScan = stages.stream().anyMatch(stage -> "COLLSCAN".equals(stage.getString("stage")));
+            String message = "Query " + probe.name() + " on " + SearchDocumentMapper.COLLECTION + " does not use index "
+                    + probe.index().getIndexKeys().toJson() + ", winning plan: " + winningPlan.toJson();
+            if (collectionScan && failOnCollectionScan) {
+                throw new IllegalStateException(message);
+            }
+            log.warning(message);
+        }
+    }
+
+    static boolean usesIndex(List<Document> stages, Index index) {
+        List<String> expected = keys(index.getIndexKeys());
+        return stages.stream()
+                .map(stage -> stage.get("keyPattern", Document.class))
+                .anyMatch(keyPattern -> keyPattern != null && keys(keyPattern).equals(expected));
+    }
+
+    /**
+     * Todas las etapas del plan ganador, sea cual sea el anidamiento (inputStage, inputStages, queryPlan de SBE o
+     * shards).
+     */
+    static List<Document> stages(Document plan) {
+        List<Document> stages = new ArrayList<>();
+        collectStages(plan, stages);
+        return stages;
+    }
+
+    private static void collectStages(Object node, List<Document> stages) {
+        if (node instanceof Document document) {
+            if (document.containsKey("stage")) {
+                stages.add(document);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+
+    // Se comparan los nombres de campo en orden: el valor de la dirección puede venir como int o double
+    private static List<String> keys(Document keyPattern) {
+        return new ArrayList<>(keyPattern.keySet());
+    }
+
+    record QueryProbe(String name, Document filter, Document sort, Index index) {
+
+        QueryProbe(String name, Document filter, Index index) {
+            this(name, filter, new Document(), index);
+        }
+    }
+}
@@ -1,35 +1,172 @@
 package demo.avoris.infrastructure.adapter.out.mongo;
 
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import demo.avoris.application.jfr.SearchJfrEvent;
+import demo.avoris.application.jfr.SearchNotFoundEvent;
+import demo.avoris.application.jfr.SearchPersistedEvent;
 import demo.avoris.application.port.out.SearchRepositoryPort;
+import demo.avoris.domain.exception.DuplicateSearch;
 import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.adapter.out.memory.KnownSearchIdFilter;
 import demo.avoris.infrastructure.adapter.out.mongo.document.SearchDocument;
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchDocumentV2;
 import demo.avoris.infrastructure.adapter.out.mongo.exeption.SearchNotFoundException;
 import demo.avoris.infrastructure.mapper.SearchDocumentMapper;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+
+/**
+ * Modo de persistencia "document": un documento por búsqueda con el searchId como {@code _id}. Las escrituras son
+ * inserciones, así que un evento reenviado choca con la clave y no se duplica.
+ *
+ * <p>Las lecturas por id consultan {@link KnownSearchIdFilter} sólo para medirlo: un id que el filtro no conoce
+ * puede haberlo guardado otra réplica, así que se busca igualmente en Mongo.</p>
+ */
 @Repository
+@Qualifier(SearchMongoRepositoryAdapter.QUALIFIER)
+@ConditionalOnProperty(name = "app.mongo.persistence-mode", havingValue = "document", matchIfMissing = true)
 public class SearchMongoRepositoryAdapter implements SearchRepositoryPort {
 
+    /** Identifica al adaptador Mongo activo (modo document o counter) frente a los decoradores. */
+    public static final String QUALIFIER = "mongoSearchRepository";
+
     private final SearchRepository repository;
 
-    public SearchMongoRepositoryAdapter(SearchRepository repository) {
+    private final MongoTemplate mongoTemplate;
+
+    private final int schemaVersion;
+
+    private final KnownSearchIdFilter knownIds;
+
+    public SearchMongoRepositoryAdapter(SearchRepository repository, MongoTemplate mongoTemplate,
+                                        @Value("${app.mongo.schema-version:1}") int schemaVersion,
+                                        KnownSearchIdFilter knownIds) {
         this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
+        this.schemaVersion = schemaVersion;
+        this.knownIds = knownIds;
     }
 
     @Override
     public Search save(Search search) {
-        SearchDocument searchDocument = SearchDocumentMapper.toDocument(search);
+        SearchPersistedEvent event = new SearchPersistedEvent();
+        event.begin();
+        try {
+            Search saved;
+            if (schemaVersion >= SearchDocumentV2.VERSION) {
+                SearchDocumentV2 savedDocument = mongoTemplate.insert(SearchDocumentMapper.toDocumentV2(search));
+
+                saved = SearchDocumentMapper.toDomain(savedDocument);
+            } else {
+                SearchDocument searchDocument = SearchDocumentMapper.toDocument(search);
+
+                SearchDocument savedDocument = repository.insert(searchDocument);
+
+                saved = SearchDocumentMapper.toDomain(savedDocument);
+            }
+            knownIds.add(search.searchId());
+            event.emit(search.searchId(), search.hotelId(), SearchJfrEvent.NO_PAYLOAD);
+            return saved;
+        } catch (DuplicateKeyException e) {
+            knownIds.add(search.searchId());
+            throw new DuplicateSearch("Search with id " + search.searchId() + " already stored");
+        }
+    }
+
+    @Override
+    public List<Search> saveAll(List<Search> searches) {
+        if (searches.isEmpty()) {
+            return List.of();
+        }
 
-        SearchDocument savedDocument = repository.save(searchDocument);
+        List<Search> saved;
+        if (schemaVersion >= SearchDocumentV2.VERSION) {
+            List<SearchDocumentV2> documents = searches.stream().map(SearchDocumentMapper::toDocumentV2).toList();
 
-        return SearchDocumentMapper.toDomain(savedDocument);
+            saved = insertAll(documents, SearchDocumentV2.class).stream().map(SearchDocumentMapper::toDomain).toList();
+        } else {
+            List<SearchDocument> documents = searches.stream().map(SearchDocumentMapper::toDocument).toList();
+
+            saved = insertAll(documents, SearchDocument.class).stream().map(SearchDocumentMapper::toDomain).toList();
+        }
+        // Los duplicados también están en Mongo
+        searches.forEach(search -> knownIds.add(search.searchId()));
+        return saved;
+    }
+
+    /**
+     * El bulk no ordenado inserta todo lo que puede; los documentos rechazados por clave duplicada se quitan del
+     * resultado y cualquier otro error se propaga.
+     */
+    private <T> List<T> insertAll(List<T> documents, Class<T> type) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type).insert(documents).execute();
+            return documents;
+        } catch (BulkOperationException e) {
+            Set<Integer> duplicated = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    throw e;
+                }
+                duplicated.add(error.getIndex());
+            }
+            return IntStream.range(0, documents.size())
+                    .filter(i -> !duplicated.contains(i))
+                    .mapToObj(documents::get)
+                    .toList();
+        }
     }
 
     @Override
     public Search findBySearchId(String searchId) {
-        SearchDocument searchDocument = repository.findBySearchId(searchId)
-                .orElseThrow(() -> new SearchNotFoundException("Search with id " + searchId + " not found"));
-        return SearchDocumentMapper.toDomain(searchDocument);
+        SearchNotFoundEvent notFound = new SearchNotFoundEvent();
+        notFound.begin();
+        boolean seen = knownIds.mightContain(searchId);
+        // Lectura cruda: la colección puede tener documentos v1 y v2 mientras dura la migración
+        Document document = mongoTemplate.findOne(
+                query(where("searchId").is(searchId)), Document.class, SearchDocumentMapper.COLLECTION);
+        if (document == null) {
+            if (seen) {
+                knownIds.recordFalsePositive();
+            }
+            notFound.bloomMiss(!seen).emit(searchId, null, SearchJfrEvent.NO_PAYLOAD);
+            throw new SearchNotFoundException("Search with id " + searchId + " not found");
+        }
+        if (!seen) {
+            knownIds.recordFalseNegative(searchId);
+        }
+        return SearchDocumentMapper.fromBson(document);
+    }
+
+    @Override
+    public Stream<Search> findAllBySearchIds(Collection<String> searchIds) {
+        if (searchIds.isEmpty()) {
+            return Stream.empty();
+        }
+        // Un único $in sobre el índice de searchId; _id no lo necesita el mapper
+        Query query = query(where("searchId").in(searchIds));
+        query.fields().exclude("_id");
+        return mongoTemplate.stream(query, Document.class, SearchDocumentMapper.COLLECTION)
+                .map(SearchDocumentMapper::fromBson);
     }
 }
@@ -0,0 +1,126 @@
+package demo.avoris.infrastructure.adapter.out.mongo;
+
+import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchDocumentV2;
+import demo.avoris.infrastructure.mapper.SearchDocumentMapper;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Migra en segundo plano los documentos v1 de la colección {@code search} al esquema v2, por lotes
+ * ordenados por {@code _id} y con una pausa entre lotes para no competir con el tráfico.
+ *
+ * <p>Cada reemplazo se condiciona a que el documento siga siendo v1, así que es seguro ejecutarlo
+ * en varias instancias a la vez o reanudarlo tras un reinicio.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "app.mongo.migration.enabled", havingValue = "true")
+public class SearchSchemaMigrator implements SmartLifecycle {
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final Logger log = Logger.getLogger(SearchSchemaMigrator.class.getName());
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public SearchSchemaMigrator(MongoTemplate mongoTemplate,
+                                @Value("${app.mongo.migration.batch-size:500}") int batchSize,
+                                @Value("${app.mongo.migration.pause-ms:200}") long pauseMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().daemon().name("search-schema-migrator").start(this::migrateAll);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void migrateAll() {
+        long migrated = 0;
+        Object lastId = null;
+        try {
+            while (running) {
+                List<Document> batch = nextBatch(lastId);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                migrated += migrateBatch(batch);
+                lastId = batch.get(batch.size() - 1).get("_id");
+                Thread.sleep(pauseMillis);
+            }
+            log.info("Search schema migration finished, migrated " + migrated + " documents to v2");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Search schema migration stopped after " + migrated + " documents");
+        } catch (RuntimeException e) {
+            log.log(Level.SEVERE, "Search schema migration failed after " + migrated + " documents", e);
+        } finally {
+            running = false;
+        }
+    }
+
+    List<Document> nextBatch(Object lastId) {
+        Criteria criteria = where("v").exists(false);
+        if (lastId != null) {
+            criteria = criteria.and("_id").gt(lastId);
+        }
+        Query batchQuery = query(criteria).with(Sort.by("_id")).limit(batchSize);
+        return mongoTemplate.find(batchQuery, Document.class, SearchDocumentMapper.COLLECTION);
+    }
+
+    int migrateBatch(List<Document> batch) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchDocumentV2.class);
+        int pending = 0;
+        for (Document document : batch) {
+            Object id = document.get("_id");
+            try {
+                Search search = SearchDocumentMapper.fromBson(document);
+                Document replacement = new Document();
+                mongoTemplate.getConverter().write(SearchDocumentMapper.toDocumentV2(search, null), replacement);
+                // El _id original con su tipo (ObjectId, String...): reemplazar no puede cambiarlo
+                replacement.put("_id", id);
+                operations.replaceOne(query(where("_id").is(id).and("v").exists(false)), replacement);
+                pending++;
+            } catch (RuntimeException e) {
+                log.warning("Skipping unreadable v1 search document " + id + ": " + e.getMessage());
+            }
+        }
+        if (pending == 0) {
+            return 0;
+        }
+        return operations.execute().getModifiedCount();
+    }
+}
@@ -0,0 +1,17 @@
+package demo.avoris.infrastructure.adapter.out.mongo.document;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+
+@Document(collection = "search_counter")
+public record SearchCounterDocument(
+
+        @Id
+        String key,
+
+        SearchData search,
+
+        long count
+) {
+}
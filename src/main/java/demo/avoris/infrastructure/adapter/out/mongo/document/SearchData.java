@@ -1,5 +1,7 @@
 package demo.avoris.infrastructure.adapter.out.mongo.document;
 
+import demo.avoris.domain.model.Ages;
+
 import java.util.List;
 
 public record SearchData(
@@ -9,6 +11,6 @@ public record SearchData(
         List<Integer> ages
 ) {
     public SearchData {
-        ages = List.copyOf(ages);
+        ages = ages == null ? null : Ages.copyOf(ages);
     }
 }
@@ -1,9 +1,13 @@
 package demo.avoris.infrastructure.adapter.out.mongo.document;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceCreator;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 
+/**
+ * Esquema v1 de la colección {@code search}. Los índices se declaran en {@code SearchIndexBootstrapper}.
+ */
 @Document(collection = "search")
 public record SearchDocument(
 
@@ -14,6 +18,15 @@ public record SearchDocument(
 
         SearchData search,
 
-        int count
+        int count,
+
+        byte[] fingerprint
 ) {
+    @PersistenceCreator
+    public SearchDocument {
+    }
+
+    public SearchDocument(String id, String searchId, SearchData search, int count) {
+        this(id, searchId, search, count, null);
+    }
 }
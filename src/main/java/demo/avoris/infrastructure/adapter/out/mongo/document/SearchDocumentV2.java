@@ -0,0 +1,43 @@
+package demo.avoris.infrastructure.adapter.out.mongo.document;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+
+/**
+ * Esquema v2 de la colección {@code search}: fechas como días epoch, nombres de campo cortos y
+ * edades como BinData (un byte por edad). {@code searchId} conserva su nombre porque es la clave
+ * de búsqueda compartida con los documentos v1. Los índices se declaran en {@code SearchIndexBootstrapper}.
+ */
+@Document(collection = "search")
+public record SearchDocumentV2(
+
+        @Id
+        String id,
+
+        @Field("v")
+        int version,
+
+        String searchId,
+
+        @Field("h")
+        String hotelId,
+
+        @Field("ci")
+        int checkIn,
+
+        @Field("co")
+        int checkOut,
+
+        @Field("a")
+        byte[] ages,
+
+        @Field("c")
+        int count,
+
+        @Field("f")
+        byte[] fingerprint
+) {
+    public static final int VERSION = 2;
+}
@@ -0,0 +1,23 @@
+package demo.avoris.infrastructure.adapter.out.mongo.document;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+
+/**
+ * Mapeo searchId → clave canónica. {@code counted} pasa a {@code true} cuando el {@code $inc} del contador ya se ha
+ * aplicado; {@code null} en los mapeos anteriores al campo, que se dan por contados.
+ */
+@Document(collection = "search_key")
+public record SearchKeyDocument(
+
+        @Id
+        String searchId,
+
+        String key,
+
+        Boolean counted
+) {
+
+    public static final String COUNTED = "counted";
+}
@@ -1,7 +1,10 @@
 package demo.avoris.infrastructure.adapter.out.mongo.exeption;
 
+/**
+ * Sin traza: es un resultado esperado (ids caducados, enlaces viejos) y se lanza en cada consulta fallida.
+ */
 public class SearchNotFoundException extends RuntimeException {
     public SearchNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
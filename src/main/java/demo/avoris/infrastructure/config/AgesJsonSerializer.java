@@ -0,0 +1,29 @@
+package demo.avoris.infrastructure.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import demo.avoris.domain.model.Ages;
+
+import java.io.IOException;
+
+/**
+ * Escribe {@link Ages} como un array JSON de enteros leyendo directamente los bytes empaquetados,
+ * sin pasar por el iterador ni por {@code Integer}. El formato es el mismo que el de una {@code List<Integer>}.
+ */
+public class AgesJsonSerializer extends StdSerializer<Ages> {
+
+    public AgesJsonSerializer() {
+        super(Ages.class);
+    }
+
+    @Override
+    public void serialize(Ages ages, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        int size = ages.size();
+        gen.writeStartArray(ages, size);
+        for (int i = 0; i < size; i++) {
+            gen.writeNumber(ages.getInt(i));
+        }
+        gen.writeEndArray();
+    }
+}
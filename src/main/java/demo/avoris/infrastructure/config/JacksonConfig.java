@@ -1,14 +1,25 @@
 package demo.avoris.infrastructure.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import demo.avoris.domain.model.Ages;
+import demo.avoris.domain.model.Search;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.LocalDate;
+
 @Configuration
 public class JacksonConfig {
 
+    public static final String SEARCH_READER = "searchReader";
+    public static final String SEARCH_WRITER = "searchWriter";
+
     @Bean
     public ObjectMapper objectMapper() {
         ObjectMapper mapper = new ObjectMapper();
@@ -16,6 +27,20 @@ public class JacksonConfig {
         // Registro de módulo para Java 8 Date/Time
         mapper.registerModule(new JavaTimeModule());
 
+        // dd/MM/yyyy sin DateTimeFormatter; registrado después de JavaTimeModule para tener prioridad
+        mapper.registerModule(new SimpleModule("dates")
+                .addSerializer(LocalDate.class, new LocalDateJsonSerializer())
+                .addDeserializer(LocalDate.class, new LocalDateJsonDeserializer()));
+
+        // Edades empaquetadas: se escriben como array de enteros sin boxing
+        mapper.registerModule(new SimpleModule("ages").addSerializer(Ages.class, new AgesJsonSerializer()));
+
+        // El dominio no conoce Jackson: lo que no va en el payload de Search se declara aquí
+        mapper.registerModule(new SimpleModule("search").setMixInAnnotation(Search.class, SearchJsonMixin.class));
+
+        // Accesores generados con LambdaMetafactory en lugar de reflexión
+        mapper.registerModule(new BlackbirdModule());
+
         // Evita escribir fechas como timestamps (long)
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
@@ -24,5 +49,17 @@ public class JacksonConfig {
 
         return mapper;
     }
-}
 
+    /**
+     * Lector de {@link Search} ya resuelto: evita buscar el deserializador del tipo en cada mensaje de Kafka.
+     */
+    @Bean(SEARCH_READER)
+    public ObjectReader searchReader(ObjectMapper objectMapper) {
+        return objectMapper.readerFor(Search.class);
+    }
+
+    @Bean(SEARCH_WRITER)
+    public ObjectWriter searchWriter(ObjectMapper objectMapper) {
+        return objectMapper.writerFor(Search.class);
+    }
+}
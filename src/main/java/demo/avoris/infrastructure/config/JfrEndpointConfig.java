@@ -0,0 +1,28 @@
+package demo.avoris.infrastructure.config;
+
+import demo.avoris.infrastructure.adapter.in.web.jfr.JfrEndpointTokenFilter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class JfrEndpointConfig {
+
+    /**
+     * Sólo sobre las rutas del endpoint {@code jfr}. Se registra en el contexto principal, así que cubre el
+     * endpoint mientras Actuator comparta puerto con la aplicación (sin {@code management.server.port}).
+     */
+    @Bean
+    public FilterRegistrationBean<JfrEndpointTokenFilter> jfrEndpointTokenFilter(
+            @Value("${app.jfr.endpoint.token:}") String token,
+            @Value("${management.endpoints.web.base-path:/actuator}") String basePath) {
+        FilterRegistrationBean<JfrEndpointTokenFilter> registration =
+                new FilterRegistrationBean<>(new JfrEndpointTokenFilter(token));
+        registration.addUrlPatterns(basePath + "/jfr", basePath + "/jfr/*");
+        return registration;
+    }
+}
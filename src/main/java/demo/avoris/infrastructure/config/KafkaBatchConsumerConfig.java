@@ -0,0 +1,47 @@
+package demo.avoris.infrastructure.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.time.Duration;
+import java.util.Properties;
+
+@Configuration
+@ConditionalOnProperty(name = "app.kafka.consumer.mode", havingValue = "batch")
+public class KafkaBatchConsumerConfig {
+
+    public static final String BATCH_CONTAINER_FACTORY = "batchSearchListenerContainerFactory";
+
+    /**
+     * Parte de la configuración de Spring Boot y sólo cambia lo propio del lote: listener por lotes, ack manual
+     * y cuánto espera el broker a llenar un fetch ({@code max-records} / {@code max-wait} / {@code min-bytes}).
+     */
+    @Bean(BATCH_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchSearchListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            @Value("${app.kafka.consumer.batch.max-records:500}") int maxRecords,
+            @Value("${app.kafka.consumer.batch.max-wait:100ms}") Duration maxWait,
+            @Value("${app.kafka.consumer.batch.min-bytes:65536}") int minBytes) {
+
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+
+        Properties overrides = new Properties();
+        overrides.setProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(maxRecords));
+        overrides.setProperty(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, String.valueOf(maxWait.toMillis()));
+        overrides.setProperty(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, String.valueOf(minBytes));
+        factory.getContainerProperties().setKafkaConsumerProperties(overrides);
+
+        return factory;
+    }
+}
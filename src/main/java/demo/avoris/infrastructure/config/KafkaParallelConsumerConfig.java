@@ -0,0 +1,33 @@
+package demo.avoris.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+@Configuration
+@ConditionalOnProperty(name = "app.kafka.consumer.mode", havingValue = "parallel")
+public class KafkaParallelConsumerConfig {
+
+    public static final String PARALLEL_CONTAINER_FACTORY = "parallelSearchListenerContainerFactory";
+
+    /**
+     * Parte de la configuración de Spring Boot con ack manual asíncrono: los workers confirman desde sus hilos y
+     * en cualquier orden, y el contenedor sólo hace commit del tramo contiguo, es decir, hasta el primer offset
+     * que aún no se ha terminado.
+     */
+    @Bean(PARALLEL_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> parallelSearchListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        return factory;
+    }
+}
@@ -0,0 +1,96 @@
+package demo.avoris.infrastructure.config;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Lee las fechas anotadas con {@code @JsonFormat(pattern = "dd/MM/yyyy")} directamente del buffer de caracteres
+ * del parser, sin crear el {@code String} ni pasar por {@code DateTimeFormatter}. Es estricto: una fecha que no
+ * existe (31/02) se rechaza en lugar de ajustarse. El resto de fechas siguen en el deserializador de
+ * {@code JavaTimeModule}.
+ */
+public class LocalDateJsonDeserializer extends StdDeserializer<LocalDate> implements ContextualDeserializer {
+
+    private static final LocalDateJsonDeserializer DAY_MONTH_YEAR = new LocalDateJsonDeserializer(true);
+
+    private static final int LENGTH = LocalDateJsonSerializer.PATTERN.length();
+
+    private final boolean dayMonthYear;
+
+    public LocalDateJsonDeserializer() {
+        this(false);
+    }
+
+    private LocalDateJsonDeserializer(boolean dayMonthYear) {
+        super(LocalDate.class);
+        this.dayMonthYear = dayMonthYear;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) throws JsonMappingException {
+        JsonFormat.Value format = findFormatOverrides(ctxt, property, handledType());
+        if (format != null && LocalDateJsonSerializer.PATTERN.equals(format.getPattern())) {
+            return DAY_MONTH_YEAR;
+        }
+        return LocalDateDeserializer.INSTANCE.createContextual(ctxt, property);
+    }
+
+    @Override
+    public LocalDate deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!dayMonthYear || !p.hasToken(JsonToken.VALUE_STRING)) {
+            return LocalDateDeserializer.INSTANCE.deserialize(p, ctxt);
+        }
+
+        char[] text = p.getTextCharacters();
+        int start = p.getTextOffset();
+        int end = start + p.getTextLength();
+        while (start < end && text[start] <= ' ') {
+            start++;
+        }
+        while (end > start && text[end - 1] <= ' ') {
+            end--;
+        }
+
+        if (end - start == LENGTH && text[start + 2] == '/' && text[start + 5] == '/') {
+            int day = digits(text, start, 2);
+            int month = digits(text, start + 3, 2);
+            int year = digits(text, start + 6, 4);
+            if (day >= 0 && month >= 0 && year >= 0) {
+                try {
+                    return LocalDate.of(year, month, day);
+                } catch (DateTimeException e) {
+                    // fecha inexistente: mismo error que un formato incorrecto
+                }
+            }
+        }
+        return (LocalDate) ctxt.handleWeirdStringValue(LocalDate.class, p.getText(),
+                "expected a valid date in format " + LocalDateJsonSerializer.PATTERN);
+    }
+
+    /**
+     * @return el número, o -1 si algún carácter no es un dígito
+     */
+    private static int digits(char[] text, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = text[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,82 @@
+package demo.avoris.infrastructure.config;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Escribe las fechas anotadas con {@code @JsonFormat(pattern = "dd/MM/yyyy")} carácter a carácter en el buffer del
+ * generador JSON, sin {@link DateTimeFormatter} ni {@code String} o {@code char[]} intermedio. El resto de fechas
+ * (sin anotación, como las ISO de los eventos de Kafka) siguen en el serializador de {@code JavaTimeModule}.
+ */
+public class LocalDateJsonSerializer extends StdSerializer<LocalDate> implements ContextualSerializer {
+
+    public static final String PATTERN = "dd/MM/yyyy";
+
+    private static final String QUOTE = "\"";
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(PATTERN);
+
+    private static final LocalDateJsonSerializer DAY_MONTH_YEAR = new LocalDateJsonSerializer(true);
+
+    private final boolean dayMonthYear;
+
+    public LocalDateJsonSerializer() {
+        this(false);
+    }
+
+    private LocalDateJsonSerializer(boolean dayMonthYear) {
+        super(LocalDate.class);
+        this.dayMonthYear = dayMonthYear;
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+        JsonFormat.Value format = findFormatOverrides(provider, property, handledType());
+        if (format != null && PATTERN.equals(format.getPattern())) {
+            return DAY_MONTH_YEAR;
+        }
+        return LocalDateSerializer.INSTANCE.createContextual(provider, property);
+    }
+
+    @Override
+    public void serialize(LocalDate date, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (!dayMonthYear) {
+            LocalDateSerializer.INSTANCE.serialize(date, gen, provider);
+            return;
+        }
+        int year = date.getYear();
+        // Sólo en JSON textual sin escapes propios: TokenBuffer y los formatos binarios no admiten writeRaw, y
+        // unos CharacterEscapes podrían escapar la '/'
+        if (year < 0 || year > 9999 || !(gen instanceof JsonGeneratorImpl json) || json.getCharacterEscapes() != null) {
+            gen.writeString(FORMATTER.format(date));
+            return;
+        }
+
+        // writeRawValue escribe el separador y cuenta el valor en el contexto; dígitos y '/' no necesitan escape
+        gen.writeRawValue(QUOTE);
+        twoDigits(gen, date.getDayOfMonth());
+        gen.writeRaw('/');
+        twoDigits(gen, date.getMonthValue());
+        gen.writeRaw('/');
+        twoDigits(gen, year / 100);
+        twoDigits(gen, year % 100);
+        gen.writeRaw('"');
+    }
+
+    private static void twoDigits(JsonGenerator gen, int value) throws IOException {
+        gen.writeRaw((char) ('0' + value / 10));
+        gen.writeRaw((char) ('0' + value % 10));
+    }
+}
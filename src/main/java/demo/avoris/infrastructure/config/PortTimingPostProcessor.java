@@ -0,0 +1,66 @@
+package demo.avoris.infrastructure.config;
+
+import demo.avoris.application.port.in.SearchUseCase;
+import demo.avoris.application.port.out.SearchEventPublisherPort;
+import demo.avoris.application.port.out.SearchRepositoryPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Envuelve los beans de {@link SearchEventPublisherPort}, {@link SearchRepositoryPort} y {@link SearchUseCase}
+ * en un {@link TimedPortProxy}. Cada puerto se activa con {@code app.metrics.ports.<puerto>.enabled} y publica
+ * buckets de histograma para percentiles en Prometheus con {@code app.metrics.ports.<puerto>.percentile-histogram}
+ * ({@code publisher}, {@code repository}, {@code use-case}).
+ *
+ * <p>Se envuelve cada adaptador, no sólo el inyectado: con la caché activa el repositorio aparece dos veces
+ * ({@code adapter=CachingSearchRepositoryAdapter} y el de Mongo), lo que separa aciertos de caché del round trip.
+ * El registro se resuelve en el primer bean a envolver para no forzar su creación entre los post-procesadores.</p>
+ */
+@Component
+public class PortTimingPostProcessor implements BeanPostProcessor {
+
+    private static final List<TimedPort> PORTS = List.of(
+            new TimedPort("publisher", SearchEventPublisherPort.class),
+            new TimedPort("repository", SearchRepositoryPort.class),
+            new TimedPort("use-case", SearchUseCase.class));
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final Environment environment;
+
+    public PortTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry, Environment environment) {
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        for (TimedPort port : PORTS) {
+            if (port.type().isInstance(bean) && isEnabled(port)) {
+                return wrap(bean, port);
+            }
+        }
+        return bean;
+    }
+
+    private boolean isEnabled(TimedPort port) {
+        return environment.getProperty(port.property("enabled"), Boolean.class, true);
+    }
+
+    private Object wrap(Object bean, TimedPort port) {
+        boolean histogram = environment.getProperty(port.property("percentile-histogram"), Boolean.class, false);
+        return TimedPortProxy.wrap(bean, port.type(), meterRegistry.getObject(), histogram);
+    }
+
+    private record TimedPort(String name, Class<?> type) {
+
+        String property(String key) {
+            return "app.metrics.ports." + name + "." + key;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package demo.avoris.infrastructure.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "app.stack", havingValue = "reactive")
+public class ReactiveKafkaConfig {
+
+    /**
+     * Mismas propiedades {@code spring.kafka.producer.*} que el {@code KafkaTemplate}. {@code max-in-flight}
+     * acota los envíos sin ack: al alcanzarlo el sender deja de pedir registros aguas arriba.
+     */
+    @Bean(destroyMethod = "close")
+    public KafkaSender<String, byte[]> searchKafkaSender(
+            KafkaProperties kafkaProperties, ObjectProvider<SslBundles> sslBundles,
+            @Value("${app.kafka.producer.max-in-flight:1000}") int maxInFlight) {
+
+        SenderOptions<String, byte[]> options = SenderOptions.<String, byte[]>create(
+                        kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable()))
+                .maxInFlight(maxInFlight);
+        return KafkaSender.create(options);
+    }
+
+    /**
+     * Mismas propiedades {@code spring.kafka.consumer.*} que los contenedores de {@code @KafkaListener}. El
+     * receiver pausa las particiones mientras el flujo aguas abajo no pide más registros.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.kafka.consumer.mode", havingValue = "reactive")
+    public KafkaReceiver<String, byte[]> searchKafkaReceiver(
+            KafkaProperties kafkaProperties, ObjectProvider<SslBundles> sslBundles,
+            @Value("${app.kafka.topic-name}") String topicName,
+            @Value("${kafka.consumer.group-id}") String groupId) {
+
+        Map<String, Object> properties = kafkaProperties.buildConsumerProperties(sslBundles.getIfAvailable());
+        properties.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        ReceiverOptions<String, byte[]> options = ReceiverOptions.<String, byte[]>create(properties)
+                .subscription(List.of(topicName));
+        return KafkaReceiver.create(options);
+    }
+}
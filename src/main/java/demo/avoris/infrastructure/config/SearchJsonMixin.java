@@ -0,0 +1,14 @@
+package demo.avoris.infrastructure.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import demo.avoris.domain.model.Search;
+import demo.avoris.domain.model.SearchFingerprint;
+
+/**
+ * Anotaciones JSON de {@link Search} fuera del dominio: la huella viaja como cabecera de Kafka, no en el payload.
+ */
+public abstract class SearchJsonMixin {
+
+    @JsonIgnore
+    abstract SearchFingerprint fingerprint();
+}
@@ -0,0 +1,115 @@
+package demo.avoris.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Proxy JDK que mide cada método de un puerto con el timer {@value #METRIC}, etiquetado con el puerto, el método,
+ * la clase del adaptador y la excepción ({@code none} si no hubo).
+ *
+ * <p>Los {@link CompletableFuture} se miden hasta que completan y los {@link Stream} hasta que el llamante los
+ * cierra, que es cuando de verdad termina el trabajo; un stream que nadie cierra no se registra. El proxy
+ * implementa todas las interfaces del adaptador para no ocultar las de ciclo de vida, pero sólo mide las del
+ * puerto.</p>
+ */
+public final class TimedPortProxy implements InvocationHandler {
+
+    public static final String METRIC = "search.port";
+
+    private static final String NO_EXCEPTION = "none";
+
+    private final Object target;
+
+    private final Class<?> port;
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean percentileHistogram;
+
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    private TimedPortProxy(Object target, Class<?> port, MeterRegistry meterRegistry, boolean percentileHistogram) {
+        this.target = target;
+        this.port = port;
+        this.meterRegistry = meterRegistry;
+        this.percentileHistogram = percentileHistogram;
+    }
+
+    /**
+     * Envuelve {@code target}, que debe implementar {@code port}.
+     */
+    public static <T> T wrap(Object target, Class<T> port, MeterRegistry meterRegistry, boolean percentileHistogram) {
+        Class<?>[] interfaces = ClassUtils.getAllInterfacesForClass(target.getClass(), target.getClass().getClassLoader());
+        Object proxy = Proxy.newProxyInstance(target.getClass().getClassLoader(), interfaces,
+                new TimedPortProxy(target, port, meterRegistry, percentileHistogram));
+        return port.cast(proxy);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (!method.getDeclaringClass().isAssignableFrom(port) || method.getDeclaringClass() == Object.class) {
+            return invokeTarget(method, args);
+        }
+
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invokeTarget(method, args);
+        } catch (Throwable ex) {
+            record(method, start, ex);
+            throw ex;
+        }
+
+        if (result instanceof CompletableFuture<?> future) {
+            return future.whenComplete((value, ex) -> record(method, start, ex));
+        }
+        if (result instanceof Stream<?> stream) {
+            return stream.onClose(() -> record(method, start, null));
+        }
+        record(method, start, null);
+        return result;
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private void record(Method method, long start, Throwable ex) {
+        long elapsed = System.nanoTime() - start;
+        Timer timer = ex == null
+                ? successTimers.computeIfAbsent(method, m -> timer(m, NO_EXCEPTION))
+                : timer(method, unwrap(ex).getClass().getSimpleName());
+        timer.record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(Method method, String exception) {
+        return Timer.builder(METRIC)
+                .description("Tiempo de las llamadas a los puertos de búsqueda")
+                .tag("port", port.getSimpleName())
+                .tag("method", method.getName())
+                .tag("adapter", ClassUtils.getUserClass(target).getSimpleName())
+                .tag("exception", exception)
+                .publishPercentileHistogram(percentileHistogram)
+                .register(meterRegistry);
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+}
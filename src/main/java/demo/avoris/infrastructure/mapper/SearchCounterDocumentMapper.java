@@ -0,0 +1,60 @@
+package demo.avoris.infrastructure.mapper;
+
+
+import demo.avoris.domain.model.Search;
+import demo.avoris.domain.model.SearchKey;
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchCounterDocument;
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchData;
+
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.stream.Collectors;
+
+
+public final class SearchCounterDocumentMapper {
+
+    static DateTimeFormatter pattern = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+
+    private SearchCounterDocumentMapper() {
+    }
+
+    /**
+     * Id del documento contador: hotel, fechas ISO y edades ordenadas separados por '|'.
+     */
+    public static String toKeyId(SearchKey key) {
+        return key.hotelId() + '|' + key.checkIn() + '|' + key.checkOut() + '|'
+                + key.ages().stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    public static SearchData toSearchData(SearchKey key) {
+        return new SearchData(
+                key.hotelId(),
+                key.checkIn().format(pattern),
+                key.checkOut().format(pattern),
+                key.ages()
+        );
+    }
+
+    public static SearchKey toSearchKey(SearchCounterDocument document) {
+        return new SearchKey(
+                document.search().hotelId(),
+                LocalDate.parse(document.search().checkIn(), pattern),
+                LocalDate.parse(document.search().checkOut(), pattern),
+                document.search().ages()
+        );
+    }
+
+    public static Search toDomain(String searchId, SearchCounterDocument document) {
+        SearchKey key = toSearchKey(document);
+        return new Search(
+                searchId,
+                key.hotelId(),
+                key.checkIn(),
+                key.checkOut(),
+                key.ages(),
+                (int) Math.min(document.count(), Integer.MAX_VALUE)
+        );
+    }
+}
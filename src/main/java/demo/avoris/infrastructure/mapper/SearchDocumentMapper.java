@@ -1,27 +1,39 @@
 package demo.avoris.infrastructure.mapper;
 
 
+import demo.avoris.domain.model.Ages;
 import demo.avoris.domain.model.Search;
+import demo.avoris.domain.model.SearchFingerprint;
 import demo.avoris.infrastructure.adapter.out.mongo.document.SearchData;
 import demo.avoris.infrastructure.adapter.out.mongo.document.SearchDocument;
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchDocumentV2;
+
+import org.bson.Document;
+import org.bson.types.Binary;
 
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.UUID;
+import java.util.List;
 
 
 public final class SearchDocumentMapper {
 
+    public static final String COLLECTION = "search";
+
     static DateTimeFormatter pattern = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
 
     public SearchDocumentMapper() {
     }
 
+    /**
+     * El {@code _id} es el searchId: reescribir un evento reenviado choca con el documento existente en lugar de
+     * duplicarlo.
+     */
     public static SearchDocument toDocument(Search search) {
         return new SearchDocument(
-                UUID.randomUUID().toString(),
+                search.searchId(),
                 search.searchId(),
                 new SearchData(
                         search.hotelId(),
@@ -29,7 +41,26 @@ public final class SearchDocumentMapper {
                         search.checkOut().format(pattern),
                         search.ages()
                 ),
-                search.count()
+                search.count(),
+                search.fingerprintOrCompute().toBytes()
+        );
+    }
+
+    public static SearchDocumentV2 toDocumentV2(Search search) {
+        return toDocumentV2(search, search.searchId());
+    }
+
+    public static SearchDocumentV2 toDocumentV2(Search search, String id) {
+        return new SearchDocumentV2(
+                id,
+                SearchDocumentV2.VERSION,
+                search.searchId(),
+                search.hotelId(),
+                Math.toIntExact(search.checkIn().toEpochDay()),
+                Math.toIntExact(search.checkOut().toEpochDay()),
+                search.ages() != null ? Ages.copyOf(search.ages()).toByteArray() : null,
+                search.count(),
+                search.fingerprintOrCompute().toBytes()
         );
     }
 
@@ -40,10 +71,66 @@ public final class SearchDocumentMapper {
                 LocalDate.parse(searchDocument.search().checkIn(), pattern),
                 LocalDate.parse(searchDocument.search().checkOut(), pattern),
                 searchDocument.search().ages(),
-                searchDocument.count()
+                searchDocument.count(),
+                searchDocument.fingerprint() != null ? SearchFingerprint.fromBytes(searchDocument.fingerprint()) : null
         );
     }
 
+    public static Search toDomain(SearchDocumentV2 searchDocument) {
+        return new Search(
+                searchDocument.searchId(),
+                searchDocument.hotelId(),
+                LocalDate.ofEpochDay(searchDocument.checkIn()),
+                LocalDate.ofEpochDay(searchDocument.checkOut()),
+                ages(searchDocument.ages()),
+                searchDocument.count(),
+                searchDocument.fingerprint() != null ? SearchFingerprint.fromBytes(searchDocument.fingerprint()) : null
+        );
+    }
 
-}
+    /**
+     * Lee un documento crudo de la colección {@code search} en cualquiera de sus dos esquemas.
+     * Los documentos sin campo {@code v} son v1.
+     */
+    public static Search fromBson(Document document) {
+        int version = document.getInteger("v", 1);
+        return version >= SearchDocumentV2.VERSION ? fromBsonV2(document) : fromBsonV1(document);
+    }
 
+    private static Search fromBsonV1(Document document) {
+        Document data = document.get("search", Document.class);
+        return new Search(
+                document.getString("searchId"),
+                data.getString("hotelId"),
+                LocalDate.parse(data.getString("checkIn"), pattern),
+                LocalDate.parse(data.getString("checkOut"), pattern),
+                data.getList("ages", Integer.class, List.of()),
+                document.getInteger("count", 0),
+                fingerprint(document.get("fingerprint"))
+        );
+    }
+
+    private static Search fromBsonV2(Document document) {
+        return new Search(
+                document.getString("searchId"),
+                document.getString("h"),
+                LocalDate.ofEpochDay(document.getInteger("ci")),
+                LocalDate.ofEpochDay(document.getInteger("co")),
+                ages(document.get("a")),
+                document.getInteger("c", 0),
+                fingerprint(document.get("f"))
+        );
+    }
+
+    private static Ages ages(Object value) {
+        return value != null ? Ages.fromByteArray(bytes(value)) : null;
+    }
+
+    private static SearchFingerprint fingerprint(Object value) {
+        return value != null ? SearchFingerprint.fromBytes(bytes(value)) : null;
+    }
+
+    private static byte[] bytes(Object value) {
+        return value instanceof Binary binary ? binary.getData() : (byte[]) value;
+    }
+}
@@ -0,0 +1,325 @@
+package demo.avoris;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import demo.avoris.application.port.out.SearchRepositoryPort;
+import demo.avoris.application.service.SearchUseCaseImpl;
+import demo.avoris.domain.exception.DuplicateSearch;
+import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.adapter.in.kafka.consumer.KafkaAppliedOffsetTracker;
+import demo.avoris.infrastructure.adapter.in.kafka.consumer.KafkaIngestLagMeter;
+import demo.avoris.infrastructure.adapter.in.kafka.consumer.KafkaSearchConsumer;
+import demo.avoris.infrastructure.adapter.in.web.SearchController;
+import demo.avoris.infrastructure.adapter.in.web.handler.SearchExceptionHandler;
+import demo.avoris.infrastructure.adapter.out.kafka.producer.KafkaSearchProducer;
+import demo.avoris.infrastructure.adapter.out.memory.InMemorySearchCounterAdapter;
+import demo.avoris.infrastructure.adapter.out.memory.RecentSearchIdsAdapter;
+import demo.avoris.infrastructure.adapter.out.mongo.exeption.SearchNotFoundException;
+import demo.avoris.infrastructure.config.JacksonConfig;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Extremo a extremo dentro del proceso: {@code POST /search} → {@link KafkaSearchProducer} → Kafka embebido
+ * (KRaft, sin Docker) → {@link KafkaSearchConsumer} → repositorio en memoria → {@code GET /search/{id}} con el
+ * token de consistencia, que espera a que el consumidor aplique el offset.
+ *
+ * <p>Carga en lazo abierto: cada petición tiene su instante previsto ({@code perf.rate} por segundo durante
+ * {@code perf.seconds}) y la latencia se mide desde ese instante, no desde el envío real, para no ocultar las
+ * esperas si el cliente se retrasa (omisión coordinada). Informa de los percentiles del POST y de extremo a
+ * extremo con HdrHistogram, del throughput del consumidor y del lag del grupo muestreado cada
+ * {@link #LAG_SAMPLE_INTERVAL}.</p>
+ *
+ * <p>Fuera del build normal:</p>
+ * <pre>mvn -Pload test -Dtest=SearchEndToEndThroughputTest [-Dperf.rate=500] [-Dperf.seconds=30]</pre>
+ */
+@Tag("load")
+class SearchEndToEndThroughputTest {
+
+    private static final String TOPIC = "hotel_availability_searches";
+
+    private static final String GROUP_ID = "hotel_availability_group";
+
+    private static final int PARTITIONS = 3;
+
+    private static final int RATE = Integer.getInteger("perf.rate", 200);
+
+    private static final int SECONDS = Integer.getInteger("perf.seconds", 20);
+
+    private static final Duration VISIBILITY_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final Duration LAG_SAMPLE_INTERVAL = Duration.ofMillis(100);
+
+    private static final String BODY = """
+            {"hotelId":"hotel-1234","checkIn":"01/07/2025","checkOut":"08/07/2025","ages":[30,29,5,3]}""";
+
+    private static EmbeddedKafkaKraftBroker broker;
+
+    @BeforeAll
+    static void startBroker() {
+        broker = new EmbeddedKafkaKraftBroker(1, PARTITIONS, TOPIC);
+        broker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        broker.destroy();
+    }
+
+    @Test
+    void shouldReportEndToEndLatencyAndConsumerLag() throws Exception {
+        // Given
+        int total = RATE * SECONDS;
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+        Histogram postLatency = new ConcurrentHistogram(3);
+        Histogram endToEndLatency = new ConcurrentHistogram(3);
+        AtomicInteger failures = new AtomicInteger();
+        AtomicLong maxLag = new AtomicLong();
+        ObjectMapper json = new ObjectMapper();
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ThroughputTestApplication.class)
+                .properties(
+                        "server.port=0",
+                        "kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                        "spring.kafka.consumer.auto-offset-reset=earliest",
+                        "app.search.consistency.max-wait=5s",
+                        "logging.level.demo.avoris=WARN")
+                .run();
+             ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             ScheduledExecutorService lagSampler = Executors.newSingleThreadScheduledExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(httpExecutor)
+                     .build();
+             Admin admin = Admin.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString()))) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+            URI searchUri = URI.create("http://localhost:" + port + contextPath + "/search");
+            InMemorySearchRepository repository = context.getBean(InMemorySearchRepository.class);
+            lagSampler.scheduleAtFixedRate(() -> maxLag.accumulateAndGet(lag(admin), Math::max),
+                    0, LAG_SAMPLE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+
+            // When
+            long start = System.nanoTime();
+            for (int i = 0; i < total; i++) {
+                long intended = start + i * intervalNanos;
+                for (long now = System.nanoTime(); now < intended; now = System.nanoTime()) {
+                    LockSupport.parkNanos(intended - now);
+                }
+                clients.execute(() -> {
+                    try {
+                        roundTrip(client, json, searchUri, intended, postLatency, endToEndLatency);
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    }
+                });
+            }
+            clients.shutdown();
+            assertTrue(clients.awaitTermination(SECONDS + VISIBILITY_TIMEOUT.toSeconds(), TimeUnit.SECONDS),
+                    "Todas las peticiones deben terminar");
+            long wallNanos = System.nanoTime() - start;
+            lagSampler.shutdown();
+            long finalLag = lag(admin);
+
+            double consumerRate = repository.saved() * 1e9 / Math.max(1, repository.lastSaveNanos() - repository.firstSaveNanos());
+            System.out.printf("rate=%d/s sent=%d failures=%d wall=%dms%n",
+                    RATE, total, failures.get(), TimeUnit.NANOSECONDS.toMillis(wallNanos));
+            print("POST /search (ack)", postLatency);
+            print("POST -> visible on GET", endToEndLatency);
+            System.out.printf("consumer: saved=%d throughput=%.0f records/s max-lag=%d final-lag=%d%n",
+                    repository.saved(), consumerRate, maxLag.get(), finalLag);
+
+            // Then
+            assertAll("End-to-end verification",
+                    () -> assertEquals(0, failures.get(), "Ninguna petición debe fallar"),
+                    () -> assertEquals(total, endToEndLatency.getTotalCount(), "Todas las búsquedas deben verse en el GET"),
+                    () -> assertEquals(total, repository.saved(), "El consumidor debe guardar cada búsqueda una vez"),
+                    () -> assertEquals(0, finalLag, "El consumidor debe terminar sin lag")
+            );
+        }
+    }
+
+    /**
+     * POST y después GET con el token hasta que la búsqueda es visible; las latencias, desde el instante previsto.
+     */
+    private static void roundTrip(HttpClient client, ObjectMapper json, URI searchUri, long intended,
+                                  Histogram postLatency, Histogram endToEndLatency) throws Exception {
+        HttpResponse<byte[]> created = client.send(HttpRequest.newBuilder(searchUri)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(BODY))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (created.statusCode() / 100 != 2) {
+            throw new IllegalStateException("POST returned " + created.statusCode());
+        }
+        postLatency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+
+        JsonNode response = json.readTree(created.body());
+        HttpRequest visible = HttpRequest.newBuilder(URI.create(searchUri + "/" + response.get("searchId").asText()
+                        + "?consistencyToken=" + response.get("consistencyToken").asText()))
+                .build();
+        long deadline = System.nanoTime() + VISIBILITY_TIMEOUT.toNanos();
+        // El GET espera como mucho max-wait al consumidor; si no llega, 404 y se vuelve a esperar
+        while (client.send(visible, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Search not visible after " + VISIBILITY_TIMEOUT);
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        endToEndLatency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+    }
+
+    /**
+     * Registros del topic que el grupo todavía no ha confirmado.
+     */
+    private static long lag(Admin admin) {
+        try {
+            Map<TopicPartition, OffsetAndMetadata> committed =
+                    admin.listConsumerGroupOffsets(GROUP_ID).partitionsToOffsetAndMetadata().get();
+            Map<TopicPartition, OffsetSpec> latest = Stream.iterate(0, partition -> partition + 1).limit(PARTITIONS)
+                    .collect(Collectors.toMap(partition -> new TopicPartition(TOPIC, partition), partition -> OffsetSpec.latest()));
+            return admin.listOffsets(latest).all().get().entrySet().stream()
+                    .mapToLong(end -> {
+                        OffsetAndMetadata position = committed.get(end.getKey());
+                        return end.getValue().offset() - (position == null ? 0 : position.offset());
+                    })
+                    .sum();
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private static void print(String name, Histogram histogram) {
+        System.out.printf("%s: count=%d p50=%.1fms p90=%.1fms p99=%.1fms p99.9=%.1fms max=%.1fms%n", name,
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    /**
+     * Sustituto del adaptador Mongo: mismo contrato que {@link SearchRepositoryPort} sobre un mapa.
+     */
+    static class InMemorySearchRepository implements SearchRepositoryPort {
+
+        private final ConcurrentMap<String, Search> searches = new ConcurrentHashMap<>();
+        private final AtomicLong firstSaveNanos = new AtomicLong();
+        private final AtomicLong lastSaveNanos = new AtomicLong();
+
+        @Override
+        public Search save(Search search) {
+            if (searches.putIfAbsent(search.searchId(), search) != null) {
+                throw new DuplicateSearch("Search with id " + search.searchId() + " already stored");
+            }
+            long now = System.nanoTime();
+            firstSaveNanos.compareAndSet(0, now);
+            lastSaveNanos.set(now);
+            return search;
+        }
+
+        @Override
+        public List<Search> saveAll(List<Search> batch) {
+            return batch.stream().filter(search -> {
+                try {
+                    save(search);
+                    return true;
+                } catch (DuplicateSearch e) {
+                    return false;
+                }
+            }).toList();
+        }
+
+        @Override
+        public Search findBySearchId(String searchId) {
+            Search search = searches.get(searchId);
+            if (search == null) {
+                throw new SearchNotFoundException("Search with id " + searchId + " not found");
+            }
+            return search;
+        }
+
+        @Override
+        public Stream<Search> findAllBySearchIds(Collection<String> searchIds) {
+            return searchIds.stream().map(searches::get).filter(search -> search != null);
+        }
+
+        long saved() {
+            return searches.size();
+        }
+
+        long firstSaveNanos() {
+            return firstSaveNanos.get();
+        }
+
+        long lastSaveNanos() {
+            return lastSaveNanos.get();
+        }
+    }
+
+    /**
+     * La aplicación real salvo Mongo: web, caso de uso, productor y listener por registro, con el repositorio en
+     * memoria.
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = {
+            MongoAutoConfiguration.class,
+            MongoDataAutoConfiguration.class,
+            MongoRepositoriesAutoConfiguration.class,
+            MongoReactiveAutoConfiguration.class,
+            MongoReactiveDataAutoConfiguration.class,
+            MongoReactiveRepositoriesAutoConfiguration.class})
+    @Import({SearchController.class, SearchExceptionHandler.class, JacksonConfig.class, SearchUseCaseImpl.class,
+            KafkaSearchProducer.class, KafkaSearchConsumer.class, KafkaAppliedOffsetTracker.class,
+            KafkaIngestLagMeter.class, InMemorySearchCounterAdapter.class, RecentSearchIdsAdapter.class,
+            InMemorySearchRepository.class})
+    static class ThroughputTestApplication {
+    }
+}
@@ -0,0 +1,39 @@
+package demo.avoris.application.mapper;
+
+import demo.avoris.TestDataBuilder;
+import demo.avoris.application.dto.SearchBatchItemDTO;
+import demo.avoris.application.dto.SearchBatchResponseDTO;
+import demo.avoris.domain.model.ConsistencyToken;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchBatchResponseDTOMapperTest {
+
+    @Test
+    void shouldCountAcceptedAndRejectedItems_WhenBatchResponseIsBuilt() {
+        // Given
+        SearchBatchItemDTO accepted = SearchBatchResponseDTOMapper.toAcceptedItem(0, TestDataBuilder.TEST_SEARCH_ID,
+                new ConsistencyToken("hotel_availability_searches", 1, 7L));
+        SearchBatchItemDTO rejected = SearchBatchResponseDTOMapper.toRejectedItem(1, "hotelId - must not be null");
+
+        // When
+        SearchBatchResponseDTO result = SearchBatchResponseDTOMapper.toSearchBatchResponseDTO(List.of(accepted, rejected));
+
+        // Then
+        assertAll("Batch response mapping verification",
+                () -> assertEquals(1, result.accepted(),
+                        "Debe contar una búsqueda aceptada"),
+                () -> assertEquals(1, result.rejected(),
+                        "Debe contar una búsqueda rechazada"),
+                () -> assertEquals("hotel_availability_searches:1:7", accepted.consistencyToken(),
+                        "El token debe codificarse como topic:partition:offset"),
+                () -> assertNull(accepted.error(),
+                        "Una búsqueda aceptada no lleva error"),
+                () -> assertNull(rejected.searchId(),
+                        "Una búsqueda rechazada no lleva searchId")
+        );
+    }
+}
@@ -0,0 +1,50 @@
+package demo.avoris.application.mapper;
+
+import demo.avoris.TestDataBuilder;
+import demo.avoris.application.dto.SearchLookupItemDTO;
+import demo.avoris.domain.model.Search;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchLookupItemDTOMapperTest {
+
+    @Test
+    void shouldMapFoundSearch_WhenSearchProvided() {
+        // Given
+        Search search = TestDataBuilder.createTestSearchWithCount(4);
+
+        // When
+        SearchLookupItemDTO result = SearchLookupItemDTOMapper.toFoundItem(search);
+
+        // Then
+        assertAll("Found item mapping verification",
+                () -> assertEquals(search.searchId(), result.searchId(),
+                        "El searchId debe coincidir"),
+                () -> assertTrue(result.found(),
+                        "Debe marcarse como encontrado"),
+                () -> assertEquals(search.hotelId(), result.search().hotelId(),
+                        "El hotelId debe coincidir"),
+                () -> assertEquals(4, result.count(),
+                        "El count debe coincidir")
+        );
+    }
+
+    @Test
+    void shouldMapMissingId_WhenSearchDoesNotExist() {
+        // When
+        SearchLookupItemDTO result = SearchLookupItemDTOMapper.toMissingItem("missing");
+
+        // Then
+        assertAll("Missing item mapping verification",
+                () -> assertEquals("missing", result.searchId(),
+                        "El searchId debe coincidir"),
+                () -> assertFalse(result.found(),
+                        "Debe marcarse como no encontrado"),
+                () -> assertNull(result.search(),
+                        "No debe llevar datos de búsqueda"),
+                () -> assertNull(result.count(),
+                        "No debe llevar count")
+        );
+    }
+}
@@ -2,12 +2,14 @@ package demo.avoris.application.mapper;
 
 import demo.avoris.TestDataBuilder;
 import demo.avoris.application.dto.SearchResponseDTO;
+import demo.avoris.domain.model.ConsistencyToken;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 class SearchResponseDTOMapperTest {
 
@@ -28,6 +30,24 @@ class SearchResponseDTOMapperTest {
         );
     }
 
+    @Test
+    void shouldEncodeConsistencyToken_WhenTokenProvided() {
+        // Given
+        ConsistencyToken token = new ConsistencyToken("hotel_availability_searches", 3, 42L);
+
+        // When
+        SearchResponseDTO withToken = SearchResponseDTOMapper.toSearchResponseDTO(TestDataBuilder.TEST_SEARCH_ID, token);
+        SearchResponseDTO withoutToken = SearchResponseDTOMapper.toSearchResponseDTO(TestDataBuilder.TEST_SEARCH_ID, null);
+
+        // Then
+        assertAll("Consistency token mapping verification",
+                () -> assertEquals("hotel_availability_searches:3:42", withToken.consistencyToken(),
+                        "El token debe codificarse como topic:partition:offset"),
+                () -> assertNull(withoutToken.consistencyToken(),
+                        "Sin token el campo debe quedar a null")
+        );
+    }
+
     @Test
     void shouldCreateSearchResponseDTO_WhenDifferentSearchIdsProvided() {
         // Given
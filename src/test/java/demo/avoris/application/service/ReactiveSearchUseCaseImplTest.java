@@ -0,0 +1,193 @@
+package demo.avoris.application.service;
+
+import demo.avoris.TestDataBuilder;
+import demo.avoris.application.dto.SearchRequestDTO;
+import demo.avoris.application.port.out.ReactiveSearchEventPublisherPort;
+import demo.avoris.application.port.out.ReactiveSearchRepositoryPort;
+import demo.avoris.application.port.out.SearchCounterPort;
+import demo.avoris.application.port.out.SearchDuplicateFilterPort;
+import demo.avoris.domain.exception.DuplicateSearch;
+import demo.avoris.domain.exception.InvalidCheckIn;
+import demo.avoris.domain.exception.InvalidSearchBatch;
+import demo.avoris.domain.model.ConsistencyToken;
+import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.adapter.out.mongo.exeption.SearchNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveSearchUseCaseImplTest {
+
+    @Mock
+    private ReactiveSearchRepositoryPort repository;
+
+    @Mock
+    private ReactiveSearchEventPublisherPort publisher;
+
+    @Mock
+    private SearchCounterPort counter;
+
+    @Mock
+    private SearchDuplicateFilterPort duplicates;
+
+    private ReactiveSearchUseCaseImpl searchUseCase;
+
+    private static final ConsistencyToken TOKEN = new ConsistencyToken("hotel_availability_searches", 0, 42L);
+
+    @BeforeEach
+    void setUp() {
+        searchUseCase = new ReactiveSearchUseCaseImpl(repository, publisher, counter, duplicates);
+    }
+
+    @Test
+    void shouldCreateSearchWithToken_WhenValidDataProvided() {
+        // Given
+        SearchRequestDTO request = TestDataBuilder.createTestSearchRequestDTO();
+        when(publisher.publishSearch(any(Search.class))).thenReturn(Mono.just(TOKEN));
+
+        // When & Then
+        StepVerifier.create(searchUseCase.createSearch(request))
+                .assertNext(response -> assertAll("Create search verification",
+                        () -> assertNotNull(response.searchId(), "Debe generarse un searchId"),
+                        () -> assertEquals(TOKEN.encode(), response.consistencyToken(),
+                                "Debe devolverse el token del ack")))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFailWithoutPublishing_WhenDatesAreInvalid() {
+        // Given
+        SearchRequestDTO request = TestDataBuilder.createTestSearchRequestDTOWithDates(
+                TestDataBuilder.InvalidDates.INVALID_CHECK_IN, TestDataBuilder.InvalidDates.INVALID_CHECK_OUT);
+
+        // When & Then
+        StepVerifier.create(searchUseCase.createSearch(request))
+                .expectError(InvalidCheckIn.class)
+                .verify();
+        verifyNoInteractions(publisher);
+    }
+
+    @Test
+    void shouldReturnDetailWithCurrentCount_WhenSearchExists() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        when(repository.findBySearchId(search.searchId())).thenReturn(Mono.just(search));
+        when(counter.count(search.fingerprintOrCompute())).thenReturn(42L);
+
+        // When & Then
+        StepVerifier.create(searchUseCase.getHotelCount(search.searchId()))
+                .assertNext(detail -> assertAll("Detail verification",
+                        () -> assertEquals(search.searchId(), detail.searchId(), "El searchId debe coincidir"),
+                        () -> assertEquals(42, detail.count(), "El count debe venir del índice de búsquedas idénticas")))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldPropagateNotFound_WhenSearchDoesNotExist() {
+        // Given
+        when(repository.findBySearchId("missing"))
+                .thenReturn(Mono.error(new SearchNotFoundException("Search with id missing not found")));
+
+        // When & Then
+        StepVerifier.create(searchUseCase.getHotelCount("missing"))
+                .expectError(SearchNotFoundException.class)
+                .verify();
+        verifyNoInteractions(counter);
+    }
+
+    @Test
+    void shouldStreamFoundSearchesAndMarkMissingOnes_WhenLookingUpSeveralIds() {
+        // Given
+        Search found = TestDataBuilder.createTestSearchWithId("found");
+        when(repository.findAllBySearchIds(List.of("found", "missing"))).thenReturn(Flux.just(found));
+        when(counter.count(found.fingerprintOrCompute())).thenReturn(9L);
+
+        // When & Then
+        StepVerifier.create(searchUseCase.lookupHotelCounts(List.of("found", "missing", "found")))
+                .assertNext(item -> assertAll("Found item verification",
+                        () -> assertTrue(item.found(), "El id existente debe marcarse como encontrado"),
+                        () -> assertEquals(9, item.count(), "El count debe venir del índice de búsquedas idénticas")))
+                .assertNext(item -> assertAll("Missing item verification",
+                        () -> assertEquals("missing", item.searchId(), "El id inexistente debe emitirse al final"),
+                        () -> assertFalse(item.found(), "El id inexistente debe marcarse como no encontrado")))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldNotQueryRepository_UntilLookupIsSubscribed() {
+        // When
+        searchUseCase.lookupHotelCounts(List.of("found"));
+
+        // Then
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldRejectLookup_WhenTooManyIdsProvided() {
+        // Given
+        List<String> searchIds = Collections.nCopies(SearchUseCaseImpl.MAX_BATCH_SIZE + 1, "id");
+
+        // When & Then
+        StepVerifier.create(searchUseCase.lookupHotelCounts(searchIds))
+                .expectError(InvalidSearchBatch.class)
+                .verify();
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldSaveAndIncrementCount_WhenSavingSearch() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        when(repository.save(search)).thenReturn(Mono.just(search));
+        when(counter.increment(search.fingerprintOrCompute())).thenReturn(3L);
+
+        // When & Then
+        StepVerifier.create(searchUseCase.saveSearch(search))
+                .assertNext(saved -> assertEquals(3, saved.count(), "El count debe ser el del índice tras incrementar"))
+                .verifyComplete();
+        verify(duplicates).markSaved(search.searchId());
+    }
+
+    @Test
+    void shouldNotIncrementCount_WhenStoreRejectsDuplicate() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        when(repository.save(search)).thenReturn(Mono.error(new DuplicateSearch("already stored")));
+        when(counter.count(search.fingerprintOrCompute())).thenReturn(2L);
+
+        // When & Then
+        StepVerifier.create(searchUseCase.saveSearch(search))
+                .assertNext(saved -> assertEquals(2, saved.count(), "Un duplicado devuelve el count actual sin sumar"))
+                .verifyComplete();
+        assertAll("Duplicate verification",
+                () -> verify(counter, never()).increment(any()),
+                () -> verify(duplicates).markDuplicate(search.searchId())
+        );
+    }
+
+    @Test
+    void shouldSkipStore_WhenFilterKnowsSearchId() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        when(duplicates.isDuplicate(search.searchId())).thenReturn(true);
+
+        // When & Then
+        StepVerifier.create(searchUseCase.saveSearch(search))
+                .expectNextCount(1)
+                .verifyComplete();
+        verifyNoInteractions(repository);
+    }
+}
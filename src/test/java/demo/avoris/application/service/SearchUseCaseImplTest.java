@@ -1,13 +1,26 @@
 package demo.avoris.application.service;
 
 import demo.avoris.TestDataBuilder;
+import demo.avoris.application.dto.SearchBatchResponseDTO;
 import demo.avoris.application.dto.SearchDetailResponseDTO;
+import demo.avoris.application.dto.SearchLookupItemDTO;
 import demo.avoris.application.dto.SearchRequestDTO;
 import demo.avoris.application.dto.SearchResponseDTO;
+import demo.avoris.application.port.out.SearchCounterPort;
+import demo.avoris.application.port.out.SearchDuplicateFilterPort;
 import demo.avoris.application.port.out.SearchEventPublisherPort;
+import demo.avoris.application.port.out.SearchProgressPort;
 import demo.avoris.application.port.out.SearchRepositoryPort;
+import demo.avoris.domain.exception.DuplicateSearch;
 import demo.avoris.domain.exception.InvalidCheckIn;
+import demo.avoris.domain.exception.InvalidConsistencyToken;
+import demo.avoris.domain.exception.InvalidSearchBatch;
+import demo.avoris.domain.model.Ages;
+import demo.avoris.domain.model.ConsistencyToken;
 import demo.avoris.domain.model.Search;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,9 +29,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,18 +52,36 @@ import static org.mockito.Mockito.*;
     @Mock
     private SearchEventPublisherPort publisher;
 
+    @Mock
+    private SearchCounterPort counter;
+
+    @Mock
+    private SearchDuplicateFilterPort duplicates;
+
+    @Mock
+    private SearchProgressPort progress;
+
     private SearchUseCaseImpl searchUseCase;
 
+    private static final ConsistencyToken TOKEN = new ConsistencyToken("hotel_availability_searches", 0, 42L);
+
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUpValidator() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
     @BeforeEach
     void setUp() {
-        searchUseCase = new SearchUseCaseImpl(repository, publisher);
+        searchUseCase = new SearchUseCaseImpl(repository, publisher, counter, duplicates, progress, validator);
     }
 
     @Test
     void shouldCreateSearchSuccessfully_WhenValidDataProvided() {
         // Given
         SearchRequestDTO request = TestDataBuilder.createTestSearchRequestDTO();
-        doNothing().when(publisher).publishSearch(any(Search.class));
+        when(publisher.publishSearch(any(Search.class))).thenReturn(TOKEN);
 
         // When
         SearchResponseDTO result = searchUseCase.createSearch(request);
@@ -54,6 +94,8 @@ import static org.mockito.Mockito.*;
                         "El searchId no debe ser null"),
                 () -> assertFalse(result.searchId().isEmpty(),
                         "El searchId no debe estar vacío"),
+                () -> assertEquals(TOKEN.encode(), result.consistencyToken(),
+                        "Debe devolver el token con la posición del evento publicado"),
                 () -> verify(publisher, times(1)).publishSearch(any(Search.class)),
                 () -> verifyNoInteractions(repository)
         );
@@ -107,6 +149,7 @@ import static org.mockito.Mockito.*;
         String searchId = TestDataBuilder.TEST_SEARCH_ID;
         Search search = TestDataBuilder.createTestSearch();
         when(repository.findBySearchId(searchId)).thenReturn(search);
+        when(counter.count(search.fingerprintOrCompute())).thenReturn((long) search.count());
 
         // When
         SearchDetailResponseDTO result = searchUseCase.getHotelCount(searchId);
@@ -138,6 +181,7 @@ import static org.mockito.Mockito.*;
         Search search = TestDataBuilder.createTestSearch();
         Search savedSearch = TestDataBuilder.createTestSearchWithCount(5);
         when(repository.save(search)).thenReturn(savedSearch);
+        when(counter.increment(savedSearch.fingerprintOrCompute())).thenReturn((long) savedSearch.count());
 
         // When
         Search result = searchUseCase.saveSearch(search);
@@ -203,7 +247,7 @@ import static org.mockito.Mockito.*;
         LocalDate checkIn = LocalDate.of(2024, 12, 25);
         LocalDate checkOut = LocalDate.of(2024, 12, 30);
         SearchRequestDTO request = TestDataBuilder.createTestSearchRequestDTOWithDates(checkIn, checkOut);
-        doNothing().when(publisher).publishSearch(any(Search.class));
+        when(publisher.publishSearch(any(Search.class))).thenReturn(TOKEN);
 
         // When & Then
         assertAll("Valid dates verification",
@@ -212,4 +256,281 @@ import static org.mockito.Mockito.*;
                 () -> verify(publisher, times(1)).publishSearch(any(Search.class))
         );
     }
+
+    @Test
+    void shouldReturnCountFromIndex_WhenIdenticalSearchesWereSaved() {
+        // Given
+        String searchId = TestDataBuilder.TEST_SEARCH_ID;
+        Search search = TestDataBuilder.createTestSearch();
+        when(repository.findBySearchId(searchId)).thenReturn(search);
+        when(counter.count(search.fingerprintOrCompute())).thenReturn(42L);
+
+        // When
+        SearchDetailResponseDTO result = searchUseCase.getHotelCount(searchId);
+
+        // Then
+        assertAll("Count index verification",
+                () -> assertEquals(42, result.count(),
+                        "El count debe venir del índice de búsquedas idénticas"),
+                () -> verify(counter, times(1)).count(search.fingerprintOrCompute()),
+                () -> verify(counter, never()).increment(any())
+        );
+    }
+
+    @Test
+    void shouldGetHotelCountAfterTokenIsApplied_WhenConsistencyTokenProvided() {
+        // Given
+        String searchId = TestDataBuilder.TEST_SEARCH_ID;
+        Search search = TestDataBuilder.createTestSearch();
+        CompletableFuture<Void> applied = new CompletableFuture<>();
+        when(progress.awaitApplied(TOKEN)).thenReturn(applied);
+        when(repository.findBySearchId(searchId)).thenReturn(search);
+        when(counter.count(search.fingerprintOrCompute())).thenReturn(1L);
+
+        // When
+        CompletableFuture<SearchDetailResponseDTO> result = searchUseCase.getHotelCountAfter(searchId, TOKEN.encode());
+        boolean doneBeforeApplied = result.isDone();
+        applied.complete(null);
+
+        // Then
+        assertAll("Read-your-writes verification",
+                () -> assertFalse(doneBeforeApplied,
+                        "No debe consultar antes de que el consumidor aplique el offset"),
+                () -> assertEquals(searchId, result.join().searchId(),
+                        "El searchId debe coincidir"),
+                () -> verify(repository, times(1)).findBySearchId(searchId)
+        );
+    }
+
+    @Test
+    void shouldThrowInvalidConsistencyToken_WhenTokenIsMalformed() {
+        // When & Then
+        assertAll("Invalid consistency token verification",
+                () -> assertThrows(InvalidConsistencyToken.class,
+                        () -> searchUseCase.getHotelCountAfter(TestDataBuilder.TEST_SEARCH_ID, "not-a-token"),
+                        "Debe rechazar un token mal formado"),
+                () -> verifyNoInteractions(progress),
+                () -> verifyNoInteractions(repository)
+        );
+    }
+
+    @Test
+    void shouldPublishValidSearchesAndReportInvalidOnes_WhenBatchProvided() {
+        // Given
+        List<SearchRequestDTO> requests = new ArrayList<>();
+        requests.add(TestDataBuilder.createTestSearchRequestDTO());
+        requests.add(new SearchRequestDTO(null, TestDataBuilder.TEST_CHECK_IN, TestDataBuilder.TEST_CHECK_OUT, TestDataBuilder.TEST_AGES));
+        requests.add(TestDataBuilder.createTestSearchRequestDTOWithDates(
+                TestDataBuilder.InvalidDates.INVALID_CHECK_IN, TestDataBuilder.InvalidDates.INVALID_CHECK_OUT));
+        requests.add(null);
+        requests.add(TestDataBuilder.createTestSearchRequestDTO());
+        when(publisher.publishSearches(anyList())).thenReturn(List.of(
+                CompletableFuture.completedFuture(TOKEN),
+                CompletableFuture.failedFuture(new RuntimeException("Broker not available"))));
+
+        // When
+        SearchBatchResponseDTO result = searchUseCase.createSearches(requests);
+
+        // Then
+        assertAll("Batch creation verification",
+                () -> assertEquals(5, result.items().size(),
+                        "Debe haber un resultado por búsqueda"),
+                () -> assertEquals(1, result.accepted(),
+                        "Sólo la primera búsqueda debe quedar publicada"),
+                () -> assertEquals(4, result.rejected(),
+                        "El resto deben reportarse con error"),
+                () -> assertEquals(TOKEN.encode(), result.items().get(0).consistencyToken(),
+                        "La búsqueda publicada debe llevar su token"),
+                () -> assertNotNull(result.items().get(0).searchId(),
+                        "La búsqueda publicada debe llevar searchId"),
+                () -> assertTrue(result.items().get(1).error().contains("hotelId"),
+                        "Debe indicar el campo inválido"),
+                () -> assertEquals("Check-out date must be after check-in date.", result.items().get(2).error(),
+                        "Debe aplicar la validación de fechas"),
+                () -> assertNotNull(result.items().get(3).error(),
+                        "Un elemento null debe reportarse como error"),
+                () -> assertEquals("Broker not available", result.items().get(4).error(),
+                        "Un fallo de envío debe reportarse en su posición"),
+                () -> assertEquals(4, result.items().get(4).index(),
+                        "Debe conservar el orden de la petición"),
+                () -> verify(publisher, times(1)).publishSearches(argThat(searches -> searches.size() == 2)),
+                () -> verify(publisher, never()).publishSearch(any())
+        );
+    }
+
+    @Test
+    void shouldReportAgeOutOfRange_WhenBatchItemHasInvalidAge() {
+        // Given
+        List<SearchRequestDTO> requests = List.of(
+                new SearchRequestDTO(TestDataBuilder.TEST_HOTEL_ID, TestDataBuilder.TEST_CHECK_IN,
+                        TestDataBuilder.TEST_CHECK_OUT, List.of(30, Ages.MAX_AGE + 1)),
+                new SearchRequestDTO(TestDataBuilder.TEST_HOTEL_ID, TestDataBuilder.TEST_CHECK_IN,
+                        TestDataBuilder.TEST_CHECK_OUT, List.of(-1)));
+
+        // When
+        SearchBatchResponseDTO result = searchUseCase.createSearches(requests);
+
+        // Then
+        assertAll("Age validation verification",
+                () -> assertEquals(2, result.rejected(), "Las edades fuera de rango deben rechazarse por elemento"),
+                () -> assertTrue(result.items().get(0).error().contains("ages[1]"), "Debe indicar la edad inválida"),
+                () -> assertTrue(result.items().get(1).error().contains("ages[0]"), "Debe indicar la edad inválida"),
+                () -> verifyNoInteractions(publisher)
+        );
+    }
+
+    @Test
+    void shouldNotPublish_WhenEveryBatchItemIsInvalid() {
+        // Given
+        List<SearchRequestDTO> requests = List.of(TestDataBuilder.createTestSearchRequestDTOWithDates(
+                TestDataBuilder.EqualDates.SAME_DATE, TestDataBuilder.EqualDates.SAME_DATE));
+
+        // When
+        SearchBatchResponseDTO result = searchUseCase.createSearches(requests);
+
+        // Then
+        assertAll("Invalid batch verification",
+                () -> assertEquals(0, result.accepted(),
+                        "No debe aceptar ninguna búsqueda"),
+                () -> verifyNoInteractions(publisher)
+        );
+    }
+
+    @Test
+    void shouldThrowInvalidSearchBatch_WhenBatchIsTooLarge() {
+        // Given
+        List<SearchRequestDTO> requests = Collections.nCopies(SearchUseCaseImpl.MAX_BATCH_SIZE + 1,
+                TestDataBuilder.createTestSearchRequestDTO());
+
+        // When & Then
+        assertAll("Batch size limit verification",
+                () -> assertThrows(InvalidSearchBatch.class, () -> searchUseCase.createSearches(requests),
+                        "Debe rechazar lotes por encima del máximo"),
+                () -> verifyNoInteractions(publisher)
+        );
+    }
+
+    @Test
+    void shouldSaveBatchWithSingleRepositoryCall_WhenSavingSeveralSearches() {
+        // Given
+        Search search1 = TestDataBuilder.createTestSearchWithId("search-1");
+        Search search2 = TestDataBuilder.createTestSearchWithId("search-2");
+        when(repository.saveAll(List.of(search1, search2))).thenReturn(List.of(search1, search2));
+        when(counter.increment(search1.fingerprintOrCompute())).thenReturn(1L, 2L);
+
+        // When
+        List<Search> result = searchUseCase.saveSearches(List.of(search1, search2));
+
+        // Then
+        assertAll("Batch save verification",
+                () -> assertEquals(List.of(1, 2), result.stream().map(Search::count).toList(),
+                        "Cada búsqueda debe llevar el recuento tras su incremento"),
+                () -> verify(repository, times(1)).saveAll(anyList()),
+                () -> verify(repository, never()).save(any())
+        );
+    }
+
+    @Test
+    void shouldSkipRepository_WhenFilterKnowsSearchId() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        when(duplicates.isDuplicate(search.searchId())).thenReturn(true);
+        when(counter.count(search.fingerprintOrCompute())).thenReturn(4L);
+
+        // When
+        Search result = searchUseCase.saveSearch(search);
+
+        // Then
+        assertAll("In-memory duplicate verification",
+                () -> assertEquals(4, result.count(),
+                        "Un duplicado devuelve el recuento actual"),
+                () -> verifyNoInteractions(repository),
+                () -> verify(counter, never()).increment(any())
+        );
+    }
+
+    @Test
+    void shouldNotIncrementCount_WhenRepositoryRejectsDuplicate() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        when(repository.save(search)).thenThrow(new DuplicateSearch("already stored"));
+        when(counter.count(search.fingerprintOrCompute())).thenReturn(4L);
+
+        // When
+        Search result = searchUseCase.saveSearch(search);
+
+        // Then
+        assertAll("Stored duplicate verification",
+                () -> assertEquals(4, result.count(),
+                        "Un duplicado devuelve el recuento actual"),
+                () -> verify(counter, never()).increment(any()),
+                () -> verify(duplicates, times(1)).markDuplicate(search.searchId()),
+                () -> verify(duplicates, never()).markSaved(any())
+        );
+    }
+
+    @Test
+    void shouldOnlyCountNewSearches_WhenBatchContainsDuplicates() {
+        // Given
+        Search known = TestDataBuilder.createTestSearchWithId("known");
+        Search stored = TestDataBuilder.createTestSearchWithId("stored");
+        Search fresh = TestDataBuilder.createTestSearchWithId("fresh");
+        when(duplicates.isDuplicate(anyString())).thenAnswer(invocation -> "known".equals(invocation.getArgument(0)));
+        when(repository.saveAll(List.of(stored, fresh))).thenReturn(List.of(fresh));
+        when(counter.increment(fresh.fingerprintOrCompute())).thenReturn(1L);
+
+        // When
+        List<Search> result = searchUseCase.saveSearches(List.of(known, stored, fresh));
+
+        // Then
+        assertAll("Batch duplicate verification",
+                () -> assertEquals(List.of("fresh"), result.stream().map(Search::searchId).toList(),
+                        "Sólo deben devolverse las búsquedas nuevas"),
+                () -> verify(counter, times(1)).increment(any()),
+                () -> verify(duplicates, times(1)).markDuplicate("stored"),
+                () -> verify(duplicates, times(1)).markSaved("fresh")
+        );
+    }
+
+    @Test
+    void shouldStreamFoundSearchesAndMarkMissingOnes_WhenLookingUpSeveralIds() {
+        // Given
+        Search found = TestDataBuilder.createTestSearchWithId("found");
+        AtomicBoolean closed = new AtomicBoolean();
+        when(repository.findAllBySearchIds(List.of("found", "missing")))
+                .thenReturn(Stream.of(found).onClose(() -> closed.set(true)));
+        when(counter.count(found.fingerprintOrCompute())).thenReturn(9L);
+
+        // When
+        List<SearchLookupItemDTO> result;
+        try (Stream<SearchLookupItemDTO> items = searchUseCase.lookupHotelCounts(List.of("found", "missing", "found"))) {
+            result = items.toList();
+        }
+
+        // Then
+        assertAll("Lookup verification",
+                () -> assertEquals(2, result.size(),
+                        "Debe emitir un elemento por id distinto"),
+                () -> assertTrue(result.get(0).found(),
+                        "El id existente debe marcarse como encontrado"),
+                () -> assertEquals(9, result.get(0).count(),
+                        "El count debe venir del índice de búsquedas idénticas"),
+                () -> assertEquals("missing", result.get(1).searchId(),
+                        "El id inexistente debe emitirse al final"),
+                () -> assertFalse(result.get(1).found(),
+                        "El id inexistente debe marcarse como no encontrado"),
+                () -> assertTrue(closed.get(),
+                        "El cursor del repositorio debe cerrarse"),
+                () -> verify(repository, never()).findBySearchId(any())
+        );
+    }
+
+    @Test
+    void shouldNotQueryRepository_WhenLookupStreamIsNotConsumed() {
+        // When
+        searchUseCase.lookupHotelCounts(List.of("found")).close();
+
+        // Then
+        verifyNoInteractions(repository);
+    }
 }
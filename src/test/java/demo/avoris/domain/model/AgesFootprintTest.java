@@ -0,0 +1,79 @@
+package demo.avoris.domain.model;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Medición de huella en memoria (JOL) y de bytes asignados por búsqueda de {@link Ages} frente a la
+ * {@code List<Integer>} inmutable de {@code List.copyOf} que se usaba antes.
+ */
+class AgesFootprintTest {
+
+    private static final Logger log = Logger.getLogger(AgesFootprintTest.class.getName());
+
+    private static final int ITERATIONS = 100_000;
+
+    @Test
+    void shouldUseLessMemoryThanBoxedList_WhenMeasuredWithJol() {
+        // Given
+        List<Integer> request = new ArrayList<>(List.of(30, 29, 1, 3));
+
+        // When: JOL cuenta también los Integer de la lista aunque salgan de la caché compartida
+        long boxed = GraphLayout.parseInstance(List.copyOf(request)).totalSize();
+        long packed = GraphLayout.parseInstance(Ages.copyOf(request)).totalSize();
+        log.info("ages footprint: List.copyOf=" + boxed + " bytes, Ages=" + packed + " bytes");
+
+        // Then
+        assertTrue(packed < boxed, "Ages debe ocupar menos que la lista de Integer (" + packed + " vs " + boxed + ")");
+    }
+
+    @Test
+    void shouldNotAllocateMoreThanBaseline_WhenAgesPassThroughAllRecords() {
+        // Given: la lista tal como la entrega Jackson al deserializar la petición
+        List<Integer> fromJson = new ArrayList<>(List.of(30, 29, 1, 3));
+
+        // When: SearchRequestDTO -> Search -> SearchData -> SearchDTO
+        // Antes: SearchRequestDTO copiaba con List.copyOf, Search no copiaba y SearchData/SearchDTO llamaban a
+        // List.copyOf sobre una lista ya inmutable, que devuelve la misma instancia.
+        long before = allocatedPerIteration(() -> {
+            List<Integer> request = List.copyOf(fromJson);
+            List<Integer> data = List.copyOf(request);
+            return List.copyOf(request) == data ? data : null;
+        });
+        long after = allocatedPerIteration(() -> {
+            Ages request = Ages.copyOf(fromJson);
+            Ages search = Ages.copyOf(request);
+            Ages data = Ages.copyOf(search);
+            return Ages.copyOf(search) == data ? data : null;
+        });
+        log.info("ages allocation per search: List.copyOf=" + before + " bytes, Ages=" + after + " bytes");
+
+        // Then: una sola copia en ambos casos; la ganancia de Ages está en la huella, no en el número de copias
+        assertTrue(after <= before, "Ages no debe asignar más memoria por búsqueda que List.copyOf (" + after + " vs " + before + ")");
+    }
+
+    private static long allocatedPerIteration(Supplier<Object> work) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        for (int i = 0; i < ITERATIONS; i++) {
+            work.get();
+        }
+        long start = threads.getThreadAllocatedBytes(threadId);
+        Object sink = null;
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = work.get();
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - start;
+        assertNotNull(sink);
+        return allocated / ITERATIONS;
+    }
+}
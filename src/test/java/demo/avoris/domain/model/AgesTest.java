@@ -0,0 +1,87 @@
+package demo.avoris.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AgesTest {
+
+    @Test
+    void shouldBehaveAsIntegerList_WhenComparedWithBoxedList() {
+        // Given
+        List<Integer> boxed = Arrays.asList(30, 25, 5, 3);
+
+        // When
+        Ages ages = Ages.copyOf(boxed);
+
+        // Then
+        assertAll("List semantics verification",
+                () -> assertEquals(boxed, ages, "Debe ser igual a la lista original"),
+                () -> assertEquals(ages, boxed, "La igualdad debe ser simétrica"),
+                () -> assertEquals(boxed.hashCode(), ages.hashCode(), "El hashCode debe seguir el contrato de List"),
+                () -> assertEquals(4, ages.size(), "El tamaño debe coincidir"),
+                () -> assertEquals(30, ages.get(0), "El orden de entrada debe conservarse")
+        );
+    }
+
+    @Test
+    void shouldReuseSameInstance_WhenCopyingAges() {
+        // Given
+        Ages ages = Ages.of(30, 25, 5, 3);
+
+        // When & Then
+        assertSame(ages, Ages.copyOf(ages), "Copiar un Ages no debe volver a empaquetar");
+    }
+
+    @Test
+    void shouldSortAgesUnsigned_WhenAgesAboveByteRange() {
+        // Given
+        Ages ages = Ages.of(200, 3, 130, 3);
+
+        // When
+        Ages sorted = ages.sorted();
+
+        // Then
+        assertAll("Sorting verification",
+                () -> assertEquals(List.of(3, 3, 130, 200), sorted, "Debe ordenar como enteros sin signo"),
+                () -> assertSame(sorted, sorted.sorted(), "Ordenar una lista ya ordenada no debe copiar")
+        );
+    }
+
+    @Test
+    void shouldRoundTripThroughByteArray_WhenPacked() {
+        // Given
+        Ages ages = Ages.of(30, 25, 5, 3);
+
+        // When
+        byte[] packed = ages.toByteArray();
+
+        // Then
+        assertAll("Binary round trip verification",
+                () -> assertEquals(4, packed.length, "Debe ocupar un byte por edad"),
+                () -> assertEquals(ages, Ages.fromByteArray(packed), "Debe reconstruirse desde sus bytes")
+        );
+    }
+
+    @Test
+    void shouldPackBoundaryAges_WhenAgesAreInRange() {
+        // When
+        Ages ages = Ages.of(0, Ages.MAX_AGE);
+
+        // Then
+        assertAll("Range boundaries",
+                () -> assertEquals(0, ages.getInt(0), "La edad mínima debe conservarse"),
+                () -> assertEquals(Ages.MAX_AGE, ages.getInt(1), "La edad máxima debe conservarse"),
+                () -> assertThrows(NullPointerException.class, () -> Ages.copyOf(Arrays.asList(1, null)))
+        );
+    }
+
+    @Test
+    void shouldBeImmutable_WhenModificationAttempted() {
+        Ages ages = Ages.of(1, 2);
+        assertThrows(UnsupportedOperationException.class, () -> ages.add(3));
+    }
+}
@@ -0,0 +1,41 @@
+package demo.avoris.domain.model;
+
+import demo.avoris.domain.exception.InvalidConsistencyToken;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistencyTokenTest {
+
+    @Test
+    void shouldRoundTrip_WhenEncodedAndParsed() {
+        // Given
+        ConsistencyToken token = new ConsistencyToken("hotel_availability_searches", 2, 1_234_567L);
+
+        // When
+        ConsistencyToken parsed = ConsistencyToken.parse(token.encode());
+
+        // Then
+        assertAll("Consistency token round trip verification",
+                () -> assertEquals("hotel_availability_searches:2:1234567", token.encode(),
+                        "El formato debe ser topic:partition:offset"),
+                () -> assertEquals(token, parsed,
+                        "El token parseado debe coincidir con el original")
+        );
+    }
+
+    @Test
+    void shouldThrowInvalidConsistencyToken_WhenTokenIsMalformed() {
+        // When & Then
+        assertAll("Malformed consistency token verification",
+                () -> assertThrows(InvalidConsistencyToken.class, () -> ConsistencyToken.parse(null),
+                        "Debe rechazar un token null"),
+                () -> assertThrows(InvalidConsistencyToken.class, () -> ConsistencyToken.parse("topic:0"),
+                        "Debe rechazar un token sin offset"),
+                () -> assertThrows(InvalidConsistencyToken.class, () -> ConsistencyToken.parse("topic:x:1"),
+                        "Debe rechazar una partición no numérica"),
+                () -> assertThrows(InvalidConsistencyToken.class, () -> ConsistencyToken.parse(":0:1"),
+                        "Debe rechazar un topic vacío")
+        );
+    }
+}
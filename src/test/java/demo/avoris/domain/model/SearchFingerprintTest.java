@@ -0,0 +1,77 @@
+package demo.avoris.domain.model;
+
+import demo.avoris.TestDataBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchFingerprintTest {
+
+    @Test
+    void shouldProduceSameFingerprint_WhenAgesAreInDifferentOrder() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        Search reordered = new Search("other-id", search.hotelId(), search.checkIn(), search.checkOut(),
+                List.of(3, 30, 5, 25), 7);
+
+        // When & Then
+        assertEquals(SearchFingerprint.of(search), SearchFingerprint.of(reordered),
+                "La huella solo debe depender de la búsqueda normalizada");
+    }
+
+    @Test
+    void shouldProduceDifferentFingerprints_WhenAnyFieldChanges() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        SearchFingerprint base = SearchFingerprint.of(search);
+
+        // When & Then
+        assertAll("Fingerprint sensitivity verification",
+                () -> assertNotEquals(base, SearchFingerprint.of(new Search("id", "other-hotel", search.checkIn(), search.checkOut(), search.ages(), 1)),
+                        "El hotel debe formar parte de la huella"),
+                () -> assertNotEquals(base, SearchFingerprint.of(new Search("id", search.hotelId(), search.checkIn().plusDays(1), search.checkOut(), search.ages(), 1)),
+                        "El checkIn debe formar parte de la huella"),
+                () -> assertNotEquals(base, SearchFingerprint.of(new Search("id", search.hotelId(), search.checkIn(), search.checkOut().plusDays(1), search.ages(), 1)),
+                        "El checkOut debe formar parte de la huella"),
+                () -> assertNotEquals(base, SearchFingerprint.of(new Search("id", search.hotelId(), search.checkIn(), search.checkOut(), List.of(30, 25, 5, 5), 1)),
+                        "El histograma de edades debe formar parte de la huella")
+        );
+    }
+
+    @Test
+    void shouldMatchKeyFingerprint_WhenBuiltFromSearchKey() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+
+        // When & Then
+        assertEquals(SearchFingerprint.of(search), SearchFingerprint.of(SearchKey.of(search)),
+                "La huella debe ser la misma desde Search o desde SearchKey");
+    }
+
+    @Test
+    void shouldRoundTripThroughBytes_WhenSerialized() {
+        // Given
+        SearchFingerprint fingerprint = SearchFingerprint.of(TestDataBuilder.createTestSearch());
+
+        // When
+        byte[] bytes = fingerprint.toBytes();
+
+        // Then
+        assertAll("Binary round trip verification",
+                () -> assertEquals(SearchFingerprint.BYTES, bytes.length,
+                        "La huella debe ocupar 16 bytes"),
+                () -> assertEquals(fingerprint, SearchFingerprint.fromBytes(bytes),
+                        "La huella debe reconstruirse desde sus bytes"),
+                () -> assertEquals(32, fingerprint.toHex().length(),
+                        "La representación hexadecimal debe tener 32 caracteres")
+        );
+    }
+
+    @Test
+    void shouldRejectInvalidLength_WhenReadingBytes() {
+        assertThrows(IllegalArgumentException.class, () -> SearchFingerprint.fromBytes(new byte[8]),
+                "Debe rechazar huellas que no tengan 16 bytes");
+    }
+}
@@ -0,0 +1,124 @@
+package demo.avoris.infrastructure.adapter.in.kafka.consumer;
+
+import demo.avoris.domain.exception.InvalidConsistencyToken;
+import demo.avoris.domain.model.ConsistencyToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KafkaAppliedOffsetTrackerTest {
+
+    private static final String TOPIC = "test-hotel-searches";
+
+    private KafkaAppliedOffsetTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new KafkaAppliedOffsetTracker(Runnable::run, TOPIC, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void shouldCompleteImmediately_WhenOffsetAlreadyApplied() {
+        // Given
+        tracker.markApplied(TOPIC, 0, 10L);
+
+        // When
+        CompletableFuture<Void> result = tracker.awaitApplied(new ConsistencyToken(TOPIC, 0, 10L));
+
+        // Then
+        assertTrue(result.isDone(), "Un offset ya aplicado no debe esperar");
+    }
+
+    @Test
+    void shouldCompleteWaiters_WhenConsumerReachesTheirOffset() {
+        // Given
+        tracker.markApplied(TOPIC, 0, -1L);
+        tracker.markApplied(TOPIC, 1, -1L);
+        CompletableFuture<Void> first = tracker.awaitApplied(new ConsistencyToken(TOPIC, 0, 5L));
+        CompletableFuture<Void> second = tracker.awaitApplied(new ConsistencyToken(TOPIC, 0, 8L));
+        CompletableFuture<Void> otherPartition = tracker.awaitApplied(new ConsistencyToken(TOPIC, 1, 5L));
+
+        // When
+        tracker.markApplied(TOPIC, 0, 6L);
+
+        // Then
+        assertAll("Waiter release verification",
+                () -> assertTrue(first.isDone(), "Debe liberar las esperas con offset menor o igual"),
+                () -> assertFalse(second.isDone(), "No debe liberar esperas con offset mayor"),
+                () -> assertFalse(otherPartition.isDone(), "Cada partición avanza de forma independiente")
+        );
+    }
+
+    @Test
+    void shouldNeverMoveBackwards_WhenOffsetsArriveOutOfOrder() {
+        // When
+        tracker.markApplied(TOPIC, 0, 9L);
+        tracker.markApplied(TOPIC, 0, 4L);
+
+        // Then
+        assertEquals(9L, tracker.appliedOffset(TOPIC, 0), "El offset aplicado sólo puede crecer");
+    }
+
+    @Test
+    void shouldCompleteWithoutErrorAndUnpark_WhenMaxWaitElapses() throws Exception {
+        // Given
+        KafkaAppliedOffsetTracker shortWait =
+                new KafkaAppliedOffsetTracker(Runnable::run, TOPIC, Duration.ofMillis(20));
+        shortWait.markApplied(TOPIC, 0, -1L);
+
+        // When
+        CompletableFuture<Void> result = shortWait.awaitApplied(new ConsistencyToken(TOPIC, 0, 100L));
+
+        // Then
+        assertAll("Timeout verification",
+                () -> assertDoesNotThrow(() -> result.get(5, TimeUnit.SECONDS),
+                        "Al vencer la espera debe completarse sin error para caer en la consulta normal"),
+                () -> assertFalse(result.isCompletedExceptionally(), "No debe completarse con excepción"),
+                () -> assertEquals(0, shortWait.pendingOffsets(TOPIC, 0),
+                        "La espera vencida no debe dejar su offset aparcado")
+        );
+    }
+
+    @Test
+    void shouldNotWaitNorTrackPartition_WhenPartitionIsNotAssigned() {
+        // When
+        CompletableFuture<Void> result = tracker.awaitApplied(new ConsistencyToken(TOPIC, 7, 100L));
+
+        // Then
+        assertAll("Unassigned partition verification",
+                () -> assertTrue(result.isDone(), "Una partición de otra instancia no debe esperar"),
+                () -> assertEquals(-1L, tracker.appliedOffset(TOPIC, 7), "La lectura no debe crear estado")
+        );
+    }
+
+    @Test
+    void shouldRejectToken_WhenTopicIsNotConsumed() {
+        // When & Then
+        assertThrows(InvalidConsistencyToken.class,
+                () -> tracker.awaitApplied(new ConsistencyToken("other-topic", 0, 1L)),
+                "Un token de otro tópico debe rechazarse");
+    }
+
+    @Test
+    void shouldReleaseWaitersAndForgetPartition_WhenPartitionIsRevoked() {
+        // Given
+        tracker.markApplied(TOPIC, 0, 3L);
+        CompletableFuture<Void> waiter = tracker.awaitApplied(new ConsistencyToken(TOPIC, 0, 10L));
+
+        // When
+        tracker.release(TOPIC, 0);
+
+        // Then
+        assertAll("Revocation verification",
+                () -> assertTrue(waiter.isDone(), "Las esperas deben seguir con la consulta normal"),
+                () -> assertEquals(-1L, tracker.appliedOffset(TOPIC, 0), "Debe olvidarse la partición"),
+                () -> assertTrue(tracker.awaitApplied(new ConsistencyToken(TOPIC, 0, 10L)).isDone(),
+                        "Tras la revocación no debe volver a esperarse")
+        );
+    }
+}
@@ -0,0 +1,96 @@
+package demo.avoris.infrastructure.adapter.in.kafka.consumer;
+
+import demo.avoris.infrastructure.adapter.out.kafka.header.SearchKafkaHeaders;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KafkaIngestLagMeterTest {
+
+    private static final String TOPIC = "hotel_availability_searches";
+
+    private final MockClock clock = new MockClock();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+
+    private final KafkaIngestLagMeter meter = new KafkaIngestLagMeter(meterRegistry, Duration.ofSeconds(2));
+
+    @Test
+    void shouldRecordLatencyFromCreatedAtHeader_WhenRecordIsApplied() {
+        // Given
+        ConsumerRecord<String, byte[]> record = record(1, clock.wallTime());
+        clock.add(Duration.ofMillis(250));
+
+        // When
+        meter.recordApplied(record);
+
+        // Then
+        Timer latency = meterRegistry.get("search.ingest.latency").tag("partition", "1").timer();
+        assertAll("Latency verification",
+                () -> assertEquals(1, latency.count(), "Debe registrarse una muestra"),
+                () -> assertEquals(250.0, latency.totalTime(TimeUnit.MILLISECONDS), 0.001,
+                        "La muestra es el tiempo desde la creación"),
+                () -> assertTrue(Arrays.stream(latency.takeSnapshot().histogramCounts())
+                                .anyMatch(bucket -> bucket.bucket(TimeUnit.SECONDS) == 2.0),
+                        "Debe haber un bucket exacto en el SLO"));
+    }
+
+    @Test
+    void shouldIgnoreRecord_WhenCreatedAtHeaderIsMissing() {
+        // Given
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(TOPIC, 0, 0L, "key", new byte[0]);
+
+        // When
+        meter.recordApplied(record);
+
+        // Then
+        assertNull(meterRegistry.find("search.ingest.latency").timer(),
+                "Los registros de productores anteriores no deben medirse");
+    }
+
+    @Test
+    void shouldReportZeroLag_WhenNoRecordsArePending() {
+        // Given
+        meter.recordApplied(record(0, clock.wallTime()));
+        clock.add(Duration.ofSeconds(10));
+
+        // When
+        meter.recordOffsetLag(TOPIC, 0, 0);
+
+        // Then
+        assertEquals(0.0, meterRegistry.get("search.ingest.lag").tag("partition", "0").timeGauge()
+                .value(TimeUnit.MILLISECONDS), "Sin pendientes no hay espera aunque el último registro sea antiguo");
+    }
+
+    @Test
+    void shouldReportAgeOfLastAppliedRecord_WhenRecordsArePending() {
+        // Given
+        meter.recordApplied(record(0, clock.wallTime()));
+        meter.recordOffsetLag(TOPIC, 0, 500);
+
+        // When
+        clock.add(Duration.ofSeconds(3));
+
+        // Then
+        assertAll("Pending lag verification",
+                () -> assertEquals(3_000.0, meterRegistry.get("search.ingest.lag").tag("partition", "0").timeGauge()
+                        .value(TimeUnit.MILLISECONDS), 0.001, "La espera crece mientras el consumidor no avanza"),
+                () -> assertEquals(500.0, meterRegistry.get("search.ingest.lag.records").tag("partition", "0")
+                        .gauge().value(), "Debe publicarse el lag en registros"));
+    }
+
+    private static ConsumerRecord<String, byte[]> record(int partition, long createdAt) {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(TOPIC, partition, 0L, "key", new byte[0]);
+        record.headers().add(SearchKafkaHeaders.CREATED_AT, SearchKafkaHeaders.createdAt(createdAt));
+        return record;
+    }
+}
@@ -0,0 +1,124 @@
+package demo.avoris.infrastructure.adapter.in.kafka.consumer;
+
+import demo.avoris.TestDataBuilder;
+import demo.avoris.application.port.in.SearchUseCase;
+import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.adapter.in.kafka.exeption.ErrorConsumeTopic;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KafkaSearchBatchConsumer Tests")
+class KafkaSearchBatchConsumerTest {
+
+    @Mock
+    private SearchUseCase useCase;
+
+    @Mock
+    private ObjectReader searchReader;
+
+    @Mock
+    private KafkaAppliedOffsetTracker tracker;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    private KafkaSearchBatchConsumer batchConsumer;
+
+    private static final String TEST_TOPIC_NAME = "test-hotel-searches";
+
+    @BeforeEach
+    void setUp() {
+        batchConsumer = new KafkaSearchBatchConsumer(useCase, searchReader, tracker);
+    }
+
+    @Test
+    @DisplayName("Debería guardar el lote con una sola escritura y confirmar después")
+    void shouldSaveWholeBatchAndAcknowledge_WhenAllRecordsAreValid() throws Exception {
+        // Given
+        Search search1 = TestDataBuilder.createTestSearchWithId("search-1");
+        Search search2 = TestDataBuilder.createTestSearchWithId("search-2");
+        when(searchReader.readValue(bytes("m1"))).thenReturn(search1);
+        when(searchReader.readValue(bytes("m2"))).thenReturn(search2);
+        when(useCase.saveSearches(List.of(search1, search2))).thenReturn(List.of(search1, search2));
+
+        // When
+        batchConsumer.listen(List.of(record(10L, "m1"), record(11L, "m2")), acknowledgment);
+
+        // Then
+        assertAll("Batch processing verification",
+                () -> verify(useCase, times(1)).saveSearches(List.of(search1, search2)),
+                () -> verify(useCase, never()).saveSearch(any()),
+                () -> verify(acknowledgment, times(1)).acknowledge(),
+                () -> verify(tracker, times(1)).markApplied(TEST_TOPIC_NAME, 0, 11L)
+        );
+    }
+
+    @Test
+    @DisplayName("Debería guardar los registros previos e indicar el índice del registro ilegible")
+    void shouldSavePrefixAndReportIndex_WhenRecordCannotBeRead() throws Exception {
+        // Given
+        Search search1 = TestDataBuilder.createTestSearchWithId("search-1");
+        when(searchReader.readValue(bytes("m1"))).thenReturn(search1);
+        when(searchReader.readValue(bytes("bad"))).thenThrow(new RuntimeException("JSON parsing error"));
+        when(useCase.saveSearches(List.of(search1))).thenReturn(List.of(search1));
+
+        // When
+        BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class,
+                () -> batchConsumer.listen(List.of(record(10L, "m1"), record(11L, "bad"), record(12L, "m3")), acknowledgment),
+                "Debe indicar al error handler qué registro falló");
+
+        // Then
+        assertAll("Poison record verification",
+                () -> assertEquals(1, exception.getIndex(),
+                        "El índice debe apuntar al registro ilegible"),
+                () -> verify(useCase, times(1)).saveSearches(List.of(search1)),
+                () -> verify(tracker, times(1)).markApplied(TEST_TOPIC_NAME, 0, 10L),
+                () -> verify(acknowledgment, never()).acknowledge()
+        );
+    }
+
+    @Test
+    @DisplayName("No debería confirmar offsets cuando falla la escritura masiva")
+    void shouldNotAcknowledge_WhenBulkWriteFails() throws Exception {
+        // Given
+        Search search1 = TestDataBuilder.createTestSearchWithId("search-1");
+        when(searchReader.readValue(bytes("m1"))).thenReturn(search1);
+        when(useCase.saveSearches(anyList())).thenThrow(new RuntimeException("Bulk write error"));
+
+        // When & Then
+        ErrorConsumeTopic exception = assertThrows(ErrorConsumeTopic.class,
+                () -> batchConsumer.listen(List.of(record(10L, "m1")), acknowledgment),
+                "Debe lanzar ErrorConsumeTopic cuando falla la escritura");
+
+        assertAll("Bulk failure verification",
+                () -> assertTrue(exception.getMessage().contains("Bulk write error"),
+                        "El mensaje debe contener la causa del error"),
+                () -> verify(acknowledgment, never()).acknowledge(),
+                () -> verifyNoInteractions(tracker)
+        );
+    }
+
+    private static ConsumerRecord<String, byte[]> record(long offset, String value) {
+        return new ConsumerRecord<>(TEST_TOPIC_NAME, 0, offset, "key", bytes(value));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -4,7 +4,12 @@ import demo.avoris.TestDataBuilder;
 import demo.avoris.application.port.in.SearchUseCase;
 import demo.avoris.domain.model.Search;
 import demo.avoris.infrastructure.adapter.in.kafka.exeption.ErrorConsumeTopic;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import demo.avoris.infrastructure.adapter.out.kafka.header.SearchKafkaHeaders;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,6 +18,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 import static org.mockito.Mockito.*;
@@ -25,7 +37,15 @@ class KafkaSearchConsumerTest {
     private SearchUseCase useCase;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private ObjectReader searchReader;
+
+    @Mock
+    private KafkaAppliedOffsetTracker tracker;
+
+    @Mock
+    private Consumer<String, byte[]> consumer;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     private KafkaSearchConsumer kafkaSearchConsumer;
 
@@ -34,7 +54,8 @@ class KafkaSearchConsumerTest {
 
     @BeforeEach
     void setUp() {
-        kafkaSearchConsumer = new KafkaSearchConsumer(useCase, objectMapper);
+        kafkaSearchConsumer = new KafkaSearchConsumer(useCase, searchReader, tracker,
+                new KafkaIngestLagMeter(meterRegistry, Duration.ofSeconds(2)));
         // Inyectar valores usando ReflectionTestUtils para simular @Value
         ReflectionTestUtils.setField(kafkaSearchConsumer, "topicName", TEST_TOPIC_NAME);
         ReflectionTestUtils.setField(kafkaSearchConsumer, "groupId", TEST_GROUP_ID);
@@ -66,15 +87,16 @@ class KafkaSearchConsumerTest {
         Search search = TestDataBuilder.createTestSearch();
         Search savedSearch = TestDataBuilder.createTestSearchWithCount(5);
 
-        when(objectMapper.readValue(jsonMessage, Search.class)).thenReturn(search);
+        when(searchReader.readValue(bytes(jsonMessage))).thenReturn(search);
         when(useCase.saveSearch(search)).thenReturn(savedSearch);
 
         // When & Then
         assertAll("Kafka message processing success verification",
-                () -> assertDoesNotThrow(() -> kafkaSearchConsumer.listen(jsonMessage),
+                () -> assertDoesNotThrow(() -> kafkaSearchConsumer.listen(record(jsonMessage)),
                         "No debe lanzar excepción con JSON válido"),
-                () -> verify(objectMapper, times(1)).readValue(jsonMessage, Search.class),
-                () -> verify(useCase, times(1)).saveSearch(search)
+                () -> verify(searchReader, times(1)).readValue(bytes(jsonMessage)),
+                () -> verify(useCase, times(1)).saveSearch(search),
+                () -> verify(tracker, times(1)).markApplied(TEST_TOPIC_NAME, 0, 7L)
         );
     }
 
@@ -85,11 +107,11 @@ class KafkaSearchConsumerTest {
         String invalidJsonMessage = "invalid-json";
         Exception mappingException = new RuntimeException("JSON parsing error");
 
-        when(objectMapper.readValue(invalidJsonMessage, Search.class)).thenThrow(mappingException);
+        when(searchReader.readValue(bytes(invalidJsonMessage))).thenThrow(mappingException);
 
         // When & Then
         ErrorConsumeTopic exception = assertThrows(ErrorConsumeTopic.class,
-                () -> kafkaSearchConsumer.listen(invalidJsonMessage),
+                () -> kafkaSearchConsumer.listen(record(invalidJsonMessage)),
                 "Debe lanzar ErrorConsumeTopic cuando falla el parsing JSON");
 
         assertAll("ObjectMapper error handling verification",
@@ -97,7 +119,7 @@ class KafkaSearchConsumerTest {
                         "El mensaje debe contener el prefijo de error"),
                 () -> assertTrue(exception.getMessage().contains("JSON parsing error"),
                         "El mensaje debe contener la causa del error"),
-                () -> verify(objectMapper, times(1)).readValue(invalidJsonMessage, Search.class),
+                () -> verify(searchReader, times(1)).readValue(bytes(invalidJsonMessage)),
                 () -> verifyNoInteractions(useCase)
         );
     }
@@ -110,12 +132,12 @@ class KafkaSearchConsumerTest {
         Search search = TestDataBuilder.createTestSearch();
         RuntimeException useCaseException = new RuntimeException("Database error");
 
-        when(objectMapper.readValue(jsonMessage, Search.class)).thenReturn(search);
+        when(searchReader.readValue(bytes(jsonMessage))).thenReturn(search);
         when(useCase.saveSearch(search)).thenThrow(useCaseException);
 
         // When & Then
         ErrorConsumeTopic exception = assertThrows(ErrorConsumeTopic.class,
-                () -> kafkaSearchConsumer.listen(jsonMessage),
+                () -> kafkaSearchConsumer.listen(record(jsonMessage)),
                 "Debe lanzar ErrorConsumeTopic cuando falla el use case");
 
         assertAll("UseCase error handling verification",
@@ -123,8 +145,9 @@ class KafkaSearchConsumerTest {
                         "El mensaje debe contener el prefijo de error"),
                 () -> assertTrue(exception.getMessage().contains("Database error"),
                         "El mensaje debe contener la causa del error"),
-                () -> verify(objectMapper, times(1)).readValue(jsonMessage, Search.class),
-                () -> verify(useCase, times(1)).saveSearch(search)
+                () -> verify(searchReader, times(1)).readValue(bytes(jsonMessage)),
+                () -> verify(useCase, times(1)).saveSearch(search),
+                () -> verifyNoInteractions(tracker)
         );
     }
 
@@ -139,19 +162,19 @@ class KafkaSearchConsumerTest {
         Search savedSearch1 = TestDataBuilder.createTestSearchWithCount(1);
         Search savedSearch2 = TestDataBuilder.createTestSearchWithCount(2);
 
-        when(objectMapper.readValue(jsonMessage1, Search.class)).thenReturn(search1);
-        when(objectMapper.readValue(jsonMessage2, Search.class)).thenReturn(search2);
+        when(searchReader.readValue(bytes(jsonMessage1))).thenReturn(search1);
+        when(searchReader.readValue(bytes(jsonMessage2))).thenReturn(search2);
         when(useCase.saveSearch(search1)).thenReturn(savedSearch1);
         when(useCase.saveSearch(search2)).thenReturn(savedSearch2);
 
         // When & Then
         assertAll("Multiple Kafka messages handling verification",
-                () -> assertDoesNotThrow(() -> kafkaSearchConsumer.listen(jsonMessage1),
+                () -> assertDoesNotThrow(() -> kafkaSearchConsumer.listen(record(jsonMessage1)),
                         "No debe lanzar excepción con el primer mensaje"),
-                () -> assertDoesNotThrow(() -> kafkaSearchConsumer.listen(jsonMessage2),
+                () -> assertDoesNotThrow(() -> kafkaSearchConsumer.listen(record(jsonMessage2)),
                         "No debe lanzar excepción con el segundo mensaje"),
-                () -> verify(objectMapper, times(1)).readValue(jsonMessage1, Search.class),
-                () -> verify(objectMapper, times(1)).readValue(jsonMessage2, Search.class),
+                () -> verify(searchReader, times(1)).readValue(bytes(jsonMessage1)),
+                () -> verify(searchReader, times(1)).readValue(bytes(jsonMessage2)),
                 () -> verify(useCase, times(1)).saveSearch(search1),
                 () -> verify(useCase, times(1)).saveSearch(search2)
         );
@@ -165,14 +188,14 @@ class KafkaSearchConsumerTest {
         Search complexSearch = TestDataBuilder.createTestSearchWithCount(3);
         Search savedComplexSearch = TestDataBuilder.createTestSearchWithCount(3);
 
-        when(objectMapper.readValue(complexJsonMessage, Search.class)).thenReturn(complexSearch);
+        when(searchReader.readValue(bytes(complexJsonMessage))).thenReturn(complexSearch);
         when(useCase.saveSearch(complexSearch)).thenReturn(savedComplexSearch);
 
         // When & Then
         assertAll("Complex JSON message processing verification",
-                () -> assertDoesNotThrow(() -> kafkaSearchConsumer.listen(complexJsonMessage),
+                () -> assertDoesNotThrow(() -> kafkaSearchConsumer.listen(record(complexJsonMessage)),
                         "No debe lanzar excepción con JSON complejo"),
-                () -> verify(objectMapper, times(1)).readValue(complexJsonMessage, Search.class),
+                () -> verify(searchReader, times(1)).readValue(bytes(complexJsonMessage)),
                 () -> verify(useCase, times(1)).saveSearch(complexSearch)
         );
     }
@@ -184,17 +207,17 @@ class KafkaSearchConsumerTest {
         String emptyMessage = "";
         Exception mappingException = new RuntimeException("Empty message error");
 
-        when(objectMapper.readValue(emptyMessage, Search.class)).thenThrow(mappingException);
+        when(searchReader.readValue(bytes(emptyMessage))).thenThrow(mappingException);
 
         // When & Then
         ErrorConsumeTopic exception = assertThrows(ErrorConsumeTopic.class,
-                () -> kafkaSearchConsumer.listen(emptyMessage),
+                () -> kafkaSearchConsumer.listen(record(emptyMessage)),
                 "Debe lanzar ErrorConsumeTopic con mensaje vacío");
 
         assertAll("Empty message handling verification",
                 () -> assertTrue(exception.getMessage().contains("Error processing message:"),
                         "El mensaje debe contener el prefijo de error"),
-                () -> verify(objectMapper, times(1)).readValue(emptyMessage, Search.class),
+                () -> verify(searchReader, times(1)).readValue(bytes(emptyMessage)),
                 () -> verifyNoInteractions(useCase)
         );
     }
@@ -207,18 +230,74 @@ class KafkaSearchConsumerTest {
         String originalErrorMessage = "Specific database connection error";
         Exception originalException = new RuntimeException(originalErrorMessage);
 
-        when(objectMapper.readValue(jsonMessage, Search.class)).thenThrow(originalException);
+        when(searchReader.readValue(bytes(jsonMessage))).thenThrow(originalException);
 
         // When & Then
         ErrorConsumeTopic exception = assertThrows(ErrorConsumeTopic.class,
-                () -> kafkaSearchConsumer.listen(jsonMessage));
+                () -> kafkaSearchConsumer.listen(record(jsonMessage)));
 
         assertAll("Original exception propagation verification",
                 () -> assertTrue(exception.getMessage().contains("Error processing message:"),
                         "Debe contener el prefijo del mensaje de error"),
                 () -> assertTrue(exception.getMessage().contains(originalErrorMessage),
                         "Debe contener el mensaje de la excepción original"),
-                () -> verify(objectMapper, times(1)).readValue(jsonMessage, Search.class)
+                () -> verify(searchReader, times(1)).readValue(bytes(jsonMessage))
         );
     }
+
+    @Test
+    @DisplayName("Debería marcar como aplicado lo anterior a la posición asignada")
+    void shouldMarkPreviousOffsetsApplied_WhenPartitionsAreAssigned() {
+        // When
+        kafkaSearchConsumer.onPartitionsAssigned(Map.of(new TopicPartition(TEST_TOPIC_NAME, 1), 100L), null);
+
+        // Then
+        verify(tracker, times(1)).markApplied(TEST_TOPIC_NAME, 1, 99L);
+    }
+
+    @Test
+    @DisplayName("Debería soltar el offset aplicado de las particiones revocadas")
+    void shouldReleaseAppliedOffsets_WhenPartitionsAreRevoked() {
+        // When
+        kafkaSearchConsumer.onPartitionsRevoked(List.of(new TopicPartition(TEST_TOPIC_NAME, 1)));
+
+        // Then
+        verify(tracker, times(1)).release(TEST_TOPIC_NAME, 1);
+    }
+
+    @Test
+    @DisplayName("Debería medir el lag de ingesta y los registros pendientes de la partición")
+    void shouldRecordIngestLag_WhenRecordCarriesCreatedAtHeader() throws Exception {
+        // Given
+        String jsonMessage = "{\"searchId\":\"test-123\"}";
+        Search search = TestDataBuilder.createTestSearch();
+        ConsumerRecord<String, byte[]> record = record(jsonMessage);
+        record.headers().add(SearchKafkaHeaders.CREATED_AT,
+                SearchKafkaHeaders.createdAt(System.currentTimeMillis() - 1_000));
+
+        when(searchReader.readValue(bytes(jsonMessage))).thenReturn(search);
+        when(useCase.saveSearch(search)).thenReturn(search);
+        when(consumer.currentLag(new TopicPartition(TEST_TOPIC_NAME, 0))).thenReturn(OptionalLong.of(42L));
+
+        // When
+        kafkaSearchConsumer.listen(record, consumer);
+
+        // Then
+        assertAll("Ingest lag verification",
+                () -> assertEquals(1, meterRegistry.get("search.ingest.latency").tag("partition", "0").timer().count(),
+                        "Debe registrarse el tiempo de creación a persistencia"),
+                () -> assertTrue(meterRegistry.get("search.ingest.latency").timer()
+                                .totalTime(TimeUnit.MILLISECONDS) >= 1_000,
+                        "El lag debe medirse desde la cabecera de creación"),
+                () -> assertEquals(42.0, meterRegistry.get("search.ingest.lag.records").tag("partition", "0")
+                        .gauge().value(), "Debe publicarse el lag en registros del consumidor"));
+    }
+
+        private static ConsumerRecord<String, byte[]> record(String value) {
+        return new ConsumerRecord<>(TEST_TOPIC_NAME, 0, 7L, "key", bytes(value));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
 }
@@ -0,0 +1,371 @@
+package demo.avoris.infrastructure.adapter.in.kafka.consumer;
+
+import demo.avoris.TestDataBuilder;
+import demo.avoris.application.port.in.SearchUseCase;
+import demo.avoris.domain.model.Search;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KafkaSearchParallelConsumer Tests")
+class KafkaSearchParallelConsumerTest {
+
+    private static final String TOPIC = "test-hotel-searches";
+
+    private static final String DEAD_LETTER_TOPIC = TOPIC + ".DLT";
+
+    private static final Duration STOPPED_RETRY_INTERVAL = Duration.ofMillis(200);
+
+    // "a".hashCode() = 97 y "b".hashCode() = 98: con dos workers caen en workers distintos
+    private static final String KEY_LANE_ONE = "a";
+    private static final String KEY_LANE_ZERO = "b";
+
+    @Mock
+    private SearchUseCase useCase;
+
+    @Mock
+    private ObjectReader searchReader;
+
+    @Mock
+    private KafkaAppliedOffsetTracker tracker;
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Mock
+    private KafkaListenerEndpointRegistry registry;
+
+    @Mock
+    private MessageListenerContainer container;
+
+    @Captor
+    private ArgumentCaptor<ProducerRecord<String, byte[]>> deadLetterCaptor;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private KafkaSearchParallelConsumer consumer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // El payload es el searchId: cada registro se lee como su propia búsqueda
+        lenient().when(searchReader.readValue(any(byte[].class))).thenAnswer(invocation ->
+                TestDataBuilder.createTestSearchWithId(new String(invocation.<byte[]>getArgument(0), StandardCharsets.UTF_8)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (consumer != null) {
+            consumer.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería guardar en orden los registros de una misma clave")
+    void shouldKeepOrder_WhenRecordsShareKey() throws Exception {
+        // Given
+        consumer = consumer(4, 100);
+        List<String> saved = Collections.synchronizedList(new ArrayList<>());
+        when(useCase.saveSearch(any(Search.class))).thenAnswer(invocation -> {
+            Search search = invocation.getArgument(0);
+            saved.add(search.searchId());
+            return search;
+        });
+        CountDownLatch acked = new CountDownLatch(50);
+
+        // When
+        for (int offset = 0; offset < 50; offset++) {
+            consumer.listen(record(offset, "same-key", "search-" + offset), acked::countDown);
+        }
+
+        // Then
+        assertTrue(acked.await(5, TimeUnit.SECONDS), "Todos los registros deben confirmarse");
+        assertEquals(IntStream.range(0, 50).mapToObj(offset -> "search-" + offset).toList(), saved,
+                "Los registros de una misma clave deben guardarse en orden de offset");
+    }
+
+    @Test
+    @DisplayName("Debería procesar en paralelo claves de workers distintos dentro de la partición")
+    void shouldProcessInParallel_WhenKeysHashToDifferentWorkers() throws Exception {
+        // Given
+        consumer = consumer(2, 100);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        AtomicBoolean overlapped = new AtomicBoolean(true);
+        when(useCase.saveSearch(any(Search.class))).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            if (!bothStarted.await(2, TimeUnit.SECONDS)) {
+                overlapped.set(false);
+            }
+            return invocation.getArgument(0);
+        });
+        CountDownLatch acked = new CountDownLatch(2);
+
+        // When
+        consumer.listen(record(0, KEY_LANE_ONE, "search-0"), acked::countDown);
+        consumer.listen(record(1, KEY_LANE_ZERO, "search-1"), acked::countDown);
+
+        // Then
+        assertAll("Parallel processing verification",
+                () -> assertTrue(acked.await(5, TimeUnit.SECONDS), "Ambos registros deben confirmarse"),
+                () -> assertTrue(overlapped.get(), "Los dos guardados deben solaparse en el tiempo")
+        );
+    }
+
+    @Test
+    @DisplayName("No debería dar por aplicado un offset posterior a uno que sigue en proceso")
+    void shouldNotMarkAppliedPastAGap_WhenLaterOffsetFinishesFirst() throws Exception {
+        // Given
+        consumer = consumer(2, 100);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        when(useCase.saveSearch(any(Search.class))).thenAnswer(invocation -> {
+            Search search = invocation.getArgument(0);
+            if ("slow".equals(search.searchId())) {
+                releaseSlow.await(5, TimeUnit.SECONDS);
+            }
+            return search;
+        });
+        Acknowledgment slowAck = mock(Acknowledgment.class);
+        Acknowledgment fastAck = mock(Acknowledgment.class);
+
+        // When
+        consumer.listen(record(0, KEY_LANE_ONE, "slow"), slowAck);
+        consumer.listen(record(1, KEY_LANE_ZERO, "fast"), fastAck);
+        verify(fastAck, timeout(2000)).acknowledge();
+        verify(tracker, timeout(2000)).markApplied(TOPIC, 0, -1L);
+        releaseSlow.countDown();
+
+        // Then
+        assertAll("Watermark verification",
+                () -> verify(slowAck, timeout(2000)).acknowledge(),
+                () -> verify(tracker, timeout(2000)).markApplied(TOPIC, 0, 1L),
+                () -> verify(tracker, never()).markApplied(TOPIC, 0, 0L)
+        );
+    }
+
+    @Test
+    @DisplayName("Debería reintentar, publicar en el dead-letter topic y después confirmar cuando el guardado falla siempre")
+    void shouldRetryThenDeadLetter_WhenSaveKeepsFailing() {
+        // Given
+        consumer = consumer(2, 100);
+        when(useCase.saveSearch(any(Search.class))).thenThrow(new RuntimeException("Database error"));
+        when(kafkaTemplate.send(anyRecord())).thenReturn(CompletableFuture.completedFuture(null));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        // When
+        consumer.listen(record(0, KEY_LANE_ONE, "search-0"), acknowledgment);
+
+        // Then
+        verify(acknowledgment, timeout(3000)).acknowledge();
+        ProducerRecord<String, byte[]> deadLetter = sentDeadLetter();
+        assertAll("Retry verification",
+                () -> verify(useCase, times(KafkaSearchParallelConsumer.MAX_RETRIES + 1)).saveSearch(any(Search.class)),
+                () -> verify(tracker).markApplied(TOPIC, 0, 0L),
+                () -> assertEquals(DEAD_LETTER_TOPIC, deadLetter.topic(), "Debe publicarse en el dead-letter topic"),
+                () -> assertEquals(KEY_LANE_ONE, deadLetter.key(), "Debe conservarse la clave"),
+                () -> assertEquals("search-0", new String(deadLetter.value(), StandardCharsets.UTF_8),
+                        "Debe conservarse el payload"),
+                () -> assertEquals(TOPIC, new String(deadLetter.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_TOPIC)
+                        .value(), StandardCharsets.UTF_8), "Debe indicarse el topic de origen"),
+                () -> assertEquals("Database error", new String(deadLetter.headers()
+                        .lastHeader(KafkaHeaders.DLT_EXCEPTION_MESSAGE).value(), StandardCharsets.UTF_8),
+                        "Debe indicarse el error")
+        );
+    }
+
+    @Test
+    @DisplayName("No debería confirmar y debería detener la partición mientras tampoco se puede publicar en el dead-letter topic")
+    void shouldStopPartitionWithoutAck_WhenDeadLetterFails() {
+        // Given
+        consumer = consumer(2, 100);
+        when(registry.getListenerContainer(KafkaSearchParallelConsumer.LISTENER_ID)).thenReturn(container);
+        when(useCase.saveSearch(any(Search.class))).thenThrow(new RuntimeException("Database error"));
+        when(kafkaTemplate.send(anyRecord()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        // When
+        consumer.listen(record(0, KEY_LANE_ONE, "search-0"), acknowledgment);
+
+        // Then
+        verify(container, timeout(3000)).pausePartition(new TopicPartition(TOPIC, 0));
+        assertAll("Stopped partition verification",
+                () -> verify(kafkaTemplate, timeout(5000).atLeast(2)).send(anyRecord()),
+                () -> verify(acknowledgment, never()).acknowledge(),
+                () -> verify(tracker, never()).markApplied(TOPIC, 0, 0L),
+                () -> verify(container, never()).resumePartition(any(TopicPartition.class)),
+                () -> assertEquals(1.0, stoppedPartitions(), "Debe publicarse la partición detenida")
+        );
+    }
+
+    @Test
+    @DisplayName("Debería confirmar y reanudar la partición detenida cuando el dead-letter topic vuelve a aceptar")
+    void shouldRecoverStoppedPartition_WhenDeadLetterSucceedsOnRetry() {
+        // Given
+        consumer = consumer(2, 100);
+        when(registry.getListenerContainer(KafkaSearchParallelConsumer.LISTENER_ID)).thenReturn(container);
+        when(useCase.saveSearch(any(Search.class))).thenThrow(new RuntimeException("Database error"));
+        when(kafkaTemplate.send(anyRecord()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+        TopicPartition partition = new TopicPartition(TOPIC, 0);
+
+        // When
+        consumer.listen(record(0, KEY_LANE_ONE, "search-0"), acknowledgment);
+
+        // Then
+        verify(acknowledgment, timeout(5000)).acknowledge();
+        assertAll("Recovered partition verification",
+                () -> verify(tracker).markApplied(TOPIC, 0, 0L),
+                () -> verify(container).pausePartition(partition),
+                () -> verify(container, timeout(2000)).resumePartition(partition),
+                () -> assertEquals(0.0, stoppedPartitions(), "La partición ya no debe contar como detenida")
+        );
+    }
+
+    @Test
+    @DisplayName("Debería dejar de reintentar y reanudar la partición detenida al perderla")
+    void shouldResumeAndStopRetrying_WhenStoppedPartitionIsRevoked() {
+        // Given
+        consumer = consumer(2, 100);
+        when(registry.getListenerContainer(KafkaSearchParallelConsumer.LISTENER_ID)).thenReturn(container);
+        when(useCase.saveSearch(any(Search.class))).thenThrow(new RuntimeException("Database error"));
+        when(kafkaTemplate.send(anyRecord()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+        TopicPartition partition = new TopicPartition(TOPIC, 0);
+        consumer.listen(record(0, KEY_LANE_ONE, "search-0"), acknowledgment);
+        verify(container, timeout(3000)).pausePartition(partition);
+
+        // When
+        long start = System.nanoTime();
+        consumer.onPartitionsRevoked(List.of(partition));
+        long closeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertAll("Revoked stopped partition verification",
+                () -> verify(container).resumePartition(partition),
+                () -> verify(container, times(1)).pausePartition(partition),
+                () -> verify(acknowledgment, never()).acknowledge(),
+                () -> assertTrue(closeMillis < 5_000, "El worker detenido debe salir sin esperar al drenaje: " + closeMillis),
+                () -> assertEquals(0.0, stoppedPartitions(), "Una partición perdida no cuenta como detenida")
+        );
+    }
+
+    @Test
+    @DisplayName("Debería publicar en el dead-letter topic y confirmar sin guardar un registro ilegible")
+    void shouldDeadLetterAndAcknowledge_WhenRecordIsUnreadable() throws Exception {
+        // Given
+        consumer = consumer(2, 100);
+        doThrow(new RuntimeException("JSON parsing error")).when(searchReader).readValue(any(byte[].class));
+        when(kafkaTemplate.send(anyRecord())).thenReturn(CompletableFuture.completedFuture(null));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        // When
+        consumer.listen(record(0, KEY_LANE_ONE, "invalid-json"), acknowledgment);
+
+        // Then
+        assertAll("Unreadable record verification",
+                () -> verify(acknowledgment, timeout(2000)).acknowledge(),
+                () -> assertEquals(DEAD_LETTER_TOPIC, sentDeadLetter().topic(), "Debe publicarse en el dead-letter topic"),
+                () -> verifyNoInteractions(useCase)
+        );
+    }
+
+    @Test
+    @DisplayName("Debería pausar la partición sin bloquear al alcanzar max-in-flight y reanudarla al bajar a la mitad")
+    void shouldPauseAndResumePartition_WhenMaxInFlightIsReached() throws Exception {
+        // Given
+        consumer = consumer(2, 2);
+        when(registry.getListenerContainer(KafkaSearchParallelConsumer.LISTENER_ID)).thenReturn(container);
+        CountDownLatch release = new CountDownLatch(1);
+        when(useCase.saveSearch(any(Search.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        CountDownLatch acked = new CountDownLatch(3);
+        TopicPartition partition = new TopicPartition(TOPIC, 0);
+
+        // When
+        consumer.listen(record(0, KEY_LANE_ONE, "search-0"), acked::countDown);
+        consumer.listen(record(1, KEY_LANE_ZERO, "search-1"), acked::countDown);
+        consumer.listen(record(2, KEY_LANE_ONE, "search-2"), acked::countDown);
+        verify(container).pausePartition(partition);
+        verify(container, never()).resumePartition(partition);
+        release.countDown();
+
+        // Then
+        assertAll("Back-pressure verification",
+                () -> assertTrue(acked.await(5, TimeUnit.SECONDS), "Los registros del poll en curso deben procesarse"),
+                () -> verify(container, timeout(2000)).resumePartition(partition),
+                () -> verify(container, times(1)).pausePartition(partition)
+        );
+    }
+
+    @Test
+    @DisplayName("Debería marcar como aplicado lo anterior a la posición asignada")
+    void shouldMarkPreviousOffsetApplied_WhenPartitionsAreAssigned() {
+        // Given
+        consumer = consumer(2, 100);
+
+        // When
+        consumer.onPartitionsAssigned(Map.of(new TopicPartition(TOPIC, 3), 42L), null);
+
+        // Then
+        verify(tracker).markApplied(TOPIC, 3, 41L);
+    }
+
+    private KafkaSearchParallelConsumer consumer(int concurrency, int maxInFlight) {
+        return new KafkaSearchParallelConsumer(useCase, searchReader, tracker, kafkaTemplate, registry, meterRegistry,
+                DEAD_LETTER_TOPIC, concurrency, maxInFlight, STOPPED_RETRY_INTERVAL);
+    }
+
+    private ProducerRecord<String, byte[]> sentDeadLetter() {
+        verify(kafkaTemplate).send(deadLetterCaptor.capture());
+        return deadLetterCaptor.getValue();
+    }
+
+    private double stoppedPartitions() {
+        return meterRegistry.get("search.ingest.stopped.partitions").gauge().value();
+    }
+
+    private static ProducerRecord<String, byte[]> anyRecord() {
+        return any();
+    }
+
+    private static ConsumerRecord<String, byte[]> record(long offset, String key, String payload) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, key, payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,43 @@
+package demo.avoris.infrastructure.adapter.in.kafka.consumer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionOffsetWatermarkTest {
+
+    @Test
+    void shouldNotAdvancePastAGap_WhenLaterOffsetsFinishFirst() {
+        // Given
+        PartitionOffsetWatermark watermark = new PartitionOffsetWatermark();
+        watermark.dispatched(10);
+        watermark.dispatched(11);
+        watermark.dispatched(12);
+
+        // When
+        long afterTwelve = watermark.completed(12);
+        long afterEleven = watermark.completed(11);
+        long afterTen = watermark.completed(10);
+
+        // Then
+        assertAll("Watermark verification",
+                () -> assertEquals(9L, afterTwelve, "Con el 10 y el 11 pendientes sólo se puede dar por aplicado el 9"),
+                () -> assertEquals(9L, afterEleven, "Con el 10 pendiente sólo se puede dar por aplicado el 9"),
+                () -> assertEquals(12L, afterTen, "Al cerrar el hueco el límite salta al último despachado")
+        );
+    }
+
+    @Test
+    void shouldAdvanceOneByOne_WhenOffsetsFinishInOrder() {
+        // Given
+        PartitionOffsetWatermark watermark = new PartitionOffsetWatermark();
+        watermark.dispatched(0);
+        watermark.dispatched(1);
+
+        // When & Then
+        assertAll("Watermark verification",
+                () -> assertEquals(0L, watermark.completed(0), "Terminar el primero lo deja aplicado"),
+                () -> assertEquals(1L, watermark.completed(1), "Terminar el segundo lo deja aplicado")
+        );
+    }
+}
@@ -0,0 +1,141 @@
+package demo.avoris.infrastructure.adapter.in.kafka.consumer;
+
+import demo.avoris.TestDataBuilder;
+import demo.avoris.application.port.in.ReactiveSearchUseCase;
+import demo.avoris.domain.model.Search;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.core.JsonParseException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOffset;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveKafkaSearchConsumerTest {
+
+    @Mock
+    private KafkaReceiver<String, byte[]> receiver;
+
+    @Mock
+    private ReactiveSearchUseCase useCase;
+
+    @Mock
+    private ObjectReader searchReader;
+
+    private ReactiveKafkaSearchConsumer consumer;
+
+    private static final String TEST_TOPIC_NAME = "test-hotel-searches";
+
+    @BeforeEach
+    void setUp() {
+        consumer = new ReactiveKafkaSearchConsumer(receiver, useCase, searchReader);
+    }
+
+    @Test
+    void shouldSaveAndAcknowledge_WhenRecordIsValid() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        ReceiverOffset offset = mock(ReceiverOffset.class);
+        ReceiverRecord<String, byte[]> record = record(0, 7L, "{\"valid\":true}", offset);
+        when(searchReader.readValue(record.value())).thenReturn(search);
+        when(useCase.saveSearch(search)).thenReturn(Mono.just(search));
+
+        // When & Then
+        StepVerifier.create(consumer.process(record)).verifyComplete();
+        assertAll("Processed record verification",
+                () -> verify(useCase, times(1)).saveSearch(search),
+                () -> verify(offset, times(1)).acknowledge()
+        );
+    }
+
+    @Test
+    void shouldSkipAndAcknowledge_WhenRecordCannotBeRead() throws Exception {
+        // Given
+        ReceiverOffset offset = mock(ReceiverOffset.class);
+        when(offset.topicPartition()).thenReturn(new TopicPartition(TEST_TOPIC_NAME, 0));
+        ReceiverRecord<String, byte[]> record = record(0, 8L, "not json", offset);
+        when(searchReader.readValue(record.value())).thenThrow(new JsonParseException(null, "Unexpected token"));
+
+        // When & Then
+        StepVerifier.create(consumer.process(record)).verifyComplete();
+        assertAll("Unreadable record verification",
+                () -> verifyNoInteractions(useCase),
+                () -> verify(offset, times(1)).acknowledge()
+        );
+    }
+
+    @Test
+    void shouldRetrySave_WhenMongoFailsTransiently() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        ReceiverOffset offset = mock(ReceiverOffset.class);
+        ReceiverRecord<String, byte[]> record = record(0, 9L, "{\"valid\":true}", offset);
+        AtomicInteger attempts = new AtomicInteger();
+        when(searchReader.readValue(record.value())).thenReturn(search);
+        when(useCase.saveSearch(search)).thenReturn(Mono.defer(() -> attempts.incrementAndGet() < 3
+                ? Mono.error(new IllegalStateException("Mongo timeout"))
+                : Mono.just(search)));
+
+        // When & Then
+        StepVerifier.withVirtualTime(() -> consumer.process(record))
+                .thenAwait(Duration.ofSeconds(10))
+                .verifyComplete();
+        assertAll("Retry verification",
+                () -> assertEquals(3, attempts.get(), "Debe reintentar el guardado hasta que funcione"),
+                () -> verify(offset, times(1)).acknowledge()
+        );
+    }
+
+    @Test
+    void shouldProcessEveryPartition_WhenConsuming() throws Exception {
+        // Given
+        Search first = TestDataBuilder.createTestSearchWithId("first");
+        Search second = TestDataBuilder.createTestSearchWithId("second");
+        ReceiverOffset firstOffset = offsetOf(0);
+        ReceiverOffset secondOffset = offsetOf(1);
+        ReceiverRecord<String, byte[]> firstRecord = record(0, 0L, "{\"first\":true}", firstOffset);
+        ReceiverRecord<String, byte[]> secondRecord = record(1, 0L, "{\"second\":true}", secondOffset);
+        when(receiver.receive()).thenReturn(Flux.just(firstRecord, secondRecord));
+        when(searchReader.readValue(firstRecord.value())).thenReturn(first);
+        when(searchReader.readValue(secondRecord.value())).thenReturn(second);
+        when(useCase.saveSearch(any(Search.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // When & Then
+        StepVerifier.create(consumer.consume()).verifyComplete();
+        assertAll("Consume verification",
+                () -> verify(useCase, times(1)).saveSearch(first),
+                () -> verify(useCase, times(1)).saveSearch(second),
+                () -> verify(firstOffset, times(1)).acknowledge(),
+                () -> verify(secondOffset, times(1)).acknowledge()
+        );
+    }
+
+    private static ReceiverOffset offsetOf(int partition) {
+        ReceiverOffset offset = mock(ReceiverOffset.class);
+        when(offset.topicPartition()).thenReturn(new TopicPartition(TEST_TOPIC_NAME, partition));
+        return offset;
+    }
+
+    private static ReceiverRecord<String, byte[]> record(int partition, long offset, String value, ReceiverOffset receiverOffset) {
+        ConsumerRecord<String, byte[]> consumerRecord = new ConsumerRecord<>(TEST_TOPIC_NAME, partition, offset,
+                "key", value.getBytes(StandardCharsets.UTF_8));
+        return new ReceiverRecord<>(consumerRecord, receiverOffset);
+    }
+}
@@ -0,0 +1,154 @@
+package demo.avoris.infrastructure.adapter.in.web;
+
+import demo.avoris.TestDataBuilder;
+import demo.avoris.application.port.in.SearchUseCase;
+import demo.avoris.infrastructure.adapter.in.web.handler.SearchExceptionHandler;
+import demo.avoris.infrastructure.config.JacksonConfig;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 10.000 peticiones {@code GET /search/{searchId}} en vuelo a la vez contra Tomcat real, con hilos de plataforma
+ * y con hilos virtuales ({@code spring.threads.virtual.enabled}, la propiedad del perfil {@code virtual}).
+ *
+ * <p>El caso de uso es un mock que bloquea {@link #BACKEND_LATENCY} por petición, como la consulta a Mongo. Se
+ * mide cuántas peticiones llegan a estar dentro del controlador a la vez y el p99 visto por el cliente. Con hilos
+ * de plataforma la concurrencia se queda en los 200 hilos de Tomcat y el resto espera en cola; con hilos
+ * virtuales el límite pasa a ser {@code server.tomcat.max-connections}.</p>
+ *
+ * <p>Fuera del build normal; abre unas 20.000 conexiones locales, así que necesita {@code ulimit -n} holgado:</p>
+ * <pre>mvn -Pload test</pre>
+ */
+@Tag("load")
+class SearchControllerLoadTest {
+
+    private static final int IN_FLIGHT = 10_000;
+
+    private static final int TOMCAT_PLATFORM_THREADS = 200;
+
+    private static final Duration BACKEND_LATENCY = Duration.ofMillis(50);
+
+    @ParameterizedTest(name = "virtual threads = {0}")
+    @ValueSource(booleans = {false, true})
+    void shouldServeTenThousandInFlightRequests(boolean virtualThreads) throws Exception {
+        // Given
+        AtomicInteger inHandler = new AtomicInteger();
+        AtomicInteger peakInHandler = new AtomicInteger();
+        SearchUseCase searchUseCase = mock(SearchUseCase.class, withSettings().stubOnly());
+        when(searchUseCase.getHotelCount(anyString())).thenAnswer(invocation -> {
+            peakInHandler.accumulateAndGet(inHandler.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(BACKEND_LATENCY);
+                return TestDataBuilder.createTestSearchDetailResponseDTO();
+            } finally {
+                inHandler.decrementAndGet();
+            }
+        });
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LoadTestApplication.class)
+                .initializers(ctx -> ctx.getBeanFactory().registerSingleton("searchUseCase", searchUseCase))
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.max-connections=" + 2 * IN_FLIGHT,
+                        "server.tomcat.accept-count=" + IN_FLIGHT)
+                .run();
+             ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clientExecutor)
+                     .build()) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+            HttpRequest request = HttpRequest.newBuilder(URI.create(
+                            "http://localhost:" + port + contextPath + "/search/" + TestDataBuilder.TEST_SEARCH_ID))
+                    .timeout(Duration.ofMinutes(1))
+                    .build();
+
+            // When
+            long[] latencies = new long[IN_FLIGHT];
+            List<CompletableFuture<Integer>> responses = new ArrayList<>(IN_FLIGHT);
+            long start = System.nanoTime();
+            for (int i = 0; i < IN_FLIGHT; i++) {
+                int slot = i;
+                long sent = System.nanoTime();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .thenApply(response -> {
+                            latencies[slot] = System.nanoTime() - sent;
+                            return response.statusCode();
+                        }));
+            }
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get(2, TimeUnit.MINUTES);
+            long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            Arrays.sort(latencies);
+            long p99Millis = TimeUnit.NANOSECONDS.toMillis(latencies[(int) Math.ceil(0.99 * IN_FLIGHT) - 1]);
+            System.out.printf("virtual=%s in-flight=%d peak-in-handler=%d p99=%dms wall=%dms%n",
+                    virtualThreads, IN_FLIGHT, peakInHandler.get(), p99Millis, wallMillis);
+
+            // Then
+            assertAll("Load verification",
+                    () -> assertTrue(responses.stream().allMatch(response -> response.join() == 200),
+                            "Todas las peticiones deben responder 200"),
+                    () -> {
+                        if (virtualThreads) {
+                            assertTrue(peakInHandler.get() > TOMCAT_PLATFORM_THREADS,
+                                    "Con hilos virtuales la concurrencia no debe quedar limitada por el pool de Tomcat");
+                        } else {
+                            assertTrue(peakInHandler.get() <= TOMCAT_PLATFORM_THREADS,
+                                    "Con hilos de plataforma la concurrencia la limita el pool de Tomcat");
+                        }
+                    }
+            );
+        }
+    }
+
+    /**
+     * Sólo la capa web: sin Mongo ni Kafka, con el caso de uso registrado como mock.
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = {
+            MongoAutoConfiguration.class,
+            MongoDataAutoConfiguration.class,
+            MongoRepositoriesAutoConfiguration.class,
+            MongoReactiveAutoConfiguration.class,
+            MongoReactiveDataAutoConfiguration.class,
+            MongoReactiveRepositoriesAutoConfiguration.class,
+            KafkaAutoConfiguration.class})
+    @Import({SearchController.class, SearchExceptionHandler.class, JacksonConfig.class})
+    static class LoadTestApplication {
+    }
+}
@@ -1,11 +1,15 @@
 package demo.avoris.infrastructure.adapter.in.web;
 
 import demo.avoris.TestDataBuilder;
+import demo.avoris.application.dto.SearchBatchItemDTO;
+import demo.avoris.application.dto.SearchBatchResponseDTO;
 import demo.avoris.application.dto.SearchDetailResponseDTO;
+import demo.avoris.application.dto.SearchLookupItemDTO;
 import demo.avoris.application.dto.SearchRequestDTO;
 import demo.avoris.application.dto.SearchResponseDTO;
 import demo.avoris.application.port.in.SearchUseCase;
 import demo.avoris.domain.exception.InvalidCheckIn;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,7 +17,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,7 +42,7 @@ class SearchControllerTest {
 
     @BeforeEach
     void setUp() {
-        searchController = new SearchController(searchUseCase);
+        searchController = new SearchController(searchUseCase, new ObjectMapper().findAndRegisterModules());
     }
 
     @Test
@@ -79,6 +92,55 @@ class SearchControllerTest {
         );
     }
 
+    @Test
+    void shouldGetSearchDetailAfterToken_WhenConsistencyTokenProvided() {
+        // Given
+        String searchId = TestDataBuilder.TEST_SEARCH_ID;
+        String token = "hotel_availability_searches:0:42";
+        SearchDetailResponseDTO expectedResponse = TestDataBuilder.createTestSearchDetailResponseDTO();
+        when(searchUseCase.getHotelCountAfter(searchId, token))
+                .thenReturn(CompletableFuture.completedFuture(expectedResponse));
+
+        // When
+        ResponseEntity<SearchDetailResponseDTO> result = searchController.getSearchDetailAfter(searchId, token).join();
+
+        // Then
+        assertAll("Get search detail after token verification",
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode(),
+                        "El status debe ser 200 OK"),
+                () -> assertEquals(expectedResponse, result.getBody(),
+                        "El body debe ser el devuelto por el use case"),
+                () -> verify(searchUseCase, never()).getHotelCount(any())
+        );
+    }
+
+    @Test
+    void shouldStreamNdjsonLines_WhenLookingUpSeveralIds() throws Exception {
+        // Given
+        List<String> ids = List.of("search-1", "missing");
+        when(searchUseCase.lookupHotelCounts(ids)).thenReturn(Stream.of(
+                new SearchLookupItemDTO("search-1", true, TestDataBuilder.createTestSearchDTO(), 3),
+                new SearchLookupItemDTO("missing", false, null, null)));
+
+        // When
+        ResponseEntity<StreamingResponseBody> result = searchController.lookupSearches(ids);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        result.getBody().writeTo(out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+        // Then
+        assertAll("Lookup streaming verification",
+                () -> assertEquals(MediaType.APPLICATION_NDJSON, result.getHeaders().getContentType(),
+                        "La respuesta debe ser NDJSON"),
+                () -> assertEquals(2, lines.length,
+                        "Debe haber una línea por id"),
+                () -> assertTrue(lines[0].contains("\"found\":true") && lines[0].contains("\"count\":3"),
+                        "La primera línea debe llevar la búsqueda encontrada"),
+                () -> assertEquals("{\"searchId\":\"missing\",\"found\":false}", lines[1],
+                        "El id inexistente debe marcarse sin lanzar excepción")
+        );
+    }
+
     @Test
     void shouldCreateSearchSuccessfully_WhenValidRequestProvided() {
         // Given
@@ -103,6 +165,48 @@ class SearchControllerTest {
         );
     }
 
+    @Test
+    void shouldRespondAccepted_WhenRespondAcceptedIsEnabled() {
+        // Given
+        SearchRequestDTO request = TestDataBuilder.createTestSearchRequestDTO();
+        SearchResponseDTO expectedResponse = TestDataBuilder.createTestSearchResponseDTO();
+        when(searchUseCase.createSearch(request)).thenReturn(expectedResponse);
+        ReflectionTestUtils.setField(searchController, "respondAccepted", true);
+
+        // When
+        ResponseEntity<SearchResponseDTO> result = searchController.createSearch(request);
+
+        // Then
+        assertAll("Create search accepted verification",
+                () -> assertEquals(HttpStatus.ACCEPTED, result.getStatusCode(),
+                        "El status debe ser 202 Accepted"),
+                () -> assertEquals(expectedResponse, result.getBody(),
+                        "El body debe ser la respuesta del use case"),
+                () -> verify(searchUseCase, times(1)).createSearch(request)
+        );
+    }
+
+    @Test
+    void shouldCreateSearchesSuccessfully_WhenBatchProvided() {
+        // Given
+        List<SearchRequestDTO> requests = List.of(TestDataBuilder.createTestSearchRequestDTO());
+        SearchBatchResponseDTO expectedResponse = new SearchBatchResponseDTO(1, 0,
+                List.of(new SearchBatchItemDTO(0, TestDataBuilder.TEST_SEARCH_ID, "hotel_availability_searches:0:42", null)));
+        when(searchUseCase.createSearches(requests)).thenReturn(expectedResponse);
+
+        // When
+        ResponseEntity<SearchBatchResponseDTO> result = searchController.createSearches(requests);
+
+        // Then
+        assertAll("Create searches batch verification",
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode(),
+                        "El status debe ser 200 OK"),
+                () -> assertEquals(expectedResponse, result.getBody(),
+                        "El body debe ser el devuelto por el use case"),
+                () -> verify(searchUseCase, never()).createSearch(any())
+        );
+    }
+
     @Test
     void shouldPropagateInvalidCheckInException_WhenInvalidDatesProvided() {
         // Given
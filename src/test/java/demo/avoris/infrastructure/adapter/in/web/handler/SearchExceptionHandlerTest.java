@@ -1,9 +1,14 @@
 package demo.avoris.infrastructure.adapter.in.web.handler;
 
 import demo.avoris.domain.exception.InvalidCheckIn;
+import demo.avoris.domain.exception.InvalidConsistencyToken;
+import demo.avoris.domain.exception.InvalidSearchBatch;
 import demo.avoris.infrastructure.adapter.in.web.dto.ErrorResponseDTO;
+import demo.avoris.infrastructure.adapter.out.kafka.exeption.PublishCapacityExceededException;
 import demo.avoris.infrastructure.adapter.out.mongo.exeption.SearchNotFoundException;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -11,11 +16,13 @@ import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -36,8 +43,9 @@ class SearchExceptionHandlerTest {
     @Mock
     private BindingResult bindingResult;
 
-    @InjectMocks
-    private SearchExceptionHandler searchExceptionHandler;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SearchExceptionHandler searchExceptionHandler = new SearchExceptionHandler(meterRegistry);
 
     private static final String TEST_PATH = "/demo-avoris/search";
 
@@ -69,6 +77,68 @@ class SearchExceptionHandlerTest {
         assertNotNull(errorResponse.timestamp());
     }
 
+    @Test
+    void handleInvalidConsistencyToken_ShouldReturnBadRequest() {
+        // Given
+        String errorMessage = "Consistency token must be topic:partition:offset, got: abc";
+        InvalidConsistencyToken exception = new InvalidConsistencyToken(errorMessage);
+
+        // When
+        ResponseEntity<ErrorResponseDTO> response = searchExceptionHandler.handleInvalidConsistencyToken(exception, request);
+
+        // Then
+        assertNotNull(response);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+
+        ErrorResponseDTO errorResponse = response.getBody();
+        assertNotNull(errorResponse);
+        assertEquals(400, errorResponse.status());
+        assertEquals("Bad Request", errorResponse.error());
+        assertTrue(errorResponse.message().contains(errorMessage));
+        assertEquals(TEST_PATH, errorResponse.path());
+    }
+
+    @Test
+    void handleInvalidSearchBatch_ShouldReturnBadRequest() {
+        // Given
+        String errorMessage = "A batch accepts at most 1000 searches, got 1001.";
+        InvalidSearchBatch exception = new InvalidSearchBatch(errorMessage);
+
+        // When
+        ResponseEntity<ErrorResponseDTO> response = searchExceptionHandler.handleInvalidSearchBatch(exception, request);
+
+        // Then
+        assertNotNull(response);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+
+        ErrorResponseDTO errorResponse = response.getBody();
+        assertNotNull(errorResponse);
+        assertEquals(400, errorResponse.status());
+        assertTrue(errorResponse.message().contains(errorMessage));
+        assertEquals(TEST_PATH, errorResponse.path());
+    }
+
+    @Test
+    void handlePublishCapacityExceeded_ShouldReturnServiceUnavailableWithRetryAfter() {
+        // Given
+        String errorMessage = "Too many searches waiting for Kafka (max-in-flight 1000)";
+        PublishCapacityExceededException exception = new PublishCapacityExceededException(errorMessage);
+
+        // When
+        ResponseEntity<ErrorResponseDTO> response = searchExceptionHandler.handlePublishCapacityExceeded(exception, request);
+
+        // Then
+        assertNotNull(response);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+        ErrorResponseDTO errorResponse = response.getBody();
+        assertNotNull(errorResponse);
+        assertEquals(503, errorResponse.status());
+        assertTrue(errorResponse.message().contains(errorMessage));
+        assertEquals(TEST_PATH, errorResponse.path());
+    }
+
     @Test
     void handleSearchNotFound_ShouldReturnNotFound() {
         // Given
@@ -220,4 +290,45 @@ class SearchExceptionHandlerTest {
         assertEquals("Validation Failed", errorResponse.error());
         assertTrue(errorResponse.message().contains("Validation failed for the request"));
     }
+
+    @Test
+    void handleNotReadable_ShouldReturnBadRequest() {
+        // Given
+        HttpMessageNotReadableException exception = new HttpMessageNotReadableException(
+                "Age out of range [0, 255]: -1", mock(HttpInputMessage.class));
+
+        // When
+        ResponseEntity<ErrorResponseDTO> response = searchExceptionHandler.handleNotReadable(exception, request);
+
+        // Then
+        assertNotNull(response);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+
+        ErrorResponseDTO errorResponse = response.getBody();
+        assertNotNull(errorResponse);
+        assertEquals(400, errorResponse.status());
+        assertEquals("Bad Request", errorResponse.error());
+        assertEquals(TEST_PATH, errorResponse.path());
+    }
+
+    @Test
+    void handlers_ShouldCountErrorsByExceptionAndStatus() {
+        // Given
+        SearchNotFoundException notFound = new SearchNotFoundException("missing");
+        InvalidCheckIn invalidCheckIn = new InvalidCheckIn("past");
+
+        // When
+        searchExceptionHandler.handleSearchNotFound(notFound, request);
+        searchExceptionHandler.handleSearchNotFound(notFound, request);
+        searchExceptionHandler.handleInvalidCheckIn(invalidCheckIn, request);
+
+        // Then
+        assertAll("Error counters verification",
+                () -> assertEquals(2.0, meterRegistry.get("search.errors")
+                        .tag("exception", "SearchNotFoundException").tag("status", "404").counter().count(),
+                        "Cada búsqueda no encontrada debe contarse con su estado"),
+                () -> assertEquals(1.0, meterRegistry.get("search.errors")
+                        .tag("exception", "InvalidCheckIn").tag("status", "400").counter().count(),
+                        "Cada tipo de excepción debe tener su propio contador"));
+    }
 }
@@ -0,0 +1,72 @@
+package demo.avoris.infrastructure.adapter.in.web.jfr;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrEndpointTokenFilterTest {
+
+    private static final String TOKEN = "s3cr3t";
+
+    @Test
+    void shouldPassRequest_WhenTokenMatches() throws Exception {
+        // Given
+        MockHttpServletRequest request = request(TOKEN);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        new JfrEndpointTokenFilter(TOKEN).doFilter(request, response, chain);
+
+        // Then
+        assertAll("Valid token verification",
+                () -> assertEquals(200, response.getStatus(), "Con el token correcto no debe rechazarse"),
+                () -> assertSame(request, chain.getRequest(), "La petición debe llegar al endpoint"));
+    }
+
+    @Test
+    void shouldRejectRequest_WhenTokenIsWrongOrMissing() throws Exception {
+        // Given
+        MockHttpServletResponse wrong = new MockHttpServletResponse();
+        MockHttpServletResponse missing = new MockHttpServletResponse();
+        MockFilterChain wrongChain = new MockFilterChain();
+        MockFilterChain missingChain = new MockFilterChain();
+
+        // When
+        new JfrEndpointTokenFilter(TOKEN).doFilter(request("other"), wrong, wrongChain);
+        new JfrEndpointTokenFilter(TOKEN).doFilter(request(null), missing, missingChain);
+
+        // Then
+        assertAll("Invalid token verification",
+                () -> assertEquals(401, wrong.getStatus(), "Un token distinto debe rechazarse"),
+                () -> assertNull(wrongChain.getRequest(), "No debe llegar al endpoint"),
+                () -> assertEquals(401, missing.getStatus(), "Sin cabecera debe rechazarse"),
+                () -> assertNull(missingChain.getRequest(), "No debe llegar al endpoint"));
+    }
+
+    @Test
+    void shouldRejectEveryRequest_WhenNoTokenIsConfigured() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        new JfrEndpointTokenFilter("").doFilter(request(""), response, chain);
+
+        // Then
+        assertAll("Unconfigured token verification",
+                () -> assertEquals(401, response.getStatus(), "Sin token configurado el endpoint queda cerrado"),
+                () -> assertNull(chain.getRequest(), "No debe llegar al endpoint"));
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/actuator/jfr");
+        if (token != null) {
+            request.addHeader(JfrEndpointTokenFilter.HEADER, token);
+        }
+        return request;
+    }
+}
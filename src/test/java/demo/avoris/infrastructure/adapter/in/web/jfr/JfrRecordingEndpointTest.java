@@ -0,0 +1,99 @@
+package demo.avoris.infrastructure.adapter.in.web.jfr;
+
+import demo.avoris.application.jfr.SearchCreatedEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrRecordingEndpointTest {
+
+    private final JfrRecordingEndpoint endpoint =
+            new JfrRecordingEndpoint(Duration.ofMinutes(1), DataSize.ofMegabytes(16), "default");
+
+    @AfterEach
+    void tearDown() throws Exception {
+        WebEndpointResponse<Resource> response = endpoint.stop();
+        if (response.getBody() != null) {
+            response.getBody().getInputStream().close();
+        }
+    }
+
+    @Test
+    void shouldReportNoRecording_WhenNothingWasStarted() {
+        // When
+        Map<String, Object> status = endpoint.status();
+
+        // Then
+        assertEquals("NONE", status.get("state"), "Sin grabación el estado debe ser NONE");
+    }
+
+    @Test
+    void shouldRejectSecondRecording_WhenOneIsRunning() throws Exception {
+        // Given
+        endpoint.start();
+
+        // When
+        WebEndpointResponse<Map<String, Object>> second = endpoint.start();
+
+        // Then
+        assertAll("Single recording verification",
+                () -> assertEquals(409, second.getStatus(), "Una segunda grabación debe rechazarse"),
+                () -> assertEquals("RUNNING", endpoint.status().get("state"), "La primera debe seguir grabando"));
+    }
+
+    @Test
+    void shouldReturnNotFound_WhenStoppingWithoutRecording() throws Exception {
+        // When
+        WebEndpointResponse<Resource> response = endpoint.stop();
+
+        // Then
+        assertAll("Stop without recording verification",
+                () -> assertEquals(404, response.getStatus(), "Sin grabación debe devolver 404"),
+                () -> assertNull(response.getBody(), "No debe haber fichero"));
+    }
+
+    @Test
+    void shouldStreamRecordingWithSearchEvents_WhenStopped() throws Exception {
+        // Given
+        WebEndpointResponse<Map<String, Object>> started = endpoint.start();
+        SearchCreatedEvent event = new SearchCreatedEvent();
+        event.begin();
+        event.emit("search-jfr", "hotel-1", 0);
+
+        // When
+        WebEndpointResponse<Resource> response = endpoint.stop();
+        Path copy = Files.createTempFile("jfr-endpoint-test-", ".jfr");
+        try (InputStream in = response.getBody().getInputStream()) {
+            Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+        }
+        List<RecordedEvent> created = RecordingFile.readAllEvents(copy).stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("demo.avoris.SearchCreated"))
+                .toList();
+        Files.delete(copy);
+
+        // Then
+        assertAll("Recording download verification",
+                () -> assertEquals(200, started.getStatus(), "La grabación debe arrancar"),
+                () -> assertEquals(200, response.getStatus(), "La parada debe devolver el fichero"),
+                () -> assertEquals(1, created.size(), "El evento emitido debe estar en la grabación"),
+                () -> assertEquals("search-jfr", created.get(0).getString("searchId"), "Debe llevar el searchId"),
+                () -> assertEquals("hotel-1", created.get(0).getString("hotelId"), "Debe llevar el hotelId"),
+                () -> assertFalse(Files.exists(response.getBody().getFile().toPath()),
+                        "El fichero temporal debe borrarse tras enviarlo"),
+                () -> assertEquals("NONE", endpoint.status().get("state"), "Tras parar no debe quedar grabación"));
+    }
+}
@@ -0,0 +1,209 @@
+package demo.avoris.infrastructure.adapter.in.webflux;
+
+import demo.avoris.TestDataBuilder;
+import demo.avoris.application.dto.SearchDetailResponseDTO;
+import demo.avoris.application.dto.SearchLookupItemDTO;
+import demo.avoris.application.dto.SearchRequestDTO;
+import demo.avoris.application.dto.SearchResponseDTO;
+import demo.avoris.application.port.in.ReactiveSearchUseCase;
+import demo.avoris.domain.exception.InvalidCheckIn;
+import demo.avoris.infrastructure.adapter.in.web.dto.ErrorResponseDTO;
+import demo.avoris.infrastructure.adapter.in.webflux.handler.ReactiveSearchExceptionHandler;
+import demo.avoris.infrastructure.adapter.out.mongo.exeption.SearchNotFoundException;
+import demo.avoris.infrastructure.config.JacksonConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveSearchControllerTest {
+
+    @Mock
+    private ReactiveSearchUseCase searchUseCase;
+
+    private ReactiveSearchController searchController;
+
+    private WebTestClient client;
+
+    private static final String VALID_REQUEST =
+            "{\"hotelId\":\"1234aBc\",\"checkIn\":\"29/12/2023\",\"checkOut\":\"31/12/2023\",\"ages\":[30,29,1,3]}";
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        searchController = new ReactiveSearchController(searchUseCase);
+        client = WebTestClient.bindToController(searchController)
+                .controllerAdvice(new ReactiveSearchExceptionHandler())
+                .httpMessageCodecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                })
+                .build();
+    }
+
+    @Test
+    void shouldGetSearchDetail_WhenSearchExists() {
+        // Given
+        SearchDetailResponseDTO expected = TestDataBuilder.createTestSearchDetailResponseDTO();
+        when(searchUseCase.getHotelCount(expected.searchId())).thenReturn(Mono.just(expected));
+
+        // When
+        SearchDetailResponseDTO result = client.get().uri("/search/{searchId}", expected.searchId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(SearchDetailResponseDTO.class)
+                .returnResult().getResponseBody();
+
+        // Then
+        assertAll("Get search detail verification",
+                () -> assertNotNull(result, "El body de la respuesta no debe ser null"),
+                () -> assertEquals(expected.searchId(), result.searchId(), "El searchId debe coincidir"),
+                () -> assertEquals(expected.count(), result.count(), "El count debe coincidir")
+        );
+    }
+
+    @Test
+    void shouldReturnNotFound_WhenSearchDoesNotExist() {
+        // Given
+        when(searchUseCase.getHotelCount("missing"))
+                .thenReturn(Mono.error(new SearchNotFoundException("Search with id missing not found")));
+
+        // When
+        ErrorResponseDTO error = client.get().uri("/search/missing")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(ErrorResponseDTO.class)
+                .returnResult().getResponseBody();
+
+        // Then
+        assertAll("Not found verification",
+                () -> assertNotNull(error, "Debe devolverse el cuerpo de error"),
+                () -> assertEquals(HttpStatus.NOT_FOUND.value(), error.status(), "El status debe ser 404"),
+                () -> assertEquals("/search/missing", error.path(), "Debe indicar la ruta pedida")
+        );
+    }
+
+    @Test
+    void shouldCreateSearch_WhenRequestIsValid() {
+        // Given
+        SearchResponseDTO expected = new SearchResponseDTO(TestDataBuilder.TEST_SEARCH_ID, "hotel_availability_searches:0:42");
+        when(searchUseCase.createSearch(any())).thenReturn(Mono.just(expected));
+
+        // When
+        SearchResponseDTO result = client.post().uri("/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(VALID_REQUEST)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(SearchResponseDTO.class)
+                .returnResult().getResponseBody();
+
+        // Then
+        assertAll("Create search verification",
+                () -> assertEquals(expected, result, "Debe devolverse la respuesta del caso de uso"),
+                () -> verify(searchUseCase, times(1)).createSearch(argThatDates())
+        );
+    }
+
+    @Test
+    void shouldRespondAccepted_WhenRespondAcceptedIsEnabled() {
+        // Given
+        ReflectionTestUtils.setField(searchController, "respondAccepted", true);
+        when(searchUseCase.createSearch(any())).thenReturn(Mono.just(new SearchResponseDTO(TestDataBuilder.TEST_SEARCH_ID)));
+
+        // When & Then
+        client.post().uri("/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(VALID_REQUEST)
+                .exchange()
+                .expectStatus().isAccepted();
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenRequestFailsValidation() {
+        // When & Then
+        client.post().uri("/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"checkIn\":\"29/12/2023\",\"checkOut\":\"31/12/2023\",\"ages\":[30]}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorResponseDTO.class)
+                .value(error -> assertTrue(error.message().contains("hotelId"), "Debe indicar el campo inválido"));
+        verifyNoInteractions(searchUseCase);
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenDatesAreInvalid() {
+        // Given
+        when(searchUseCase.createSearch(any())).thenReturn(Mono.error(new InvalidCheckIn("Check-out date must be after check-in date.")));
+
+        // When & Then
+        client.post().uri("/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(VALID_REQUEST)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenBodyCannotBeRead() {
+        // When & Then
+        client.post().uri("/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"hotelId\":\"1234aBc\",\"checkIn\":\"2023-12-29\"}")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(searchUseCase);
+    }
+
+    @Test
+    void shouldStreamLookupAsNdjson_WhenLookingUpSeveralIds() {
+        // Given
+        SearchLookupItemDTO found = new SearchLookupItemDTO("found", true, TestDataBuilder.createTestSearchDTO(), 9);
+        SearchLookupItemDTO missing = new SearchLookupItemDTO("missing", false, null, null);
+        when(searchUseCase.lookupHotelCounts(List.of("found", "missing"))).thenReturn(Flux.just(found, missing));
+
+        // When
+        List<SearchLookupItemDTO> result = client.post().uri("/search/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(List.of("found", "missing"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(SearchLookupItemDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // Then
+        assertAll("Lookup stream verification",
+                () -> assertEquals(List.of("found", "missing"), result.stream().map(SearchLookupItemDTO::searchId).toList(),
+                        "Debe emitirse una línea por id en el orden del caso de uso"),
+                () -> assertEquals(9, result.get(0).count(), "El count del encontrado debe coincidir"),
+                () -> assertFalse(result.get(1).found(), "El inexistente debe marcarse como no encontrado")
+        );
+    }
+
+    private static SearchRequestDTO argThatDates() {
+        return argThat(request -> request.checkIn().getDayOfMonth() == 29 && request.checkOut().getDayOfMonth() == 31);
+    }
+}
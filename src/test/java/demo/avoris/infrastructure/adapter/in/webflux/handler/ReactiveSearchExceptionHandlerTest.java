@@ -0,0 +1,172 @@
+package demo.avoris.infrastructure.adapter.in.webflux.handler;
+
+import demo.avoris.domain.exception.InvalidCheckIn;
+import demo.avoris.domain.exception.InvalidSearchBatch;
+import demo.avoris.infrastructure.adapter.in.web.dto.ErrorResponseDTO;
+import demo.avoris.infrastructure.adapter.out.kafka.exeption.PublishCapacityExceededException;
+import demo.avoris.infrastructure.adapter.out.mongo.exeption.SearchNotFoundException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveSearchExceptionHandlerTest {
+
+    private static final String TEST_PATH = "/demo-avoris/search";
+
+    @Mock
+    private BindingResult bindingResult;
+
+    private final ServerHttpRequest request = MockServerHttpRequest.post(TEST_PATH).build();
+
+    private final ReactiveSearchExceptionHandler handler = new ReactiveSearchExceptionHandler();
+
+    @Test
+    void handleInvalidCheckIn_ShouldReturnBadRequest() {
+        // Given
+        InvalidCheckIn exception = new InvalidCheckIn("Check-in date cannot be in the past");
+
+        // When
+        ResponseEntity<ErrorResponseDTO> response = handler.handleInvalidCheckIn(exception, request);
+
+        // Then
+        ErrorResponseDTO errorResponse = response.getBody();
+        assertAll("Invalid check-in verification",
+                () -> assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(), "El status debe ser 400"),
+                () -> assertTrue(errorResponse.message().contains("Check-in date cannot be in the past"),
+                        "Debe incluir el motivo"),
+                () -> assertEquals(TEST_PATH, errorResponse.path(), "Debe indicar la ruta pedida")
+        );
+    }
+
+    @Test
+    void handleInvalidSearchBatch_ShouldReturnBadRequest() {
+        // Given
+        InvalidSearchBatch exception = new InvalidSearchBatch("A batch accepts at most 1000 searches, got 1001.");
+
+        // When
+        ResponseEntity<ErrorResponseDTO> response = handler.handleInvalidSearchBatch(exception, request);
+
+        // Then
+        ErrorResponseDTO errorResponse = response.getBody();
+        assertAll("Invalid batch verification",
+                () -> assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(), "El status debe ser 400"),
+                () -> assertTrue(errorResponse.message().contains("got 1001"), "Debe incluir el motivo"),
+                () -> assertEquals(TEST_PATH, errorResponse.path(), "Debe indicar la ruta pedida")
+        );
+    }
+
+    @Test
+    void handlePublishCapacityExceeded_ShouldReturnServiceUnavailableWithRetryAfter() {
+        // Given
+        PublishCapacityExceededException exception =
+                new PublishCapacityExceededException("Too many searches waiting for Kafka (max-in-flight 1000)");
+
+        // When
+        ResponseEntity<ErrorResponseDTO> response = handler.handlePublishCapacityExceeded(exception, request);
+
+        // Then
+        ErrorResponseDTO errorResponse = response.getBody();
+        assertAll("Publish capacity verification",
+                () -> assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode(), "El status debe ser 503"),
+                () -> assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER),
+                        "Debe indicar cuándo reintentar"),
+                () -> assertEquals(503, errorResponse.status(), "El cuerpo debe llevar el mismo status"),
+                () -> assertTrue(errorResponse.message().contains("max-in-flight 1000"), "Debe incluir el motivo"),
+                () -> assertEquals(TEST_PATH, errorResponse.path(), "Debe indicar la ruta pedida")
+        );
+    }
+
+    @Test
+    void handleSearchNotFound_ShouldReturnNotFound() {
+        // Given
+        SearchNotFoundException exception = new SearchNotFoundException("Search with ID 123 not found");
+
+        // When
+        ResponseEntity<ErrorResponseDTO> response = handler.handleSearchNotFound(exception, request);
+
+        // Then
+        ErrorResponseDTO errorResponse = response.getBody();
+        assertAll("Not found verification",
+                () -> assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode(), "El status debe ser 404"),
+                () -> assertEquals("Not Found", errorResponse.error(), "Debe indicar el error"),
+                () -> assertTrue(errorResponse.message().contains("Search with ID 123 not found"), "Debe incluir el motivo")
+        );
+    }
+
+    @Test
+    void handleValidationErrors_ShouldReturnBadRequestWithFieldDetails() {
+        // Given
+        WebExchangeBindException exception = mock(WebExchangeBindException.class);
+        when(exception.getBindingResult()).thenReturn(bindingResult);
+        when(bindingResult.getFieldErrors()).thenReturn(List.of(
+                new FieldError("searchRequest", "hotelId", "must not be blank"),
+                new FieldError("searchRequest", "ages[0]", "must be between 0 and 255")
+        ));
+
+        // When
+        ResponseEntity<ErrorResponseDTO> response = handler.handleValidationErrors(exception, request);
+
+        // Then
+        ErrorResponseDTO errorResponse = response.getBody();
+        assertAll("Validation verification",
+                () -> assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(), "El status debe ser 400"),
+                () -> assertEquals("Validation Failed", errorResponse.error(), "Debe indicar el error"),
+                () -> assertTrue(errorResponse.message().contains("hotelId - must not be blank"),
+                        "Debe listar cada campo inválido"),
+                () -> assertTrue(errorResponse.message().contains("ages[0] - must be between 0 and 255"),
+                        "Debe listar cada campo inválido")
+        );
+    }
+
+    @Test
+    void handleNotReadable_ShouldReturnBadRequest() {
+        // Given
+        ServerWebInputException exception = new ServerWebInputException("Failed to read HTTP message");
+
+        // When
+        ResponseEntity<ErrorResponseDTO> response = handler.handleNotReadable(exception, request);
+
+        // Then
+        ErrorResponseDTO errorResponse = response.getBody();
+        assertAll("Decoding error verification",
+                () -> assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(), "El status debe ser 400"),
+                () -> assertTrue(errorResponse.message().contains("dd/MM/yyyy"), "Debe orientar sobre el formato"),
+                () -> assertEquals(TEST_PATH, errorResponse.path(), "Debe indicar la ruta pedida")
+        );
+    }
+
+    @Test
+    void handleGenericException_ShouldReturnInternalServerError() {
+        // Given
+        RuntimeException exception = new RuntimeException("Unexpected database error");
+
+        // When
+        ResponseEntity<ErrorResponseDTO> response = handler.handleGenericException(exception, request);
+
+        // Then
+        ErrorResponseDTO errorResponse = response.getBody();
+        assertAll("Generic error verification",
+                () -> assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode(), "El status debe ser 500"),
+                () -> assertEquals("Internal Server Error", errorResponse.error(), "Debe indicar el error"),
+                () -> assertFalse(errorResponse.message().contains("Unexpected database error"),
+                        "No debe exponer detalles internos")
+        );
+    }
+}
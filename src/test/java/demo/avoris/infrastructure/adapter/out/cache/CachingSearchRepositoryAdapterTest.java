@@ -0,0 +1,250 @@
+package demo.avoris.infrastructure.adapter.out.cache;
+
+import demo.avoris.TestDataBuilder;
+import demo.avoris.application.port.out.SearchRepositoryPort;
+import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.adapter.out.mongo.exeption.SearchNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingSearchRepositoryAdapterTest {
+
+    @Mock
+    private SearchRepositoryPort delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CachingSearchRepositoryAdapter cachingAdapter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 2024-12-27: TEST_CHECK_OUT (2024-12-30) todavía no ha pasado
+        Clock clock = Clock.fixed(Instant.parse("2024-12-27T10:00:00Z"), ZoneOffset.UTC);
+        cachingAdapter = new CachingSearchRepositoryAdapter(delegate, meterRegistry, 1_000_000, Duration.ofMinutes(10), clock);
+    }
+
+    @Test
+    void shouldHitCache_WhenSameSearchIdIsRequestedTwice() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        when(delegate.findBySearchId(search.searchId())).thenReturn(search);
+
+        // When
+        Search first = cachingAdapter.findBySearchId(search.searchId());
+        Search second = cachingAdapter.findBySearchId(search.searchId());
+
+        // Then
+        assertAll("Cache hit verification",
+                () -> assertSame(first, second, "La segunda lectura debe venir de la caché"),
+                () -> verify(delegate, times(1)).findBySearchId(search.searchId()),
+                () -> assertEquals(0.5, meterRegistry.get("search.cache.hit.ratio").gauge().value(), 0.0001,
+                        "El ratio de aciertos debe exponerse como métrica"),
+                () -> assertEquals(1, meterRegistry.get("search.cache.load").functionTimer().count(), 0.0001,
+                        "Debe contarse la carga desde Mongo")
+        );
+    }
+
+    @Test
+    void shouldAskDelegateOnlyForMisses_WhenFindingSeveralSearchIds() {
+        // Given
+        Search cached = TestDataBuilder.createTestSearchWithId("cached");
+        Search loaded = TestDataBuilder.createTestSearchWithId("loaded");
+        when(delegate.findBySearchId("cached")).thenReturn(cached);
+        when(delegate.findAllBySearchIds(List.of("loaded", "missing"))).thenReturn(Stream.of(loaded));
+        cachingAdapter.findBySearchId("cached");
+
+        // When
+        List<Search> result = cachingAdapter.findAllBySearchIds(List.of("cached", "loaded", "missing")).toList();
+
+        // Then
+        assertAll("Cached multi-get verification",
+                () -> assertEquals(List.of(cached, loaded), result,
+                        "Debe combinar aciertos de caché y resultados del delegado"),
+                () -> assertSame(loaded, cachingAdapter.findBySearchId("loaded"),
+                        "Lo cargado por el delegado debe quedar en caché"),
+                () -> verify(delegate, times(1)).findAllBySearchIds(List.of("loaded", "missing")),
+                () -> verify(delegate, never()).findBySearchId("loaded")
+        );
+    }
+
+    @Test
+    void shouldRefreshOnlyCachedEntries_WhenSavingBatch() {
+        // Given
+        Search cached = TestDataBuilder.createTestSearchWithId("cached");
+        Search cachedSaved = new Search("cached", cached.hotelId(), cached.checkIn(), cached.checkOut(), cached.ages(), 5);
+        Search uncached = TestDataBuilder.createTestSearchWithId("uncached");
+        when(delegate.findBySearchId("cached")).thenReturn(cached);
+        when(delegate.saveAll(List.of(cachedSaved, uncached))).thenReturn(List.of(cachedSaved, uncached));
+        cachingAdapter.findBySearchId("cached");
+
+        // When
+        cachingAdapter.saveAll(List.of(cachedSaved, uncached));
+
+        // Then
+        assertAll("Batch cache refresh verification",
+                () -> assertEquals(5, cachingAdapter.cache().getIfPresent("cached").count(),
+                        "La entrada cacheada debe refrescarse"),
+                () -> assertNull(cachingAdapter.cache().getIfPresent("uncached"),
+                        "No debe poblar la caché con búsquedas no leídas")
+        );
+    }
+
+    @Test
+    void shouldNotCacheMisses_WhenSearchDoesNotExist() {
+        // Given
+        when(delegate.findBySearchId("missing")).thenThrow(new SearchNotFoundException("Search with id missing not found"));
+
+        // When & Then
+        assertThrows(SearchNotFoundException.class, () -> cachingAdapter.findBySearchId("missing"));
+        assertThrows(SearchNotFoundException.class, () -> cachingAdapter.findBySearchId("missing"));
+        verify(delegate, times(2)).findBySearchId("missing");
+    }
+
+    @Test
+    void shouldReleaseWaitersAndRetry_WhenLoadFailsWithError() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StackOverflowError failure = new StackOverflowError("delegate failed");
+        when(delegate.findBySearchId(search.searchId()))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await();
+                    throw failure;
+                })
+                .thenReturn(search);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // When
+            CompletableFuture<Search> first = CompletableFuture.supplyAsync(
+                    () -> cachingAdapter.findBySearchId(search.searchId()), executor);
+            assertTrue(loading.await(5, TimeUnit.SECONDS), "La primera lectura debe llegar al delegado");
+            CompletableFuture<Search> second = CompletableFuture.supplyAsync(
+                    () -> cachingAdapter.findBySearchId(search.searchId()), executor);
+            release.countDown();
+
+            // Then
+            ExecutionException loaderFailure = assertThrows(ExecutionException.class,
+                    () -> first.get(5, TimeUnit.SECONDS));
+            ExecutionException waiterFailure = assertThrows(ExecutionException.class,
+                    () -> second.get(5, TimeUnit.SECONDS), "La lectura concurrente no debe quedarse esperando");
+            assertAll("Failed load verification",
+                    () -> assertSame(failure, loaderFailure.getCause(), "Quien carga debe relanzar el Error"),
+                    () -> assertSame(failure, waiterFailure.getCause(), "Quien espera debe recibir el Error desenvuelto"),
+                    () -> assertSame(search, cachingAdapter.findBySearchId(search.searchId()),
+                            "Una carga fallida no debe quedarse en la caché")
+            );
+        }
+    }
+
+    @Test
+    void shouldLoadOnce_WhenSameSearchIdIsMissedConcurrently() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.findBySearchId(search.searchId())).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return search;
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // When
+            CompletableFuture<Search> first = CompletableFuture.supplyAsync(
+                    () -> cachingAdapter.findBySearchId(search.searchId()), executor);
+            assertTrue(loading.await(5, TimeUnit.SECONDS), "La primera lectura debe llegar al delegado");
+            CompletableFuture<Search> second = CompletableFuture.supplyAsync(
+                    () -> cachingAdapter.findBySearchId(search.searchId()), executor);
+            release.countDown();
+
+            // Then
+            assertAll("Concurrent load verification",
+                    () -> assertSame(search, first.get(5, TimeUnit.SECONDS)),
+                    () -> assertSame(search, second.get(5, TimeUnit.SECONDS),
+                            "La lectura concurrente debe esperar a la carga en curso"),
+                    () -> verify(delegate, times(1)).findBySearchId(search.searchId())
+            );
+        }
+    }
+
+    @Test
+    void shouldRefreshCachedEntry_WhenConsumerSavesSameSearchId() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        Search saved = TestDataBuilder.createTestSearchWithCount(3);
+        when(delegate.findBySearchId(search.searchId())).thenReturn(search);
+        when(delegate.save(saved)).thenReturn(saved);
+        cachingAdapter.findBySearchId(search.searchId());
+
+        // When
+        cachingAdapter.save(saved);
+
+        // Then
+        assertAll("Cache refresh verification",
+                () -> assertSame(saved, cachingAdapter.findBySearchId(search.searchId()),
+                        "La entrada debe refrescarse con lo guardado"),
+                () -> verify(delegate, times(1)).findBySearchId(search.searchId())
+        );
+    }
+
+    @Test
+    void shouldNotPopulateCache_WhenSavingUncachedSearch() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        when(delegate.save(search)).thenReturn(search);
+
+        // When
+        cachingAdapter.save(search);
+
+        // Then
+        assertNull(cachingAdapter.cache().getIfPresent(search.searchId()),
+                "Guardar no debe llenar la caché con búsquedas que nadie ha leído");
+    }
+
+    @Test
+    void shouldPinSearch_WhenCheckOutIsInThePast() {
+        // Given
+        Search past = TestDataBuilder.createTestSearchWithDates(
+                TestDataBuilder.TEST_CHECK_IN.minusMonths(1), TestDataBuilder.TEST_CHECK_OUT.minusMonths(1));
+        Search future = TestDataBuilder.createTestSearchWithId("future-search");
+        when(delegate.findBySearchId(past.searchId())).thenReturn(past);
+        when(delegate.findBySearchId(future.searchId())).thenReturn(future);
+
+        // When
+        cachingAdapter.findBySearchId(past.searchId());
+        cachingAdapter.findBySearchId(future.searchId());
+
+        // Then
+        var expiry = cachingAdapter.cache().policy().expireVariably().orElseThrow();
+        assertAll("Pinning verification",
+                () -> assertTrue(expiry.getExpiresAfter(past.searchId(), TimeUnit.DAYS).orElseThrow() > 365,
+                        "Las búsquedas pasadas no deben caducar por tiempo"),
+                () -> assertTrue(expiry.getExpiresAfter(future.searchId(), TimeUnit.MINUTES).orElseThrow() <= 10,
+                        "Las búsquedas futuras deben caducar tras el TTL")
+        );
+    }
+}
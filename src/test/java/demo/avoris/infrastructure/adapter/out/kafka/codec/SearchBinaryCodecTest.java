@@ -0,0 +1,102 @@
+package demo.avoris.infrastructure.adapter.out.kafka.codec;
+
+import demo.avoris.TestDataBuilder;
+import demo.avoris.domain.model.Search;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchBinaryCodecTest {
+
+    @Test
+    void shouldRoundTrip_WhenSearchIsComplete() {
+        // Given
+        Search search = TestDataBuilder.createTestSearchWithCount(5);
+
+        // When
+        Search decoded = SearchBinaryCodec.decode(SearchBinaryCodec.encode(search));
+
+        // Then
+        assertAll("Binary round trip verification",
+                () -> assertEquals(search, decoded, "La búsqueda decodificada debe ser igual a la original"),
+                () -> assertEquals(search.ages(), decoded.ages(), "Las edades deben conservar el orden")
+        );
+    }
+
+    @Test
+    void shouldRoundTrip_WhenOptionalFieldsAreNullOrEmpty() {
+        // Given
+        Search withNulls = new Search(null, null, LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 8), null, 0);
+        Search withEmpty = new Search("", "", LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 1), List.of(), 0);
+
+        // When & Then
+        assertAll("Nullable fields verification",
+                () -> assertEquals(withNulls, SearchBinaryCodec.decode(SearchBinaryCodec.encode(withNulls)),
+                        "null debe distinguirse de vacío"),
+                () -> assertEquals(withEmpty, SearchBinaryCodec.decode(SearchBinaryCodec.encode(withEmpty)),
+                        "Las cadenas y listas vacías deben conservarse")
+        );
+    }
+
+    @Test
+    void shouldRoundTrip_WhenValuesNeedSeveralVarintBytes() {
+        // Given
+        Search search = new Search("id-ñ", "hotel-€", LocalDate.of(1960, 1, 1), LocalDate.of(2100, 12, 31),
+                List.of(0, 127, 128, 255), Integer.MAX_VALUE);
+
+        // When
+        Search decoded = SearchBinaryCodec.decode(SearchBinaryCodec.encode(search));
+
+        // Then
+        assertEquals(search, decoded, "Fechas anteriores a 1970, UTF-8 y enteros grandes deben conservarse");
+    }
+
+    @Test
+    void shouldBeCompact_WhenComparedWithFieldSizes() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        int idAndHotel = search.searchId().length() + search.hotelId().length();
+
+        // When
+        byte[] payload = SearchBinaryCodec.encode(search);
+
+        // Then
+        assertTrue(payload.length <= 1 + 2 + idAndHotel + 3 + 1 + 1 + search.ages().size() + 1,
+                "Fuera de los textos, cada campo debe ocupar pocos bytes: " + payload.length);
+    }
+
+    @Test
+    void shouldRejectPayload_WhenVersionIsUnknown() {
+        // Given
+        byte[] payload = SearchBinaryCodec.encode(TestDataBuilder.createTestSearch());
+        payload[0] = 99;
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> SearchBinaryCodec.decode(payload));
+        assertTrue(exception.getMessage().contains("version"), "El error debe indicar la versión desconocida");
+    }
+
+    @Test
+    void shouldRejectPayload_WhenTruncatedOrWithTrailingBytes() {
+        // Given
+        byte[] payload = SearchBinaryCodec.encode(TestDataBuilder.createTestSearch());
+
+        // When & Then
+        assertAll("Corrupted payload verification",
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> SearchBinaryCodec.decode(Arrays.copyOf(payload, payload.length - 1)),
+                        "Un payload truncado debe rechazarse"),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> SearchBinaryCodec.decode(Arrays.copyOf(payload, payload.length + 1)),
+                        "Los bytes sobrantes deben rechazarse"),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> SearchBinaryCodec.decode(new byte[0]),
+                        "Un payload vacío debe rechazarse")
+        );
+    }
+}
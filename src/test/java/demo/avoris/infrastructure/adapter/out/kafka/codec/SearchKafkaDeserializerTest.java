@@ -0,0 +1,110 @@
+package demo.avoris.infrastructure.adapter.out.kafka.codec;
+
+import demo.avoris.TestDataBuilder;
+import demo.avoris.domain.model.Search;
+import demo.avoris.domain.model.SearchFingerprint;
+import demo.avoris.infrastructure.adapter.out.kafka.header.SearchKafkaHeaders;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchKafkaDeserializerTest {
+
+    private static final String TOPIC = "test-hotel-searches";
+
+    @Mock
+    private ObjectReader searchReader;
+
+    private SearchKafkaDeserializer deserializer;
+
+    @BeforeEach
+    void setUp() {
+        deserializer = new SearchKafkaDeserializer(searchReader);
+    }
+
+    @Test
+    void shouldReadJson_WhenContentTypeHeaderIsMissing() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        byte[] json = "{\"searchId\":\"test-search-123\"}".getBytes(StandardCharsets.UTF_8);
+        when(searchReader.readValue(json)).thenReturn(search);
+
+        // When
+        Search result = deserializer.deserialize(TOPIC, new RecordHeaders(), json);
+
+        // Then
+        assertEquals(search, result, "Los registros sin cabecera de formato son JSON");
+    }
+
+    @Test
+    void shouldReadBinary_WhenBinaryContentTypeDeclared() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        Headers headers = headers(SearchKafkaHeaders.BINARY_CONTENT_TYPE);
+
+        // When
+        Search result = deserializer.deserialize(TOPIC, headers, SearchBinaryCodec.encode(search));
+
+        // Then
+        assertAll("Binary deserialization verification",
+                () -> assertEquals(search, result, "La búsqueda debe leerse del formato binario"),
+                () -> verifyNoInteractions(searchReader)
+        );
+    }
+
+    @Test
+    void shouldAttachFingerprint_WhenFingerprintHeaderPresent() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        SearchFingerprint fingerprint = SearchFingerprint.of(search);
+        Headers headers = headers(SearchKafkaHeaders.BINARY_CONTENT_TYPE);
+        headers.add(SearchKafkaHeaders.FINGERPRINT, fingerprint.toBytes());
+
+        // When
+        Search result = deserializer.deserialize(TOPIC, headers, SearchBinaryCodec.encode(search));
+
+        // Then
+        assertEquals(fingerprint, result.fingerprint(), "La huella de la cabecera debe llegar a la búsqueda");
+    }
+
+    @Test
+    void shouldFail_WhenContentTypeIsUnknown() {
+        // When & Then
+        SerializationException exception = assertThrows(SerializationException.class,
+                () -> deserializer.deserialize(TOPIC, headers("application/xml"), new byte[]{1}));
+        assertTrue(exception.getMessage().contains("application/xml"), "El error debe indicar el formato recibido");
+    }
+
+    @Test
+    void shouldFail_WhenBinaryPayloadIsCorrupted() {
+        // When & Then
+        assertThrows(SerializationException.class,
+                () -> deserializer.deserialize(TOPIC, headers(SearchKafkaHeaders.BINARY_CONTENT_TYPE), new byte[]{99}),
+                "Un payload binario ilegible debe fallar como error de deserialización");
+    }
+
+    @Test
+    void shouldFail_WhenPayloadIsNull() {
+        // When & Then
+        assertThrows(SerializationException.class,
+                () -> deserializer.deserialize(TOPIC, new RecordHeaders(), (byte[]) null));
+    }
+
+    private static Headers headers(String contentType) {
+        Headers headers = new RecordHeaders();
+        headers.add(SearchKafkaHeaders.CONTENT_TYPE, contentType.getBytes(StandardCharsets.UTF_8));
+        return headers;
+    }
+}
@@ -0,0 +1,125 @@
+package demo.avoris.infrastructure.adapter.out.kafka.codec;
+
+import demo.avoris.TestDataBuilder;
+import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.adapter.out.kafka.header.SearchKafkaHeaders;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchKafkaSerializerTest {
+
+    private static final String TOPIC = "test-hotel-searches";
+
+    @Mock
+    private ObjectWriter searchWriter;
+
+    @Test
+    void shouldWriteJsonAndDeclareIt_WhenJsonContentTypeConfigured() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        byte[] json = "{\"searchId\":\"test-search-123\"}".getBytes(StandardCharsets.UTF_8);
+        SearchKafkaSerializer serializer = new SearchKafkaSerializer(searchWriter, SearchKafkaHeaders.JSON_CONTENT_TYPE);
+        Headers headers = new RecordHeaders();
+        when(searchWriter.writeValueAsBytes(search)).thenReturn(json);
+
+        // When
+        byte[] payload = serializer.serialize(TOPIC, headers, search);
+
+        // Then
+        assertAll("JSON serialization verification",
+                () -> assertArrayEquals(json, payload, "El payload debe ser el JSON del ObjectWriter"),
+                () -> assertEquals(SearchKafkaHeaders.JSON_CONTENT_TYPE, contentType(headers),
+                        "La cabecera debe declarar JSON")
+        );
+    }
+
+    @Test
+    void shouldWriteBinaryAndDeclareIt_WhenBinaryContentTypeConfigured() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        SearchKafkaSerializer serializer = new SearchKafkaSerializer(searchWriter, SearchKafkaHeaders.BINARY_CONTENT_TYPE);
+        Headers headers = new RecordHeaders();
+
+        // When
+        byte[] payload = serializer.serialize(TOPIC, headers, search);
+
+        // Then
+        assertAll("Binary serialization verification",
+                () -> assertEquals(search, SearchBinaryCodec.decode(payload), "El payload debe ser el formato binario"),
+                () -> assertEquals(SearchKafkaHeaders.BINARY_CONTENT_TYPE, contentType(headers),
+                        "La cabecera debe declarar el formato binario"),
+                () -> verifyNoInteractions(searchWriter)
+        );
+    }
+
+    @Test
+    void shouldReplaceContentTypeHeader_WhenAlreadyPresent() {
+        // Given
+        SearchKafkaSerializer serializer = new SearchKafkaSerializer(searchWriter, SearchKafkaHeaders.BINARY_CONTENT_TYPE);
+        Headers headers = new RecordHeaders();
+        headers.add(SearchKafkaHeaders.CONTENT_TYPE, SearchKafkaHeaders.JSON_CONTENT_TYPE.getBytes(StandardCharsets.UTF_8));
+
+        // When
+        serializer.serialize(TOPIC, headers, TestDataBuilder.createTestSearch());
+
+        // Then
+        assertAll("Single content type verification",
+                () -> assertEquals(1, headers.toArray().length, "Sólo debe quedar una cabecera de formato"),
+                () -> assertEquals(SearchKafkaHeaders.BINARY_CONTENT_TYPE, contentType(headers))
+        );
+    }
+
+    @Test
+    void shouldWriteJson_WhenNoHeadersAvailable() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        byte[] json = "{}".getBytes(StandardCharsets.UTF_8);
+        SearchKafkaSerializer serializer = new SearchKafkaSerializer(searchWriter, SearchKafkaHeaders.BINARY_CONTENT_TYPE);
+        when(searchWriter.writeValueAsBytes(search)).thenReturn(json);
+
+        // When
+        byte[] payload = serializer.serialize(TOPIC, search);
+
+        // Then
+        assertArrayEquals(json, payload, "Sin cabeceras sólo se puede escribir JSON, que es el formato por defecto");
+    }
+
+    @Test
+    void shouldWrapJsonErrors_WhenObjectMapperFails() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        SearchKafkaSerializer serializer = new SearchKafkaSerializer(searchWriter, SearchKafkaHeaders.JSON_CONTENT_TYPE);
+        when(searchWriter.writeValueAsBytes(search)).thenThrow(new JsonProcessingException("JSON serialization error") { });
+
+        // When & Then
+        SerializationException exception = assertThrows(SerializationException.class,
+                () -> serializer.serialize(TOPIC, new RecordHeaders(), search));
+        assertTrue(exception.getMessage().contains("JSON serialization error"),
+                "El mensaje debe contener la causa del error");
+    }
+
+    @Test
+    void shouldRejectConfiguration_WhenContentTypeIsUnknown() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> new SearchKafkaSerializer(searchWriter, "application/xml"),
+                "Un formato desconocido debe fallar al arrancar, no al publicar");
+    }
+
+    private static String contentType(Headers headers) {
+        return new String(headers.lastHeader(SearchKafkaHeaders.CONTENT_TYPE).value(), StandardCharsets.UTF_8);
+    }
+}
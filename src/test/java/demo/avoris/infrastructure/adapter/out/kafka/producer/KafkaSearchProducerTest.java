@@ -1,38 +1,62 @@
 package demo.avoris.infrastructure.adapter.out.kafka.producer;
 
 import demo.avoris.TestDataBuilder;
+import demo.avoris.domain.model.ConsistencyToken;
 import demo.avoris.domain.model.Search;
+import demo.avoris.domain.model.SearchFingerprint;
+import demo.avoris.infrastructure.adapter.out.kafka.codec.SearchBinaryCodec;
+import demo.avoris.infrastructure.adapter.out.kafka.header.SearchKafkaHeaders;
 import demo.avoris.infrastructure.adapter.out.kafka.exeption.ErrorSendTopic;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import demo.avoris.infrastructure.adapter.out.kafka.exeption.PublishCapacityExceededException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatcher;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class KafkaSearchProducerTest {
 
     @Mock
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private ObjectWriter searchWriter;
 
     private KafkaSearchProducer kafkaSearchProducer;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private static final String TEST_TOPIC_NAME = "test-hotel-searches";
 
+    private static final int MAX_IN_FLIGHT = 2;
+
     @BeforeEach
     void setUp() {
-        kafkaSearchProducer = new KafkaSearchProducer(kafkaTemplate, objectMapper);
+        meterRegistry = new SimpleMeterRegistry();
+        kafkaSearchProducer = new KafkaSearchProducer(kafkaTemplate, searchWriter, meterRegistry, MAX_IN_FLIGHT,
+                SearchKafkaHeaders.JSON_CONTENT_TYPE);
         // Inyectar el valor del tópico usando ReflectionTestUtils
         ReflectionTestUtils.setField(kafkaSearchProducer, "topicName", TEST_TOPIC_NAME);
     }
@@ -56,15 +80,15 @@ class KafkaSearchProducerTest {
         Search search = TestDataBuilder.createTestSearch();
         String expectedPayload = "{\"searchId\":\"test-search-123\",\"hotelId\":\"hotel-456\"}";
 
-        when(objectMapper.writeValueAsString(search)).thenReturn(expectedPayload);
-        when(kafkaTemplate.send(any(String.class), any(String.class), any(String.class))).thenReturn(null);
+        when(searchWriter.writeValueAsBytes(search)).thenReturn(bytes(expectedPayload));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(sent(42L));
 
         // When & Then
         assertAll("Kafka search publishing success verification",
                 () -> assertDoesNotThrow(() -> kafkaSearchProducer.publishSearch(search),
                         "No debe lanzar excepción con search válido"),
-                () -> verify(objectMapper, times(1)).writeValueAsString(search),
-                () -> verify(kafkaTemplate, times(1)).send(eq(TEST_TOPIC_NAME), eq(search.searchId()), eq(expectedPayload))
+                () -> verify(searchWriter, times(1)).writeValueAsBytes(search),
+                () -> verify(kafkaTemplate, times(1)).send(producerRecord(TEST_TOPIC_NAME, search, expectedPayload))
         );
     }
 
@@ -74,7 +98,7 @@ class KafkaSearchProducerTest {
         Search search = TestDataBuilder.createTestSearch();
         Exception mappingException = new RuntimeException("JSON serialization error");
 
-        when(objectMapper.writeValueAsString(search)).thenThrow(mappingException);
+        when(searchWriter.writeValueAsBytes(search)).thenThrow(mappingException);
 
         // When & Then
         ErrorSendTopic exception = assertThrows(ErrorSendTopic.class,
@@ -86,7 +110,7 @@ class KafkaSearchProducerTest {
                         "El mensaje debe contener el prefijo de error"),
                 () -> assertTrue(exception.getMessage().contains("JSON serialization error"),
                         "El mensaje debe contener la causa del error"),
-                () -> verify(objectMapper, times(1)).writeValueAsString(search),
+                () -> verify(searchWriter, times(1)).writeValueAsBytes(search),
                 () -> verifyNoInteractions(kafkaTemplate)
         );
     }
@@ -98,8 +122,8 @@ class KafkaSearchProducerTest {
         String payload = "{\"searchId\":\"test-search-123\"}";
         RuntimeException kafkaException = new RuntimeException("Kafka connection error");
 
-        when(objectMapper.writeValueAsString(search)).thenReturn(payload);
-        when(kafkaTemplate.send(any(String.class), any(String.class), any(String.class))).thenThrow(kafkaException);
+        when(searchWriter.writeValueAsBytes(search)).thenReturn(bytes(payload));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenThrow(kafkaException);
 
         // When & Then
         ErrorSendTopic exception = assertThrows(ErrorSendTopic.class,
@@ -111,8 +135,8 @@ class KafkaSearchProducerTest {
                         "El mensaje debe contener el prefijo de error"),
                 () -> assertTrue(exception.getMessage().contains("Kafka connection error"),
                         "El mensaje debe contener la causa del error"),
-                () -> verify(objectMapper, times(1)).writeValueAsString(search),
-                () -> verify(kafkaTemplate, times(1)).send(eq(TEST_TOPIC_NAME), eq(search.searchId()), eq(payload))
+                () -> verify(searchWriter, times(1)).writeValueAsBytes(search),
+                () -> verify(kafkaTemplate, times(1)).send(producerRecord(TEST_TOPIC_NAME, search, payload))
         );
     }
 
@@ -122,37 +146,35 @@ class KafkaSearchProducerTest {
         Search search = TestDataBuilder.createTestSearch();
         String payload = "{\"searchId\":\"test-search-123\"}";
 
-        when(objectMapper.writeValueAsString(search)).thenReturn(payload);
-        when(kafkaTemplate.send(any(String.class), any(String.class), any(String.class))).thenReturn(null);
+        when(searchWriter.writeValueAsBytes(search)).thenReturn(bytes(payload));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(sent(42L));
 
         // When
         kafkaSearchProducer.publishSearch(search);
 
         // Then
         assertAll("Kafka topic verification",
-                () -> verify(kafkaTemplate, times(1)).send(eq(TEST_TOPIC_NAME), any(String.class), any(String.class)),
-                () -> verify(kafkaTemplate, times(1)).send(eq(TEST_TOPIC_NAME), eq(search.searchId()), eq(payload))
+                () -> verify(kafkaTemplate, times(1)).send(producerRecordMatching(r -> TEST_TOPIC_NAME.equals(r.topic()))),
+                () -> verify(kafkaTemplate, times(1)).send(producerRecord(TEST_TOPIC_NAME, search, payload))
         );
     }
 
     @Test
-    void shouldUseSearchIdAsMessageKey_WhenPublishingSearch() throws Exception {
+    void shouldUseFingerprintAsMessageKey_WhenSameSearchIsPublishedWithDifferentIds() throws Exception {
         // Given
-        String customSearchId = "custom-search-789";
-        Search search = TestDataBuilder.createTestSearchWithId(customSearchId);
-        String payload = "{\"searchId\":\"custom-search-789\"}";
+        Search search = TestDataBuilder.createTestSearchWithId("custom-search-789");
+        Search sameSearch = TestDataBuilder.createTestSearchWithId("custom-search-790");
+        String fingerprint = SearchFingerprint.of(search).toHex();
 
-        when(objectMapper.writeValueAsString(search)).thenReturn(payload);
-        when(kafkaTemplate.send(any(String.class), any(String.class), any(String.class))).thenReturn(null);
+        when(searchWriter.writeValueAsBytes(any(Search.class))).thenReturn(bytes("{}"));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(sent(42L));
 
         // When
         kafkaSearchProducer.publishSearch(search);
+        kafkaSearchProducer.publishSearch(sameSearch);
 
         // Then
-        assertAll("Kafka message key verification",
-                () -> verify(kafkaTemplate, times(1)).send(any(String.class), eq(customSearchId), any(String.class)),
-                () -> verify(kafkaTemplate, times(1)).send(eq(TEST_TOPIC_NAME), eq(customSearchId), eq(payload))
-        );
+        verify(kafkaTemplate, times(2)).send(producerRecordMatching(r -> fingerprint.equals(r.key())));
     }
 
     @Test
@@ -163,9 +185,9 @@ class KafkaSearchProducerTest {
         String payload1 = "{\"searchId\":\"search-1\"}";
         String payload2 = "{\"searchId\":\"search-2\"}";
 
-        when(objectMapper.writeValueAsString(search1)).thenReturn(payload1);
-        when(objectMapper.writeValueAsString(search2)).thenReturn(payload2);
-        when(kafkaTemplate.send(any(String.class), any(String.class), any(String.class))).thenReturn(null);
+        when(searchWriter.writeValueAsBytes(search1)).thenReturn(bytes(payload1));
+        when(searchWriter.writeValueAsBytes(search2)).thenReturn(bytes(payload2));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(sent(42L));
 
         // When & Then
         assertAll("Multiple publications handling verification",
@@ -173,10 +195,10 @@ class KafkaSearchProducerTest {
                         "No debe lanzar excepción con la primera publicación"),
                 () -> assertDoesNotThrow(() -> kafkaSearchProducer.publishSearch(search2),
                         "No debe lanzar excepción con la segunda publicación"),
-                () -> verify(objectMapper, times(1)).writeValueAsString(search1),
-                () -> verify(objectMapper, times(1)).writeValueAsString(search2),
-                () -> verify(kafkaTemplate, times(1)).send(eq(TEST_TOPIC_NAME), eq("search-1"), eq(payload1)),
-                () -> verify(kafkaTemplate, times(1)).send(eq(TEST_TOPIC_NAME), eq("search-2"), eq(payload2))
+                () -> verify(searchWriter, times(1)).writeValueAsBytes(search1),
+                () -> verify(searchWriter, times(1)).writeValueAsBytes(search2),
+                () -> verify(kafkaTemplate, times(1)).send(producerRecord(TEST_TOPIC_NAME, search1, payload1)),
+                () -> verify(kafkaTemplate, times(1)).send(producerRecord(TEST_TOPIC_NAME, search2, payload2))
         );
     }
 
@@ -186,15 +208,15 @@ class KafkaSearchProducerTest {
         Search complexSearch = TestDataBuilder.createTestSearchWithCount(5);
         String complexPayload = "{\"searchId\":\"test-search-123\",\"hotelId\":\"hotel-456\",\"checkIn\":\"2024-12-25\",\"checkOut\":\"2024-12-30\",\"ages\":[30,25,5,3],\"count\":5}";
 
-        when(objectMapper.writeValueAsString(complexSearch)).thenReturn(complexPayload);
-        when(kafkaTemplate.send(any(String.class), any(String.class), any(String.class))).thenReturn(null);
+        when(searchWriter.writeValueAsBytes(complexSearch)).thenReturn(bytes(complexPayload));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(sent(42L));
 
         // When & Then
         assertAll("Complex search serialization verification",
                 () -> assertDoesNotThrow(() -> kafkaSearchProducer.publishSearch(complexSearch),
                         "No debe lanzar excepción con búsqueda compleja"),
-                () -> verify(objectMapper, times(1)).writeValueAsString(complexSearch),
-                () -> verify(kafkaTemplate, times(1)).send(eq(TEST_TOPIC_NAME), eq(complexSearch.searchId()), eq(complexPayload))
+                () -> verify(searchWriter, times(1)).writeValueAsBytes(complexSearch),
+                () -> verify(kafkaTemplate, times(1)).send(producerRecord(TEST_TOPIC_NAME, complexSearch, complexPayload))
         );
     }
 
@@ -205,7 +227,7 @@ class KafkaSearchProducerTest {
         String originalErrorMessage = "Specific Kafka broker unavailable";
         Exception originalException = new RuntimeException(originalErrorMessage);
 
-        when(objectMapper.writeValueAsString(search)).thenThrow(originalException);
+        when(searchWriter.writeValueAsBytes(search)).thenThrow(originalException);
 
         // When & Then
         ErrorSendTopic exception = assertThrows(ErrorSendTopic.class,
@@ -216,7 +238,288 @@ class KafkaSearchProducerTest {
                         "Debe contener el prefijo del mensaje de error"),
                 () -> assertTrue(exception.getMessage().contains(originalErrorMessage),
                         "Debe contener el mensaje de la excepción original"),
-                () -> verify(objectMapper, times(1)).writeValueAsString(search)
+                () -> verify(searchWriter, times(1)).writeValueAsBytes(search)
         );
     }
+
+    @Test
+    void shouldAttachFingerprintHeader_WhenPublishingSearch() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        byte[] expectedFingerprint = SearchFingerprint.of(search).toBytes();
+
+        when(searchWriter.writeValueAsBytes(search)).thenReturn(bytes("{}"));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(sent(42L));
+
+        // When
+        kafkaSearchProducer.publishSearch(search);
+
+        // Then
+        verify(kafkaTemplate, times(1)).send(producerRecordMatching(r -> {
+            Header header = r.headers().lastHeader(SearchKafkaHeaders.FINGERPRINT);
+            return header != null && Arrays.equals(expectedFingerprint, header.value());
+        }));
+    }
+
+    @Test
+    void shouldStampCreatedAtHeader_WhenPublishingSearch() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        long before = System.currentTimeMillis();
+
+        when(searchWriter.writeValueAsBytes(search)).thenReturn(bytes("{}"));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(sent(42L));
+
+        // When
+        kafkaSearchProducer.publishSearch(search);
+        long after = System.currentTimeMillis();
+
+        // Then
+        verify(kafkaTemplate, times(1)).send(producerRecordMatching(r -> {
+            long createdAt = SearchKafkaHeaders.createdAt(r.headers());
+            return createdAt >= before && createdAt <= after;
+        }));
+    }
+
+    @Test
+    void shouldDeclareJsonContentType_WhenPublishingWithDefaultFormat() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+
+        when(searchWriter.writeValueAsBytes(search)).thenReturn(bytes("{}"));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(sent(42L));
+
+        // When
+        kafkaSearchProducer.publishSearch(search);
+
+        // Then
+        verify(kafkaTemplate, times(1)).send(producerRecordMatching(r -> {
+            Header header = r.headers().lastHeader(SearchKafkaHeaders.CONTENT_TYPE);
+            return header != null && Arrays.equals(bytes(SearchKafkaHeaders.JSON_CONTENT_TYPE), header.value());
+        }));
+    }
+
+    @Test
+    void shouldPublishBinaryPayload_WhenBinaryContentTypeConfigured() throws Exception {
+        // Given
+        KafkaSearchProducer binaryProducer = new KafkaSearchProducer(kafkaTemplate, searchWriter, meterRegistry,
+                MAX_IN_FLIGHT, SearchKafkaHeaders.BINARY_CONTENT_TYPE);
+        ReflectionTestUtils.setField(binaryProducer, "topicName", TEST_TOPIC_NAME);
+        Search search = TestDataBuilder.createTestSearch();
+
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(sent(42L));
+
+        // When
+        binaryProducer.publishSearch(search);
+
+        // Then
+        assertAll("Binary payload verification",
+                () -> verify(kafkaTemplate, times(1)).send(producerRecordMatching(r -> {
+                    Header header = r.headers().lastHeader(SearchKafkaHeaders.CONTENT_TYPE);
+                    return header != null && Arrays.equals(bytes(SearchKafkaHeaders.BINARY_CONTENT_TYPE), header.value())
+                            && search.equals(SearchBinaryCodec.decode(r.value()));
+                })),
+                () -> verifyNoInteractions(searchWriter)
+        );
+    }
+
+    @Test
+    void shouldReturnConsistencyToken_WhenBrokerAcknowledgesRecord() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+
+        when(searchWriter.writeValueAsBytes(search)).thenReturn(bytes("{}"));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(sent(42L));
+
+        // When
+        ConsistencyToken token = kafkaSearchProducer.publishSearch(search);
+
+        // Then
+        assertEquals(new ConsistencyToken(TEST_TOPIC_NAME, 0, 42L), token,
+                "El token debe llevar topic, partición y offset confirmados por el broker");
+    }
+
+    @Test
+    void shouldThrowErrorSendTopic_WhenBrokerRejectsRecord() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+
+        when(searchWriter.writeValueAsBytes(search)).thenReturn(bytes("{}"));
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker not available")));
+
+        // When & Then
+        ErrorSendTopic exception = assertThrows(ErrorSendTopic.class,
+                () -> kafkaSearchProducer.publishSearch(search),
+                "Debe lanzar ErrorSendTopic cuando el broker no confirma el envío");
+
+        assertAll("Broker rejection verification",
+                () -> assertTrue(exception.getMessage().contains("Broker not available"),
+                        "El mensaje debe contener la causa del error"),
+                () -> assertEquals(1, meterRegistry.get("search.publish").tag("outcome", "error").timer().count(),
+                        "El fallo síncrono también debe medirse como error"),
+                () -> assertEquals(0, meterRegistry.get("search.publish").tag("outcome", "success").timer().count(),
+                        "No debe contarse como éxito"));
+    }
+
+    @Test
+    void shouldFlushOnceAndReturnResultsInOrder_WhenPublishingBatch() throws Exception {
+        // Given
+        Search search1 = TestDataBuilder.createTestSearchWithId("search-1");
+        Search search2 = TestDataBuilder.createTestSearchWithId("search-2");
+        Search search3 = TestDataBuilder.createTestSearchWithId("search-3");
+
+        when(searchWriter.writeValueAsBytes(search1)).thenReturn(bytes("{\"searchId\":\"search-1\"}"));
+        when(searchWriter.writeValueAsBytes(search2)).thenThrow(new RuntimeException("JSON serialization error"));
+        when(searchWriter.writeValueAsBytes(search3)).thenReturn(bytes("{\"searchId\":\"search-3\"}"));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(sent(10L), sent(11L));
+
+        // When
+        List<CompletableFuture<ConsistencyToken>> results = kafkaSearchProducer.publishSearches(List.of(search1, search2, search3));
+
+        // Then
+        assertAll("Batch publishing verification",
+                () -> assertEquals(3, results.size(),
+                        "Debe haber un resultado por búsqueda"),
+                () -> assertTrue(results.stream().allMatch(CompletableFuture::isDone),
+                        "Todos los resultados deben llegar completados"),
+                () -> assertEquals(new ConsistencyToken(TEST_TOPIC_NAME, 0, 10L), results.get(0).join(),
+                        "La primera búsqueda debe llevar su offset"),
+                () -> assertTrue(results.get(1).isCompletedExceptionally(),
+                        "El fallo de serialización sólo debe afectar a su búsqueda"),
+                () -> assertEquals(new ConsistencyToken(TEST_TOPIC_NAME, 0, 11L), results.get(2).join(),
+                        "La tercera búsqueda debe llevar su offset"),
+                () -> verify(kafkaTemplate, times(2)).send(any(ProducerRecord.class)),
+                () -> verify(kafkaTemplate, times(1)).flush()
+        );
+    }
+
+    @Test
+    void shouldFailPendingSends_WhenBatchIsNotAcknowledgedInTime() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(kafkaSearchProducer, "sendTimeout", Duration.ofMillis(10));
+        Search search = TestDataBuilder.createTestSearch();
+
+        when(searchWriter.writeValueAsBytes(search)).thenReturn(bytes("{}"));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+
+        // When
+        List<CompletableFuture<ConsistencyToken>> results = kafkaSearchProducer.publishSearches(List.of(search));
+
+        // Then
+        assertAll("Batch timeout verification",
+                () -> assertTrue(results.get(0).isCompletedExceptionally(),
+                        "Un envío sin ack debe devolverse como error"),
+                () -> verify(kafkaTemplate, times(1)).flush()
+        );
+    }
+
+    @Test
+    void shouldReturnWithoutToken_WhenAsyncModeAndSendPending() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        CompletableFuture<SendResult<String, byte[]>> pending = new CompletableFuture<>();
+        ReflectionTestUtils.setField(kafkaSearchProducer, "mode", KafkaSearchProducer.ASYNC_MODE);
+
+        when(searchWriter.writeValueAsBytes(search)).thenReturn(bytes("{}"));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(pending);
+
+        // When
+        ConsistencyToken token = kafkaSearchProducer.publishSearch(search);
+        int inFlightBeforeAck = kafkaSearchProducer.inFlight();
+        pending.complete(sent(5L).join());
+
+        // Then
+        assertAll("Async publish verification",
+                () -> assertNull(token, "En modo async no hay token: el offset aún no se conoce"),
+                () -> assertEquals(1, inFlightBeforeAck, "El envío pendiente debe ocupar un hueco"),
+                () -> assertEquals(0, kafkaSearchProducer.inFlight(), "El ack debe liberar el hueco"),
+                () -> assertEquals(1, meterRegistry.get("search.publish").tag("outcome", "success").timer().count(),
+                        "El callback debe registrar la latencia del envío")
+        );
+    }
+
+    @Test
+    void shouldRecordErrorAndReleasePermit_WhenAsyncSendFails() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        ReflectionTestUtils.setField(kafkaSearchProducer, "mode", KafkaSearchProducer.ASYNC_MODE);
+
+        when(searchWriter.writeValueAsBytes(search)).thenReturn(bytes("{}"));
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        // When
+        ConsistencyToken token = kafkaSearchProducer.publishSearch(search);
+
+        // Then
+        assertAll("Async publish failure verification",
+                () -> assertNull(token, "El fallo del envío no llega al llamante"),
+                () -> assertEquals(0, kafkaSearchProducer.inFlight(), "El fallo debe liberar el hueco"),
+                () -> assertEquals(1, meterRegistry.get("search.publish").tag("outcome", "error").timer().count(),
+                        "El callback debe registrar el error")
+        );
+    }
+
+    @Test
+    void shouldFailFast_WhenAsyncModeAndMaxInFlightReached() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        ReflectionTestUtils.setField(kafkaSearchProducer, "mode", KafkaSearchProducer.ASYNC_MODE);
+
+        when(searchWriter.writeValueAsBytes(search)).thenReturn(bytes("{}"));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+        for (int i = 0; i < MAX_IN_FLIGHT; i++) {
+            kafkaSearchProducer.publishSearch(search);
+        }
+
+        // When & Then
+        assertThrows(PublishCapacityExceededException.class,
+                () -> kafkaSearchProducer.publishSearch(search),
+                "Sin huecos libres debe fallar sin esperar al broker");
+
+        assertAll("Max in-flight verification",
+                () -> verify(kafkaTemplate, times(MAX_IN_FLIGHT)).send(any(ProducerRecord.class)),
+                () -> assertEquals(1.0, meterRegistry.get("search.publish.rejected").counter().count(),
+                        "El rechazo debe contarse"),
+                () -> assertEquals(MAX_IN_FLIGHT, meterRegistry.get("search.publish.in-flight").gauge().value(),
+                        "El gauge debe reflejar los envíos pendientes")
+        );
+    }
+
+    @Test
+    void shouldReleasePermit_WhenAsyncSerializationFails() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        ReflectionTestUtils.setField(kafkaSearchProducer, "mode", KafkaSearchProducer.ASYNC_MODE);
+
+        when(searchWriter.writeValueAsBytes(search)).thenThrow(new RuntimeException("JSON serialization error"));
+
+        // When & Then
+        assertThrows(ErrorSendTopic.class, () -> kafkaSearchProducer.publishSearch(search),
+                "Debe lanzar ErrorSendTopic cuando falla la serialización JSON");
+
+        assertAll("Async serialization failure verification",
+                () -> assertEquals(0, kafkaSearchProducer.inFlight(), "El hueco debe liberarse"),
+                () -> verifyNoInteractions(kafkaTemplate)
+        );
+    }
+
+    private static CompletableFuture<SendResult<String, byte[]>> sent(long offset) {
+        RecordMetadata metadata = new RecordMetadata(new TopicPartition(TEST_TOPIC_NAME, 0), offset, 0, 0L, 0, 0);
+        return CompletableFuture.completedFuture(new SendResult<>(null, metadata));
+    }
+
+    private static ProducerRecord<String, byte[]> producerRecord(String topic, Search search, String value) {
+        String key = SearchFingerprint.of(search).toHex();
+        return producerRecordMatching(r -> topic.equals(r.topic()) && key.equals(r.key()) && Arrays.equals(bytes(value), r.value()));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static ProducerRecord<String, byte[]> producerRecordMatching(ArgumentMatcher<ProducerRecord<String, byte[]>> matcher) {
+        return argThat(matcher);
+    }
 }
@@ -0,0 +1,157 @@
+package demo.avoris.infrastructure.adapter.out.kafka.producer;
+
+import demo.avoris.TestDataBuilder;
+import demo.avoris.domain.model.ConsistencyToken;
+import demo.avoris.domain.model.Search;
+import demo.avoris.domain.model.SearchFingerprint;
+import demo.avoris.infrastructure.adapter.out.kafka.exeption.ErrorSendTopic;
+import demo.avoris.infrastructure.adapter.out.kafka.header.SearchKafkaHeaders;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Publisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveKafkaSearchProducerTest {
+
+    @Mock
+    private KafkaSender<String, byte[]> sender;
+
+    @Mock
+    private ObjectWriter searchWriter;
+
+    private ReactiveKafkaSearchProducer producer;
+
+    private final List<SenderRecord<String, byte[], String>> sent = new ArrayList<>();
+
+    private static final String TEST_TOPIC_NAME = "test-hotel-searches";
+
+    @BeforeEach
+    void setUp() {
+        producer = new ReactiveKafkaSearchProducer(sender, searchWriter, SearchKafkaHeaders.JSON_CONTENT_TYPE);
+        ReflectionTestUtils.setField(producer, "topicName", TEST_TOPIC_NAME);
+    }
+
+    @Test
+    void shouldEmitTokenOfAckedRecord_WhenPublishingSearch() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        byte[] payload = "{}".getBytes(StandardCharsets.UTF_8);
+        when(searchWriter.writeValueAsBytes(search)).thenReturn(payload);
+        when(sender.send(any())).thenAnswer(invocation -> acknowledging(invocation.getArgument(0)));
+
+        // When & Then
+        StepVerifier.create(producer.publishSearch(search))
+                .expectNext(new ConsistencyToken(TEST_TOPIC_NAME, 3, 42L))
+                .verifyComplete();
+
+        SenderRecord<String, byte[], String> record = sent.get(0);
+        assertAll("Sent record verification",
+                () -> assertEquals(TEST_TOPIC_NAME, record.topic(), "El tópico debe ser el configurado"),
+                () -> assertEquals(SearchFingerprint.of(search).toHex(), record.key(), "La clave debe ser la huella"),
+                () -> assertSame(payload, record.value(), "El payload debe ser el JSON del writer"),
+                () -> assertArrayEquals(SearchFingerprint.of(search).toBytes(),
+                        record.headers().lastHeader(SearchKafkaHeaders.FINGERPRINT).value(),
+                        "Debe viajar la huella en su cabecera"),
+                () -> assertArrayEquals(SearchKafkaHeaders.JSON_CONTENT_TYPE.getBytes(StandardCharsets.UTF_8),
+                        record.headers().lastHeader(SearchKafkaHeaders.CONTENT_TYPE).value(),
+                        "Debe declararse el formato del payload")
+        );
+    }
+
+    @Test
+    void shouldFailWithErrorSendTopic_WhenBrokerRejectsRecord() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        when(searchWriter.writeValueAsBytes(search)).thenReturn(new byte[0]);
+        when(sender.send(any())).thenAnswer(invocation -> failing(invocation.getArgument(0),
+                Flux.error(new IllegalStateException("broker down"))));
+
+        // When & Then
+        StepVerifier.create(producer.publishSearch(search))
+                .expectErrorSatisfies(error -> assertAll("Send error verification",
+                        () -> assertInstanceOf(ErrorSendTopic.class, error, "El error debe traducirse a ErrorSendTopic"),
+                        () -> assertTrue(error.getMessage().contains("broker down"), "Debe conservar el motivo")))
+                .verify();
+    }
+
+    @Test
+    void shouldFailWithErrorSendTopic_WhenAckDoesNotArriveInTime() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        ReflectionTestUtils.setField(producer, "sendTimeout", Duration.ofMillis(50));
+        when(searchWriter.writeValueAsBytes(search)).thenReturn(new byte[0]);
+        when(sender.send(any())).thenAnswer(invocation -> failing(invocation.getArgument(0), Flux.never()));
+
+        // When & Then
+        StepVerifier.create(producer.publishSearch(search))
+                .expectError(ErrorSendTopic.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void shouldNotSendAnything_UntilSubscribed() {
+        // Given
+        when(sender.send(any())).thenAnswer(invocation -> acknowledging(invocation.getArgument(0)));
+
+        // When
+        producer.publishSearch(TestDataBuilder.createTestSearch());
+
+        // Then
+        assertAll("Lazy publish verification",
+                () -> verifyNoInteractions(searchWriter),
+                () -> assertTrue(sent.isEmpty(), "No debe enviarse nada sin suscripción")
+        );
+    }
+
+    /**
+     * Consume los registros como haría el sender real y termina con {@code outcome} en lugar del ack.
+     */
+    private Flux<SenderResult<String>> failing(Publisher<SenderRecord<String, byte[], String>> records,
+                                               Flux<SenderResult<String>> outcome) {
+        return Flux.from(records).doOnNext(sent::add).thenMany(outcome);
+    }
+
+    private Flux<SenderResult<String>> acknowledging(Publisher<SenderRecord<String, byte[], String>> records) {
+        return Flux.from(records).map(record -> {
+            sent.add(record);
+            RecordMetadata metadata = new RecordMetadata(new TopicPartition(record.topic(), 3), 42L, 0, 0L, 0, 0);
+            return new SenderResult<>() {
+                @Override
+                public RecordMetadata recordMetadata() {
+                    return metadata;
+                }
+
+                @Override
+                public Exception exception() {
+                    return null;
+                }
+
+                @Override
+                public String correlationMetadata() {
+                    return record.correlationMetadata();
+                }
+            };
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package demo.avoris.infrastructure.adapter.out.memory;
+
+import demo.avoris.TestDataBuilder;
+import demo.avoris.domain.model.Search;
+import demo.avoris.domain.model.SearchFingerprint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemorySearchCounterAdapterTest {
+
+    private InMemorySearchCounterAdapter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new InMemorySearchCounterAdapter();
+    }
+
+    @Test
+    void shouldCountIdenticalSearches_WhenAgesAreInDifferentOrder() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        Search sameSearchOtherOrder = new Search("other-id", search.hotelId(), search.checkIn(), search.checkOut(),
+                List.of(3, 5, 25, 30), 1);
+
+        // When
+        counter.increment(SearchFingerprint.of(search));
+        long result = counter.increment(SearchFingerprint.of(sameSearchOtherOrder));
+
+        // Then
+        assertAll("Identical search counting verification",
+                () -> assertEquals(2, result,
+                        "El orden de las edades no debe afectar a la huella"),
+                () -> assertEquals(2, counter.count(SearchFingerprint.of(search)),
+                        "El count debe reflejar ambas búsquedas")
+        );
+    }
+
+    @Test
+    void shouldReturnZero_WhenKeyWasNeverCounted() {
+        // Given
+        SearchFingerprint key = SearchFingerprint.of(TestDataBuilder.createTestSearch());
+
+        // When & Then
+        assertEquals(0, counter.count(key),
+                "Una clave desconocida debe tener count 0");
+    }
+
+    @Test
+    void shouldNotCountSearchesWithDifferentAges_AsIdentical() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        Search otherParty = new Search("other-id", search.hotelId(), search.checkIn(), search.checkOut(),
+                List.of(30, 25), 1);
+
+        // When
+        counter.increment(SearchFingerprint.of(search));
+        counter.increment(SearchFingerprint.of(otherParty));
+
+        // Then
+        assertEquals(1, counter.count(SearchFingerprint.of(search)),
+                "Búsquedas con edades distintas no deben compartir contador");
+    }
+
+    @Test
+    void shouldAccumulateConcurrentIncrements_WhenManyThreadsCountSameKey() throws Exception {
+        // Given
+        SearchFingerprint key = SearchFingerprint.of(TestDataBuilder.createTestSearch());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> counter.increment(key));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(10_000, counter.count(key),
+                "No se deben perder incrementos concurrentes");
+    }
+
+    @Test
+    void shouldAddDelta_WhenIndexIsRebuilt() {
+        // Given
+        SearchFingerprint key = SearchFingerprint.of(TestDataBuilder.createTestSearch());
+
+        // When
+        counter.add(key, 7);
+        counter.increment(key);
+
+        // Then
+        assertEquals(8, counter.count(key),
+                "El count debe sumar la carga inicial y los nuevos eventos");
+    }
+}
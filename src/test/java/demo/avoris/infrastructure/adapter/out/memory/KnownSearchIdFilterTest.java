@@ -0,0 +1,104 @@
+package demo.avoris.infrastructure.adapter.out.memory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KnownSearchIdFilterTest {
+
+    private MeterRegistry meterRegistry;
+
+    private KnownSearchIdFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new KnownSearchIdFilter(meterRegistry, true, 1_000, 0.01);
+    }
+
+    @Test
+    void shouldLetEverythingThrough_UntilLoaded() {
+        // When
+        boolean beforeLoad = filter.mightContain("missing");
+
+        // Then
+        assertAll("Before load verification",
+                () -> assertTrue(beforeLoad, "Antes de la carga inicial no puede descartar ningún id"),
+                () -> assertEquals(0.0, checks("absent"), "No debe contar consultas antes de la carga")
+        );
+    }
+
+    @Test
+    void shouldRejectUnknownSearchIds_WhenLoaded() {
+        // Given
+        filter.add("search-1");
+        filter.markLoaded();
+
+        // When
+        boolean known = filter.mightContain("search-1");
+        boolean unknown = filter.mightContain("missing");
+
+        // Then
+        assertAll("Loaded filter verification",
+                () -> assertTrue(known, "Un id añadido debe pasar el filtro"),
+                () -> assertFalse(unknown, "Un id nunca visto debe descartarse"),
+                () -> assertEquals(1.0, checks("present"), "Debe contar la consulta que pasa"),
+                () -> assertEquals(1.0, checks("absent"), "Debe contar la consulta descartada")
+        );
+    }
+
+    @Test
+    void shouldLetEverythingThrough_WhenDisabled() {
+        // Given
+        KnownSearchIdFilter disabled = new KnownSearchIdFilter(new SimpleMeterRegistry(), false, 1_000, 0.01);
+        disabled.markLoaded();
+
+        // Then
+        assertTrue(disabled.mightContain("missing"), "Desactivado debe dejar pasar todas las consultas");
+    }
+
+    @Test
+    void shouldCountAndLearnSearchId_WhenStoreHadAnIdTheFilterDidNotKnow() {
+        // Given
+        filter.markLoaded();
+        boolean before = filter.mightContain("stored-by-another-replica");
+
+        // When
+        filter.recordFalseNegative("stored-by-another-replica");
+
+        // Then
+        assertAll("False negative verification",
+                () -> assertFalse(before, "El filtro no conocía el id"),
+                () -> assertEquals(1.0, meterRegistry.get("search.bloom.false.negatives").counter().count(),
+                        "Debe contar el falso negativo"),
+                () -> assertTrue(filter.mightContain("stored-by-another-replica"), "Debe añadir el id al filtro")
+        );
+    }
+
+    @Test
+    void shouldExposeFootprintAndFalsePositives() {
+        // Given
+        filter.add("search-1");
+        filter.markLoaded();
+
+        // When
+        filter.recordFalsePositive();
+
+        // Then
+        assertAll("Metrics verification",
+                () -> assertEquals(1.0, meterRegistry.get("search.bloom.false.positives").counter().count(),
+                        "Debe contar los falsos positivos"),
+                () -> assertTrue(meterRegistry.get("search.bloom.memory").gauge().value() > 0,
+                        "Debe publicar la memoria de los arrays de bits"),
+                () -> assertTrue(meterRegistry.get("search.bloom.expected.fpp").gauge().value() > 0,
+                        "Debe publicar la tasa de falsos positivos esperada")
+        );
+    }
+
+    private double checks(String result) {
+        return meterRegistry.get("search.bloom.checks").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,56 @@
+package demo.avoris.infrastructure.adapter.out.memory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentSearchIdsAdapterTest {
+
+    private MeterRegistry meterRegistry;
+
+    private RecentSearchIdsAdapter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RecentSearchIdsAdapter(meterRegistry, 1_000, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void shouldReportDuplicate_WhenSearchIdWasSaved() {
+        // Given
+        filter.markSaved("search-1");
+
+        // When
+        boolean saved = filter.isDuplicate("search-1");
+        boolean unknown = filter.isDuplicate("search-2");
+
+        // Then
+        assertAll("Recent ids verification",
+                () -> assertTrue(saved, "Un searchId guardado debe reconocerse como duplicado"),
+                () -> assertFalse(unknown, "Un searchId desconocido no es duplicado"),
+                () -> assertEquals(1.0, suppressed("memory"), "Debe contar el duplicado parado en memoria")
+        );
+    }
+
+    @Test
+    void shouldRememberAndCount_WhenStoreRejectsDuplicate() {
+        // When
+        filter.markDuplicate("search-1");
+
+        // Then
+        assertAll("Store duplicate verification",
+                () -> assertEquals(1.0, suppressed("store"), "Debe contar el duplicado rechazado por Mongo"),
+                () -> assertTrue(filter.isDuplicate("search-1"), "El siguiente reenvío debe pararse en memoria")
+        );
+    }
+
+    private double suppressed(String stage) {
+        return meterRegistry.get(RecentSearchIdsAdapter.SUPPRESSED_METRIC).tag("stage", stage).counter().count();
+    }
+}
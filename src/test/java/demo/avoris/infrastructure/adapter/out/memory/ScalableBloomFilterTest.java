@@ -0,0 +1,68 @@
+package demo.avoris.infrastructure.adapter.out.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void shouldContainEveryAddedValue_WhenGrowingPastInitialCapacity() {
+        // Given
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+
+        // When
+        IntStream.range(0, 10_000).forEach(i -> filter.add("search-" + i));
+
+        // Then
+        assertAll("Growth verification",
+                () -> assertTrue(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("search-" + i)),
+                        "Un filtro de Bloom no tiene falsos negativos"),
+                () -> assertTrue(filter.stageCount() > 1, "Al superar la capacidad debe añadir etapas")
+        );
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateBounded_WhenFilled() {
+        // Given
+        double fpp = 0.01;
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, fpp);
+        IntStream.range(0, 20_000).forEach(i -> filter.add("search-" + i));
+
+        // When
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("unknown-" + i))
+                .count();
+
+        // Then
+        double observed = falsePositives / 100_000.0;
+        assertAll("False positive verification",
+                () -> assertTrue(observed < 2 * fpp, "La tasa observada debe quedar por debajo de fpp, con holgura: " + observed),
+                () -> assertTrue(filter.expectedFpp() < 2 * fpp,
+                        "La tasa estimada debe quedar por debajo de fpp, con holgura: " + filter.expectedFpp())
+        );
+    }
+
+    @Test
+    void shouldReportEmptyFilter_WhenNothingAdded() {
+        // Given
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+
+        // Then
+        assertAll("Empty filter verification",
+                () -> assertFalse(filter.mightContain("search-1"), "Un filtro vacío no contiene nada"),
+                () -> assertEquals(0.0, filter.expectedFpp(), "Un filtro vacío no tiene falsos positivos"),
+                () -> assertTrue(filter.sizeInBytes() > 0, "Debe reservar la primera etapa")
+        );
+    }
+
+    @Test
+    void shouldRejectInvalidParameters() {
+        assertAll("Parameter validation",
+                () -> assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, 0.01)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(1_000, 1.0))
+        );
+    }
+}
@@ -0,0 +1,166 @@
+package demo.avoris.infrastructure.adapter.out.mongo;
+
+import demo.avoris.TestDataBuilder;
+import demo.avoris.domain.exception.DuplicateSearch;
+import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.adapter.out.memory.KnownSearchIdFilter;
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchDocument;
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchDocumentV2;
+import demo.avoris.infrastructure.adapter.out.mongo.exeption.SearchNotFoundException;
+import org.bson.Document;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveSearchMongoRepositoryAdapterTest {
+
+    @Mock
+    private ReactiveSearchRepository repository;
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final KnownSearchIdFilter knownIds = new KnownSearchIdFilter(meterRegistry, true, 1_000, 0.01);
+
+    @Test
+    void shouldInsertThroughRepository_WhenSchemaVersionIsOne() {
+        // Given
+        ReactiveSearchMongoRepositoryAdapter mongoAdapter = new ReactiveSearchMongoRepositoryAdapter(repository, mongoTemplate, 1, knownIds);
+        Search search = TestDataBuilder.createTestSearch();
+        SearchDocument savedDocument = TestDataBuilder.createTestSearchDocument();
+        when(repository.insert(any(SearchDocument.class))).thenReturn(Mono.just(savedDocument));
+
+        // When & Then
+        StepVerifier.create(mongoAdapter.save(search))
+                .assertNext(result -> assertEquals(savedDocument.searchId(), result.searchId(),
+                        "El searchId debe coincidir"))
+                .verifyComplete();
+        verify(mongoTemplate, never()).insert(any(SearchDocumentV2.class));
+    }
+
+    @Test
+    void shouldInsertV2Document_WhenSchemaVersionIsTwo() {
+        // Given
+        ReactiveSearchMongoRepositoryAdapter mongoAdapter = new ReactiveSearchMongoRepositoryAdapter(repository, mongoTemplate, 2, knownIds);
+        Search search = TestDataBuilder.createTestSearch();
+        when(mongoTemplate.insert(any(SearchDocumentV2.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // When & Then
+        StepVerifier.create(mongoAdapter.save(search))
+                .assertNext(result -> assertAll("Save v2 verification",
+                        () -> assertEquals(search.searchId(), result.searchId(), "El searchId debe coincidir"),
+                        () -> assertEquals(search.hotelId(), result.hotelId(), "El hotelId debe coincidir")))
+                .verifyComplete();
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldFailWithDuplicateSearch_WhenSearchIdIsAlreadyStored() {
+        // Given
+        ReactiveSearchMongoRepositoryAdapter mongoAdapter = new ReactiveSearchMongoRepositoryAdapter(repository, mongoTemplate, 2, knownIds);
+        Search search = TestDataBuilder.createTestSearch();
+        when(mongoTemplate.insert(any(SearchDocumentV2.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key")));
+
+        // When & Then
+        StepVerifier.create(mongoAdapter.save(search))
+                .expectError(DuplicateSearch.class)
+                .verify();
+    }
+
+    @Test
+    void shouldFindBySearchId_WhenSearchExists() {
+        // Given
+        ReactiveSearchMongoRepositoryAdapter mongoAdapter = new ReactiveSearchMongoRepositoryAdapter(repository, mongoTemplate, 2, knownIds);
+        SearchDocument document = TestDataBuilder.createTestSearchDocument();
+        when(mongoTemplate.findOne(queryFor(document.searchId()), eq(Document.class), eq("search")))
+                .thenReturn(Mono.just(toBson(document)));
+
+        // When & Then
+        StepVerifier.create(mongoAdapter.findBySearchId(document.searchId()))
+                .assertNext(result -> assertAll("Find verification",
+                        () -> assertEquals(document.searchId(), result.searchId(), "El searchId debe coincidir"),
+                        () -> assertEquals(document.search().hotelId(), result.hotelId(), "El hotelId debe coincidir")))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFailWithNotFound_WhenSearchDoesNotExist() {
+        // Given
+        ReactiveSearchMongoRepositoryAdapter mongoAdapter = new ReactiveSearchMongoRepositoryAdapter(repository, mongoTemplate, 2, knownIds);
+        when(mongoTemplate.findOne(queryFor("missing"), eq(Document.class), eq("search"))).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(mongoAdapter.findBySearchId("missing"))
+                .expectError(SearchNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldFindAllWithSingleInQuery_WhenFindingSeveralSearchIds() {
+        // Given
+        ReactiveSearchMongoRepositoryAdapter mongoAdapter = new ReactiveSearchMongoRepositoryAdapter(repository, mongoTemplate, 2, knownIds);
+        SearchDocument document = TestDataBuilder.createTestSearchDocument();
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("search"))).thenReturn(Flux.just(toBson(document)));
+
+        // When & Then
+        StepVerifier.create(mongoAdapter.findAllBySearchIds(List.of(document.searchId(), "missing")))
+                .assertNext(result -> assertEquals(document.searchId(), result.searchId(), "El searchId debe coincidir"))
+                .verifyComplete();
+        verify(mongoTemplate, times(1)).find(argThat(query -> query.getQueryObject().get("searchId") instanceof Document in
+                        && in.get("$in") instanceof List<?> ids && ids.size() == 2),
+                eq(Document.class), eq("search"));
+    }
+
+    @Test
+    void shouldQueryMongoAndCountFalseNegative_WhenFilterNeverSawSearchId() {
+        // Given: otra réplica guardó la búsqueda después de la carga del filtro
+        ReactiveSearchMongoRepositoryAdapter mongoAdapter = new ReactiveSearchMongoRepositoryAdapter(repository, mongoTemplate, 2, knownIds);
+        SearchDocument document = TestDataBuilder.createTestSearchDocument();
+        knownIds.markLoaded();
+        when(mongoTemplate.findOne(queryFor(document.searchId()), eq(Document.class), eq("search")))
+                .thenReturn(Mono.just(toBson(document)));
+
+        // When & Then
+        StepVerifier.create(mongoAdapter.findBySearchId(document.searchId()))
+                .assertNext(result -> assertEquals(document.searchId(), result.searchId(),
+                        "Un id que el filtro no conoce debe buscarse igualmente en Mongo"))
+                .verifyComplete();
+        assertEquals(1.0, meterRegistry.get("search.bloom.false.negatives").counter().count(),
+                "Debe contarse que el filtro no lo conocía");
+    }
+
+    private static Query queryFor(String searchId) {
+        return argThat(query -> query != null && searchId.equals(query.getQueryObject().get("searchId")));
+    }
+
+    private static Document toBson(SearchDocument document) {
+        return new Document("_id", document.id())
+                .append("searchId", document.searchId())
+                .append("search", new Document("hotelId", document.search().hotelId())
+                        .append("checkIn", document.search().checkIn())
+                        .append("checkOut", document.search().checkOut())
+                        .append("ages", List.copyOf(document.search().ages())))
+                .append("count", document.count());
+    }
+}
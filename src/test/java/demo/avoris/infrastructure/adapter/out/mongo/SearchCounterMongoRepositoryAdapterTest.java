@@ -0,0 +1,347 @@
+package demo.avoris.infrastructure.adapter.out.mongo;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.result.UpdateResult;
+import demo.avoris.TestDataBuilder;
+import demo.avoris.domain.exception.DuplicateSearch;
+import demo.avoris.domain.model.Search;
+import demo.avoris.domain.model.SearchKey;
+import demo.avoris.infrastructure.adapter.out.memory.KnownSearchIdFilter;
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchCounterDocument;
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchKeyDocument;
+import demo.avoris.infrastructure.adapter.out.mongo.exeption.SearchNotFoundException;
+import demo.avoris.infrastructure.mapper.SearchCounterDocumentMapper;
+import org.bson.BsonString;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchCounterMongoRepositoryAdapterTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final KnownSearchIdFilter knownIds = new KnownSearchIdFilter(meterRegistry, true, 1_000, 0.01);
+
+    private SearchCounterMongoRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new SearchCounterMongoRepositoryAdapter(mongoTemplate, knownIds);
+    }
+
+    @Test
+    void shouldUpsertCounterAndSaveKeyMapping_WhenSearchIsSaved() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        String keyId = SearchCounterDocumentMapper.toKeyId(SearchKey.of(search));
+        // Mapeo creado; el mismo resultado sirve para el upsert del contador
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), any(Class.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, new BsonString(search.searchId())));
+
+        // When
+        Search result = adapter.save(search);
+
+        // Then
+        assertAll("Counter upsert verification",
+                () -> assertEquals(search, result,
+                        "Debe devolver la búsqueda guardada"),
+                () -> verify(mongoTemplate, times(1)).upsert(any(Query.class), any(Update.class), eq(SearchCounterDocument.class)),
+                () -> verify(mongoTemplate, times(1)).upsert(
+                        argThat((Query query) -> search.searchId().equals(query.getQueryObject().get("_id"))),
+                        argThat((Update update) -> keyId.equals(
+                                update.getUpdateObject().get("$setOnInsert", org.bson.Document.class).get("key"))),
+                        eq(SearchKeyDocument.class)),
+                () -> verify(mongoTemplate, times(1)).updateFirst(any(Query.class),
+                        argThat((Update update) -> Boolean.TRUE.equals(update.getUpdateObject()
+                                .get("$set", org.bson.Document.class).get(SearchKeyDocument.COUNTED))),
+                        eq(SearchKeyDocument.class))
+        );
+    }
+
+    @Test
+    void shouldNotIncrementCounter_WhenSearchIdWasAlreadyMapped() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(SearchKeyDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 0L, null));
+        when(mongoTemplate.exists(any(Query.class), eq(SearchKeyDocument.class))).thenReturn(false);
+
+        // When & Then
+        assertThrows(DuplicateSearch.class,
+                () -> adapter.save(search),
+                "Un searchId ya mapeado y contado debe lanzar DuplicateSearch");
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(SearchCounterDocument.class));
+    }
+
+    @Test
+    void shouldFinishIncrement_WhenMappingWasLeftUncounted() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(SearchKeyDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 0L, null));
+        when(mongoTemplate.exists(
+                argThat((Query query) -> Boolean.FALSE.equals(query.getQueryObject().get(SearchKeyDocument.COUNTED))),
+                eq(SearchKeyDocument.class))).thenReturn(true);
+
+        // When
+        Search result = adapter.save(search);
+
+        // Then
+        assertAll("Uncounted mapping verification",
+                () -> assertEquals(search, result, "El reenvío debe completar el guardado anterior"),
+                () -> verify(mongoTemplate, times(1)).upsert(any(Query.class), any(Update.class), eq(SearchCounterDocument.class)),
+                () -> verify(mongoTemplate, times(1)).updateFirst(any(Query.class), any(Update.class), eq(SearchKeyDocument.class))
+        );
+    }
+
+    @Test
+    void shouldReadMappingAndCounter_WhenSearchExists() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        SearchKey key = SearchKey.of(search);
+        String keyId = SearchCounterDocumentMapper.toKeyId(key);
+        when(mongoTemplate.findById(search.searchId(), SearchKeyDocument.class))
+                .thenReturn(new SearchKeyDocument(search.searchId(), keyId, true));
+        when(mongoTemplate.findById(keyId, SearchCounterDocument.class))
+                .thenReturn(new SearchCounterDocument(keyId, SearchCounterDocumentMapper.toSearchData(key), 12));
+
+        // When
+        Search result = adapter.findBySearchId(search.searchId());
+
+        // Then
+        assertAll("Counter lookup verification",
+                () -> assertEquals(search.searchId(), result.searchId(),
+                        "El searchId debe coincidir"),
+                () -> assertEquals(search.hotelId(), result.hotelId(),
+                        "El hotelId debe coincidir"),
+                () -> assertEquals(search.checkIn(), result.checkIn(),
+                        "La fecha de checkIn debe coincidir"),
+                () -> assertEquals(key.ages(), result.ages(),
+                        "Las edades deben coincidir con la clave canónica"),
+                () -> assertEquals(12, result.count(),
+                        "El count debe venir del documento contador")
+        );
+    }
+
+    @Test
+    void shouldIncrementEachDistinctKeyOnce_WhenSavingBatch() {
+        // Given
+        BulkOperations keyBulk = mock(BulkOperations.class);
+        BulkOperations counterBulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchKeyDocument.class)).thenReturn(keyBulk);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchCounterDocument.class)).thenReturn(counterBulk);
+        BulkWriteResult mappings = mappingsCreated(0, 1, 2);
+        when(keyBulk.execute()).thenReturn(mappings);
+        List<Search> searches = List.of(
+                TestDataBuilder.createTestSearchWithId("search-1"),
+                TestDataBuilder.createTestSearchWithId("search-2"),
+                new Search("search-3", "other-hotel", TestDataBuilder.TEST_CHECK_IN, TestDataBuilder.TEST_CHECK_OUT,
+                        TestDataBuilder.TEST_AGES, 1));
+
+        // When
+        List<Search> result = adapter.saveAll(searches);
+
+        // Then
+        assertAll("Counter bulk verification",
+                () -> assertEquals(searches, result,
+                        "Debe devolver las búsquedas recibidas"),
+                () -> verify(keyBulk, times(3)).upsert(any(Query.class), any(Update.class)),
+                () -> verify(counterBulk, times(2)).upsert(any(Query.class), any(Update.class)),
+                () -> verify(counterBulk, times(1)).upsert(any(Query.class),
+                        argThat((Update update) -> Integer.valueOf(2).equals(
+                                update.getUpdateObject().get("$inc", org.bson.Document.class).get("count")))),
+                () -> verify(counterBulk, times(1)).execute(),
+                () -> verify(keyBulk, times(1)).execute(),
+                () -> verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(SearchCounterDocument.class))
+        );
+    }
+
+    @Test
+    void shouldOnlyCountNewMappings_WhenBatchContainsRedeliveredSearches() {
+        // Given
+        BulkOperations keyBulk = mock(BulkOperations.class);
+        BulkOperations counterBulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchKeyDocument.class)).thenReturn(keyBulk);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchCounterDocument.class)).thenReturn(counterBulk);
+        BulkWriteResult mappings = mappingsCreated(1);
+        when(keyBulk.execute()).thenReturn(mappings);
+        List<Search> searches = List.of(
+                TestDataBuilder.createTestSearchWithId("redelivered"),
+                TestDataBuilder.createTestSearchWithId("new"));
+
+        // When
+        List<Search> result = adapter.saveAll(searches);
+
+        // Then
+        assertAll("Redelivered batch verification",
+                () -> assertEquals(List.of("new"), result.stream().map(Search::searchId).toList(),
+                        "Sólo deben devolverse las búsquedas con mapeo nuevo"),
+                () -> verify(counterBulk, times(1)).upsert(any(Query.class),
+                        argThat((Update update) -> Integer.valueOf(1).equals(
+                                update.getUpdateObject().get("$inc", org.bson.Document.class).get("count"))))
+        );
+    }
+
+    @Test
+    void shouldCountUncountedMappings_WhenBatchIsRedeliveredAfterPartialSave() {
+        // Given
+        BulkOperations keyBulk = mock(BulkOperations.class);
+        BulkOperations counterBulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchKeyDocument.class)).thenReturn(keyBulk);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchCounterDocument.class)).thenReturn(counterBulk);
+        BulkWriteResult mappings = mappingsCreated();
+        when(keyBulk.execute()).thenReturn(mappings);
+        Search uncounted = TestDataBuilder.createTestSearchWithId("uncounted");
+        String keyId = SearchCounterDocumentMapper.toKeyId(SearchKey.of(uncounted));
+        when(mongoTemplate.find(any(Query.class), eq(SearchKeyDocument.class)))
+                .thenReturn(List.of(new SearchKeyDocument("uncounted", keyId, false)));
+
+        // When
+        List<Search> result = adapter.saveAll(List.of(uncounted, TestDataBuilder.createTestSearchWithId("counted")));
+
+        // Then
+        assertAll("Uncounted batch verification",
+                () -> assertEquals(List.of("uncounted"), result.stream().map(Search::searchId).toList(),
+                        "Sólo debe completarse el mapeo que quedó sin contar"),
+                () -> verify(counterBulk, times(1)).upsert(any(Query.class),
+                        argThat((Update update) -> Integer.valueOf(1).equals(
+                                update.getUpdateObject().get("$inc", org.bson.Document.class).get("count")))),
+                () -> verify(mongoTemplate, times(1)).updateMulti(any(Query.class),
+                        any(Update.class), eq(SearchKeyDocument.class))
+        );
+    }
+
+    @Test
+    void shouldCountOnce_WhenBatchRepeatsANewSearchId() {
+        // Given
+        BulkOperations keyBulk = mock(BulkOperations.class);
+        BulkOperations counterBulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchKeyDocument.class)).thenReturn(keyBulk);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchCounterDocument.class)).thenReturn(counterBulk);
+        BulkWriteResult mappings = mappingsCreated(0);
+        when(keyBulk.execute()).thenReturn(mappings);
+        Search search = TestDataBuilder.createTestSearchWithId("repeated");
+
+        // When
+        List<Search> result = adapter.saveAll(List.of(search, search));
+
+        // Then
+        assertAll("Repeated search verification",
+                () -> assertEquals(1, result.size(), "La repetición dentro del lote no es una búsqueda nueva"),
+                () -> verify(mongoTemplate, never()).find(any(Query.class), eq(SearchKeyDocument.class)),
+                () -> verify(counterBulk, times(1)).upsert(any(Query.class),
+                        argThat((Update update) -> Integer.valueOf(1).equals(
+                                update.getUpdateObject().get("$inc", org.bson.Document.class).get("count"))))
+        );
+    }
+
+    @Test
+    void shouldSkipCounters_WhenWholeBatchWasRedelivered() {
+        // Given
+        BulkOperations keyBulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchKeyDocument.class)).thenReturn(keyBulk);
+        BulkWriteResult mappings = mappingsCreated();
+        when(keyBulk.execute()).thenReturn(mappings);
+
+        // When
+        List<Search> result = adapter.saveAll(List.of(TestDataBuilder.createTestSearchWithId("redelivered")));
+
+        // Then
+        assertAll("Redelivered batch verification",
+                () -> assertTrue(result.isEmpty(), "Un lote ya persistido no devuelve búsquedas"),
+                () -> verify(mongoTemplate, never()).bulkOps(BulkOperations.BulkMode.UNORDERED, SearchCounterDocument.class)
+        );
+    }
+
+    @Test
+    void shouldJoinMappingsAndCounters_WhenFindingSeveralSearchIds() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        SearchKey key = SearchKey.of(search);
+        String keyId = SearchCounterDocumentMapper.toKeyId(key);
+        when(mongoTemplate.find(any(Query.class), eq(SearchKeyDocument.class))).thenReturn(List.of(
+                new SearchKeyDocument("search-1", keyId, true),
+                new SearchKeyDocument("search-2", keyId, true),
+                new SearchKeyDocument("orphan", "no-counter", true)));
+        when(mongoTemplate.find(any(Query.class), eq(SearchCounterDocument.class))).thenReturn(List.of(
+                new SearchCounterDocument(keyId, SearchCounterDocumentMapper.toSearchData(key), 7)));
+
+        // When
+        List<Search> result = adapter.findAllBySearchIds(List.of("search-1", "search-2", "orphan", "missing")).toList();
+
+        // Then
+        assertAll("Counter multi-get verification",
+                () -> assertEquals(List.of("search-1", "search-2"), result.stream().map(Search::searchId).toList(),
+                        "Sólo deben devolverse los ids con mapeo y contador"),
+                () -> assertTrue(result.stream().allMatch(found -> found.count() == 7),
+                        "El count debe venir del documento contador compartido"),
+                () -> verify(mongoTemplate, times(1)).find(any(Query.class), eq(SearchKeyDocument.class)),
+                () -> verify(mongoTemplate, times(1)).find(any(Query.class), eq(SearchCounterDocument.class)),
+                () -> verify(mongoTemplate, never()).findById(any(), any())
+        );
+    }
+
+    @Test
+    void shouldThrowSearchNotFound_WhenMappingDoesNotExist() {
+        // Given
+        when(mongoTemplate.findById("missing", SearchKeyDocument.class)).thenReturn(null);
+
+        // When & Then
+        assertThrows(SearchNotFoundException.class,
+                () -> adapter.findBySearchId("missing"),
+                "Debe lanzar SearchNotFoundException si no existe el mapeo");
+        verify(mongoTemplate, never()).findById(any(), eq(SearchCounterDocument.class));
+    }
+
+    @Test
+    void shouldQueryMongoAndCountFalseNegative_WhenFilterNeverSawSearchId() {
+        // Given: otra réplica guardó la búsqueda después de la carga del filtro
+        Search search = TestDataBuilder.createTestSearch();
+        SearchKey key = SearchKey.of(search);
+        String keyId = SearchCounterDocumentMapper.toKeyId(key);
+        knownIds.markLoaded();
+        when(mongoTemplate.findById(search.searchId(), SearchKeyDocument.class))
+                .thenReturn(new SearchKeyDocument(search.searchId(), keyId, true));
+        when(mongoTemplate.findById(keyId, SearchCounterDocument.class))
+                .thenReturn(new SearchCounterDocument(keyId, SearchCounterDocumentMapper.toSearchData(key), 3));
+
+        // When
+        Search result = adapter.findBySearchId(search.searchId());
+
+        // Then
+        assertAll("False negative verification",
+                () -> assertEquals(3, result.count(), "Un id que el filtro no conoce debe buscarse igualmente en Mongo"),
+                () -> assertEquals(1.0, meterRegistry.get("search.bloom.false.negatives").counter().count(),
+                        "Debe contarse que el filtro no lo conocía")
+        );
+    }
+
+    private static BulkWriteResult mappingsCreated(int... indexes) {
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(result.getUpserts()).thenReturn(Arrays.stream(indexes)
+                .mapToObj(index -> new BulkWriteUpsert(index, new BsonString("id-" + index)))
+                .toList());
+        return result;
+    }
+}
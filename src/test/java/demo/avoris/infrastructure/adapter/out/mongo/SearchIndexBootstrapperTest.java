@@ -0,0 +1,207 @@
+package demo.avoris.infrastructure.adapter.out.mongo;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Los planes son documentos {@code explain} escritos a mano: se comprueba cómo el bootstrapper los interpreta, no
+ * qué plan elige Mongo de verdad, que sólo puede verificarse contra una instancia real.
+ */
+@ExtendWith(MockitoExtension.class)
+class SearchIndexBootstrapperTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private FindIterable<Document> findIterable;
+
+    private SearchIndexBootstrapper bootstrapper;
+
+    @BeforeEach
+    void setUp() {
+        bootstrapper = new SearchIndexBootstrapper(mongoTemplate, true);
+    }
+
+    @Test
+    void shouldCreateUniqueSearchIdIndex_WhenCollectionHasNoIndexes() {
+        // Given
+        when(mongoTemplate.indexOps("search")).thenReturn(indexOperations);
+        when(indexOperations.getIndexInfo()).thenReturn(List.of());
+
+        // When
+        bootstrapper.createIndexes();
+
+        // Then
+        assertAll("Index creation verification",
+                () -> verify(indexOperations, times(SearchIndexBootstrapper.INDEXES.size())).createIndex(any(Index.class)),
+                () -> verify(indexOperations).createIndex(argThat(index ->
+                        index.getIndexKeys().containsKey("searchId")
+                                && Boolean.TRUE.equals(index.getIndexOptions().get("unique"))))
+        );
+    }
+
+    @Test
+    void shouldKeepExistingIndex_WhenSameKeysAreAlreadyIndexed() {
+        // Given
+        IndexInfo legacy = IndexInfo.indexInfoOf(new Document("key", new Document("searchId", 1.0)).append("name", "searchId_1"));
+        when(mongoTemplate.indexOps("search")).thenReturn(indexOperations);
+        when(indexOperations.getIndexInfo()).thenReturn(List.of(legacy));
+
+        // When
+        bootstrapper.createIndexes();
+
+        // Then
+        assertAll("Existing index verification",
+                () -> verify(indexOperations, never()).createIndex(argThat(index -> index.getIndexKeys().containsKey("searchId"))),
+                () -> verify(indexOperations, times(SearchIndexBootstrapper.INDEXES.size() - 1)).createIndex(any(Index.class))
+        );
+    }
+
+    @Test
+    void shouldContinue_WhenUniqueIndexCannotBeCreated() {
+        // Given
+        when(mongoTemplate.indexOps("search")).thenReturn(indexOperations);
+        when(indexOperations.getIndexInfo()).thenReturn(List.of());
+        when(indexOperations.createIndex(any(Index.class))).thenThrow(new DuplicateKeyException("E11000"));
+
+        // When & Then
+        assertDoesNotThrow(() -> bootstrapper.createIndexes(),
+                "Un índice que no se puede crear sólo debe avisar; el plan decide si hay problema");
+    }
+
+    @Test
+    void shouldUseDeclaredIndex_ForEveryRepositoryQuery() {
+        // Given
+        stubExplain(SearchIndexBootstrapper.QUERIES.stream()
+                .map(probe -> explain(indexScan(probe.index().getIndexKeys())))
+                .toList());
+
+        // When & Then
+        assertDoesNotThrow(() -> bootstrapper.verifyQueryPlans(),
+                "Cada consulta debe resolverse con su índice");
+        assertAll("Query probes verification",
+                () -> verify(findIterable, times(SearchIndexBootstrapper.QUERIES.size())).explain(),
+                () -> verify(findIterable, times(2)).sort(new Document("_id", 1))
+        );
+    }
+
+    @Test
+    void shouldProbeMigrationBatches_WithPendingMigrationIndex() {
+        // When
+        List<SearchIndexBootstrapper.QueryProbe> migrationProbes = SearchIndexBootstrapper.QUERIES.stream()
+                .filter(probe -> probe.name().startsWith("migration"))
+                .toList();
+
+        // Then
+        assertAll("Migration probes verification",
+                () -> assertEquals(2, migrationProbes.size(), "Deben comprobarse el primer lote y los siguientes"),
+                () -> assertTrue(migrationProbes.stream().allMatch(probe ->
+                                probe.index() == SearchIndexBootstrapper.PENDING_MIGRATION),
+                        "Los lotes deben usar el índice {v, _id}"),
+                () -> assertTrue(SearchIndexBootstrapper.INDEXES.contains(SearchIndexBootstrapper.PENDING_MIGRATION),
+                        "El índice de migración debe crearse al arrancar")
+        );
+    }
+
+    @Test
+    void shouldFailFast_WhenMigrationBatchUsesCollectionScan() {
+        // Given
+        Document searchIdPlan = explain(indexScan(new Document("searchId", 1)));
+        stubExplain(List.of(searchIdPlan, searchIdPlan, explain(new Document("stage", "COLLSCAN"))));
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> bootstrapper.verifyQueryPlans(),
+                "Un COLLSCAN en los lotes de migración debe impedir el arranque");
+        assertTrue(exception.getMessage().contains("migrationFirstBatch"),
+                "El mensaje debe nombrar la consulta afectada");
+    }
+
+    @Test
+    void shouldFailFast_WhenQueryUsesCollectionScan() {
+        // Given
+        stubExplain(explain(new Document("stage", "COLLSCAN").append("filter", new Document("searchId", "probe"))));
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> bootstrapper.verifyQueryPlans(),
+                "Un COLLSCAN debe impedir el arranque");
+        assertTrue(exception.getMessage().contains("findBySearchId"),
+                "El mensaje debe nombrar la consulta afectada");
+    }
+
+    @Test
+    void shouldOnlyWarn_WhenCollectionScanIsTolerated() {
+        // Given
+        bootstrapper = new SearchIndexBootstrapper(mongoTemplate, false);
+        stubExplain(explain(new Document("stage", "COLLSCAN")));
+
+        // When & Then
+        assertDoesNotThrow(() -> bootstrapper.verifyQueryPlans(),
+                "Con fail-on-collscan=false sólo debe avisar");
+    }
+
+    @Test
+    void shouldFindIndexScan_WhenPlanIsNestedBySlotBasedEngine() {
+        // Given
+        Document winningPlan = new Document("queryPlan", new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "IXSCAN")
+                        .append("keyPattern", new Document("searchId", 1.0))))
+                .append("slotBasedPlan", new Document("slots", "..."));
+
+        // When
+        boolean usesIndex = SearchIndexBootstrapper.usesIndex(
+                SearchIndexBootstrapper.stages(winningPlan), SearchIndexBootstrapper.SEARCH_ID);
+
+        // Then
+        assertTrue(usesIndex, "Debe reconocer el IXSCAN dentro del plan SBE");
+    }
+
+    private void stubExplain(Document explain) {
+        stubExplain(List.of(explain));
+    }
+
+    // Un plan por consulta, en el orden de QUERIES; el último se repite
+    private void stubExplain(List<Document> explains) {
+        when(mongoTemplate.getCollection("search")).thenReturn(collection);
+        when(collection.find(any(Bson.class))).thenReturn(findIterable);
+        when(findIterable.sort(any(Bson.class))).thenReturn(findIterable);
+        when(findIterable.explain()).thenReturn(explains.getFirst(),
+                explains.stream().skip(1).toArray(Document[]::new));
+    }
+
+    private static Document indexScan(Document keyPattern) {
+        return new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "IXSCAN").append("keyPattern", keyPattern));
+    }
+
+    private static Document explain(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+}
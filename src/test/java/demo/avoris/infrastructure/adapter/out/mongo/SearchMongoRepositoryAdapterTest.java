@@ -1,20 +1,36 @@
 package demo.avoris.infrastructure.adapter.out.mongo;
 
+import com.mongodb.bulk.BulkWriteError;
 import demo.avoris.TestDataBuilder;
+import demo.avoris.domain.exception.DuplicateSearch;
 import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.adapter.out.memory.KnownSearchIdFilter;
 import demo.avoris.infrastructure.adapter.out.mongo.document.SearchDocument;
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchDocumentV2;
 import demo.avoris.infrastructure.adapter.out.mongo.exeption.SearchNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 
-import java.util.Optional;
+import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,11 +39,18 @@ class SearchMongoRepositoryAdapterTest {
     @Mock
     private SearchRepository repository;
 
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final KnownSearchIdFilter knownIds = new KnownSearchIdFilter(meterRegistry, true, 1_000, 0.01);
+
     private SearchMongoRepositoryAdapter mongoAdapter;
 
     @BeforeEach
     void setUp() {
-        mongoAdapter = new SearchMongoRepositoryAdapter(repository);
+        mongoAdapter = new SearchMongoRepositoryAdapter(repository, mongoTemplate, 1, knownIds);
     }
 
     @Test
@@ -36,7 +59,7 @@ class SearchMongoRepositoryAdapterTest {
         Search search = TestDataBuilder.createTestSearch();
         SearchDocument savedDocument = TestDataBuilder.createTestSearchDocument();
 
-        when(repository.save(any(SearchDocument.class))).thenReturn(savedDocument);
+        when(repository.insert(any(SearchDocument.class))).thenReturn(savedDocument);
 
         // When
         Search result = mongoAdapter.save(search);
@@ -51,7 +74,7 @@ class SearchMongoRepositoryAdapterTest {
                         "El hotelId debe coincidir"),
                 () -> assertEquals(savedDocument.count(), result.count(),
                         "El count debe coincidir"),
-                () -> verify(repository, times(1)).save(any(SearchDocument.class))
+                () -> verify(repository, times(1)).insert(any(SearchDocument.class))
         );
     }
 
@@ -61,7 +84,7 @@ class SearchMongoRepositoryAdapterTest {
         String searchId = TestDataBuilder.TEST_SEARCH_ID;
         SearchDocument foundDocument = TestDataBuilder.createTestSearchDocument();
 
-        when(repository.findBySearchId(searchId)).thenReturn(Optional.of(foundDocument));
+        when(mongoTemplate.findOne(queryFor(searchId), eq(Document.class), eq("search"))).thenReturn(toBson(foundDocument));
 
         // When
         Search result = mongoAdapter.findBySearchId(searchId);
@@ -76,7 +99,7 @@ class SearchMongoRepositoryAdapterTest {
                         "El hotelId debe coincidir"),
                 () -> assertEquals(foundDocument.count(), result.count(),
                         "El count debe coincidir"),
-                () -> verify(repository, times(1)).findBySearchId(searchId)
+                () -> verify(mongoTemplate, times(1)).findOne(queryFor(searchId), eq(Document.class), eq("search"))
         );
     }
 
@@ -85,7 +108,7 @@ class SearchMongoRepositoryAdapterTest {
         // Given
         String nonExistentSearchId = "non-existent-search";
 
-        when(repository.findBySearchId(nonExistentSearchId)).thenReturn(Optional.empty());
+        when(mongoTemplate.findOne(queryFor(nonExistentSearchId), eq(Document.class), eq("search"))).thenReturn(null);
 
         // When & Then
         SearchNotFoundException exception = assertThrows(SearchNotFoundException.class,
@@ -97,7 +120,7 @@ class SearchMongoRepositoryAdapterTest {
                         "El mensaje debe contener el searchId que no se encontró"),
                 () -> assertTrue(exception.getMessage().contains("not found"),
                         "El mensaje debe indicar que no se encontró"),
-                () -> verify(repository, times(1)).findBySearchId(nonExistentSearchId)
+                () -> verify(mongoTemplate, times(1)).findOne(queryFor(nonExistentSearchId), eq(Document.class), eq("search"))
         );
     }
 
@@ -109,7 +132,7 @@ class SearchMongoRepositoryAdapterTest {
         SearchDocument savedDocument1 = new SearchDocument("doc-1", "search-1", TestDataBuilder.createTestSearchData(), 1);
         SearchDocument savedDocument2 = new SearchDocument("doc-2", "search-2", TestDataBuilder.createTestSearchData(), 2);
 
-        when(repository.save(any(SearchDocument.class)))
+        when(repository.insert(any(SearchDocument.class)))
                 .thenReturn(savedDocument1)
                 .thenReturn(savedDocument2);
 
@@ -127,7 +150,7 @@ class SearchMongoRepositoryAdapterTest {
                         "El primer count debe coincidir"),
                 () -> assertEquals(2, result2.count(),
                         "El segundo count debe coincidir"),
-                () -> verify(repository, times(2)).save(any(SearchDocument.class))
+                () -> verify(repository, times(2)).insert(any(SearchDocument.class))
         );
     }
 
@@ -139,8 +162,8 @@ class SearchMongoRepositoryAdapterTest {
         SearchDocument document1 = new SearchDocument("doc-1", searchId1, TestDataBuilder.createTestSearchData(), 1);
         SearchDocument document2 = new SearchDocument("doc-2", searchId2, TestDataBuilder.createTestSearchData(), 2);
 
-        when(repository.findBySearchId(searchId1)).thenReturn(Optional.of(document1));
-        when(repository.findBySearchId(searchId2)).thenReturn(Optional.of(document2));
+        when(mongoTemplate.findOne(queryFor(searchId1), eq(Document.class), eq("search"))).thenReturn(toBson(document1));
+        when(mongoTemplate.findOne(queryFor(searchId2), eq(Document.class), eq("search"))).thenReturn(toBson(document2));
 
         // When
         Search result1 = mongoAdapter.findBySearchId(searchId1);
@@ -156,8 +179,8 @@ class SearchMongoRepositoryAdapterTest {
                         "El primer count debe coincidir"),
                 () -> assertEquals(2, result2.count(),
                         "El segundo count debe coincidir"),
-                () -> verify(repository, times(1)).findBySearchId(searchId1),
-                () -> verify(repository, times(1)).findBySearchId(searchId2)
+                () -> verify(mongoTemplate, times(1)).findOne(queryFor(searchId1), eq(Document.class), eq("search")),
+                () -> verify(mongoTemplate, times(1)).findOne(queryFor(searchId2), eq(Document.class), eq("search"))
         );
     }
 
@@ -167,7 +190,7 @@ class SearchMongoRepositoryAdapterTest {
         Search search = TestDataBuilder.createTestSearch();
         RuntimeException repositoryException = new RuntimeException("Database connection error");
 
-        when(repository.save(any(SearchDocument.class))).thenThrow(repositoryException);
+        when(repository.insert(any(SearchDocument.class))).thenThrow(repositoryException);
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class,
@@ -177,7 +200,7 @@ class SearchMongoRepositoryAdapterTest {
         assertAll("Repository exception propagation verification",
                 () -> assertEquals("Database connection error", exception.getMessage(),
                         "El mensaje de error debe ser propagado"),
-                () -> verify(repository, times(1)).save(any(SearchDocument.class))
+                () -> verify(repository, times(1)).insert(any(SearchDocument.class))
         );
     }
 
@@ -187,7 +210,7 @@ class SearchMongoRepositoryAdapterTest {
         Search originalSearch = TestDataBuilder.createTestSearch();
         SearchDocument savedDocument = TestDataBuilder.createTestSearchDocument();
 
-        when(repository.save(any(SearchDocument.class))).thenReturn(savedDocument);
+        when(repository.insert(any(SearchDocument.class))).thenReturn(savedDocument);
 
         // When
         Search savedSearch = mongoAdapter.save(originalSearch);
@@ -218,8 +241,8 @@ class SearchMongoRepositoryAdapterTest {
                 5
         );
 
-        when(repository.save(any(SearchDocument.class))).thenReturn(documentWithCount5);
-        when(repository.findBySearchId(TestDataBuilder.TEST_SEARCH_ID)).thenReturn(Optional.of(documentWithCount5));
+        when(repository.insert(any(SearchDocument.class))).thenReturn(documentWithCount5);
+        when(mongoTemplate.findOne(queryFor(TestDataBuilder.TEST_SEARCH_ID), eq(Document.class), eq("search"))).thenReturn(toBson(documentWithCount5));
 
         // When
         Search savedResult = mongoAdapter.save(searchWithCount5);
@@ -233,8 +256,286 @@ class SearchMongoRepositoryAdapterTest {
                         "El count encontrado debe ser 5"),
                 () -> assertEquals(savedResult.count(), foundResult.count(),
                         "Los counts deben ser consistentes"),
-                () -> verify(repository, times(1)).save(any(SearchDocument.class)),
-                () -> verify(repository, times(1)).findBySearchId(TestDataBuilder.TEST_SEARCH_ID)
+                () -> verify(repository, times(1)).insert(any(SearchDocument.class)),
+                () -> verify(mongoTemplate, times(1)).findOne(queryFor(TestDataBuilder.TEST_SEARCH_ID), eq(Document.class), eq("search"))
+        );
+    }
+
+    @Test
+    void shouldInsertV2Document_WhenSchemaVersionIs2() {
+        // Given
+        SearchMongoRepositoryAdapter v2Adapter = new SearchMongoRepositoryAdapter(repository, mongoTemplate, 2, knownIds);
+        Search search = TestDataBuilder.createTestSearch();
+        when(mongoTemplate.insert(any(SearchDocumentV2.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Search result = v2Adapter.save(search);
+
+        // Then
+        assertAll("Schema v2 save verification",
+                () -> assertEquals(search.searchId(), result.searchId(),
+                        "El searchId debe coincidir"),
+                () -> assertEquals(search.checkIn(), result.checkIn(),
+                        "La fecha checkIn debe mantenerse"),
+                () -> assertEquals(search.ages(), result.ages(),
+                        "Las edades deben mantenerse"),
+                () -> verify(mongoTemplate, times(1)).insert(argThat((SearchDocumentV2 document) ->
+                        document.version() == 2 && document.checkIn() == search.checkIn().toEpochDay())),
+                () -> verifyNoInteractions(repository)
+        );
+    }
+
+    @Test
+    void shouldReadV2Document_WhenStoredWithNewSchema() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        Document raw = new Document("_id", "doc-v2")
+                .append("v", 2)
+                .append("searchId", search.searchId())
+                .append("h", search.hotelId())
+                .append("ci", (int) search.checkIn().toEpochDay())
+                .append("co", (int) search.checkOut().toEpochDay())
+                .append("a", new byte[]{30, 25, 5, 3})
+                .append("c", 1);
+        when(mongoTemplate.findOne(queryFor(search.searchId()), eq(Document.class), eq("search"))).thenReturn(raw);
+
+        // When
+        Search result = mongoAdapter.findBySearchId(search.searchId());
+
+        // Then
+        assertAll("Schema v2 read verification",
+                () -> assertEquals(search.hotelId(), result.hotelId(),
+                        "El hotelId debe leerse del campo corto"),
+                () -> assertEquals(search.checkIn(), result.checkIn(),
+                        "La fecha checkIn debe leerse como día epoch"),
+                () -> assertEquals(search.checkOut(), result.checkOut(),
+                        "La fecha checkOut debe leerse como día epoch"),
+                () -> assertEquals(search.ages(), result.ages(),
+                        "Las edades deben leerse desde BinData")
+        );
+    }
+
+    @Test
+    void shouldInsertBatchWithSingleUnorderedBulk_WhenSchemaVersionIs2() {
+        // Given
+        mongoAdapter = new SearchMongoRepositoryAdapter(repository, mongoTemplate, 2, knownIds);
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchDocumentV2.class)).thenReturn(bulk);
+        when(bulk.insert(anyList())).thenReturn(bulk);
+        List<Search> searches = List.of(
+                TestDataBuilder.createTestSearchWithId("search-1"),
+                TestDataBuilder.createTestSearchWithId("search-2"));
+
+        // When
+        List<Search> result = mongoAdapter.saveAll(searches);
+
+        // Then
+        assertAll("Bulk insert verification",
+                () -> assertEquals(List.of("search-1", "search-2"), result.stream().map(Search::searchId).toList(),
+                        "Debe devolver las búsquedas en el mismo orden"),
+                () -> verify(bulk, times(1)).insert(argThat((List<?> documents) -> documents.size() == 2)),
+                () -> verify(bulk, times(1)).execute(),
+                () -> verify(mongoTemplate, never()).insert(any(SearchDocumentV2.class)),
+                () -> verifyNoInteractions(repository)
         );
     }
+
+    @Test
+    void shouldThrowDuplicateSearch_WhenSearchIdIsAlreadyStored() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        when(repository.insert(any(SearchDocument.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+
+        // When & Then
+        DuplicateSearch exception = assertThrows(DuplicateSearch.class,
+                () -> mongoAdapter.save(search),
+                "Un searchId ya persistido debe lanzar DuplicateSearch");
+        assertTrue(exception.getMessage().contains(search.searchId()),
+                "El mensaje debe contener el searchId duplicado");
+    }
+
+    @Test
+    void shouldDropDuplicatesFromResult_WhenBulkInsertHitsExistingIds() {
+        // Given
+        mongoAdapter = new SearchMongoRepositoryAdapter(repository, mongoTemplate, 2, knownIds);
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchDocumentV2.class)).thenReturn(bulk);
+        when(bulk.insert(anyList())).thenReturn(bulk);
+        BulkOperationException failure = bulkFailure(11000);
+        when(bulk.execute()).thenThrow(failure);
+        List<Search> searches = List.of(
+                TestDataBuilder.createTestSearchWithId("search-1"),
+                TestDataBuilder.createTestSearchWithId("search-2"));
+
+        // When
+        List<Search> result = mongoAdapter.saveAll(searches);
+
+        // Then
+        assertEquals(List.of("search-1"), result.stream().map(Search::searchId).toList(),
+                "Sólo deben devolverse las búsquedas insertadas");
+    }
+
+    @Test
+    void shouldPropagateBulkFailure_WhenErrorIsNotDuplicateKey() {
+        // Given
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchDocument.class)).thenReturn(bulk);
+        when(bulk.insert(anyList())).thenReturn(bulk);
+        BulkOperationException failure = bulkFailure(121);
+        when(bulk.execute()).thenThrow(failure);
+        List<Search> searches = List.of(
+                TestDataBuilder.createTestSearchWithId("search-1"),
+                TestDataBuilder.createTestSearchWithId("search-2"));
+
+        // When & Then
+        assertThrows(BulkOperationException.class,
+                () -> mongoAdapter.saveAll(searches),
+                "Un error que no es de clave duplicada debe propagarse");
+    }
+
+    @Test
+    void shouldSkipBulk_WhenBatchIsEmpty() {
+        // When
+        List<Search> result = mongoAdapter.saveAll(List.of());
+
+        // Then
+        assertAll("Empty batch verification",
+                () -> assertTrue(result.isEmpty(), "Un lote vacío no produce resultados"),
+                () -> verifyNoInteractions(mongoTemplate)
+        );
+    }
+
+    @Test
+    void shouldRunSingleInQueryWithoutId_WhenFindingSeveralSearchIds() {
+        // Given
+        SearchDocument v1 = TestDataBuilder.createTestSearchDocument();
+        Search other = TestDataBuilder.createTestSearchWithId("search-v2");
+        Document v2 = new Document("v", 2)
+                .append("searchId", other.searchId())
+                .append("h", other.hotelId())
+                .append("ci", (int) other.checkIn().toEpochDay())
+                .append("co", (int) other.checkOut().toEpochDay())
+                .append("a", new byte[]{30, 25, 5, 3})
+                .append("c", 4);
+        List<String> ids = List.of(v1.searchId(), other.searchId(), "missing");
+
+        when(mongoTemplate.stream(argThat(query -> query != null
+                        && query.getQueryObject().get("searchId") instanceof Document in && ids.equals(in.get("$in"))
+                        && Integer.valueOf(0).equals(query.getFieldsObject().get("_id"))),
+                eq(Document.class), eq("search")))
+                .thenReturn(Stream.of(toBson(v1), v2));
+
+        // When
+        List<Search> result;
+        try (Stream<Search> found = mongoAdapter.findAllBySearchIds(ids)) {
+            result = found.toList();
+        }
+
+        // Then
+        assertAll("Multi-get verification",
+                () -> assertEquals(2, result.size(),
+                        "Sólo deben devolverse los ids existentes"),
+                () -> assertEquals(v1.searchId(), result.get(0).searchId(),
+                        "Debe leer documentos v1"),
+                () -> assertEquals(4, result.get(1).count(),
+                        "Debe leer documentos v2"),
+                () -> verify(mongoTemplate, never()).findOne(any(Query.class), any(), any())
+        );
+    }
+
+    @Test
+    void shouldQueryMongoAndCountFalseNegative_WhenFilterNeverSawSearchId() {
+        // Given: otra réplica guardó la búsqueda después de la carga del filtro
+        SearchDocument document = TestDataBuilder.createTestSearchDocument();
+        knownIds.markLoaded();
+        when(mongoTemplate.findOne(queryFor(document.searchId()), eq(Document.class), eq("search"))).thenReturn(toBson(document));
+
+        // When
+        Search result = mongoAdapter.findBySearchId(document.searchId());
+
+        // Then
+        assertAll("False negative verification",
+                () -> assertEquals(document.searchId(), result.searchId(),
+                        "Un id que el filtro no conoce debe buscarse igualmente en Mongo"),
+                () -> assertEquals(1.0, meterRegistry.get("search.bloom.false.negatives").counter().count(),
+                        "Debe contarse que el filtro no lo conocía"),
+                () -> assertTrue(knownIds.mightContain(document.searchId()),
+                        "El id encontrado debe añadirse al filtro")
+        );
+    }
+
+    @Test
+    void shouldQueryEveryRequestedId_WhenFilterNeverSawSomeOfThem() {
+        // Given
+        SearchDocument document = TestDataBuilder.createTestSearchDocument();
+        knownIds.markLoaded();
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("search"))).thenReturn(Stream.of(toBson(document)));
+
+        // When
+        List<Search> result;
+        try (Stream<Search> found = mongoAdapter.findAllBySearchIds(List.of(document.searchId(), "missing"))) {
+            result = found.toList();
+        }
+
+        // Then
+        assertAll("Unfiltered ids verification",
+                () -> assertEquals(1, result.size(), "Debe devolverse el id existente"),
+                () -> verify(mongoTemplate, times(1)).stream(argThat(query -> query != null
+                                && query.getQueryObject().get("searchId") instanceof Document in
+                                && List.of(document.searchId(), "missing").equals(in.get("$in"))),
+                        eq(Document.class), eq("search"))
+        );
+    }
+
+    @Test
+    void shouldSkipQuery_WhenNoSearchIdIsRequested() {
+        // When
+        List<Search> result;
+        try (Stream<Search> found = mongoAdapter.findAllBySearchIds(List.of())) {
+            result = found.toList();
+        }
+
+        // Then
+        assertAll("Empty lookup verification",
+                () -> assertTrue(result.isEmpty(), "Sin ids no debe devolverse nada"),
+                () -> verifyNoInteractions(mongoTemplate)
+        );
+    }
+
+    @Test
+    void shouldRememberSearchId_WhenSaved() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        knownIds.markLoaded();
+        when(repository.insert(any(SearchDocument.class))).thenReturn(TestDataBuilder.createTestSearchDocument());
+
+        // When
+        mongoAdapter.save(search);
+
+        // Then
+        assertTrue(knownIds.mightContain(search.searchId()), "Un searchId guardado debe pasar el filtro");
+    }
+
+    /**
+     * Fallo del segundo documento del lote con el código indicado.
+     */
+    private static BulkOperationException bulkFailure(int code) {
+        BulkOperationException failure = mock(BulkOperationException.class);
+        when(failure.getErrors()).thenReturn(List.of(new BulkWriteError(code, "bulk write error", new BsonDocument(), 1)));
+        return failure;
+    }
+
+    private static Query queryFor(String searchId) {
+        return argThat(query -> query != null && searchId.equals(query.getQueryObject().get("searchId")));
+    }
+
+    private static Document toBson(SearchDocument document) {
+        return new Document("_id", document.id())
+                .append("searchId", document.searchId())
+                .append("search", new Document("hotelId", document.search().hotelId())
+                        .append("checkIn", document.search().checkIn())
+                        .append("checkOut", document.search().checkOut())
+                        .append("ages", List.copyOf(document.search().ages())))
+                .append("count", document.count());
+    }
 }
@@ -0,0 +1,135 @@
+package demo.avoris.infrastructure.adapter.out.mongo;
+
+import com.mongodb.bulk.BulkWriteResult;
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchDocumentV2;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchSchemaMigratorTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private SearchSchemaMigrator migrator;
+
+    @BeforeEach
+    void setUp() {
+        migrator = new SearchSchemaMigrator(mongoTemplate, 2, 0);
+    }
+
+    @Test
+    void shouldReplaceV1DocumentsWithV2_WhenBatchIsMigrated() {
+        // Given
+        Document v1 = v1Document("doc-1", "search-1");
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchDocumentV2.class)).thenReturn(bulkOperations);
+        when(mongoTemplate.getConverter()).thenReturn(converter());
+        when(bulkOperations.execute()).thenReturn(result);
+        when(result.getModifiedCount()).thenReturn(1);
+
+        // When
+        int migrated = migrator.migrateBatch(List.of(v1));
+
+        // Then
+        assertAll("Batch migration verification",
+                () -> assertEquals(1, migrated, "Debe migrar el documento v1"),
+                () -> verify(bulkOperations, times(1)).replaceOne(any(Query.class), argThat((Object replacement) ->
+                        replacement instanceof Document document
+                                && Integer.valueOf(SearchDocumentV2.VERSION).equals(document.get("v"))
+                                && "doc-1".equals(document.get("_id"))
+                                && "search-1".equals(document.get("searchId"))))
+        );
+    }
+
+    @Test
+    void shouldKeepOriginalIdType_WhenV1DocumentHasObjectId() {
+        // Given
+        ObjectId id = new ObjectId();
+        Document v1 = v1Document("placeholder", "search-1").append("_id", id);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchDocumentV2.class)).thenReturn(bulkOperations);
+        when(mongoTemplate.getConverter()).thenReturn(converter());
+        when(bulkOperations.execute()).thenReturn(mock(BulkWriteResult.class));
+
+        // When
+        migrator.migrateBatch(List.of(v1));
+
+        // Then
+        verify(bulkOperations, times(1)).replaceOne(
+                argThat((Query query) -> id.equals(query.getQueryObject().get("_id"))),
+                argThat((Object replacement) -> replacement instanceof Document document
+                        && id.equals(document.get("_id"))));
+    }
+
+    @Test
+    void shouldSkipUnreadableDocuments_WhenBatchContainsCorruptData() {
+        // Given
+        Document corrupt = new Document("_id", "doc-bad").append("searchId", "search-bad");
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchDocumentV2.class)).thenReturn(bulkOperations);
+
+        // When
+        int migrated = migrator.migrateBatch(List.of(corrupt));
+
+        // Then
+        assertAll("Corrupt document handling verification",
+                () -> assertEquals(0, migrated, "No debe migrar documentos ilegibles"),
+                () -> verify(bulkOperations, never()).execute()
+        );
+    }
+
+    @Test
+    void shouldQueryOnlyV1DocumentsAfterLastId_WhenFetchingNextBatch() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("search"))).thenReturn(List.of());
+
+        // When
+        List<Document> batch = migrator.nextBatch("doc-1");
+
+        // Then
+        assertAll("Next batch query verification",
+                () -> assertTrue(batch.isEmpty(), "No debe haber documentos pendientes"),
+                () -> verify(mongoTemplate, times(1)).find(argThat((Query query) ->
+                        query.getQueryObject().containsKey("v")
+                                && query.getQueryObject().containsKey("_id")
+                                && query.getLimit() == 2), eq(Document.class), eq("search"))
+        );
+    }
+
+    private static MappingMongoConverter converter() {
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private static Document v1Document(String id, String searchId) {
+        return new Document("_id", id)
+                .append("searchId", searchId)
+                .append("search", new Document("hotelId", "hotel-456")
+                        .append("checkIn", "25/12/2024")
+                        .append("checkOut", "30/12/2024")
+                        .append("ages", List.of(30, 25, 5, 3)))
+                .append("count", 1);
+    }
+}
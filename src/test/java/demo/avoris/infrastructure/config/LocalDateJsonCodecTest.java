@@ -0,0 +1,136 @@
+package demo.avoris.infrastructure.config;
+
+import demo.avoris.TestDataBuilder;
+import demo.avoris.application.dto.SearchRequestDTO;
+import demo.avoris.domain.model.Search;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalDateJsonCodecTest {
+
+    private static ObjectMapper objectMapper;
+
+    @BeforeAll
+    static void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+    }
+
+    @Test
+    void shouldReadDayMonthYear_WhenFieldIsAnnotatedWithPattern() throws Exception {
+        // Given
+        String json = "{\"hotelId\":\"1234aBc\",\"checkIn\":\"29/12/2023\",\"checkOut\":\" 02/01/2024 \",\"ages\":[30,29]}";
+
+        // When
+        SearchRequestDTO request = objectMapper.readValue(json, SearchRequestDTO.class);
+
+        // Then
+        assertAll("dd/MM/yyyy read verification",
+                () -> assertEquals(LocalDate.of(2023, 12, 29), request.checkIn(), "El checkIn debe leerse como dd/MM/yyyy"),
+                () -> assertEquals(LocalDate.of(2024, 1, 2), request.checkOut(), "Los espacios alrededor deben ignorarse")
+        );
+    }
+
+    @Test
+    void shouldWriteDayMonthYear_WhenFieldIsAnnotatedWithPattern() throws Exception {
+        // Given
+        SearchRequestDTO request = new SearchRequestDTO("1234aBc", LocalDate.of(987, 1, 5), LocalDate.of(2023, 12, 31), List.of(30));
+
+        // When
+        String json = objectMapper.writeValueAsString(request);
+
+        // Then
+        assertAll("dd/MM/yyyy write verification",
+                () -> assertTrue(json.contains("\"checkIn\":\"05/01/0987\""), "Día, mes y año deben rellenarse con ceros: " + json),
+                () -> assertTrue(json.contains("\"checkOut\":\"31/12/2023\""), "El checkOut debe escribirse como dd/MM/yyyy: " + json)
+        );
+    }
+
+    @Test
+    void shouldKeepSeparatorsAndIndentation_WhenDatesAreWrittenRaw() throws Exception {
+        // Given
+        List<SearchRequestDTO> requests = List.of(TestDataBuilder.createTestSearchRequestDTO(),
+                TestDataBuilder.createTestSearchRequestDTO());
+
+        // When
+        String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(requests);
+        List<SearchRequestDTO> read = objectMapper.readerForListOf(SearchRequestDTO.class).readValue(json);
+
+        // Then
+        assertAll("Raw date write verification",
+                () -> assertTrue(json.contains("\"checkIn\" : \"25/12/2024\",\n"), "La fecha debe ir entre comas: " + json),
+                () -> assertEquals(requests, read, "El JSON con sangría debe seguir siendo válido")
+        );
+    }
+
+    @Test
+    void shouldWriteDayMonthYear_WhenGeneratorDoesNotSupportRawOutput() {
+        // Given
+        SearchRequestDTO request = TestDataBuilder.createTestSearchRequestDTO();
+
+        // When: valueToTree escribe sobre un TokenBuffer
+        JsonNode tree = objectMapper.valueToTree(request);
+
+        // Then
+        assertEquals("25/12/2024", tree.get("checkIn").asText(), "Sin writeRaw debe escribirse como String");
+    }
+
+    @Test
+    void shouldRoundTripDayMonthYear_WhenWrittenAndReadBack() throws Exception {
+        // Given
+        SearchRequestDTO request = TestDataBuilder.createTestSearchRequestDTO();
+
+        // When
+        SearchRequestDTO read = objectMapper.readValue(objectMapper.writeValueAsBytes(request), SearchRequestDTO.class);
+
+        // Then
+        assertEquals(request, read, "La petición debe sobrevivir a escribirla y leerla");
+    }
+
+    @Test
+    void shouldRejectDate_WhenItDoesNotExistOrIsMalformed() {
+        // When & Then
+        assertAll("Strict dd/MM/yyyy verification",
+                () -> assertThrows(JsonMappingException.class,
+                        () -> objectMapper.readValue(request("31/02/2024"), SearchRequestDTO.class),
+                        "Una fecha inexistente no debe ajustarse"),
+                () -> assertThrows(JsonMappingException.class,
+                        () -> objectMapper.readValue(request("2024-02-01"), SearchRequestDTO.class),
+                        "El formato ISO no es válido en la petición"),
+                () -> assertThrows(JsonMappingException.class,
+                        () -> objectMapper.readValue(request("1/2/2024"), SearchRequestDTO.class),
+                        "Día y mes deben llevar dos dígitos"),
+                () -> assertThrows(JsonMappingException.class,
+                        () -> objectMapper.readValue(request("aa/02/2024"), SearchRequestDTO.class),
+                        "Sólo se admiten dígitos")
+        );
+    }
+
+    @Test
+    void shouldKeepIsoDates_WhenFieldIsNotAnnotated() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+
+        // When
+        String json = objectMapper.writeValueAsString(search);
+        Search read = objectMapper.readValue(json, Search.class);
+
+        // Then
+        assertAll("ISO dates verification",
+                () -> assertTrue(json.contains("\"checkIn\":\"2024-12-25\""), "Los eventos de Kafka siguen en ISO: " + json),
+                () -> assertEquals(search.checkIn(), read.checkIn(), "La fecha ISO debe leerse igual"),
+                () -> assertEquals(search.checkOut(), read.checkOut(), "La fecha ISO debe leerse igual")
+        );
+    }
+
+    private static String request(String checkIn) {
+        return "{\"hotelId\":\"1234aBc\",\"checkIn\":\"" + checkIn + "\",\"checkOut\":\"31/12/2024\",\"ages\":[30]}";
+    }
+}
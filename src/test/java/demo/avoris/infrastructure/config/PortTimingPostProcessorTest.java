@@ -0,0 +1,153 @@
+package demo.avoris.infrastructure.config;
+
+import demo.avoris.application.port.out.SearchDuplicateFilterPort;
+import demo.avoris.application.port.out.SearchRepositoryPort;
+import demo.avoris.domain.model.Search;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortTimingPostProcessorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldWrapPortBeans_WhenPortIsEnabledByDefault() {
+        // Given
+        PortTimingPostProcessor postProcessor = postProcessor(new MockEnvironment());
+        InMemoryRepository repository = new InMemoryRepository();
+
+        // When
+        Object processed = postProcessor.postProcessAfterInitialization(repository, "repository");
+
+        // Then
+        assertAll("Wrapped bean verification",
+                () -> assertTrue(Proxy.isProxyClass(processed.getClass()), "El repositorio debe envolverse"),
+                () -> assertInstanceOf(SearchRepositoryPort.class, processed, "El proxy debe exponer el puerto"),
+                () -> assertInstanceOf(AutoCloseable.class, processed, "El proxy debe conservar el resto de interfaces"));
+    }
+
+    @Test
+    void shouldLeaveBeanUntouched_WhenPortIsDisabled() {
+        // Given
+        PortTimingPostProcessor postProcessor = postProcessor(new MockEnvironment()
+                .withProperty("app.metrics.ports.repository.enabled", "false"));
+        InMemoryRepository repository = new InMemoryRepository();
+
+        // When
+        Object processed = postProcessor.postProcessAfterInitialization(repository, "repository");
+
+        // Then
+        assertSame(repository, processed, "Con el puerto desactivado debe devolverse el mismo bean");
+    }
+
+    @Test
+    void shouldLeaveBeanUntouched_WhenBeanIsNotATimedPort() {
+        // Given
+        PortTimingPostProcessor postProcessor = postProcessor(new MockEnvironment());
+        SearchDuplicateFilterPort duplicates = new SearchDuplicateFilterPort() {
+            @Override
+            public boolean isDuplicate(String searchId) {
+                return false;
+            }
+
+            @Override
+            public void markSaved(String searchId) {
+            }
+
+            @Override
+            public void markDuplicate(String searchId) {
+            }
+        };
+
+        // When
+        Object processed = postProcessor.postProcessAfterInitialization(duplicates, "duplicates");
+
+        // Then
+        assertSame(duplicates, processed, "Sólo deben envolverse los puertos instrumentados");
+    }
+
+    @Test
+    void shouldPublishPercentileHistogram_WhenEnabledForPort() {
+        // Given
+        PrometheusMeterRegistry prometheusRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        PortTimingPostProcessor postProcessor = postProcessor(new MockEnvironment()
+                .withProperty("app.metrics.ports.repository.percentile-histogram", "true"), prometheusRegistry);
+        SearchRepositoryPort repository = (SearchRepositoryPort) postProcessor
+                .postProcessAfterInitialization(new InMemoryRepository(), "repository");
+
+        // When
+        repository.saveAll(List.of());
+
+        // Then
+        assertTrue(prometheusRegistry.scrape().contains("search_port_seconds_bucket{"),
+                "El timer debe publicar buckets de histograma");
+    }
+
+    @Test
+    void shouldNotPublishPercentileHistogram_ByDefault() {
+        // Given
+        PrometheusMeterRegistry prometheusRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        PortTimingPostProcessor postProcessor = postProcessor(new MockEnvironment(), prometheusRegistry);
+        SearchRepositoryPort repository = (SearchRepositoryPort) postProcessor
+                .postProcessAfterInitialization(new InMemoryRepository(), "repository");
+
+        // When
+        repository.saveAll(List.of());
+
+        // Then
+        String scrape = prometheusRegistry.scrape();
+        assertAll("Default timer verification",
+                () -> assertTrue(scrape.contains("search_port_seconds_count{"), "El timer debe registrarse"),
+                () -> assertFalse(scrape.contains("search_port_seconds_bucket{"),
+                        "Sin activarlo no deben publicarse buckets"));
+    }
+
+    private PortTimingPostProcessor postProcessor(MockEnvironment environment) {
+        return postProcessor(environment, meterRegistry);
+    }
+
+    private static PortTimingPostProcessor postProcessor(MockEnvironment environment, MeterRegistry meterRegistry) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        return new PortTimingPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class), environment);
+    }
+
+    private static final class InMemoryRepository implements SearchRepositoryPort, AutoCloseable {
+
+        @Override
+        public Search save(Search search) {
+            return search;
+        }
+
+        @Override
+        public List<Search> saveAll(List<Search> searches) {
+            return searches;
+        }
+
+        @Override
+        public Search findBySearchId(String searchId) {
+            return null;
+        }
+
+        @Override
+        public Stream<Search> findAllBySearchIds(Collection<String> searchIds) {
+            return Stream.empty();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
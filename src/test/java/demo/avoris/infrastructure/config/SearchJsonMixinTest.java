@@ -0,0 +1,49 @@
+package demo.avoris.infrastructure.config;
+
+import demo.avoris.TestDataBuilder;
+import demo.avoris.domain.model.Search;
+import demo.avoris.domain.model.SearchFingerprint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchJsonMixinTest {
+
+    private static ObjectMapper objectMapper;
+
+    @BeforeAll
+    static void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+    }
+
+    @Test
+    void shouldNotWriteFingerprint_WhenSearchIsSerialized() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        search = search.withFingerprint(SearchFingerprint.of(search));
+
+        // When
+        String json = objectMapper.writeValueAsString(search);
+
+        // Then
+        assertFalse(json.contains("fingerprint"), "La huella no debe ir en el payload: " + json);
+    }
+
+    @Test
+    void shouldReadSearchWithoutFingerprint_WhenPayloadIsReadBack() throws Exception {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        byte[] json = objectMapper.writeValueAsBytes(search.withFingerprint(SearchFingerprint.of(search)));
+
+        // When
+        Search result = objectMapper.readValue(json, Search.class);
+
+        // Then
+        assertAll("Round trip verification",
+                () -> assertEquals(search, result, "El resto de campos debe conservarse"),
+                () -> assertNull(result.fingerprint(), "La huella llega por cabecera, no por el payload")
+        );
+    }
+}
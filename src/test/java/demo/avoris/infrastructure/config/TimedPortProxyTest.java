@@ -0,0 +1,194 @@
+package demo.avoris.infrastructure.config;
+
+import demo.avoris.TestDataBuilder;
+import demo.avoris.application.dto.SearchBatchResponseDTO;
+import demo.avoris.application.dto.SearchDetailResponseDTO;
+import demo.avoris.application.dto.SearchLookupItemDTO;
+import demo.avoris.application.dto.SearchRequestDTO;
+import demo.avoris.application.dto.SearchResponseDTO;
+import demo.avoris.application.port.in.SearchUseCase;
+import demo.avoris.application.port.out.SearchRepositoryPort;
+import demo.avoris.domain.model.Search;
+import demo.avoris.infrastructure.adapter.out.mongo.exeption.SearchNotFoundException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimedPortProxyTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldTimeCallWithoutException_WhenPortMethodSucceeds() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        SearchRepositoryPort repository = TimedPortProxy.wrap(new StubRepository(search), SearchRepositoryPort.class,
+                meterRegistry, false);
+
+        // When
+        Search result = repository.findBySearchId(search.searchId());
+
+        // Then
+        Timer timer = meterRegistry.get(TimedPortProxy.METRIC).tag("method", "findBySearchId").timer();
+        assertAll("Success timer verification",
+                () -> assertSame(search, result, "El proxy debe devolver el resultado del adaptador"),
+                () -> assertEquals(1, timer.count(), "La llamada debe registrarse una vez"),
+                () -> assertEquals("SearchRepositoryPort", timer.getId().getTag("port"), "Debe etiquetarse el puerto"),
+                () -> assertEquals("StubRepository", timer.getId().getTag("adapter"), "Debe etiquetarse el adaptador"),
+                () -> assertEquals("none", timer.getId().getTag("exception"), "Sin excepción la etiqueta es none"));
+    }
+
+    @Test
+    void shouldRethrowAndTagException_WhenPortMethodFails() {
+        // Given
+        SearchRepositoryPort repository = TimedPortProxy.wrap(new StubRepository(null), SearchRepositoryPort.class,
+                meterRegistry, false);
+
+        // When & Then
+        assertThrows(SearchNotFoundException.class, () -> repository.findBySearchId("missing"),
+                "El proxy debe relanzar la excepción original, no la de reflexión");
+        assertEquals(1, meterRegistry.get(TimedPortProxy.METRIC)
+                        .tag("method", "findBySearchId").tag("exception", "SearchNotFoundException").timer().count(),
+                "El fallo debe registrarse con el tipo de excepción");
+    }
+
+    @Test
+    void shouldRecordStreamOnlyOnClose_WhenPortReturnsStream() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        SearchRepositoryPort repository = TimedPortProxy.wrap(new StubRepository(search), SearchRepositoryPort.class,
+                meterRegistry, false);
+
+        // When
+        Stream<Search> stream = repository.findAllBySearchIds(List.of(search.searchId()));
+        List<Search> found = stream.toList();
+        boolean recordedBeforeClose = meterRegistry.find(TimedPortProxy.METRIC).tag("method", "findAllBySearchIds")
+                .timer() != null;
+        stream.close();
+
+        // Then
+        assertAll("Stream timer verification",
+                () -> assertEquals(List.of(search), found, "El stream debe emitir lo mismo que el del adaptador"),
+                () -> assertFalse(recordedBeforeClose, "No debe registrarse hasta cerrar el stream"),
+                () -> assertEquals(1, meterRegistry.get(TimedPortProxy.METRIC).tag("method", "findAllBySearchIds")
+                        .timer().count(), "Al cerrar el stream debe registrarse la llamada"));
+    }
+
+    @Test
+    void shouldRecordFutureOnCompletion_WhenPortReturnsCompletableFuture() {
+        // Given
+        CompletableFuture<SearchDetailResponseDTO> pending = new CompletableFuture<>();
+        SearchUseCase useCase = TimedPortProxy.wrap(new StubUseCase(pending), SearchUseCase.class, meterRegistry, true);
+        SearchDetailResponseDTO detail = TestDataBuilder.createTestSearchDetailResponseDTO();
+
+        // When
+        CompletableFuture<SearchDetailResponseDTO> result = useCase.getHotelCountAfter("search-id", "token");
+        boolean recordedBeforeCompletion = meterRegistry.find(TimedPortProxy.METRIC).timer() != null;
+        pending.complete(detail);
+
+        // Then
+        assertAll("Future timer verification",
+                () -> assertSame(detail, result.join(), "El futuro devuelto debe completar con el valor del adaptador"),
+                () -> assertFalse(recordedBeforeCompletion, "No debe registrarse hasta que el futuro complete"),
+                () -> assertEquals(1, meterRegistry.get(TimedPortProxy.METRIC).tag("port", "SearchUseCase")
+                        .tag("method", "getHotelCountAfter").timer().count(), "Debe registrarse al completar"));
+    }
+
+    @Test
+    void shouldNotTimeObjectMethods_WhenCalledOnProxy() {
+        // Given
+        StubRepository target = new StubRepository(null);
+        SearchRepositoryPort repository = TimedPortProxy.wrap(target, SearchRepositoryPort.class, meterRegistry, false);
+
+        // When
+        String description = repository.toString();
+
+        // Then
+        assertAll("Object methods verification",
+                () -> assertEquals(target.toString(), description, "toString debe delegar en el adaptador"),
+                () -> assertTrue(meterRegistry.getMeters().isEmpty(), "Los métodos de Object no deben medirse"));
+    }
+
+    private static final class StubRepository implements SearchRepositoryPort {
+
+        private final Search search;
+
+        private StubRepository(Search search) {
+            this.search = search;
+        }
+
+        @Override
+        public Search save(Search search) {
+            return search;
+        }
+
+        @Override
+        public List<Search> saveAll(List<Search> searches) {
+            return searches;
+        }
+
+        @Override
+        public Search findBySearchId(String searchId) {
+            if (search == null) {
+                throw new SearchNotFoundException(searchId);
+            }
+            return search;
+        }
+
+        @Override
+        public Stream<Search> findAllBySearchIds(Collection<String> searchIds) {
+            return Stream.of(search);
+        }
+    }
+
+    private static final class StubUseCase implements SearchUseCase {
+
+        private final CompletableFuture<SearchDetailResponseDTO> detail;
+
+        private StubUseCase(CompletableFuture<SearchDetailResponseDTO> detail) {
+            this.detail = detail;
+        }
+
+        @Override
+        public SearchResponseDTO createSearch(SearchRequestDTO request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SearchBatchResponseDTO createSearches(List<SearchRequestDTO> requests) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SearchDetailResponseDTO getHotelCount(String searchId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<SearchDetailResponseDTO> getHotelCountAfter(String searchId, String consistencyToken) {
+            return detail;
+        }
+
+        @Override
+        public Stream<SearchLookupItemDTO> lookupHotelCounts(List<String> searchIds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Search saveSearch(Search search) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Search> saveSearches(List<Search> searches) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
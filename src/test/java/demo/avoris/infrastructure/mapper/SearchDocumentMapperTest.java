@@ -3,8 +3,10 @@ package demo.avoris.infrastructure.mapper;
 
 import demo.avoris.TestDataBuilder;
 import demo.avoris.domain.model.Search;
+import demo.avoris.domain.model.SearchFingerprint;
 import demo.avoris.infrastructure.adapter.out.mongo.document.SearchData;
 import demo.avoris.infrastructure.adapter.out.mongo.document.SearchDocument;
+import demo.avoris.infrastructure.adapter.out.mongo.document.SearchDocumentV2;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -71,26 +73,23 @@ class SearchDocumentMapperTest {
     }
 
     @Test
-    void shouldGenerateUniqueDocumentIds_WhenMultipleMappingsExecuted() {
+    void shouldDeriveDocumentIdFromSearchId_WhenMultipleMappingsExecuted() {
         // Given
         Search search = TestDataBuilder.createTestSearch();
 
         // When
         SearchDocument result1 = SearchDocumentMapper.toDocument(search);
         SearchDocument result2 = SearchDocumentMapper.toDocument(search);
+        SearchDocumentV2 resultV2 = SearchDocumentMapper.toDocumentV2(search);
 
         // Then
-        assertAll("Multiple document mapping unique ID verification",
-                () -> assertNotEquals(result1.id(), result2.id(),
-                        "Los IDs de documento deben ser únicos"),
-                () -> assertNotNull(result1.id(),
-                        "El primer ID no debe ser null"),
-                () -> assertNotNull(result2.id(),
-                        "El segundo ID no debe ser null"),
-                () -> assertEquals(result1.searchId(), result2.searchId(),
-                        "Los searchIds deben ser iguales"),
-                () -> assertEquals(result1.search().hotelId(), result2.search().hotelId(),
-                        "Los hotelIds deben ser iguales")
+        assertAll("Deterministic document ID verification",
+                () -> assertEquals(search.searchId(), result1.id(),
+                        "El ID del documento debe ser el searchId"),
+                () -> assertEquals(result1.id(), result2.id(),
+                        "Mapear dos veces la misma búsqueda debe dar el mismo ID"),
+                () -> assertEquals(search.searchId(), resultV2.id(),
+                        "El ID del documento v2 también debe ser el searchId")
         );
     }
 
@@ -158,4 +157,42 @@ class SearchDocumentMapperTest {
                         "El patrón debe ser válido para parsear fechas")
         );
     }
+
+    @Test
+    void shouldStoreAndRestoreFingerprint_WhenMappingToDocumentAndBack() {
+        // Given
+        Search search = TestDataBuilder.createTestSearch();
+        SearchFingerprint expected = SearchFingerprint.of(search);
+
+        // When
+        SearchDocument document = SearchDocumentMapper.toDocument(search);
+        Search mappedBack = SearchDocumentMapper.toDomain(document);
+
+        // Then
+        assertAll("Fingerprint mapping verification",
+                () -> assertArrayEquals(expected.toBytes(), document.fingerprint(),
+                        "El documento debe guardar la huella binaria"),
+                () -> assertEquals(expected, mappedBack.fingerprint(),
+                        "La huella debe recuperarse al mapear a dominio")
+        );
+    }
+
+    @Test
+    void shouldKeepAgesNull_WhenSearchHasNoAges() {
+        // Given
+        Search search = new Search(TestDataBuilder.TEST_SEARCH_ID, TestDataBuilder.TEST_HOTEL_ID,
+                TestDataBuilder.TEST_CHECK_IN, TestDataBuilder.TEST_CHECK_OUT, null, TestDataBuilder.TEST_COUNT);
+
+        // When
+        SearchDocument document = SearchDocumentMapper.toDocument(search);
+        SearchDocumentV2 documentV2 = SearchDocumentMapper.toDocumentV2(search);
+        Search mappedBack = SearchDocumentMapper.toDomain(documentV2);
+
+        // Then
+        assertAll("Null ages mapping verification",
+                () -> assertNull(document.search().ages(), "El documento v1 no debe inventar edades"),
+                () -> assertNull(documentV2.ages(), "El documento v2 no debe inventar edades"),
+                () -> assertNull(mappedBack.ages(), "Las edades deben seguir siendo nulas al mapear a dominio")
+        );
+    }
 }